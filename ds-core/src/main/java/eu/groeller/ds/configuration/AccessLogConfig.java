@@ -0,0 +1,23 @@
+package eu.groeller.ds.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.access-log")
+public class AccessLogConfig {
+
+    private boolean enabled = true;
+
+    // Share of successful, fast requests that are logged, errors and slow requests are always logged
+    private double sampleRate = 0.1;
+
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
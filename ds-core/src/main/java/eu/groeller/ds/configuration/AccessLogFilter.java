@@ -0,0 +1,92 @@
+package eu.groeller.ds.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one structured record per request to the {@value #ACCESS_LOGGER} logger, which logback-spring.xml routes
+ * through a non-blocking async appender. Runs ahead of the security filter chain so rejected requests are
+ * recorded too. Successful requests are sampled, errors and slow requests are always written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String ACCESS_LOGGER = "eu.groeller.ds.access";
+    // Set by the JwtAuthenticationFilter, the security context is already cleared once the chain returns
+    public static final String USER_ATTRIBUTE = AccessLogFilter.class.getName() + ".user";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(ACCESS_LOGGER);
+
+    private final AccessLogConfig config;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !config.isEnabled() || !accessLog.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException | Error ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            if (shouldLog(status, durationNanos)) {
+                write(request, status, durationNanos, failure);
+            }
+        }
+    }
+
+    boolean shouldLog(int status, long durationNanos) {
+        if (status >= 400 || durationNanos >= config.getSlowThreshold().toNanos())
+            return true;
+        double sampleRate = config.getSampleRate();
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void write(HttpServletRequest request, int status, long durationNanos, Throwable failure) {
+        var event = accessLog.atLevel(status >= 500 ? Level.WARN : Level.INFO)
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .addKeyValue("client", request.getRemoteAddr());
+
+        String query = request.getQueryString();
+        if (query != null)
+            event = event.addKeyValue("query", query);
+        Object user = request.getAttribute(USER_ATTRIBUTE);
+        if (user != null)
+            event = event.addKeyValue("user", user);
+        if (failure != null)
+            event = event.addKeyValue("error", failure.getClass().getSimpleName());
+
+        event.log("request");
+    }
+}
@@ -0,0 +1,52 @@
+package eu.groeller.ds.configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concurrency limits in front of the database. Their sum should stay a small multiple of
+ * {@code spring.datasource.hikari.maximum-pool-size}: enough to keep every connection busy, few enough that a
+ * request rarely waits for one.
+ */
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.bulkhead")
+public class BulkheadConfig {
+
+    private boolean enabled = true;
+
+    // GET and HEAD requests
+    private Compartment reads = new Compartment(40, Duration.ofMillis(100));
+
+    // Every other method
+    private Compartment writes = new Compartment(20, Duration.ofMillis(250));
+
+    // Login, registration and token refresh, independent of their method
+    private Compartment auth = new Compartment(10, Duration.ofMillis(250));
+
+    private List<String> authPaths = new ArrayList<>(List.of(
+            "/api/v1/users/login",
+            "/api/v1/users/register",
+            "/api/v1/users/refresh"
+    ));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Compartment {
+        private int maxConcurrent;
+        // How long a request may queue for a permit before it is rejected with 503
+        private Duration maxWait;
+    }
+}
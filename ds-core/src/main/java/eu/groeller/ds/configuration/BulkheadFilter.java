@@ -0,0 +1,103 @@
+package eu.groeller.ds.configuration;
+
+import eu.groeller.ds.service.utils.Bulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Puts every API request into one of three {@link Bulkhead}s (reads, writes, auth) before it reaches a
+ * controller. With virtual threads Tomcat accepts far more requests than the connection pool can serve, this is
+ * where the excess is turned away with a fast 503 instead of timing out on the pool. Registered with the default
+ * order, so it runs after the security filter chain and unauthenticated or rate limited requests never take a
+ * permit.
+ */
+@Slf4j
+@Component
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+
+    private final BulkheadConfig config;
+    private final Set<String> authPaths;
+    private final Bulkhead reads;
+    private final Bulkhead writes;
+    private final Bulkhead auth;
+
+    @Autowired
+    public BulkheadFilter(BulkheadConfig config, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(config, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    BulkheadFilter(BulkheadConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.authPaths = Set.copyOf(config.getAuthPaths());
+        this.reads = bulkhead("reads", config.getReads(), meterRegistry);
+        this.writes = bulkhead("writes", config.getWrites(), meterRegistry);
+        this.auth = bulkhead("auth", config.getAuth(), meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !config.isEnabled() || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Bulkhead bulkhead = resolveBulkhead(request);
+
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.debug("Bulkhead [{}] full, rejecting [{} {}]", bulkhead.getName(), request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"message\": \"Server is busy, please retry later\"}");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    Bulkhead resolveBulkhead(HttpServletRequest request) {
+        if (authPaths.contains(request.getRequestURI()))
+            return auth;
+
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return method == HttpMethod.GET || method == HttpMethod.HEAD ? reads : writes;
+    }
+
+    private static Bulkhead bulkhead(String name, BulkheadConfig.Compartment compartment, MeterRegistry meterRegistry) {
+        return new Bulkhead(name, compartment.getMaxConcurrent(), compartment.getMaxWait(), meterRegistry);
+    }
+}
@@ -0,0 +1,27 @@
+package eu.groeller.ds.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.heart-rate")
+public class HeartRateConfig {
+
+    // Reference for the zones until users can set their own
+    private int maxHeartRate = 190;
+
+    // Lower bounds of zones 2 to 5 in percent of the maximum heart rate, zone 1 is everything below
+    private List<Integer> zoneThresholds = new ArrayList<>(List.of(60, 70, 80, 90));
+
+    // A sample stands for the time until the next one, longer gaps are treated as missing data
+    private Duration maxSampleGap = Duration.ofSeconds(30);
+}
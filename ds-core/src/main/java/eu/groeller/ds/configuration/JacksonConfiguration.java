@@ -1,13 +1,30 @@
 package eu.groeller.ds.configuration;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 @Configuration
 public class JacksonConfiguration {
 
-//    @Bean
-//    public Jackson2ObjectMapperBuilderCustomizer jacksonBuilder() {
-//        return builder -> builder.featuresToEnable(DeserializationFeature.)
-//    }
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /**
+     * Binary representations of the unchanged DTOs for the mobile clients. They share the settings of the
+     * default JSON mapper, so values round-trip identically.
+     */
+    @Bean
+    public NegotiatedJacksonHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new NegotiatedJacksonHttpMessageConverter(builder.factory(new CBORFactory()).build(), MediaType.APPLICATION_CBOR);
+    }
+
+    @Bean
+    public NegotiatedJacksonHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new NegotiatedJacksonHttpMessageConverter(builder.factory(new SmileFactory()).build(), APPLICATION_SMILE);
+    }
 
 }
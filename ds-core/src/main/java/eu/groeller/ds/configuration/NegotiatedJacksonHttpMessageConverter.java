@@ -0,0 +1,23 @@
+package eu.groeller.ds.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Jackson converter for an alternative representation (CBOR, Smile) that is only used when the
+ * client explicitly asks for one of its media types.
+ */
+public class NegotiatedJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public NegotiatedJacksonHttpMessageConverter(ObjectMapper objectMapper, MediaType... supportedMediaTypes) {
+        super(objectMapper, supportedMediaTypes);
+    }
+
+    // Never volunteer our types for wildcard/missing Accept headers, so JSON stays the default
+    @Override
+    protected boolean canWrite(@Nullable MediaType mediaType) {
+        return mediaType != null && super.canWrite(mediaType);
+    }
+}
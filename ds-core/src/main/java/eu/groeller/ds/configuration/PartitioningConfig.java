@@ -0,0 +1,25 @@
+package eu.groeller.ds.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.partitioning")
+public class PartitioningConfig {
+
+    private boolean enabled = true;
+
+    // Monthly partitions kept ready ahead of the current month
+    private int monthsAhead = 3;
+
+    // Tables range partitioned by month on start_time
+    private List<String> tables = new ArrayList<>(List.of("exercise_set"));
+}
@@ -0,0 +1,85 @@
+package eu.groeller.ds.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.ExerciseDefinition;
+import eu.groeller.ds.domain.exercise.WorkoutType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * In-process JCache (Caffeine) backing the Hibernate second-level cache of the read-mostly entities. Every region
+ * is bounded and created up front, Hibernate fails on startup if an entity refers to an unconfigured region.
+ * With statistics enabled, hit/miss/put counts per region are exported through Micrometer.
+ */
+@Slf4j
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.cache")
+public class SecondLevelCacheConfig {
+
+    private boolean statistics = true;
+
+    private Map<String, Region> regions = new LinkedHashMap<>(Map.of(
+            User.CACHE_REGION, new Region(10_000, Duration.ofMinutes(30)),
+            User.NATURAL_ID_CACHE_REGION, new Region(10_000, Duration.ofMinutes(30)),
+            WorkoutType.CACHE_REGION, new Region(1_000, Duration.ofHours(1)),
+            WorkoutType.NATURAL_ID_CACHE_REGION, new Region(1_000, Duration.ofHours(1)),
+            ExerciseDefinition.CACHE_REGION, new Region(10_000, Duration.ofHours(1))
+    ));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private long maxEntries;
+        private Duration timeToLive;
+    }
+
+    // Own provider instance, so every application context (e.g. in tests) gets an isolated cache manager
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        regions.forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxEntries()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTimeToLive().toNanos()));
+            configuration.setStatisticsEnabled(statistics);
+            cacheManager.createCache(name, configuration);
+            log.debug("Created second-level cache region [{}] with [{}] entries", name, region.getMaxEntries());
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+            // Statistics would otherwise also be logged at INFO for every single session
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+}
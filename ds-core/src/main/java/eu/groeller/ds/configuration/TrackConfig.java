@@ -0,0 +1,22 @@
+package eu.groeller.ds.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.track")
+public class TrackConfig {
+
+    // Simplified tracks kept in memory, one per track and zoom level
+    private long simplifiedCacheMaxEntries = 10_000;
+
+    // Uploads change the cache key, entries of replaced tracks just age out
+    private Duration simplifiedCacheTimeToLive = Duration.ofHours(1);
+}
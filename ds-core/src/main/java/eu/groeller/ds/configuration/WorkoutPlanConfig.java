@@ -0,0 +1,22 @@
+package eu.groeller.ds.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.workout-plan")
+public class WorkoutPlanConfig {
+
+    // Users whose plan sessions are kept in memory, least recently used ones are dropped first
+    private long sessionCacheMaxUsers = 10_000;
+
+    // Upper bound for how long a session survives, writes of the user evict it right away anyway
+    private Duration sessionCacheTimeToLive = Duration.ofMinutes(30);
+}
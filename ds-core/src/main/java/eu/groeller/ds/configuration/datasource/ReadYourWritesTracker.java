@@ -0,0 +1,74 @@
+package eu.groeller.ds.configuration.datasource;
+
+import eu.groeller.ds.configuration.security.CustomUserDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write transaction recently. Registered with the transaction manager as a
+ * {@link TransactionExecutionListener}, so every committed read-write transaction of an authenticated user
+ * opens a window in which {@link ReplicaRoutingDataSource} keeps that user on the primary.
+ */
+@Slf4j
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final long windowMillis;
+    private final Clock clock;
+
+    // User id -> epoch millis until which reads go to the primary
+    private final Map<Long, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction())
+            return;
+
+        Long userId = currentUserId();
+        if (userId != null) {
+            primaryUntil.put(userId, clock.millis() + windowMillis);
+        }
+    }
+
+    public boolean hasRecentWrite() {
+        Long userId = currentUserId();
+        if (userId == null)
+            return false;
+
+        Long until = primaryUntil.get(userId);
+        return until != null && until > clock.millis();
+    }
+
+    @Scheduled(fixedDelayString = "${application.datasource.replica.eviction-interval:PT1M}")
+    public void evictExpired() {
+        long now = clock.millis();
+        primaryUntil.values().removeIf(until -> until <= now);
+        log.trace("[{}] users within their read-your-writes window", primaryUntil.size());
+    }
+
+    int trackedUsers() {
+        return primaryUntil.size();
+    }
+
+    @Nullable
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails)
+            return userDetails.getUser().getId();
+        return null;
+    }
+}
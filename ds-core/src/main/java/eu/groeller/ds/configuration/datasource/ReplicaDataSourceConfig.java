@@ -0,0 +1,95 @@
+package eu.groeller.ds.configuration.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Sends read-only transactions to a replica while everything else stays on the primary. Only active when
+ * {@code application.datasource.replica.url} is set, otherwise Spring Boot's single data source is used.
+ * <p>
+ * The exposed data source is a {@link LazyConnectionDataSourceProxy}: the physical connection is only fetched
+ * once the transaction manager has marked it read-only, which is what picks the replica. Users that committed a
+ * write within {@link #readYourWritesWindow} keep reading from the primary, so they see their own changes
+ * while the replica catches up.
+ */
+@Getter
+@Setter
+
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.replica", name = "url")
+@ConfigurationProperties(prefix = "application.datasource.replica")
+public class ReplicaDataSourceConfig {
+
+    private String url;
+    private String username;
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    // Should comfortably exceed the usual replication lag
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        DataSourceBuilder<HikariDataSource> builder = details == null
+                ? properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                : DataSourceBuilder.create().type(HikariDataSource.class)
+                        .url(details.getJdbcUrl())
+                        .username(details.getUsername())
+                        .password(details.getPassword())
+                        .driverClassName(details.getDriverClassName());
+
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(Clock clock) {
+        return new ReadYourWritesTracker(readYourWritesWindow, clock);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        ReplicaRoutingDataSource readOnlyDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesTracker);
+        readOnlyDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,18 @@
+package eu.groeller.ds.configuration.diagnostics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One {@code jdk.VirtualThreadPinned} event.
+ *
+ * @param culprit topmost frame outside the JDK, usually the code holding the monitor or calling native code
+ */
+public record PinnedThreadEvent(
+        Instant startTime,
+        long durationMicros,
+        String thread,
+        String culprit,
+        List<String> stackTrace
+) {
+}
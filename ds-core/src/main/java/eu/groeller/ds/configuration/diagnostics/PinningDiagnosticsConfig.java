@@ -0,0 +1,27 @@
+package eu.groeller.ds.configuration.diagnostics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.pinning-diagnostics")
+public class PinningDiagnosticsConfig {
+
+    // Opt-in, the JFR stream is only started when enabled
+    private boolean enabled = false;
+
+    // Pins shorter than this are not recorded, 0 records every pin
+    private Duration threshold = Duration.ofMillis(20);
+
+    // Most recent pins kept for the pinning actuator endpoint
+    private int retainedEvents = 100;
+
+    private int maxFrames = 32;
+}
@@ -0,0 +1,24 @@
+package eu.groeller.ds.configuration.diagnostics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the pinning monitor and its {@code pinning} actuator endpoint, only when
+ * {@code application.pinning-diagnostics.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.pinning-diagnostics", name = "enabled", havingValue = "true")
+public class PinningDiagnosticsConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(PinningDiagnosticsConfig config) {
+        return new VirtualThreadPinningMonitor(config);
+    }
+
+    @Bean
+    public PinningEndpoint pinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        return new PinningEndpoint(monitor);
+    }
+}
@@ -0,0 +1,23 @@
+package eu.groeller.ds.configuration.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+@Endpoint(id = "pinning")
+@RequiredArgsConstructor
+public class PinningEndpoint {
+
+    private final VirtualThreadPinningMonitor monitor;
+
+    @ReadOperation
+    public VirtualThreadPinningMonitor.PinningReport pinning() {
+        return monitor.report();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        monitor.clear();
+    }
+}
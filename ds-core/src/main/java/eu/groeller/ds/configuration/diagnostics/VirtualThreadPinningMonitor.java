@@ -0,0 +1,123 @@
+package eu.groeller.ds.configuration.diagnostics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} events from an in-process JFR recording. A virtual thread is pinned when
+ * it blocks inside a {@code synchronized} block or a native frame, which keeps its carrier thread from running
+ * other virtual threads. The most recent events and a count per culprit frame are kept in memory.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final PinningDiagnosticsConfig config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<PinnedThreadEvent> recent = new ArrayDeque<>();
+    private final Map<String, Long> countByCulprit = new LinkedHashMap<>();
+    private long totalEvents;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(PinningDiagnosticsConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(config.getThreshold()).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Recording virtual thread pinning longer than [{}]", config.getThreshold());
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public PinningReport report() {
+        lock.lock();
+        try {
+            return new PinningReport(totalEvents, new LinkedHashMap<>(countByCulprit), new ArrayList<>(recent));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            recent.clear();
+            countByCulprit.clear();
+            totalEvents = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void record(RecordedEvent event) {
+        List<String> frames = new ArrayList<>();
+        String culprit = "unknown";
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                String className = frame.getMethod().getType().getName();
+                String formatted = className + '.' + frame.getMethod().getName() + ':' + frame.getLineNumber();
+                if (frames.size() < config.getMaxFrames())
+                    frames.add(formatted);
+                if (culprit.equals("unknown") && !isJdkFrame(className))
+                    culprit = formatted;
+            }
+        }
+
+        PinnedThreadEvent pinned = new PinnedThreadEvent(
+                event.getStartTime(),
+                event.getDuration().toNanos() / 1_000,
+                event.getThread() != null ? event.getThread().getJavaName() : null,
+                culprit,
+                frames
+        );
+        log.debug("Virtual thread pinned for [{}us] at [{}]", pinned.durationMicros(), culprit);
+
+        lock.lock();
+        try {
+            totalEvents++;
+            countByCulprit.merge(culprit, 1L, Long::sum);
+            recent.addFirst(pinned);
+            if (recent.size() > config.getRetainedEvents())
+                recent.removeLast();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static boolean isJdkFrame(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    public record PinningReport(long totalEvents, Map<String, Long> countByCulprit, List<PinnedThreadEvent> recent) {
+    }
+}
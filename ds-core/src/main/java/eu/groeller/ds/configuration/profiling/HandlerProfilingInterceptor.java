@@ -0,0 +1,68 @@
+package eu.groeller.ds.configuration.profiling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Splits the time spent in Spring MVC into the handler call and the serialization of its response body.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "application.profiling", name = "enabled", havingValue = "true")
+public class HandlerProfilingInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private static final String HANDLER_SPAN_ATTRIBUTE = HandlerProfilingInterceptor.class.getName() + ".handler";
+    private static final String SERIALIZATION_SPAN_ATTRIBUTE = HandlerProfilingInterceptor.class.getName() + ".serialization";
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        closeSpan(request, ProfilingFilter.FILTERS_SPAN_ATTRIBUTE);
+
+        String detail = handler instanceof HandlerMethod method
+                ? method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+                : null;
+        request.setAttribute(HANDLER_SPAN_ATTRIBUTE, RequestProfiler.span("handler", detail));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        closeSpan(request, HANDLER_SPAN_ATTRIBUTE);
+        closeSpan(request, SERIALIZATION_SPAN_ATTRIBUTE);
+    }
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType, @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return RequestProfiler.isActive();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            closeSpan(httpRequest, HANDLER_SPAN_ATTRIBUTE);
+            httpRequest.setAttribute(SERIALIZATION_SPAN_ATTRIBUTE, RequestProfiler.span("serialization", selectedContentType.toString()));
+        }
+        return body;
+    }
+
+    private static void closeSpan(HttpServletRequest request, String attribute) {
+        if (request.getAttribute(attribute) instanceof RequestProfiler.Span span) {
+            span.close();
+            request.removeAttribute(attribute);
+        }
+    }
+}
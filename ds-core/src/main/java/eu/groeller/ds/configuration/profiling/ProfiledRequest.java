@@ -0,0 +1,22 @@
+package eu.groeller.ds.configuration.profiling;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ProfiledRequest(
+        String method,
+        String path,
+        int status,
+        Instant startedAt,
+        long durationMicros,
+        List<ProfiledSpan> spans,
+        int droppedSpans
+) {
+
+    /**
+     * @param depth nesting level, 1 for phases directly below the request
+     * @param offsetMicros start relative to the start of the request
+     */
+    public record ProfiledSpan(String name, String detail, int depth, long offsetMicros, long durationMicros) {
+    }
+}
@@ -0,0 +1,30 @@
+package eu.groeller.ds.configuration.profiling;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.profiling")
+public class ProfilingConfig {
+
+    // Opt-in, none of the profiling hooks are registered unless enabled
+    private boolean enabled = false;
+
+    // Requests taking longer are dumped to the eu.groeller.ds.profiler logger
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    // Size of the slowest-requests list exposed through the slowrequests actuator endpoint
+    private int retainedRequests = 20;
+
+    // Spans recorded per request, further spans are only counted
+    private int maxSpans = 500;
+
+    private int maxSqlLength = 1_000;
+}
@@ -0,0 +1,73 @@
+package eu.groeller.ds.configuration.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens the profile of a request and the span covering the servlet filters up to the handler. Finished profiles
+ * are offered to the {@link SlowRequestLog} and dumped when slower than the configured threshold.
+ */
+@RequiredArgsConstructor
+public class ProfilingFilter extends OncePerRequestFilter {
+
+    static final String FILTERS_SPAN_ATTRIBUTE = ProfilingFilter.class.getName() + ".filters";
+
+    private static final Logger profilerLog = LoggerFactory.getLogger("eu.groeller.ds.profiler");
+
+    private final ProfilingConfig config;
+    private final SlowRequestLog slowRequestLog;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestProfiler.start(request.getMethod(), request.getRequestURI(), config.getMaxSpans());
+        RequestProfiler.Span filters = RequestProfiler.span("filters");
+        request.setAttribute(FILTERS_SPAN_ATTRIBUTE, filters);
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            filters.close();
+            ProfiledRequest profiled = RequestProfiler.finish(failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus());
+            slowRequestLog.offer(profiled);
+            if (profiled.durationMicros() >= config.getSlowThreshold().toNanos() / 1_000 && profilerLog.isWarnEnabled()) {
+                profilerLog.warn(format(profiled));
+            }
+        }
+    }
+
+    static String format(ProfiledRequest request) {
+        StringBuilder dump = new StringBuilder(256 + request.spans().size() * 64)
+                .append("Slow request ").append(request.method()).append(' ').append(request.path())
+                .append(" took ").append(toMillis(request.durationMicros())).append(" ms, status ").append(request.status());
+
+        for (ProfiledRequest.ProfiledSpan span : request.spans()) {
+            dump.append(System.lineSeparator())
+                    .append(String.format("%10s ms +%9s ms ", toMillis(span.offsetMicros()), toMillis(span.durationMicros())))
+                    .append("  ".repeat(span.depth()))
+                    .append(span.name());
+            if (span.detail() != null)
+                dump.append(' ').append(span.detail());
+        }
+        if (request.droppedSpans() > 0)
+            dump.append(System.lineSeparator()).append(request.droppedSpans()).append(" further spans dropped");
+        return dump.toString();
+    }
+
+    private static String toMillis(long micros) {
+        return String.format("%.3f", micros / 1_000.0);
+    }
+}
@@ -0,0 +1,98 @@
+package eu.groeller.ds.configuration.profiling;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Registers the profiling hooks. Nothing here exists unless {@code application.profiling.enabled=true}, so the
+ * profiler costs nothing when switched off.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.profiling", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ProfilingWebMvcConfig implements WebMvcConfigurer {
+
+    private final HandlerProfilingInterceptor handlerProfilingInterceptor;
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(handlerProfilingInterceptor).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Bean
+    public SlowRequestLog slowRequestLog(ProfilingConfig config) {
+        return new SlowRequestLog(config.getRetainedRequests());
+    }
+
+    @Bean
+    public SlowRequestsEndpoint slowRequestsEndpoint(SlowRequestLog slowRequestLog) {
+        return new SlowRequestsEndpoint(slowRequestLog);
+    }
+
+    // Right inside the access log, so the profile covers the whole security chain
+    @Bean
+    public FilterRegistrationBean<ProfilingFilter> profilingFilter(ProfilingConfig config, SlowRequestLog slowRequestLog) {
+        FilterRegistrationBean<ProfilingFilter> registration = new FilterRegistrationBean<>(new ProfilingFilter(config, slowRequestLog));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // Data sources that only delegate to other data source beans are skipped, their statements are seen there
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ProfilingConfig config) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource) && !(bean instanceof DelegatingDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new SqlProfilingListener(config.getMaxSqlLength()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Wraps every {@link Service} method in a span. The advice is placed ahead of the transaction interceptor, so
+     * flushes on commit are part of the service span.
+     */
+    @Bean
+    public static AbstractBeanFactoryAwareAdvisingPostProcessor profilingServicePostProcessor() {
+        MethodInterceptor interceptor = invocation -> {
+            String detail = invocation.getThis() == null ? invocation.getMethod().getName()
+                    : ClassUtils.getUserClass(invocation.getThis()).getSimpleName() + "." + invocation.getMethod().getName();
+            try (var ignored = RequestProfiler.span("service", detail)) {
+                return invocation.proceed();
+            }
+        };
+
+        AbstractBeanFactoryAwareAdvisingPostProcessor postProcessor = new AbstractBeanFactoryAwareAdvisingPostProcessor() {
+            {
+                this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Service.class, true), interceptor);
+            }
+        };
+        postProcessor.setBeforeExistingAdvisors(true);
+        postProcessor.setProxyTargetClass(true);
+        return postProcessor;
+    }
+}
@@ -0,0 +1,121 @@
+package eu.groeller.ds.configuration.profiling;
+
+import eu.groeller.ds.configuration.profiling.ProfiledRequest.ProfiledSpan;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the spans of the request handled by the current thread. Outside a profiled request every call is a
+ * cheap no-op, so instrumentation points can call it unconditionally:
+ * <pre>
+ * try (var span = RequestProfiler.span("jwt")) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class RequestProfiler {
+
+    private static final ThreadLocal<Profile> CURRENT = new ThreadLocal<>();
+
+    private RequestProfiler() {
+    }
+
+    public static Span span(String name) {
+        return span(name, null);
+    }
+
+    public static Span span(String name, String detail) {
+        Profile profile = CURRENT.get();
+        if (profile == null)
+            return Span.NOOP;
+        return profile.open(name, detail);
+    }
+
+    /**
+     * Records an already finished span, e.g. an SQL statement timed by the datasource proxy.
+     */
+    public static void record(String name, String detail, long durationNanos) {
+        Profile profile = CURRENT.get();
+        if (profile != null)
+            profile.add(name, detail, profile.depth + 1, System.nanoTime() - durationNanos, durationNanos);
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void start(String method, String path, int maxSpans) {
+        CURRENT.set(new Profile(method, path, maxSpans));
+    }
+
+    static ProfiledRequest finish(int status) {
+        Profile profile = CURRENT.get();
+        CURRENT.remove();
+        return profile == null ? null : profile.toRequest(status);
+    }
+
+    public interface Span extends AutoCloseable {
+        Span NOOP = () -> {
+        };
+
+        @Override
+        void close();
+    }
+
+    private static final class Profile {
+        private final String method;
+        private final String path;
+        private final int maxSpans;
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final List<ProfiledSpan> spans = new ArrayList<>();
+        private int depth;
+        private int droppedSpans;
+
+        private Profile(String method, String path, int maxSpans) {
+            this.method = method;
+            this.path = path;
+            this.maxSpans = maxSpans;
+        }
+
+        private Span open(String name, String detail) {
+            int spanDepth = ++depth;
+            long spanStart = System.nanoTime();
+            return new Span() {
+                private boolean closed;
+
+                @Override
+                public void close() {
+                    if (closed)
+                        return;
+                    closed = true;
+                    depth--;
+                    add(name, detail, spanDepth, spanStart, System.nanoTime() - spanStart);
+                }
+            };
+        }
+
+        private void add(String name, String detail, int spanDepth, long spanStart, long durationNanos) {
+            if (spans.size() >= maxSpans) {
+                droppedSpans++;
+                return;
+            }
+            spans.add(new ProfiledSpan(name, detail, spanDepth, toMicros(spanStart - startNanos), toMicros(durationNanos)));
+        }
+
+        private ProfiledRequest toRequest(int status) {
+            long durationMicros = toMicros(System.nanoTime() - startNanos);
+            List<ProfiledSpan> ordered = new ArrayList<>(spans);
+            ordered.sort(Comparator.comparingLong(ProfiledSpan::offsetMicros).thenComparingInt(ProfiledSpan::depth));
+            return new ProfiledRequest(method, path, status, startedAt, durationMicros, List.copyOf(ordered), droppedSpans);
+        }
+
+        private static long toMicros(long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package eu.groeller.ds.configuration.profiling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the slowest {@code capacity} profiled requests. Once full, requests faster than the fastest retained one
+ * are rejected without taking the lock. The lock is a {@link ReentrantLock} rather than a monitor, a virtual
+ * thread blocked on a contended monitor pins its carrier thread.
+ */
+public class SlowRequestLog {
+
+    private static final Comparator<ProfiledRequest> BY_DURATION = Comparator.comparingLong(ProfiledRequest::durationMicros);
+
+    private final int capacity;
+    private final PriorityQueue<ProfiledRequest> fastestFirst;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long admissionMicros = -1;
+
+    public SlowRequestLog(int capacity) {
+        this.capacity = capacity;
+        this.fastestFirst = new PriorityQueue<>(capacity + 1, BY_DURATION);
+    }
+
+    public void offer(ProfiledRequest request) {
+        if (capacity <= 0 || request.durationMicros() <= admissionMicros)
+            return;
+
+        lock.lock();
+        try {
+            fastestFirst.add(request);
+            if (fastestFirst.size() > capacity)
+                fastestFirst.poll();
+            if (fastestFirst.size() == capacity)
+                admissionMicros = fastestFirst.peek().durationMicros();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<ProfiledRequest> slowestFirst() {
+        List<ProfiledRequest> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(fastestFirst);
+        } finally {
+            lock.unlock();
+        }
+        snapshot.sort(BY_DURATION.reversed());
+        return snapshot;
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            fastestFirst.clear();
+            admissionMicros = -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package eu.groeller.ds.configuration.profiling;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Records every statement executed through the proxied datasource as an {@code sql} span of the current request.
+ */
+@RequiredArgsConstructor
+public class SqlProfilingListener implements QueryExecutionListener {
+
+    // The elapsed time datasource-proxy reports is in whole milliseconds, which rounds most indexed statements to 0
+    private static final String START_NANOS = SqlProfilingListener.class.getName() + ".startNanos";
+
+    private final int maxSqlLength;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (RequestProfiler.isActive())
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (startNanos == null || !RequestProfiler.isActive())
+            return;
+        long durationNanos = System.nanoTime() - startNanos;
+
+        StringBuilder sql = new StringBuilder();
+        for (QueryInfo query : queryInfoList) {
+            if (!sql.isEmpty())
+                sql.append("; ");
+            sql.append(query.getQuery());
+        }
+        if (execInfo.isBatch())
+            sql.insert(0, "[batch of " + execInfo.getBatchSize() + "] ");
+        if (sql.length() > maxSqlLength)
+            sql.setLength(maxSqlLength);
+
+        String name = execInfo.isSuccess() ? "sql" : "sql failed";
+        RequestProfiler.record(name, sql.toString(), durationNanos);
+    }
+}
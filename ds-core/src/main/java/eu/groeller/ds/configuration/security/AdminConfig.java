@@ -0,0 +1,20 @@
+package eu.groeller.ds.configuration.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.admin")
+public class AdminConfig {
+
+    // Users with one of these emails get the admin role, only admins can use the actuator endpoints
+    private Set<String> emails = new HashSet<>();
+}
@@ -3,6 +3,7 @@ package eu.groeller.ds.configuration.security;
 import eu.groeller.ds.domain.User;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
@@ -12,14 +13,20 @@ public class CustomUserDetails implements UserDetails {
 
     @Getter
     private final User user;
+    private final boolean admin;
 
     public CustomUserDetails(User user) {
+        this(user, false);
+    }
+
+    public CustomUserDetails(User user, boolean admin) {
         this.user = user;
+        this.admin = admin;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of();
+        return admin ? List.of(new SimpleGrantedAuthority("ROLE_ADMIN")) : List.of();
     }
 
     @Override
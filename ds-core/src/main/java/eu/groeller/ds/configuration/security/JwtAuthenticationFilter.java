@@ -1,6 +1,10 @@
 package eu.groeller.ds.configuration.security;
 
+import eu.groeller.ds.configuration.AccessLogFilter;
+import eu.groeller.ds.configuration.profiling.RequestProfiler;
 import eu.groeller.ds.service.security.JwtService;
+import eu.groeller.ds.service.security.TokenRevocationCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +29,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationCache revocationCache;
 
     @Override
     protected void doFilterInternal(
@@ -33,20 +38,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        log.trace("Auth-Header [{}]", authHeader);
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.info("No auth-header [{}]. Finished JwtAuthenticationFilter, progressing through other filters", authHeader);
+            log.trace("No bearer token, progressing through other filters");
             filterChain.doFilter(request, response);
             return;
         }
 
         final String jwt = authHeader.substring(7); // Remove "Bearer " prefix
-        log.debug("Calling jwtService:validateTokenAndGetEmail");
-        final String userSubject = jwtService.validateTokenAndGetEmail(jwt);
+        log.trace("Calling jwtService:validateToken");
+        final Claims claims;
+        final boolean revoked;
+        try (var span = RequestProfiler.span("jwt")) {
+            claims = jwtService.validateToken(jwt);
+            revoked = revocationCache.isRevoked(claims.getId(), claims.getSubject(), claims.getIssuedAt());
+        }
+        final String userSubject = claims.getSubject();
+
+        if (revoked) {
+            log.debug("Token [{}] of user [id: {}] was revoked", claims.getId(), userSubject);
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         if (userSubject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userSubject);
+            UserDetails userDetails;
+            try (var span = RequestProfiler.span("user-load")) {
+                userDetails = userDetailsService.loadUserByUsername(userSubject);
+            }
 
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     userDetails,
@@ -55,11 +74,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             );
 
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            log.debug("Setting new Authentication Details for user [{}]", userDetails.getUsername());
+            log.trace("Setting new Authentication Details for user [{}]", userDetails.getUsername());
             SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
-        log.info("Finished JwtAuthenticationFilter, progressing through other filters");
+        request.setAttribute(AccessLogFilter.USER_ATTRIBUTE, userSubject);
+        log.trace("Finished JwtAuthenticationFilter, progressing through other filters");
         filterChain.doFilter(request, response);
     }
 }
@@ -9,7 +9,9 @@ import java.time.Duration;
 @ConfigurationProperties(prefix = "application.jwt")
 public class JwtConfig {
     private String secret;
+    // Lifetime of access tokens, keep short since revocation relies on them expiring
     private Duration expiration;
+    private Duration refreshExpiration = Duration.ofDays(30);
 
     // Getters and setters
     public String getSecret() {
@@ -27,4 +29,12 @@ public class JwtConfig {
     public void setExpiration(Duration expiration) {
         this.expiration = expiration;
     }
+
+    public Duration getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    public void setRefreshExpiration(Duration refreshExpiration) {
+        this.refreshExpiration = refreshExpiration;
+    }
 }
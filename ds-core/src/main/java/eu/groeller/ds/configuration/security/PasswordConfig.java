@@ -1,5 +1,8 @@
 package eu.groeller.ds.configuration.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,8 +12,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class PasswordConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingConfig config, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(config.getBcryptStrength()),
+                config.getConcurrency(),
+                config.getQueueCapacity(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new)
+        );
     }
 
 }
@@ -0,0 +1,23 @@
+package eu.groeller.ds.configuration.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.password")
+public class PasswordHashingConfig {
+
+    // BCrypt cost factor, raising it re-hashes existing passwords on their next login
+    private int bcryptStrength = 10;
+
+    // Hashes computed in parallel, BCrypt is CPU bound so more threads than cores only adds contention
+    private int concurrency = Runtime.getRuntime().availableProcessors();
+
+    // Hashes allowed to wait for a free thread before new ones are rejected with 429
+    private int queueCapacity = 64;
+}
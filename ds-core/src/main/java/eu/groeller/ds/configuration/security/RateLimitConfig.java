@@ -0,0 +1,62 @@
+package eu.groeller.ds.configuration.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+
+@Configuration
+@ConfigurationProperties(prefix = "application.rate-limit")
+public class RateLimitConfig {
+
+    private boolean enabled = true;
+
+    // Upper bound of buckets kept in memory, keys beyond it share their route's overflow bucket
+    private int maxBuckets = 100_000;
+
+    // Buckets untouched (and fully refilled) for this long are evicted
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    // Applies to every request that does not match one of the routes
+    private Limit defaultLimit = new Limit(120, Duration.ofMinutes(1));
+
+    // First matching route wins
+    private List<Route> routes = new ArrayList<>(List.of(
+            new Route("login", "POST", "/api/v1/users/login", new Limit(10, Duration.ofMinutes(1))),
+            new Route("register", "POST", "/api/v1/users/register", new Limit(5, Duration.ofMinutes(1))),
+            new Route("refresh", "POST", "/api/v1/users/refresh", new Limit(10, Duration.ofMinutes(1))),
+            new Route("workout-history", "GET", "/api/v1/workouts", new Limit(60, Duration.ofMinutes(1)))
+    ));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        // Maximum burst
+        private int capacity;
+        // Time in which an empty bucket is completely refilled
+        private Duration refillPeriod;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        private String name;
+        // Optional, matches every method when null
+        private String method;
+        private String pattern;
+        private Limit limit;
+    }
+}
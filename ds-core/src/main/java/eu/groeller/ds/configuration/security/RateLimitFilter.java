@@ -0,0 +1,65 @@
+package eu.groeller.ds.configuration.security;
+
+import eu.groeller.ds.service.security.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Runs right after {@link JwtAuthenticationFilter}, so authenticated requests are limited per user and everything
+ * else per client IP. The IP is taken from the servlet request, forwarded headers are only honored when the
+ * server is configured to trust them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitConfig config;
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !config.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String clientKey = resolveClientKey(request);
+        long waitNanos = rateLimiter.tryAcquire(request, clientKey);
+
+        if (waitNanos > 0) {
+            log.debug("Rate limited [{} {}] for [{}]", request.getMethod(), request.getRequestURI(), clientKey);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.toRetryAfterSeconds(waitNanos)));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"message\": \"Too many requests\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String resolveClientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails)
+            return "user:" + userDetails.getUser().getId();
+        return "ip:" + request.getRemoteAddr();
+    }
+}
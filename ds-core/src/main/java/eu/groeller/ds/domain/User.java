@@ -1,5 +1,6 @@
 package eu.groeller.ds.domain;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -7,8 +8,13 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.ZoneId;
 import java.util.Objects;
 
 @Setter
@@ -18,27 +24,60 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 public class User extends AbstractEntity {
 
+    public static final String CACHE_REGION = "ds.user";
+    public static final String NATURAL_ID_CACHE_REGION = "ds.user.natural-id";
+
     @Column(name = "username", nullable = false, unique = true)
     private String username;
 
+    @NaturalId(mutable = true)
     @Column(name = "email", nullable = false, unique = true)
     private String email;
 
     @Column(name = "password", nullable = false)
     private String password;
 
+    // Zone id of the user's day boundaries for calendars and streaks, null for the server's
+    @Column(name = "time_zone")
+    private String timeZone;
+
+    public User(String username, String email, String password) {
+        this(username, email, password, (String) null);
+    }
+
     public User(String username, String email, String password, PasswordEncoder passwordEncoder) {
         this.username = username;
         this.email = email;
         this.password = passwordEncoder.encode(password);
     }
 
+    public ZoneId zone(ZoneId fallback) {
+        return timeZone == null ? fallback : ZoneId.of(timeZone);
+    }
+
     public boolean comparePasswords(String rawPassword, PasswordEncoder passwordEncoder) {
         return passwordEncoder.matches(rawPassword, this.password);
     }
 
+    /**
+     * Re-hashes the already verified raw password when the stored hash was created with weaker settings
+     * (e.g. a lower BCrypt cost factor) than the encoder is currently configured with.
+     *
+     * @return whether the password was re-hashed and the user has to be saved
+     */
+    public boolean upgradePasswordEncoding(String rawPassword, PasswordEncoder passwordEncoder) {
+        if (!passwordEncoder.upgradeEncoding(this.password))
+            return false;
+
+        this.password = passwordEncoder.encode(rawPassword);
+        return true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,56 @@
+package eu.groeller.ds.domain.auth;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import eu.groeller.ds.domain.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A single-use refresh token. Only the SHA-256 hash of the token is stored. Every rotation creates a new token in
+ * the same family, so reuse of an already rotated token can revoke the whole family.
+ */
+@NoArgsConstructor
+
+@Getter
+@Setter
+@Entity
+@Table(name = "refresh_token")
+public class RefreshToken extends AbstractEntity {
+
+    @NotNull
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @NotNull
+    @Column(name = "token_hash", unique = true)
+    private String tokenHash;
+
+    @NotNull
+    @Column(name = "family_id")
+    private String familyId;
+
+    @NotNull
+    @Column(name = "expires_at")
+    private OffsetDateTime expiresAt;
+
+    @Column(name = "revoked_at")
+    private OffsetDateTime revokedAt;
+
+    public RefreshToken(@NonNull User user, @NonNull String tokenHash, @NonNull String familyId, @NonNull OffsetDateTime expiresAt) {
+        this.user = user;
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isUsable(OffsetDateTime now) {
+        return revokedAt == null && expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,49 @@
+package eu.groeller.ds.domain.auth;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Persisted access token revocation, so the in-memory revocation cache survives restarts. Either a single token
+ * ({@code tokenId} = JWT id) or every token of a user issued before {@code revokedBefore} ({@code userId}).
+ * Rows are only kept until the revoked tokens would have expired anyway.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Getter
+@Setter
+@Entity
+@Table(name = "revoked_token")
+public class RevokedToken extends AbstractEntity {
+
+    @Column(name = "token_id", unique = true)
+    private String tokenId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before")
+    private OffsetDateTime revokedBefore;
+
+    @NotNull
+    @Column(name = "expires_at")
+    private OffsetDateTime expiresAt;
+
+    public static RevokedToken forToken(String tokenId, OffsetDateTime expiresAt) {
+        return new RevokedToken(tokenId, null, null, expiresAt);
+    }
+
+    public static RevokedToken forUser(Long userId, OffsetDateTime revokedBefore, OffsetDateTime expiresAt) {
+        return new RevokedToken(null, userId, revokedBefore, expiresAt);
+    }
+}
@@ -1,5 +1,6 @@
 package eu.groeller.ds.domain.exercise;
 
+import eu.groeller.ds.domain.track.TrackSummary;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,9 +30,51 @@ public class DistanceExerciseRecord extends ExerciseRecord {
     @NotNull
     private Long duration;
 
+    // Average speed in the unit per hour
     @Column(name = "distance_per_unit")
     private Double distancePerUnit;
 
     @Column(name = "weight_kg")
     private Double weightKg;
+
+    // Set once a GPS track is uploaded
+    @Embedded
+    private TrackSummary track;
+
+    // SplitCodec, per split distance of the unit
+    private byte[] splits;
+
+    // Of the fastest full split, the candidate for the user's best split of the exercise
+    private Long fastestSplitMillis;
+
+    // 1-based
+    private Integer fastestSplitNumber;
+
+    private Boolean negativeSplit;
+
+    public List<Split> splits() {
+        return splits == null ? List.of() : SplitCodec.decode(splits, distanceUnit.getSplitMeters());
+    }
+
+    /**
+     * Stores the splits together with what history and best split views need of them.
+     *
+     * @param splits full splits of the unit's split distance, optionally followed by one shorter split
+     */
+    public void updateSplits(List<Split> splits) {
+        double splitMeters = distanceUnit.getSplitMeters();
+        int fastest = SplitCalculator.fastest(splits, splitMeters);
+
+        this.splits = splits.isEmpty() ? null : SplitCodec.encode(splits, splitMeters);
+        this.fastestSplitMillis = fastest < 0 ? null : splits.get(fastest).durationMillis();
+        this.fastestSplitNumber = fastest < 0 ? null : fastest + 1;
+        this.negativeSplit = splits.isEmpty() ? null : SplitCalculator.isNegativeSplit(splits);
+    }
+
+    /**
+     * Derives {@link #distancePerUnit} from the distance and the duration.
+     */
+    public void updateDistancePerUnit() {
+        this.distancePerUnit = duration > 0 ? distance / (duration / 3_600_000.0) : null;
+    }
 }
@@ -1,7 +1,27 @@
 package eu.groeller.ds.domain.exercise;
 
 public enum DistanceUnit {
-    KILOMETERS,
-    MILES,
-    METERS
-} 
\ No newline at end of file
+    KILOMETERS(1_000, 1_000),
+    MILES(1_609.344, 1_609.344),
+    // Pool and track distances, split per 100m rather than per meter
+    METERS(1, 100);
+
+    private final double meters;
+    private final double splitMeters;
+
+    DistanceUnit(double meters, double splitMeters) {
+        this.meters = meters;
+        this.splitMeters = splitMeters;
+    }
+
+    public double convert(double distance, DistanceUnit target) {
+        return distance * meters / target.meters;
+    }
+
+    /**
+     * @return the distance of one split of a record in this unit
+     */
+    public double getSplitMeters() {
+        return splitMeters;
+    }
+}
@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -18,8 +20,12 @@ import lombok.Setter;
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"name", "type"})
         })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ExerciseDefinition.CACHE_REGION)
 public class ExerciseDefinition extends AbstractEntity {
 
+    public static final String CACHE_REGION = "ds.exercise-definition";
+
     @NotNull
     private String name;
 
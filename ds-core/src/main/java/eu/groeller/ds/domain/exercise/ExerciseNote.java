@@ -0,0 +1,62 @@
+package eu.groeller.ds.domain.exercise;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Free text a user attached to an {@link ExerciseRecord} or {@link ExerciseSet}. Records and sets only reference
+ * their note lazily, so the text is loaded only when a read explicitly asks for it. Owner and workout are copied
+ * onto the note for full text search, see {@code ExerciseNoteRepositoryCustomImpl}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "exercise_note")
+public class ExerciseNote extends AbstractEntity {
+
+    public static final int MAX_LENGTH = 2000;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "workout_id")
+    private Workout workout;
+
+    @NotNull
+    @Column(length = MAX_LENGTH)
+    private String content;
+
+    public ExerciseNote(String content) {
+        this.content = content;
+    }
+
+    /**
+     * @return a note with the stripped text, or {@code null} if there is no text
+     */
+    public static ExerciseNote of(String content) {
+        if (content == null || content.isBlank())
+            return null;
+
+        String stripped = content.strip();
+        if (stripped.length() > MAX_LENGTH)
+            throw new DSIllegalArgumentException("Notes must not be longer than " + MAX_LENGTH + " characters");
+        return new ExerciseNote(stripped);
+    }
+
+    public void attachTo(Workout workout) {
+        this.workout = workout;
+        this.user = workout.getUser();
+    }
+}
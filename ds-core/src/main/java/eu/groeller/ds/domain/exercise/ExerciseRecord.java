@@ -1,6 +1,7 @@
 package eu.groeller.ds.domain.exercise;
 
 import eu.groeller.ds.domain.AbstractEntity;
+import eu.groeller.ds.domain.heartrate.HeartRateStats;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -9,6 +10,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Setter
@@ -38,4 +41,21 @@ public abstract class ExerciseRecord extends AbstractEntity {
 
     @NotNull
     private Integer orderIndex;
+
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "note_id")
+    private ExerciseNote note;
+
+    @Embedded
+    private HeartRateStats heartRate;
+
+    /**
+     * @return the notes of this record and everything it contains
+     */
+    public List<ExerciseNote> notes() {
+        List<ExerciseNote> notes = new ArrayList<>();
+        if (note != null)
+            notes.add(note);
+        return notes;
+    }
 }
\ No newline at end of file
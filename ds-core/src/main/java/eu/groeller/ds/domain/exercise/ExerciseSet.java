@@ -1,9 +1,7 @@
 package eu.groeller.ds.domain.exercise;
 
 import eu.groeller.ds.domain.AbstractEntity;
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
+import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
@@ -38,4 +36,8 @@ public class ExerciseSet extends AbstractEntity {
 
     @NotNull
     private Integer orderIndex;
+
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "note_id")
+    private ExerciseNote note;
 }
@@ -0,0 +1,7 @@
+package eu.groeller.ds.domain.exercise;
+
+/**
+ * A lap marker of a device or a manual lap button press, laps follow each other without gaps.
+ */
+public record Lap(double distanceMeters, long durationMillis) {
+}
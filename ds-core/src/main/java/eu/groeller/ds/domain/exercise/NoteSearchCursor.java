@@ -0,0 +1,37 @@
+package eu.groeller.ds.domain.exercise;
+
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a note search, the last workout of the previous page. Searches are ordered by workout start time and
+ * id, both descending, so the next page continues strictly below this key no matter how many workouts were logged
+ * in between. Handed to clients as an opaque token.
+ */
+public record NoteSearchCursor(OffsetDateTime startTime, long workoutId) {
+
+    public String encode() {
+        String key = startTime.toInstant() + "," + workoutId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NoteSearchCursor decode(String token) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = key.indexOf(',');
+            if (separator < 0)
+                throw new DSIllegalArgumentException("Invalid search cursor");
+
+            Instant startTime = Instant.parse(key.substring(0, separator));
+            return new NoteSearchCursor(startTime.atOffset(ZoneOffset.UTC), Long.parseLong(key.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new DSIllegalArgumentException("Invalid search cursor");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package eu.groeller.ds.domain.exercise;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * One page of workouts whose notes match a search, newest first.
+ *
+ * @param next where the following page starts, {@code null} on the last page
+ */
+public record NoteSearchResult(
+        List<WorkoutMatch> workouts,
+        NoteSearchCursor next
+) {
+
+    public record WorkoutMatch(
+            Long workoutId,
+            OffsetDateTime startTime,
+            String workoutType,
+            List<NoteMatch> notes
+    ) {
+    }
+
+    /**
+     * @param setOrderIndex {@code null} if the note belongs to the record itself
+     * @param snippet       the matching fragments of the note as HTML: the note text is escaped, matched terms are
+     *                      wrapped in {@code <mark>} tags
+     */
+    public record NoteMatch(
+            Long exerciseRecordId,
+            String exerciseName,
+            Integer setOrderIndex,
+            String snippet
+    ) {
+    }
+}
@@ -0,0 +1,43 @@
+package eu.groeller.ds.domain.exercise;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adherence of a single workout to its plan, computed from the workout alone when it is logged.
+ *
+ * @param plannedSets   sets the plan asks for
+ * @param completedSets planned sets that were performed
+ * @param score         average score of the planned exercises, from 0 to 1
+ */
+public record PlanAdherence(int plannedSets, int completedSets, double score) {
+
+    /**
+     * Matches every planned exercise with the next performed record of the same definition. Exercises that
+     * were not performed score 0, performed exercises the plan does not contain are ignored.
+     */
+    public static PlanAdherence of(WorkoutPlan plan, List<ExerciseRecord> performed) {
+        Map<Long, Deque<ExerciseRecord>> byDefinition = new HashMap<>();
+        performed.forEach(record -> byDefinition
+                .computeIfAbsent(record.getExerciseDefinition().getId(), id -> new ArrayDeque<>())
+                .add(record));
+
+        int plannedSets = 0;
+        int completedSets = 0;
+        double scoreSum = 0;
+        for (PlannedExercise exercise : plan.getExercises()) {
+            Deque<ExerciseRecord> candidates = byDefinition.get(exercise.getExerciseDefinition().getId());
+            ExerciseRecord record = candidates == null ? null : candidates.poll();
+
+            plannedSets += exercise.plannedSets();
+            completedSets += record == null ? 0 : exercise.completedSets(record);
+            scoreSum += exercise.score(record);
+        }
+
+        double score = plan.getExercises().isEmpty() ? 0 : scoreSum / plan.getExercises().size();
+        return new PlanAdherence(plannedSets, completedSets, score);
+    }
+}
@@ -0,0 +1,102 @@
+package eu.groeller.ds.domain.exercise;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One exercise of a {@link WorkoutPlan} with its targets. Targets are optional, an exercise without any only has
+ * to be performed to count as done.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "planned_exercise")
+public class PlannedExercise extends AbstractEntity {
+
+    @NotNull
+    @ManyToOne
+    @JoinColumn(name = "exercise_definition_id")
+    private ExerciseDefinition exerciseDefinition;
+
+    @NotNull
+    private Integer orderIndex;
+
+    private Integer targetSets;
+    private Integer targetRepetitions;
+
+    @Column(name = "target_weight_kg")
+    private Double targetWeightKg;
+
+    private Double targetDistance;
+
+    @Enumerated(EnumType.STRING)
+    private DistanceUnit targetDistanceUnit;
+
+    @Column(name = "rest_time_seconds")
+    private Integer restTimeSeconds;
+
+    /**
+     * @return the sets the plan asks for, counted towards the set completion rate
+     */
+    public int plannedSets() {
+        return targetSets == null ? 0 : targetSets;
+    }
+
+    /**
+     * @return the planned sets covered by the record, extra sets do not count
+     */
+    public int completedSets(ExerciseRecord record) {
+        if (!(record instanceof SetBasedExerciseRecord setBased))
+            return 0;
+        return Math.min(setBased.getSets().size(), plannedSets());
+    }
+
+    /**
+     * Scores how well a performed record meets the targets, from 0 (not performed) to 1 (all targets met). Every
+     * target contributes equally, overshooting one does not make up for another.
+     */
+    public double score(ExerciseRecord record) {
+        if (record == null)
+            return 0;
+
+        double sum = 0;
+        int targets = 0;
+        if (record instanceof SetBasedExerciseRecord setBased) {
+            var sets = setBased.getSets();
+            if (targetSets != null && targetSets > 0) {
+                sum += ratio(sets.size(), targetSets);
+                targets++;
+            }
+            if (targetRepetitions != null && targetRepetitions > 0) {
+                sum += sets.stream()
+                        .mapToDouble(set -> ratio(set.getRepetitions() == null ? 0 : set.getRepetitions(), targetRepetitions))
+                        .average()
+                        .orElse(0);
+                targets++;
+            }
+            if (targetWeightKg != null && targetWeightKg > 0) {
+                sum += ratio(sets.stream()
+                        .mapToDouble(set -> set.getWeightKg() == null ? 0 : set.getWeightKg())
+                        .max()
+                        .orElse(0), targetWeightKg);
+                targets++;
+            }
+        } else if (record instanceof DistanceExerciseRecord distance && targetDistance != null && targetDistance > 0) {
+            DistanceUnit unit = targetDistanceUnit == null ? distance.getDistanceUnit() : targetDistanceUnit;
+            sum += ratio(distance.getDistanceUnit().convert(distance.getDistance(), unit), targetDistance);
+            targets++;
+        }
+
+        return targets == 0 ? 1 : sum / targets;
+    }
+
+    private static double ratio(double actual, double target) {
+        return Math.min(1, actual / target);
+    }
+}
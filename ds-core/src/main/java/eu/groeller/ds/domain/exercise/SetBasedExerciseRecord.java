@@ -6,6 +6,7 @@ import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Getter
 @Setter
@@ -14,9 +15,19 @@ import java.util.List;
 public class SetBasedExerciseRecord extends ExerciseRecord {
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "exercise_record_id")
+    @JoinColumn(name = "exercise_record_id", nullable = false, updatable = false)
     private List<ExerciseSet> sets = new ArrayList<>();
 
     @Column(name = "average_rest_time")
     private Double averageRestTime;
+
+    @Override
+    public List<ExerciseNote> notes() {
+        List<ExerciseNote> notes = super.notes();
+        sets.stream()
+                .map(ExerciseSet::getNote)
+                .filter(Objects::nonNull)
+                .forEach(notes::add);
+        return notes;
+    }
 }
@@ -0,0 +1,7 @@
+package eu.groeller.ds.domain.exercise;
+
+/**
+ * @param distanceMeters the split distance of the record's unit, less for the final partial split
+ */
+public record Split(double distanceMeters, long durationMillis) {
+}
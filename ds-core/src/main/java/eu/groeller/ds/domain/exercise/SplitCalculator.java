@@ -0,0 +1,105 @@
+package eu.groeller.ds.domain.exercise;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the splits of a distance record from checkpoints of covered distance and elapsed time, the points of a
+ * GPS track or the ends of laps. The time a split boundary is crossed is interpolated linearly between the
+ * checkpoints around it, so laps of any length give splits of the unit.
+ */
+public final class SplitCalculator {
+
+    // Below a decimeter is rounding, not a split
+    private static final double MIN_PARTIAL_METERS = 0.1;
+
+    private SplitCalculator() {
+    }
+
+    /**
+     * @param meters distance covered at each checkpoint, ascending
+     * @param millis time elapsed at each checkpoint, ascending, both start at zero before the first checkpoint
+     */
+    public static List<Split> compute(double[] meters, long[] millis, double splitMeters) {
+        if (meters.length != millis.length)
+            throw new IllegalArgumentException("Every checkpoint needs a distance and a time");
+        if (splitMeters <= 0)
+            throw new IllegalArgumentException("Split distance must be positive");
+
+        List<Split> splits = new ArrayList<>();
+        double previousMeters = 0;
+        long previousMillis = 0;
+        double splitStart = 0;
+        double nextBoundary = splitMeters;
+        for (int i = 0; i < meters.length; i++) {
+            double segment = meters[i] - previousMeters;
+            long segmentMillis = millis[i] - previousMillis;
+            if (segment < 0 || segmentMillis < 0)
+                throw new IllegalArgumentException("Checkpoints must be ascending");
+
+            while (segment > 0 && meters[i] >= nextBoundary) {
+                double boundary = previousMillis + segmentMillis * (nextBoundary - previousMeters) / segment;
+                splits.add(new Split(splitMeters, Math.round(boundary - splitStart)));
+                splitStart = boundary;
+                nextBoundary += splitMeters;
+            }
+            previousMeters = meters[i];
+            previousMillis = millis[i];
+        }
+
+        double remaining = previousMeters - (nextBoundary - splitMeters);
+        if (remaining >= MIN_PARTIAL_METERS)
+            splits.add(new Split(remaining, Math.round(previousMillis - splitStart)));
+        return splits;
+    }
+
+    public static List<Split> fromLaps(List<Lap> laps, double splitMeters) {
+        double[] meters = new double[laps.size()];
+        long[] millis = new long[laps.size()];
+        for (int i = 0; i < laps.size(); i++) {
+            meters[i] = (i == 0 ? 0 : meters[i - 1]) + laps.get(i).distanceMeters();
+            millis[i] = (i == 0 ? 0 : millis[i - 1]) + laps.get(i).durationMillis();
+        }
+        return compute(meters, millis, splitMeters);
+    }
+
+    /**
+     * @return the index of the fastest full split, the partial split at the end does not count, -1 if there is none
+     */
+    public static int fastest(List<Split> splits, double splitMeters) {
+        int fastest = -1;
+        for (int i = 0; i < splits.size(); i++) {
+            if (splits.get(i).distanceMeters() < splitMeters)
+                continue;
+            if (fastest < 0 || splits.get(i).durationMillis() < splits.get(fastest).durationMillis())
+                fastest = i;
+        }
+        return fastest;
+    }
+
+    /**
+     * @return whether the second half of the distance took less time than the first, the time at halfway being
+     * interpolated within the split it falls into
+     */
+    public static boolean isNegativeSplit(List<Split> splits) {
+        double total = 0;
+        long totalMillis = 0;
+        for (Split split : splits) {
+            total += split.distanceMeters();
+            totalMillis += split.durationMillis();
+        }
+
+        double half = total / 2;
+        double covered = 0;
+        double elapsed = 0;
+        for (Split split : splits) {
+            if (covered + split.distanceMeters() >= half) {
+                double firstHalfMillis = elapsed + split.durationMillis() * (half - covered) / split.distanceMeters();
+                return totalMillis - firstHalfMillis < firstHalfMillis;
+            }
+            covered += split.distanceMeters();
+            elapsed += split.durationMillis();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package eu.groeller.ds.domain.exercise;
+
+import eu.groeller.ds.service.utils.VarIntReader;
+import eu.groeller.ds.service.utils.VarIntWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary format of the splits of a {@link DistanceExerciseRecord}: a version byte, the count of full splits and
+ * their durations in milliseconds as varints, then the distance of the final partial split in decimeters and, if
+ * there is one, its duration. Full splits all have the split distance of the unit, so it is not stored; a marathon
+ * in kilometers takes about 130 bytes.
+ */
+public final class SplitCodec {
+
+    static final int VERSION = 1;
+
+    private static final double DISTANCE_FACTOR = 10;
+
+    private SplitCodec() {
+    }
+
+    /**
+     * @param splits full splits of {@code splitMeters}, optionally followed by one shorter split
+     */
+    public static byte[] encode(List<Split> splits, double splitMeters) {
+        boolean partial = !splits.isEmpty() && splits.getLast().distanceMeters() < splitMeters;
+        int full = partial ? splits.size() - 1 : splits.size();
+
+        VarIntWriter writer = new VarIntWriter(splits.size() * 3 + 8)
+                .writeByte(VERSION)
+                .writeUnsigned(full);
+        for (int i = 0; i < full; i++) {
+            if (splits.get(i).distanceMeters() != splitMeters)
+                throw new IllegalArgumentException("Only the last split may be shorter than " + splitMeters + "m");
+            writer.writeUnsigned(splits.get(i).durationMillis());
+        }
+
+        long partialDistance = partial ? Math.round(splits.getLast().distanceMeters() * DISTANCE_FACTOR) : 0;
+        writer.writeUnsigned(partialDistance);
+        if (partialDistance > 0)
+            writer.writeUnsigned(splits.getLast().durationMillis());
+        return writer.toByteArray();
+    }
+
+    public static List<Split> decode(byte[] data, double splitMeters) {
+        VarIntReader reader = new VarIntReader(data);
+        int version = reader.readByte();
+        if (version != VERSION)
+            throw new IllegalStateException("Unsupported split version " + version);
+
+        int full = Math.toIntExact(reader.readUnsigned());
+        List<Split> splits = new ArrayList<>(full + 1);
+        for (int i = 0; i < full; i++)
+            splits.add(new Split(splitMeters, reader.readUnsigned()));
+
+        long partialDistance = reader.readUnsigned();
+        if (partialDistance > 0)
+            splits.add(new Split(partialDistance / DISTANCE_FACTOR, reader.readUnsigned()));
+        if (reader.hasRemaining())
+            throw new IllegalStateException("Trailing bytes after " + splits.size() + " splits");
+        return splits;
+    }
+}
@@ -0,0 +1,153 @@
+package eu.groeller.ds.domain.exercise;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Read view over the {@link WorkoutCalendarYear}s of a user. Runs of training days are found with word-wise bit
+ * operations per year ({@link BitSet#previousClearBit}, {@link BitSet#nextClearBit}, ...) and only step from one
+ * year to the next, never day by day. Years without a calendar have no training days.
+ */
+public class TrainingDays {
+
+    private final NavigableMap<Integer, WorkoutCalendarYear> byYear = new TreeMap<>();
+    private final NavigableMap<Integer, BitSet> bits = new TreeMap<>();
+
+    public TrainingDays(Collection<WorkoutCalendarYear> years) {
+        years.forEach(year -> {
+            byYear.put(year.getYear(), year);
+            bits.put(year.getYear(), year.toBitSet());
+        });
+    }
+
+    public boolean isTrainingDay(LocalDate day) {
+        BitSet days = bits.get(day.getYear());
+        return days != null && days.get(day.getDayOfYear() - 1);
+    }
+
+    /**
+     * @return the first day of the run of training days containing {@code day}, which has to be a training day
+     */
+    public LocalDate runStart(LocalDate day) {
+        int year = day.getYear();
+        int index = day.getDayOfYear() - 1;
+        while (true) {
+            int missed = bits.get(year).previousClearBit(index);
+            if (missed >= 0)
+                return LocalDate.ofYearDay(year, missed + 2);
+
+            // Training every day since the start of the year, the run continues if the 31st of December was one
+            LocalDate newYear = LocalDate.of(year, 1, 1);
+            if (!isTrainingDay(newYear.minusDays(1)))
+                return newYear;
+            year--;
+            index = newYear.minusDays(1).getDayOfYear() - 1;
+        }
+    }
+
+    /**
+     * @return the last day of the run of training days containing {@code day}, which has to be a training day
+     */
+    public LocalDate runEnd(LocalDate day) {
+        int year = day.getYear();
+        int index = day.getDayOfYear() - 1;
+        while (true) {
+            int length = byYear.get(year).length();
+            int missed = bits.get(year).nextClearBit(index);
+            if (missed < length)
+                return LocalDate.ofYearDay(year, missed);
+
+            LocalDate newYearsEve = LocalDate.ofYearDay(year, length);
+            if (!isTrainingDay(newYearsEve.plusDays(1)))
+                return newYearsEve;
+            year++;
+            index = 0;
+        }
+    }
+
+    /**
+     * @return the last training day before {@code day}, null if there is none
+     */
+    public LocalDate lastTrainingDayBefore(LocalDate day) {
+        int index = day.getDayOfYear() - 2;
+        for (var entry : bits.headMap(day.getYear(), true).descendingMap().entrySet()) {
+            int year = entry.getKey();
+            if (year < day.getYear())
+                index = byYear.get(year).length() - 1;
+            int found = index < 0 ? -1 : entry.getValue().previousSetBit(index);
+            if (found >= 0)
+                return LocalDate.ofYearDay(year, found + 1);
+        }
+        return null;
+    }
+
+    /**
+     * @return the last training day, null if there is none
+     */
+    public LocalDate lastTrainingDay() {
+        return bits.isEmpty() ? null : lastTrainingDayBefore(LocalDate.of(bits.lastKey() + 1, 1, 1));
+    }
+
+    // Visits every run once, runs reaching the end of a year continue into the next one
+    public int longestRun() {
+        int longest = 0;
+        int carry = 0;
+        Integer previousYear = null;
+        for (var entry : bits.entrySet()) {
+            if (previousYear == null || previousYear != entry.getKey() - 1)
+                carry = 0;
+
+            BitSet days = entry.getValue();
+            int length = byYear.get(entry.getKey()).length();
+            int nextCarry = 0;
+            for (int start = days.nextSetBit(0); start >= 0; start = days.nextSetBit(start + 1)) {
+                int end = days.nextClearBit(start);
+                int run = end - start + (start == 0 ? carry : 0);
+                longest = Math.max(longest, run);
+                if (end >= length)
+                    nextCarry = run;
+                start = end;
+            }
+            carry = nextCarry;
+            previousYear = entry.getKey();
+        }
+        return longest;
+    }
+
+    /**
+     * @return the number of training days in {@code [from, to]}
+     */
+    public int trainingDaysBetween(LocalDate from, LocalDate to) {
+        int count = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            BitSet days = bits.get(year);
+            if (days == null)
+                continue;
+            int start = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+            int end = year == to.getYear() ? to.getDayOfYear() : byYear.get(year).length();
+            count += days.get(start, end).cardinality();
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of workouts started in {@code [from, to]}
+     */
+    public int workoutsBetween(LocalDate from, LocalDate to) {
+        int count = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            WorkoutCalendarYear calendar = byYear.get(year);
+            if (calendar == null)
+                continue;
+            int start = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+            int end = year == to.getYear() ? to.getDayOfYear() : calendar.length();
+            byte[] counts = calendar.getWorkoutCounts();
+            for (int index = start; index < end; index++)
+                count += Byte.toUnsignedInt(counts[index]);
+        }
+        return count;
+    }
+}
@@ -2,6 +2,7 @@ package eu.groeller.ds.domain.exercise;
 
 import eu.groeller.ds.domain.AbstractEntity;
 import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.heartrate.HeartRateStats;
 import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -39,13 +40,32 @@ public class Workout extends AbstractEntity {
     @NotNull
     private WorkoutType workoutType;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "workout_id")
+    // Owned by ExerciseRecord#workout, deleting a workout must not null out the records' not null foreign key first
+    @OneToMany(mappedBy = "workout", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ExerciseRecord> exercises = new ArrayList<>();
 
     @Column(name = "average_rest_time")
     private Double averageRestTime;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "workout_plan_id")
+    private WorkoutPlan workoutPlan;
+
+    // Score of the workout against its plan, see PlanAdherence
+    @Column(name = "plan_adherence")
+    private Double planAdherence;
+
+    // What the workout added to its plan's set counters, taken back when it is deleted
+    @Column(name = "plan_planned_sets", nullable = false)
+    private Integer planPlannedSets = 0;
+
+    @Column(name = "plan_completed_sets", nullable = false)
+    private Integer planCompletedSets = 0;
+
+    // Null until heart rate samples overlapping the workout are known
+    @Embedded
+    private HeartRateStats heartRate;
+
     public Workout(@NonNull User user, @NonNull OffsetDateTime startTime, @NonNull OffsetDateTime endTime, @NonNull List<ExerciseRecord> exercises, @NonNull WorkoutType type) {
         this.user = user;
         this.startTime = startTime;
@@ -57,7 +77,10 @@ public class Workout extends AbstractEntity {
 
         this.exercises = new ArrayList<>(exercises);
         this.exercises.sort(Comparator.comparingInt(ExerciseRecord::getOrderIndex));
-        this.exercises.forEach(exercise -> exercise.setWorkout(this));
+        this.exercises.forEach(exercise -> {
+            exercise.setWorkout(this);
+            exercise.notes().forEach(note -> note.attachTo(this));
+        });
 
         val lastExerciseEndTime = this.exercises.getLast().getEndTime();
         if (lastExerciseEndTime.isAfter(this.endTime))
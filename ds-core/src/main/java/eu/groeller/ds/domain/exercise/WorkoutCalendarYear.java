@@ -0,0 +1,115 @@
+package eu.groeller.ds.domain.exercise;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import eu.groeller.ds.domain.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+
+/**
+ * The days a user trained on in one calendar year, maintained as workouts are created and deleted so that a
+ * heatmap of the year is a single row. {@code days} has one bit per day: bit {@code n} (least significant bit first
+ * within each byte) is day of year {@code n + 1}. {@code workoutCounts} has one unsigned byte per day with the number
+ * of workouts started on it, saturating at {@link #MAX_COUNT}.
+ */
+@Getter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "workout_calendar_year")
+public class WorkoutCalendarYear extends AbstractEntity {
+
+    public static final int SIZE = 46;
+    public static final int DAYS = 366;
+    public static final int MAX_COUNT = 255;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @NotNull
+    @Column(name = "calendar_year")
+    private Integer year;
+
+    @NotNull
+    private byte[] days;
+
+    @NotNull
+    @Column(name = "workout_counts")
+    private byte[] workoutCounts;
+
+    public WorkoutCalendarYear(User user, int year) {
+        this.user = user;
+        this.year = year;
+        this.days = new byte[SIZE];
+        this.workoutCounts = new byte[DAYS];
+    }
+
+    public int length() {
+        return Year.of(year).length();
+    }
+
+    public int workoutsOn(LocalDate date) {
+        return Byte.toUnsignedInt(workoutCounts[indexOf(date)]);
+    }
+
+    /**
+     * @return whether the day was not a training day before
+     */
+    public boolean add(LocalDate date) {
+        int index = indexOf(date);
+        int count = Byte.toUnsignedInt(workoutCounts[index]);
+        if (count < MAX_COUNT)
+            workoutCounts[index] = (byte) (count + 1);
+        days[index >>> 3] |= (byte) (1 << (index & 7));
+        return count == 0;
+    }
+
+    /**
+     * @return whether the user no longer trained on the day
+     */
+    public boolean remove(LocalDate date) {
+        int index = indexOf(date);
+        int count = Byte.toUnsignedInt(workoutCounts[index]);
+        if (count == 0)
+            return false;
+
+        workoutCounts[index] = (byte) (count - 1);
+        if (count > 1)
+            return false;
+        days[index >>> 3] &= (byte) ~(1 << (index & 7));
+        return true;
+    }
+
+    public void clear() {
+        days = new byte[SIZE];
+        workoutCounts = new byte[DAYS];
+    }
+
+    public int trainingDays() {
+        return toBitSet().cardinality();
+    }
+
+    public int workouts() {
+        int total = 0;
+        for (byte count : workoutCounts)
+            total += Byte.toUnsignedInt(count);
+        return total;
+    }
+
+    public BitSet toBitSet() {
+        return BitSet.valueOf(days);
+    }
+
+    private int indexOf(LocalDate date) {
+        if (date.getYear() != year)
+            throw new IllegalArgumentException(date + " is not in " + year);
+        return date.getDayOfYear() - 1;
+    }
+}
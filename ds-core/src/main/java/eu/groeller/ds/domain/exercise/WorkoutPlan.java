@@ -0,0 +1,93 @@
+package eu.groeller.ds.domain.exercise;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import eu.groeller.ds.domain.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A user's template for a workout: which exercises to perform in which order and with which targets. Workouts
+ * logged against the plan are scored once when they are created, the counters below accumulate those scores, so
+ * adherence statistics never have to look at the workout history.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "workout_plan")
+public class WorkoutPlan extends AbstractEntity {
+
+    @NotNull
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @NotNull
+    private String name;
+
+    @NotNull
+    @ManyToOne
+    @JoinColumn(name = "workout_type_id")
+    private WorkoutType workoutType;
+
+    private Integer sessionsPerWeek;
+
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "workout_plan_id", nullable = false, updatable = false)
+    @OrderBy("orderIndex")
+    private List<PlannedExercise> exercises = new ArrayList<>();
+
+    // Only ever changed by WorkoutPlanRepository#recordWorkout and #removeWorkout, so edits of the plan cannot
+    // overwrite them
+    @Column(name = "completed_workouts", nullable = false, updatable = false)
+    private Integer completedWorkouts = 0;
+
+    @Column(name = "planned_sets", nullable = false, updatable = false)
+    private Long plannedSets = 0L;
+
+    @Column(name = "completed_sets", nullable = false, updatable = false)
+    private Long completedSets = 0L;
+
+    @Column(name = "adherence_sum", nullable = false, updatable = false)
+    private Double adherenceSum = 0.0;
+
+    @Column(name = "last_completed_at", updatable = false)
+    private OffsetDateTime lastCompletedAt;
+
+    public WorkoutPlan(User user, String name, WorkoutType workoutType, Integer sessionsPerWeek, List<PlannedExercise> exercises) {
+        this.user = user;
+        this.name = name;
+        this.workoutType = workoutType;
+        this.sessionsPerWeek = sessionsPerWeek;
+        replaceExercises(exercises);
+    }
+
+    public void replaceExercises(List<PlannedExercise> exercises) {
+        this.exercises.clear();
+        this.exercises.addAll(exercises);
+        this.exercises.sort(Comparator.comparingInt(PlannedExercise::getOrderIndex));
+    }
+
+    /**
+     * @return average score of the logged workouts, {@code null} before the first one
+     */
+    public Double getAverageAdherence() {
+        return completedWorkouts == 0 ? null : adherenceSum / completedWorkouts;
+    }
+
+    /**
+     * @return share of the planned sets that were performed, {@code null} before the first planned set
+     */
+    public Double getSetCompletionRate() {
+        return plannedSets == 0 ? null : (double) completedSets / plannedSets;
+    }
+}
@@ -0,0 +1,52 @@
+package eu.groeller.ds.domain.exercise;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Everything needed to start a workout from a plan, resolved up front: the planned exercises with their
+ * definitions and targets, plus how the user performed each of them last time. Immutable, so it can be cached
+ * and shared between requests.
+ */
+public record WorkoutPlanSession(
+        Long planId,
+        String planName,
+        Long workoutTypeId,
+        String workoutType,
+        List<Exercise> exercises
+) {
+
+    public record Exercise(
+            Integer orderIndex,
+            Long exerciseDefinitionId,
+            String exerciseName,
+            ExerciseType type,
+            Integer targetSets,
+            Integer targetRepetitions,
+            Double targetWeightKg,
+            Double targetDistance,
+            DistanceUnit targetDistanceUnit,
+            Integer restTimeSeconds,
+            LastPerformance lastPerformance
+    ) {
+    }
+
+    /**
+     * @param sets empty for distance exercises
+     */
+    public record LastPerformance(
+            OffsetDateTime performedAt,
+            List<SetPerformance> sets,
+            Double distance,
+            DistanceUnit distanceUnit,
+            Long durationMs
+    ) {
+    }
+
+    public record SetPerformance(
+            Integer repetitions,
+            Double weightKg,
+            Boolean failure
+    ) {
+    }
+}
@@ -0,0 +1,102 @@
+package eu.groeller.ds.domain.exercise;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import eu.groeller.ds.domain.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+
+/**
+ * The training streaks of a user, kept up to date as training days are added to and removed from their
+ * {@link WorkoutCalendarYear}s. Appending a day to the current run only looks at this row, back-dated workouts and
+ * deletions consult the calendar through {@link TrainingDays}.
+ */
+@Getter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "workout_streak")
+public class WorkoutStreak extends AbstractEntity {
+
+    @NotNull
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    // Both null if the user never trained
+    @Column(name = "last_training_day")
+    private LocalDate lastTrainingDay;
+
+    @Column(name = "current_streak_start")
+    private LocalDate currentStreakStart;
+
+    @NotNull
+    @Column(name = "longest_streak")
+    private Integer longestStreak = 0;
+
+    public WorkoutStreak(User user) {
+        this.user = user;
+    }
+
+    /**
+     * @param days the training days, already containing {@code day}, only asked for if {@code day} is back-dated
+     */
+    public void onTrainingDayAdded(LocalDate day, Supplier<TrainingDays> days) {
+        int run;
+        if (lastTrainingDay == null || day.isAfter(lastTrainingDay.plusDays(1))) {
+            currentStreakStart = day;
+            lastTrainingDay = day;
+            run = 1;
+        } else if (day.equals(lastTrainingDay.plusDays(1))) {
+            lastTrainingDay = day;
+            run = length(currentStreakStart, day);
+        } else {
+            // Back-dated, the day may join two runs and one of them may be the current one
+            TrainingDays calendar = days.get();
+            LocalDate start = calendar.runStart(day);
+            LocalDate end = calendar.runEnd(day);
+            if (end.equals(lastTrainingDay))
+                currentStreakStart = start;
+            run = length(start, end);
+        }
+        longestStreak = Math.max(longestStreak, run);
+    }
+
+    /**
+     * @param days the training days, no longer containing {@code day}
+     */
+    public void onTrainingDayRemoved(LocalDate day, TrainingDays days) {
+        if (day.equals(lastTrainingDay)) {
+            lastTrainingDay = days.lastTrainingDayBefore(day);
+            currentStreakStart = lastTrainingDay == null ? null : days.runStart(lastTrainingDay);
+        } else if (currentStreakStart != null && !day.isBefore(currentStreakStart) && day.isBefore(lastTrainingDay)) {
+            currentStreakStart = day.plusDays(1);
+        }
+        // The day may have split the longest run, or one of several equally long ones
+        longestStreak = days.longestRun();
+    }
+
+    public void rebuild(TrainingDays days) {
+        lastTrainingDay = days.lastTrainingDay();
+        currentStreakStart = lastTrainingDay == null ? null : days.runStart(lastTrainingDay);
+        longestStreak = days.longestRun();
+    }
+
+    /**
+     * @return the days in a row up to {@code today}, still counting yesterday's run if there was no workout today yet
+     */
+    public int currentStreak(LocalDate today) {
+        if (lastTrainingDay == null || lastTrainingDay.isBefore(today.minusDays(1)))
+            return 0;
+        return length(currentStreakStart, lastTrainingDay);
+    }
+
+    private static int length(LocalDate start, LocalDate end) {
+        return (int) ChronoUnit.DAYS.between(start, end) + 1;
+    }
+}
@@ -0,0 +1,33 @@
+package eu.groeller.ds.domain.exercise;
+
+import java.time.LocalDate;
+
+/**
+ * @param today           the current day of the user, in their time zone
+ * @param currentStreak   days in a row up to today, still counting yesterday's run if there was no workout today yet
+ * @param activeWeeks     how many of the last {@code weeks} seven day periods, the last one ending today, had a
+ *                        workout
+ * @param workoutsPerWeek the average number of workouts per week over the last {@code weeks} weeks
+ */
+public record WorkoutStreakStats(
+        LocalDate today,
+        int currentStreak,
+        int longestStreak,
+        LocalDate lastTrainingDay,
+        int weeks,
+        int activeWeeks,
+        double workoutsPerWeek
+) {
+    public static WorkoutStreakStats of(WorkoutStreak streak, TrainingDays days, LocalDate today, int weeks) {
+        int activeWeeks = 0;
+        for (int week = 0; week < weeks; week++) {
+            LocalDate end = today.minusWeeks(week);
+            if (days.trainingDaysBetween(end.minusDays(6), end) > 0)
+                activeWeeks++;
+        }
+        int workouts = days.workoutsBetween(today.minusWeeks(weeks).plusDays(1), today);
+
+        return new WorkoutStreakStats(today, streak.currentStreak(today), streak.getLongestStreak(), streak.getLastTrainingDay(),
+                weeks, activeWeeks, (double) workouts / weeks);
+    }
+}
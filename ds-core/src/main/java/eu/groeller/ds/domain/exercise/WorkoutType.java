@@ -1,12 +1,17 @@
 package eu.groeller.ds.domain.exercise;
 
 import eu.groeller.ds.domain.AbstractEntity;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,8 +19,15 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = WorkoutType.CACHE_REGION)
+@NaturalIdCache(region = WorkoutType.NATURAL_ID_CACHE_REGION)
 public class WorkoutType extends AbstractEntity {
 
+    public static final String CACHE_REGION = "ds.workout-type";
+    public static final String NATURAL_ID_CACHE_REGION = "ds.workout-type.natural-id";
+
+    @NaturalId
     @Column(unique = true)
     private String name;
 }
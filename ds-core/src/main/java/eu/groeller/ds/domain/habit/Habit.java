@@ -0,0 +1,147 @@
+package eu.groeller.ds.domain.habit;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import eu.groeller.ds.domain.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A habit of a user with its check-ins stored as one {@link HabitYear} bitset per year. Streaks and counts are
+ * computed with word-wise bit operations ({@link BitSet#previousClearBit}, {@link BitSet#cardinality}, ...) instead
+ * of walking day by day.
+ */
+@Getter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "habit")
+public class Habit extends AbstractEntity {
+
+    public static final int MAX_NAME_LENGTH = 100;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @NotNull
+    private String name;
+
+    @OneToMany(mappedBy = "habit", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<HabitYear> years = new ArrayList<>();
+
+    public Habit(User user, String name) {
+        this.user = user;
+        this.name = name;
+    }
+
+    /**
+     * @return whether the day changed
+     */
+    public boolean checkIn(LocalDate date, boolean checkedIn) {
+        HabitYear year = years.stream()
+                .filter(candidate -> candidate.getYear() == date.getYear())
+                .findFirst()
+                .orElse(null);
+        if (year == null) {
+            if (!checkedIn)
+                return false;
+            year = new HabitYear(this, date.getYear());
+            years.add(year);
+        }
+        return year.set(date, checkedIn);
+    }
+
+    /**
+     * @return the {@link HabitYear} bitset of the year, all zero if there was no check-in in it
+     */
+    public byte[] daysOf(int year) {
+        return years.stream()
+                .filter(candidate -> candidate.getYear() == year)
+                .findFirst()
+                .map(candidate -> candidate.getDays().clone())
+                .orElseGet(() -> new byte[HabitYear.SIZE]);
+    }
+
+    public HabitStats stats(LocalDate date) {
+        Map<Integer, HabitYear> byYear = new TreeMap<>();
+        years.forEach(year -> byYear.put(year.getYear(), year));
+
+        HabitYear current = byYear.get(date.getYear());
+        boolean checkedIn = current != null && current.isCheckedIn(date);
+        long total = byYear.values().stream().mapToLong(year -> year.toBitSet().cardinality()).sum();
+
+        return new HabitStats(
+                checkedIn,
+                currentStreak(byYear, checkedIn ? date : date.minusDays(1)),
+                longestStreak(byYear),
+                count(byYear, date.minusDays(29), date),
+                total
+        );
+    }
+
+    // Jumps to the last missed day per year instead of stepping through the days
+    private static int currentStreak(Map<Integer, HabitYear> byYear, LocalDate last) {
+        int streak = 0;
+        int year = last.getYear();
+        int index = last.getDayOfYear() - 1;
+        while (byYear.containsKey(year)) {
+            int missed = byYear.get(year).toBitSet().previousClearBit(index);
+            if (missed >= 0)
+                return streak + index - missed;
+
+            streak += index + 1;
+            year--;
+            index = byYear.containsKey(year) ? byYear.get(year).length() - 1 : 0;
+        }
+        return streak;
+    }
+
+    // Visits every run of check-ins once, runs reaching the end of a year continue into the next one
+    private static int longestStreak(Map<Integer, HabitYear> byYear) {
+        int longest = 0;
+        int carry = 0;
+        Integer previousYear = null;
+        for (HabitYear year : byYear.values()) {
+            if (previousYear == null || previousYear != year.getYear() - 1)
+                carry = 0;
+
+            BitSet days = year.toBitSet();
+            int nextCarry = 0;
+            for (int start = days.nextSetBit(0); start >= 0; start = days.nextSetBit(start + 1)) {
+                int end = days.nextClearBit(start);
+                int run = end - start + (start == 0 ? carry : 0);
+                longest = Math.max(longest, run);
+                if (end >= year.length())
+                    nextCarry = run;
+                start = end;
+            }
+            carry = nextCarry;
+            previousYear = year.getYear();
+        }
+        return longest;
+    }
+
+    // Check-ins in [from, to], at most two years apart
+    private static int count(Map<Integer, HabitYear> byYear, LocalDate from, LocalDate to) {
+        int count = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            HabitYear days = byYear.get(year);
+            if (days == null)
+                continue;
+            int start = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+            int end = year == to.getYear() ? to.getDayOfYear() : days.length();
+            count += days.toBitSet().get(start, end).cardinality();
+        }
+        return count;
+    }
+}
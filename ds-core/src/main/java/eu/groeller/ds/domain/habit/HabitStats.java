@@ -0,0 +1,17 @@
+package eu.groeller.ds.domain.habit;
+
+/**
+ * @param currentStreak days in a row up to the reference date, still counting the day before it if the habit was
+ *                      not checked in on the date yet
+ */
+public record HabitStats(
+        boolean checkedIn,
+        int currentStreak,
+        int longestStreak,
+        int checkInsLast30Days,
+        long totalCheckIns
+) {
+    public double completionRateLast30Days() {
+        return checkInsLast30Days / 30.0;
+    }
+}
@@ -0,0 +1,75 @@
+package eu.groeller.ds.domain.habit;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+
+/**
+ * The check-ins of a habit in one calendar year, one bit per day: bit {@code n} (least significant bit first within
+ * each byte) is day of year {@code n + 1}. 366 days fit into {@link #SIZE} bytes.
+ */
+@Getter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "habit_year")
+public class HabitYear extends AbstractEntity {
+
+    public static final int SIZE = 46;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "habit_id")
+    private Habit habit;
+
+    @NotNull
+    @Column(name = "calendar_year")
+    private Integer year;
+
+    @NotNull
+    private byte[] days;
+
+    HabitYear(Habit habit, int year) {
+        this.habit = habit;
+        this.year = year;
+        this.days = new byte[SIZE];
+    }
+
+    public int length() {
+        return Year.of(year).length();
+    }
+
+    public boolean isCheckedIn(LocalDate date) {
+        int index = indexOf(date);
+        return (days[index >>> 3] & (1 << (index & 7))) != 0;
+    }
+
+    /**
+     * @return whether the day changed
+     */
+    boolean set(LocalDate date, boolean checkedIn) {
+        int index = indexOf(date);
+        byte before = days[index >>> 3];
+        byte after = checkedIn
+                ? (byte) (before | (1 << (index & 7)))
+                : (byte) (before & ~(1 << (index & 7)));
+        days[index >>> 3] = after;
+        return before != after;
+    }
+
+    BitSet toBitSet() {
+        return BitSet.valueOf(days);
+    }
+
+    private int indexOf(LocalDate date) {
+        if (date.getYear() != year)
+            throw new IllegalArgumentException(date + " is not in " + year);
+        return date.getDayOfYear() - 1;
+    }
+}
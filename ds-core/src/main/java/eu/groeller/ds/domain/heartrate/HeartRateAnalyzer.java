@@ -0,0 +1,63 @@
+package eu.groeller.ds.domain.heartrate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Computes {@link HeartRateStats} of a time window. Every sample stands for the time until the next one, but for at
+ * most {@code maxSampleGap}, so a watch taken off the wrist does not stretch its last reading over the gap.
+ */
+public class HeartRateAnalyzer {
+
+    private final HeartRateZones zones;
+    private final long maxSampleGapMillis;
+
+    public HeartRateAnalyzer(HeartRateZones zones, Duration maxSampleGap) {
+        this.zones = zones;
+        this.maxSampleGapMillis = maxSampleGap.toMillis();
+    }
+
+    public Duration getMaxSampleGap() {
+        return Duration.ofMillis(maxSampleGapMillis);
+    }
+
+    /**
+     * @param samples ascending in time, may reach beyond the window, a sample up to {@link #getMaxSampleGap()}
+     *                before {@code from} still counts towards the time in zones
+     * @return the stats of the window {@code [from, to)}, {@code null} if no sample was taken in it
+     */
+    public HeartRateStats analyze(List<HeartRateSample> samples, Instant from, Instant to) {
+        long start = from.toEpochMilli();
+        long end = to.toEpochMilli();
+
+        int count = 0;
+        long sumBpm = 0;
+        int maxBpm = 0;
+        long[] zoneMillis = new long[HeartRateZones.COUNT];
+
+        for (int i = 0; i < samples.size(); i++) {
+            HeartRateSample sample = samples.get(i);
+            long time = sample.time().toEpochMilli();
+            if (time >= end)
+                break;
+
+            if (time >= start) {
+                count++;
+                sumBpm += sample.bpm();
+                maxBpm = Math.max(maxBpm, sample.bpm());
+            }
+
+            long coveredUntil = time + maxSampleGapMillis;
+            if (i + 1 < samples.size())
+                coveredUntil = Math.min(coveredUntil, samples.get(i + 1).time().toEpochMilli());
+            long covered = Math.min(coveredUntil, end) - Math.max(time, start);
+            if (covered > 0)
+                zoneMillis[zones.indexOf(sample.bpm())] += covered;
+        }
+
+        if (count == 0)
+            return null;
+        return new HeartRateStats(count, (double) sumBpm / count, maxBpm, zoneMillis);
+    }
+}
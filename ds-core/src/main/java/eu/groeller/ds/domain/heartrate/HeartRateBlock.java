@@ -0,0 +1,128 @@
+package eu.groeller.ds.domain.heartrate;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import eu.groeller.ds.domain.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * The heart rate samples of one user within one hour (UTC), stored as a single {@link HeartRateBlockCodec} encoded
+ * row instead of a row per sample. The summary columns are kept in sync with the samples on every merge, so
+ * aggregate reads never have to decode {@link #data}.
+ */
+@Getter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "heart_rate_block")
+public class HeartRateBlock extends AbstractEntity {
+
+    public static final Duration DURATION = Duration.ofHours(1);
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @NotNull
+    @Column(name = "block_start")
+    private OffsetDateTime blockStart;
+
+    @NotNull
+    @Column(name = "first_sample_at")
+    private OffsetDateTime firstSampleAt;
+
+    @NotNull
+    @Column(name = "last_sample_at")
+    private OffsetDateTime lastSampleAt;
+
+    @NotNull
+    @Column(name = "sample_count")
+    private Integer sampleCount;
+
+    @NotNull
+    @Column(name = "min_bpm")
+    private Integer minBpm;
+
+    @NotNull
+    @Column(name = "max_bpm")
+    private Integer maxBpm;
+
+    // Sum instead of average, so averages over several blocks stay exact
+    @NotNull
+    @Column(name = "sum_bpm")
+    private Long sumBpm;
+
+    @NotNull
+    private byte[] data;
+
+    public HeartRateBlock(User user, Instant blockStart) {
+        if (!blockStart.equals(startOf(blockStart)))
+            throw new IllegalArgumentException("Block start " + blockStart + " is not aligned to " + DURATION);
+        this.user = user;
+        this.blockStart = blockStart.atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * @return the start of the block that holds a sample taken at {@code time}
+     */
+    public static Instant startOf(Instant time) {
+        return time.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    public Instant getBlockEnd() {
+        return blockStart.toInstant().plus(DURATION);
+    }
+
+    public double getAverageBpm() {
+        return (double) sumBpm / sampleCount;
+    }
+
+    public List<HeartRateSample> samples() {
+        if (data == null)
+            return List.of();
+        return HeartRateBlockCodec.decode(blockStart.toInstant(), data);
+    }
+
+    /**
+     * Adds samples to the block. A new sample replaces a stored one taken at the same millisecond, so re-sending a
+     * batch is harmless.
+     */
+    public void merge(Collection<HeartRateSample> newSamples) {
+        Instant start = blockStart.toInstant();
+        Instant end = getBlockEnd();
+
+        TreeMap<Instant, Integer> merged = new TreeMap<>();
+        samples().forEach(sample -> merged.put(sample.time(), sample.bpm()));
+        for (HeartRateSample sample : newSamples) {
+            if (sample.time().isBefore(start) || !sample.time().isBefore(end))
+                throw new IllegalArgumentException("Sample at " + sample.time() + " is outside of block " + start);
+            merged.put(sample.time(), sample.bpm());
+        }
+        if (merged.isEmpty())
+            throw new IllegalArgumentException("A heart rate block needs at least one sample");
+
+        List<HeartRateSample> samples = merged.entrySet().stream()
+                .map(entry -> new HeartRateSample(entry.getKey(), entry.getValue()))
+                .toList();
+
+        this.data = HeartRateBlockCodec.encode(start, samples);
+        this.sampleCount = samples.size();
+        this.firstSampleAt = samples.getFirst().time().atOffset(ZoneOffset.UTC);
+        this.lastSampleAt = samples.getLast().time().atOffset(ZoneOffset.UTC);
+        this.minBpm = samples.stream().mapToInt(HeartRateSample::bpm).min().orElseThrow();
+        this.maxBpm = samples.stream().mapToInt(HeartRateSample::bpm).max().orElseThrow();
+        this.sumBpm = samples.stream().mapToLong(HeartRateSample::bpm).sum();
+    }
+}
@@ -0,0 +1,78 @@
+package eu.groeller.ds.domain.heartrate;
+
+import eu.groeller.ds.service.utils.VarIntReader;
+import eu.groeller.ds.service.utils.VarIntWriter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary format of the samples of a {@link HeartRateBlock}. After a version byte and the sample count, every sample
+ * is two zigzag varints: the change of the time delta in milliseconds (delta-of-delta, the first sample stores its
+ * offset from the block start) and the change in bpm. Wearables sample at a fixed rate and heart rates drift
+ * slowly, so both are almost always a single byte, about 2 bytes per sample in total.
+ */
+public final class HeartRateBlockCodec {
+
+    static final int VERSION = 1;
+
+    private HeartRateBlockCodec() {
+    }
+
+    /**
+     * @param samples strictly ascending in time, none before {@code blockStart}
+     */
+    public static byte[] encode(Instant blockStart, List<HeartRateSample> samples) {
+        VarIntWriter writer = new VarIntWriter(samples.size() * 2 + 8)
+                .writeByte(VERSION)
+                .writeUnsigned(samples.size());
+
+        long previousTime = blockStart.toEpochMilli();
+        long previousDelta = 0;
+        int previousBpm = 0;
+        for (int i = 0; i < samples.size(); i++) {
+            HeartRateSample sample = samples.get(i);
+            long time = sample.time().toEpochMilli();
+            long delta = time - previousTime;
+            if (delta < 0 || (delta == 0 && i > 0))
+                throw new IllegalArgumentException("Samples must be strictly ascending and not before the block start");
+
+            writer.writeSigned(delta - previousDelta);
+            writer.writeSigned(sample.bpm() - previousBpm);
+
+            // The offset of the first sample says nothing about the sampling interval
+            previousDelta = i == 0 ? 0 : delta;
+            previousTime = time;
+            previousBpm = sample.bpm();
+        }
+        return writer.toByteArray();
+    }
+
+    public static List<HeartRateSample> decode(Instant blockStart, byte[] data) {
+        VarIntReader reader = new VarIntReader(data);
+        int version = reader.readByte();
+        if (version != VERSION)
+            throw new IllegalStateException("Unsupported heart rate block version " + version);
+
+        int count = Math.toIntExact(reader.readUnsigned());
+        List<HeartRateSample> samples = new ArrayList<>(count);
+
+        long previousTime = blockStart.toEpochMilli();
+        long previousDelta = 0;
+        int previousBpm = 0;
+        for (int i = 0; i < count; i++) {
+            long delta = previousDelta + reader.readSigned();
+            long time = previousTime + delta;
+            int bpm = Math.toIntExact(previousBpm + reader.readSigned());
+            samples.add(new HeartRateSample(Instant.ofEpochMilli(time), bpm));
+
+            previousDelta = i == 0 ? 0 : delta;
+            previousTime = time;
+            previousBpm = bpm;
+        }
+        if (reader.hasRemaining())
+            throw new IllegalStateException("Trailing bytes after " + count + " heart rate samples");
+        return samples;
+    }
+}
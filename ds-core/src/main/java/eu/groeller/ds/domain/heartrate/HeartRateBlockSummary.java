@@ -0,0 +1,20 @@
+package eu.groeller.ds.domain.heartrate;
+
+import java.time.OffsetDateTime;
+
+/**
+ * The summary columns of a {@link HeartRateBlock} without its samples, for reads that only aggregate.
+ */
+public record HeartRateBlockSummary(
+        OffsetDateTime blockStart,
+        OffsetDateTime firstSampleAt,
+        OffsetDateTime lastSampleAt,
+        int sampleCount,
+        int minBpm,
+        int maxBpm,
+        long sumBpm
+) {
+    public double averageBpm() {
+        return (double) sumBpm / sampleCount;
+    }
+}
@@ -0,0 +1,6 @@
+package eu.groeller.ds.domain.heartrate;
+
+import java.time.Instant;
+
+public record HeartRateSample(Instant time, int bpm) {
+}
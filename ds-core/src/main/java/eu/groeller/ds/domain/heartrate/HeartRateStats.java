@@ -0,0 +1,63 @@
+package eu.groeller.ds.domain.heartrate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Heart rate over a workout or one of its exercises, computed once by {@link HeartRateAnalyzer} and stored alongside
+ * it, so reading a workout never decodes samples.
+ */
+@Getter
+@NoArgsConstructor
+
+@Embeddable
+public class HeartRateStats {
+
+    @Column(name = "hr_sample_count")
+    private Integer sampleCount;
+
+    @Column(name = "hr_average_bpm")
+    private Double averageBpm;
+
+    @Column(name = "hr_max_bpm")
+    private Integer maxBpm;
+
+    @Column(name = "hr_zone1_millis")
+    private Long zone1Millis;
+
+    @Column(name = "hr_zone2_millis")
+    private Long zone2Millis;
+
+    @Column(name = "hr_zone3_millis")
+    private Long zone3Millis;
+
+    @Column(name = "hr_zone4_millis")
+    private Long zone4Millis;
+
+    @Column(name = "hr_zone5_millis")
+    private Long zone5Millis;
+
+    public HeartRateStats(int sampleCount, double averageBpm, int maxBpm, long[] zoneMillis) {
+        if (zoneMillis.length != HeartRateZones.COUNT)
+            throw new IllegalArgumentException("Expected the time of " + HeartRateZones.COUNT + " zones");
+        this.sampleCount = sampleCount;
+        this.averageBpm = averageBpm;
+        this.maxBpm = maxBpm;
+        this.zone1Millis = zoneMillis[0];
+        this.zone2Millis = zoneMillis[1];
+        this.zone3Millis = zoneMillis[2];
+        this.zone4Millis = zoneMillis[3];
+        this.zone5Millis = zoneMillis[4];
+    }
+
+    /**
+     * @return the time spent in each zone, zone 1 first
+     */
+    public List<Long> timeInZonesMillis() {
+        return List.of(zone1Millis, zone2Millis, zone3Millis, zone4Millis, zone5Millis);
+    }
+}
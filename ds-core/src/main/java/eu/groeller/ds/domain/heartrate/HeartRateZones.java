@@ -0,0 +1,35 @@
+package eu.groeller.ds.domain.heartrate;
+
+import java.util.List;
+
+/**
+ * Five heart rate zones, bounded by percentages of a maximum heart rate. Zone 1 is everything below the first
+ * threshold, zone 5 everything from the last one on.
+ */
+public record HeartRateZones(int maxHeartRate, List<Integer> thresholds) {
+
+    public static final int COUNT = 5;
+
+    public HeartRateZones {
+        if (maxHeartRate <= 0)
+            throw new IllegalArgumentException("Maximum heart rate must be positive");
+        if (thresholds.size() != COUNT - 1)
+            throw new IllegalArgumentException("Expected " + (COUNT - 1) + " zone thresholds, got " + thresholds.size());
+        for (int i = 1; i < thresholds.size(); i++) {
+            if (thresholds.get(i) <= thresholds.get(i - 1))
+                throw new IllegalArgumentException("Zone thresholds must be ascending: " + thresholds);
+        }
+        thresholds = List.copyOf(thresholds);
+    }
+
+    /**
+     * @return the index of the zone {@code bpm} falls into, 0 for zone 1
+     */
+    public int indexOf(int bpm) {
+        int index = 0;
+        // Compared in percent * bpm to stay exact
+        while (index < thresholds.size() && bpm * 100L >= (long) thresholds.get(index) * maxHeartRate)
+            index++;
+        return index;
+    }
+}
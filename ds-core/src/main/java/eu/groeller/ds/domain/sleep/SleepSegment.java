@@ -0,0 +1,9 @@
+package eu.groeller.ds.domain.sleep;
+
+import java.time.Instant;
+
+/**
+ * A stage as reported by a device, {@code [start, end)}.
+ */
+public record SleepSegment(SleepStage stage, Instant start, Instant end) {
+}
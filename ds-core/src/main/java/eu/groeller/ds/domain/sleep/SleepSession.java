@@ -0,0 +1,177 @@
+package eu.groeller.ds.domain.sleep;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The sleep of one user in one night, identified by the date the user woke up. The stages are stored run-length
+ * encoded ({@link SleepStageCodec}), the nightly aggregates are computed once when the night is recorded.
+ */
+@Getter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "sleep_session")
+public class SleepSession extends AbstractEntity {
+
+    public static final Duration MAX_DURATION = Duration.ofHours(24);
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @NotNull
+    private LocalDate night;
+
+    @NotNull
+    @Column(name = "start_time")
+    private OffsetDateTime startTime;
+
+    @NotNull
+    @Column(name = "end_time")
+    private OffsetDateTime endTime;
+
+    @NotNull
+    private byte[] stages;
+
+    @NotNull
+    @Column(name = "in_bed_seconds")
+    private Integer inBedSeconds;
+
+    @NotNull
+    @Column(name = "asleep_seconds")
+    private Integer asleepSeconds;
+
+    @NotNull
+    @Column(name = "awake_seconds")
+    private Integer awakeSeconds;
+
+    @NotNull
+    @Column(name = "light_seconds")
+    private Integer lightSeconds;
+
+    @NotNull
+    @Column(name = "deep_seconds")
+    private Integer deepSeconds;
+
+    @NotNull
+    @Column(name = "rem_seconds")
+    private Integer remSeconds;
+
+    @NotNull
+    private Double efficiency;
+
+    // Running totals of the user's nights up to and including this one
+    @Setter
+    @NotNull
+    @Embedded
+    private SleepTotals cumulative;
+
+    public SleepSession(User user, LocalDate night) {
+        this.user = user;
+        this.night = night;
+    }
+
+    /**
+     * Replaces the stages and aggregates of the night. Time not covered by a segment counts as awake.
+     *
+     * @param segments must not overlap, all within {@code [startTime, endTime)}
+     */
+    public void record(OffsetDateTime startTime, OffsetDateTime endTime, List<SleepSegment> segments) {
+        if (!startTime.isBefore(endTime))
+            throw new DSIllegalArgumentException("Sleep must start before it ends");
+        if (Duration.between(startTime, endTime).compareTo(MAX_DURATION) > 0)
+            throw new DSIllegalArgumentException("Sleep must not be longer than " + MAX_DURATION.toHours() + " hours");
+
+        List<SleepStageRun> runs = runsOf(startTime.toInstant(), endTime.toInstant(), segments);
+
+        Map<SleepStage, Integer> seconds = new EnumMap<>(SleepStage.class);
+        for (SleepStage stage : SleepStage.values())
+            seconds.put(stage, 0);
+        runs.forEach(run -> seconds.merge(run.stage(), run.seconds(), Integer::sum));
+
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.stages = SleepStageCodec.encode(runs);
+        this.inBedSeconds = runs.stream().mapToInt(SleepStageRun::seconds).sum();
+        this.awakeSeconds = seconds.get(SleepStage.AWAKE);
+        this.lightSeconds = seconds.get(SleepStage.LIGHT);
+        this.deepSeconds = seconds.get(SleepStage.DEEP);
+        this.remSeconds = seconds.get(SleepStage.REM);
+        this.asleepSeconds = lightSeconds + deepSeconds + remSeconds;
+        this.efficiency = inBedSeconds == 0 ? 0.0 : (double) asleepSeconds / inBedSeconds;
+    }
+
+    public List<SleepStageRun> runs() {
+        return SleepStageCodec.decode(stages);
+    }
+
+    /**
+     * @return the totals of this night alone, {@link SleepTotals#EMPTY} before it was recorded
+     */
+    public SleepTotals nightTotals() {
+        if (stages == null)
+            return SleepTotals.EMPTY;
+        return new SleepTotals(1L, (long) inBedSeconds, (long) asleepSeconds, (long) awakeSeconds,
+                (long) lightSeconds, (long) deepSeconds, (long) remSeconds);
+    }
+
+    /**
+     * Cuts the night into runs of whole seconds since {@code start}. Boundaries are rounded down to the second
+     * relative to the start rather than per segment, so rounding does not add up over a night.
+     */
+    static List<SleepStageRun> runsOf(Instant start, Instant end, List<SleepSegment> segments) {
+        List<SleepSegment> sorted = new ArrayList<>(segments);
+        sorted.sort(Comparator.comparing(SleepSegment::start));
+
+        List<SleepStageRun> runs = new ArrayList<>();
+        long position = 0;
+        Instant previousEnd = start;
+        for (SleepSegment segment : sorted) {
+            if (!segment.start().isBefore(segment.end()))
+                throw new DSIllegalArgumentException("Sleep segment must start before it ends: " + segment.start());
+            if (segment.start().isBefore(previousEnd))
+                throw new DSIllegalArgumentException("Sleep segments must not overlap or start before the sleep: " + segment.start());
+            if (segment.end().isAfter(end))
+                throw new DSIllegalArgumentException("Sleep segment must not end after the sleep: " + segment.end());
+
+            position = append(runs, SleepStage.AWAKE, position, secondsBetween(start, segment.start()));
+            position = append(runs, segment.stage(), position, secondsBetween(start, segment.end()));
+            previousEnd = segment.end();
+        }
+        append(runs, SleepStage.AWAKE, position, secondsBetween(start, end));
+        return runs;
+    }
+
+    private static long append(List<SleepStageRun> runs, SleepStage stage, long from, long to) {
+        if (to <= from)
+            return from;
+        int seconds = Math.toIntExact(to - from);
+        if (!runs.isEmpty() && runs.getLast().stage() == stage)
+            runs.set(runs.size() - 1, new SleepStageRun(stage, runs.getLast().seconds() + seconds));
+        else
+            runs.add(new SleepStageRun(stage, seconds));
+        return to;
+    }
+
+    private static long secondsBetween(Instant start, Instant time) {
+        return Duration.between(start, time).toSeconds();
+    }
+}
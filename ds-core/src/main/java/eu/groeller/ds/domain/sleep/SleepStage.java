@@ -0,0 +1,12 @@
+package eu.groeller.ds.domain.sleep;
+
+public enum SleepStage {
+    AWAKE,
+    LIGHT,
+    DEEP,
+    REM;
+
+    public boolean isAsleep() {
+        return this != AWAKE;
+    }
+}
@@ -0,0 +1,52 @@
+package eu.groeller.ds.domain.sleep;
+
+import eu.groeller.ds.service.utils.VarIntReader;
+import eu.groeller.ds.service.utils.VarIntWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary format of the stages of a {@link SleepSession}: a version byte, the run count and per run the stage ordinal
+ * and its length in seconds as a varint. A night is a few dozen runs, well below 100 bytes, instead of a row per
+ * segment.
+ */
+public final class SleepStageCodec {
+
+    static final int VERSION = 1;
+
+    private static final SleepStage[] STAGES = SleepStage.values();
+
+    private SleepStageCodec() {
+    }
+
+    public static byte[] encode(List<SleepStageRun> runs) {
+        VarIntWriter writer = new VarIntWriter(runs.size() * 3 + 4)
+                .writeByte(VERSION)
+                .writeUnsigned(runs.size());
+        for (SleepStageRun run : runs) {
+            writer.writeByte(run.stage().ordinal());
+            writer.writeUnsigned(run.seconds());
+        }
+        return writer.toByteArray();
+    }
+
+    public static List<SleepStageRun> decode(byte[] data) {
+        VarIntReader reader = new VarIntReader(data);
+        int version = reader.readByte();
+        if (version != VERSION)
+            throw new IllegalStateException("Unsupported sleep stage version " + version);
+
+        int count = Math.toIntExact(reader.readUnsigned());
+        List<SleepStageRun> runs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int stage = reader.readByte();
+            if (stage >= STAGES.length)
+                throw new IllegalStateException("Unknown sleep stage " + stage);
+            runs.add(new SleepStageRun(STAGES[stage], Math.toIntExact(reader.readUnsigned())));
+        }
+        if (reader.hasRemaining())
+            throw new IllegalStateException("Trailing bytes after " + count + " sleep stage runs");
+        return runs;
+    }
+}
@@ -0,0 +1,7 @@
+package eu.groeller.ds.domain.sleep;
+
+/**
+ * Consecutive seconds of a night spent in one stage.
+ */
+public record SleepStageRun(SleepStage stage, int seconds) {
+}
@@ -0,0 +1,73 @@
+package eu.groeller.ds.domain.sleep;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sums over a number of nights. Stored on every {@link SleepSession} as the running total of all nights of the user
+ * up to and including it, so the totals of any range of nights are the difference of two of them.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Embeddable
+public class SleepTotals {
+
+    public static final SleepTotals EMPTY = new SleepTotals(0L, 0L, 0L, 0L, 0L, 0L, 0L);
+
+    @Column(name = "cum_nights")
+    private Long nights;
+
+    @Column(name = "cum_in_bed_seconds")
+    private Long inBedSeconds;
+
+    @Column(name = "cum_asleep_seconds")
+    private Long asleepSeconds;
+
+    @Column(name = "cum_awake_seconds")
+    private Long awakeSeconds;
+
+    @Column(name = "cum_light_seconds")
+    private Long lightSeconds;
+
+    @Column(name = "cum_deep_seconds")
+    private Long deepSeconds;
+
+    @Column(name = "cum_rem_seconds")
+    private Long remSeconds;
+
+    public SleepTotals plus(SleepTotals other) {
+        return new SleepTotals(
+                nights + other.nights,
+                inBedSeconds + other.inBedSeconds,
+                asleepSeconds + other.asleepSeconds,
+                awakeSeconds + other.awakeSeconds,
+                lightSeconds + other.lightSeconds,
+                deepSeconds + other.deepSeconds,
+                remSeconds + other.remSeconds
+        );
+    }
+
+    public SleepTotals minus(SleepTotals other) {
+        return new SleepTotals(
+                nights - other.nights,
+                inBedSeconds - other.inBedSeconds,
+                asleepSeconds - other.asleepSeconds,
+                awakeSeconds - other.awakeSeconds,
+                lightSeconds - other.lightSeconds,
+                deepSeconds - other.deepSeconds,
+                remSeconds - other.remSeconds
+        );
+    }
+
+    /**
+     * @return the share of the time in bed spent asleep, {@code null} without any
+     */
+    public Double efficiency() {
+        return inBedSeconds == 0 ? null : (double) asleepSeconds / inBedSeconds;
+    }
+}
@@ -0,0 +1,9 @@
+package eu.groeller.ds.domain.sleep;
+
+import java.time.LocalDate;
+
+/**
+ * The totals of the nights in {@code (end - days, end]}.
+ */
+public record SleepWindow(int days, LocalDate end, SleepTotals totals) {
+}
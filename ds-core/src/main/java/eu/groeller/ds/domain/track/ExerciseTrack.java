@@ -0,0 +1,73 @@
+package eu.groeller.ds.domain.track;
+
+import eu.groeller.ds.domain.AbstractEntity;
+import eu.groeller.ds.domain.exercise.DistanceExerciseRecord;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The GPS track of a {@link DistanceExerciseRecord}, its points encoded by {@link TrackCodec}. Only read to serve
+ * maps, everything summary views need is on the record as a {@link TrackSummary}.
+ */
+@Getter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "exercise_track")
+public class ExerciseTrack extends AbstractEntity {
+
+    @NotNull
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exercise_record_id")
+    private DistanceExerciseRecord record;
+
+    @NotNull
+    private byte[] points;
+
+    @NotNull
+    private Integer pointCount;
+
+    @NotNull
+    private Double minLatitude;
+
+    @NotNull
+    private Double maxLatitude;
+
+    @NotNull
+    private Double minLongitude;
+
+    @NotNull
+    private Double maxLongitude;
+
+    public ExerciseTrack(DistanceExerciseRecord record) {
+        this.record = record;
+    }
+
+    /**
+     * Replaces the points of the track.
+     *
+     * @param points strictly ascending in time, either all or none with an elevation
+     */
+    public void replace(List<TrackPoint> points) {
+        this.points = TrackCodec.encode(points);
+        this.pointCount = points.size();
+
+        TrackBounds bounds = TrackBounds.of(points);
+        this.minLatitude = bounds.minLatitude();
+        this.maxLatitude = bounds.maxLatitude();
+        this.minLongitude = bounds.minLongitude();
+        this.maxLongitude = bounds.maxLongitude();
+    }
+
+    public List<TrackPoint> points() {
+        return TrackCodec.decode(points);
+    }
+
+    public TrackBounds bounds() {
+        return new TrackBounds(minLatitude, maxLatitude, minLongitude, maxLongitude);
+    }
+}
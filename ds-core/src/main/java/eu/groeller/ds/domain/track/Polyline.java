@@ -0,0 +1,38 @@
+package eu.groeller.ds.domain.track;
+
+import java.util.List;
+
+/**
+ * The encoded polyline format of map SDKs (precision 5): per point the latitude and longitude deltas in 1e-5
+ * degrees, zigzag encoded and written as 5-bit chunks offset into printable ASCII. Clients can draw it without
+ * decoding it themselves and it is a fraction of the size of a JSON array of coordinates.
+ */
+public final class Polyline {
+
+    private Polyline() {
+    }
+
+    public static String encode(List<TrackPoint> points) {
+        StringBuilder encoded = new StringBuilder(points.size() * 6);
+        long previousLatitude = 0;
+        long previousLongitude = 0;
+        for (TrackPoint point : points) {
+            long latitude = Math.round(point.latitude() * TrackCodec.COORDINATE_FACTOR);
+            long longitude = Math.round(point.longitude() * TrackCodec.COORDINATE_FACTOR);
+            append(encoded, latitude - previousLatitude);
+            append(encoded, longitude - previousLongitude);
+            previousLatitude = latitude;
+            previousLongitude = longitude;
+        }
+        return encoded.toString();
+    }
+
+    private static void append(StringBuilder encoded, long value) {
+        long zigzag = value < 0 ? ~(value << 1) : value << 1;
+        while (zigzag >= 0x20) {
+            encoded.append((char) ((0x20 | (zigzag & 0x1F)) + 63));
+            zigzag >>= 5;
+        }
+        encoded.append((char) (zigzag + 63));
+    }
+}
@@ -0,0 +1,22 @@
+package eu.groeller.ds.domain.track;
+
+import java.util.List;
+
+/**
+ * @param zoom     the zoom level the track was simplified for
+ * @param polyline the kept points as an encoded {@link Polyline}
+ */
+public record SimplifiedTrack(
+        int zoom,
+        double toleranceMeters,
+        int pointCount,
+        int originalPointCount,
+        String polyline,
+        TrackBounds bounds
+) {
+    public static SimplifiedTrack of(ExerciseTrack track, int zoom) {
+        double toleranceMeters = TrackSimplifier.toleranceForZoom(zoom, track.bounds().centerLatitude());
+        List<TrackPoint> simplified = TrackSimplifier.simplify(track.points(), toleranceMeters);
+        return new SimplifiedTrack(zoom, toleranceMeters, simplified.size(), track.getPointCount(), Polyline.encode(simplified), track.bounds());
+    }
+}
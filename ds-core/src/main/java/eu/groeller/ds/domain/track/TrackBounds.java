@@ -0,0 +1,30 @@
+package eu.groeller.ds.domain.track;
+
+import java.time.Instant;
+import java.util.List;
+
+public record TrackBounds(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+
+    public static TrackBounds of(List<TrackPoint> points) {
+        double minLatitude = Double.POSITIVE_INFINITY;
+        double maxLatitude = Double.NEGATIVE_INFINITY;
+        double minLongitude = Double.POSITIVE_INFINITY;
+        double maxLongitude = Double.NEGATIVE_INFINITY;
+        for (TrackPoint point : points) {
+            minLatitude = Math.min(minLatitude, point.latitude());
+            maxLatitude = Math.max(maxLatitude, point.latitude());
+            minLongitude = Math.min(minLongitude, point.longitude());
+            maxLongitude = Math.max(maxLongitude, point.longitude());
+        }
+        return new TrackBounds(minLatitude, maxLatitude, minLongitude, maxLongitude);
+    }
+
+    public double centerLatitude() {
+        return (minLatitude + maxLatitude) / 2;
+    }
+
+    public double diagonalMeters() {
+        return new TrackPoint(Instant.EPOCH, minLatitude, minLongitude, null)
+                .distanceTo(new TrackPoint(Instant.EPOCH, maxLatitude, maxLongitude, null));
+    }
+}
@@ -0,0 +1,33 @@
+package eu.groeller.ds.domain.track;
+
+import java.time.Instant;
+
+/**
+ * @param elevation meters above sea level, {@code null} if the device does not record it
+ */
+public record TrackPoint(Instant time, double latitude, double longitude, Double elevation) {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    /**
+     * @return the great-circle distance in meters (haversine), elevation is ignored
+     */
+    public double distanceTo(TrackPoint other) {
+        double lat1 = Math.toRadians(latitude);
+        double lat2 = Math.toRadians(other.latitude);
+        double sinLat = Math.sin((lat2 - lat1) / 2);
+        double sinLon = Math.sin(Math.toRadians(other.longitude - longitude) / 2);
+        double a = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * @return the point projected onto a plane tangent at {@code origin}, in meters east and north of it. Exact
+     * enough for the short distances between neighbouring points of a track.
+     */
+    double[] project(TrackPoint origin) {
+        double x = Math.toRadians(longitude - origin.longitude) * Math.cos(Math.toRadians(origin.latitude));
+        double y = Math.toRadians(latitude - origin.latitude);
+        return new double[]{x * EARTH_RADIUS_METERS, y * EARTH_RADIUS_METERS};
+    }
+}
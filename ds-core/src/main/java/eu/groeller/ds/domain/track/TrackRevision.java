@@ -0,0 +1,10 @@
+package eu.groeller.ds.domain.track;
+
+/**
+ * Identifies the current points of an {@link ExerciseTrack} without reading them, the version changes with every
+ * upload.
+ *
+ * @param centerLatitude the center of the track's bounds, to pick a zoom level without reading the points
+ */
+public record TrackRevision(long trackId, int version, double centerLatitude) {
+}
@@ -0,0 +1,95 @@
+package eu.groeller.ds.domain.track;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Douglas–Peucker simplification: keeps the endpoints, then recursively the point farthest from the line between
+ * the kept ones as long as it is farther than the tolerance. Runs on an explicit stack, a track can have tens of
+ * thousands of points.
+ */
+public final class TrackSimplifier {
+
+    public static final int MAX_ZOOM = 22;
+
+    // Meters per pixel of a 256px web mercator tile at zoom 0 on the equator
+    private static final double METERS_PER_PIXEL_AT_ZOOM_0 = 156_543.03392;
+
+    private TrackSimplifier() {
+    }
+
+    /**
+     * @return the tolerance at which a simplified track is indistinguishable from the full one on a map at the
+     * zoom level, a pixel at the latitude
+     */
+    public static double toleranceForZoom(int zoom, double latitude) {
+        if (zoom < 0 || zoom > MAX_ZOOM)
+            throw new IllegalArgumentException("Zoom must be between 0 and " + MAX_ZOOM);
+        return METERS_PER_PIXEL_AT_ZOOM_0 * Math.cos(Math.toRadians(latitude)) / (1L << zoom);
+    }
+
+    /**
+     * @return the coarsest zoom level whose tolerance at the latitude is at most the given one, the finest zoom
+     * level for anything below its tolerance
+     */
+    public static int zoomForTolerance(double toleranceMeters, double latitude) {
+        if (!(toleranceMeters >= 0))
+            throw new IllegalArgumentException("Tolerance must not be negative");
+        for (int zoom = 0; zoom < MAX_ZOOM; zoom++) {
+            if (toleranceForZoom(zoom, latitude) <= toleranceMeters)
+                return zoom;
+        }
+        return MAX_ZOOM;
+    }
+
+    public static List<TrackPoint> simplify(List<TrackPoint> points, double toleranceMeters) {
+        if (toleranceMeters < 0)
+            throw new IllegalArgumentException("Tolerance must not be negative");
+        if (points.size() < 3)
+            return List.copyOf(points);
+
+        BitSet kept = new BitSet(points.size());
+        kept.set(0);
+        kept.set(points.size() - 1);
+
+        Deque<int[]> ranges = new ArrayDeque<>();
+        ranges.push(new int[]{0, points.size() - 1});
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.pop();
+            int first = range[0];
+            int last = range[1];
+
+            int farthest = -1;
+            double maxDistance = toleranceMeters;
+            for (int i = first + 1; i < last; i++) {
+                double distance = distanceToSegment(points.get(i), points.get(first), points.get(last));
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    farthest = i;
+                }
+            }
+            if (farthest < 0)
+                continue;
+
+            kept.set(farthest);
+            ranges.push(new int[]{first, farthest});
+            ranges.push(new int[]{farthest, last});
+        }
+
+        List<TrackPoint> simplified = new ArrayList<>(kept.cardinality());
+        for (int i = kept.nextSetBit(0); i >= 0; i = kept.nextSetBit(i + 1))
+            simplified.add(points.get(i));
+        return simplified;
+    }
+
+    private static double distanceToSegment(TrackPoint point, TrackPoint start, TrackPoint end) {
+        double[] p = point.project(start);
+        double[] e = end.project(start);
+        double lengthSquared = e[0] * e[0] + e[1] * e[1];
+        double t = lengthSquared == 0 ? 0 : Math.clamp((p[0] * e[0] + p[1] * e[1]) / lengthSquared, 0, 1);
+        return Math.hypot(p[0] - t * e[0], p[1] - t * e[1]);
+    }
+}
@@ -0,0 +1,29 @@
+package eu.groeller.ds.domain.track;
+
+import eu.groeller.ds.domain.exercise.Split;
+import eu.groeller.ds.domain.exercise.SplitCalculator;
+
+import java.util.List;
+
+/**
+ * Splits of a track, every point being a {@link SplitCalculator} checkpoint.
+ */
+public final class TrackSplits {
+
+    private TrackSplits() {
+    }
+
+    public static List<Split> compute(List<TrackPoint> points, double splitMeters) {
+        if (points.isEmpty())
+            return List.of();
+
+        double[] meters = new double[points.size() - 1];
+        long[] millis = new long[points.size() - 1];
+        long start = points.getFirst().time().toEpochMilli();
+        for (int i = 1; i < points.size(); i++) {
+            meters[i - 1] = (i == 1 ? 0 : meters[i - 2]) + points.get(i - 1).distanceTo(points.get(i));
+            millis[i - 1] = points.get(i).time().toEpochMilli() - start;
+        }
+        return SplitCalculator.compute(meters, millis, splitMeters);
+    }
+}
@@ -0,0 +1,89 @@
+package eu.groeller.ds.domain.track;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * What summary views show of a track, computed once on upload and stored on its record, so listing workouts never
+ * reads or decodes the {@link ExerciseTrack} itself. The thumbnail is the track simplified to a small map, as an
+ * encoded {@link Polyline}.
+ */
+@Getter
+@NoArgsConstructor
+
+@Embeddable
+public class TrackSummary {
+
+    // Width of the thumbnail map in pixels, the tolerance is one of them
+    static final int THUMBNAIL_RESOLUTION = 100;
+    static final int THUMBNAIL_MAX_POINTS = 250;
+    // GPS elevations jitter by a few meters, smaller changes are not counted as climbs
+    static final double ELEVATION_THRESHOLD_METERS = 3;
+
+    @Column(name = "track_point_count")
+    private Integer pointCount;
+
+    @Column(name = "track_distance_meters")
+    private Double distanceMeters;
+
+    @Column(name = "track_duration_millis")
+    private Long durationMillis;
+
+    @Column(name = "track_elevation_gain_meters")
+    private Double elevationGainMeters;
+
+    @Column(name = "track_elevation_loss_meters")
+    private Double elevationLossMeters;
+
+    @Column(name = "track_thumbnail")
+    private String thumbnail;
+
+    public TrackSummary(List<TrackPoint> points) {
+        if (points.isEmpty())
+            throw new IllegalArgumentException("A track needs at least one point");
+        this.pointCount = points.size();
+        this.durationMillis = Duration.between(points.getFirst().time(), points.getLast().time()).toMillis();
+
+        double distance = 0;
+        for (int i = 1; i < points.size(); i++)
+            distance += points.get(i - 1).distanceTo(points.get(i));
+        this.distanceMeters = distance;
+
+        if (points.getFirst().elevation() != null) {
+            double gain = 0;
+            double loss = 0;
+            double anchor = points.getFirst().elevation();
+            for (TrackPoint point : points) {
+                double change = point.elevation() - anchor;
+                if (Math.abs(change) < ELEVATION_THRESHOLD_METERS)
+                    continue;
+                if (change > 0)
+                    gain += change;
+                else
+                    loss -= change;
+                anchor = point.elevation();
+            }
+            this.elevationGainMeters = gain;
+            this.elevationLossMeters = loss;
+        }
+
+        this.thumbnail = Polyline.encode(thumbnail(points));
+    }
+
+    private static List<TrackPoint> thumbnail(List<TrackPoint> points) {
+        TrackBounds bounds = TrackBounds.of(points);
+        double tolerance = Math.max(bounds.diagonalMeters() / THUMBNAIL_RESOLUTION, 1);
+        List<TrackPoint> simplified = TrackSimplifier.simplify(points, tolerance);
+        // Tracks doubling back on themselves, like laps of a track, keep many points at any tolerance
+        while (simplified.size() > THUMBNAIL_MAX_POINTS) {
+            tolerance *= 2;
+            simplified = TrackSimplifier.simplify(simplified, tolerance);
+        }
+        return simplified;
+    }
+}
@@ -0,0 +1,39 @@
+package eu.groeller.ds.persistence.auth;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.auth.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Locks the token until the end of the transaction, so concurrent refreshes with the same token are serialized
+     * and all but the first one see it rotated.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from RefreshToken t where t.tokenHash = ?1")
+    Optional<RefreshToken> findForUpdateByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = ?2 where t.familyId = ?1 and t.revokedAt is null")
+    int revokeFamily(String familyId, OffsetDateTime revokedAt);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = ?2 where t.user = ?1 and t.revokedAt is null")
+    int revokeAllForUser(User user, OffsetDateTime revokedAt);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < ?1")
+    int deleteExpired(OffsetDateTime now);
+}
@@ -0,0 +1,20 @@
+package eu.groeller.ds.persistence.auth;
+
+import eu.groeller.ds.domain.auth.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    List<RevokedToken> findByExpiresAtAfter(OffsetDateTime now);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < ?1")
+    int deleteExpired(OffsetDateTime now);
+}
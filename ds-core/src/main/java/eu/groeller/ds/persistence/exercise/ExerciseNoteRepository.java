@@ -0,0 +1,13 @@
+package eu.groeller.ds.persistence.exercise;
+
+import eu.groeller.ds.domain.exercise.ExerciseNote;
+import eu.groeller.ds.domain.exercise.Workout;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ExerciseNoteRepository extends JpaRepository<ExerciseNote, Long>, ExerciseNoteRepositoryCustom {
+
+    List<ExerciseNote> findByWorkoutIn(Collection<Workout> workouts);
+}
@@ -0,0 +1,18 @@
+package eu.groeller.ds.persistence.exercise;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.NoteSearchCursor;
+import eu.groeller.ds.domain.exercise.NoteSearchResult;
+
+import java.util.List;
+
+public interface ExerciseNoteRepositoryCustom {
+
+    /**
+     * Full text search over the notes of a user, PostgreSQL only. Matches are grouped by workout, newest first, and
+     * only the returned workouts get snippets built.
+     *
+     * @param after the last workout of the previous page, {@code null} for the first page
+     */
+    List<NoteSearchResult.WorkoutMatch> search(User user, String query, NoteSearchCursor after, int limit);
+}
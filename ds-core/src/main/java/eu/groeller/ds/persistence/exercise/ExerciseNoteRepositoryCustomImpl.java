@@ -0,0 +1,103 @@
+package eu.groeller.ds.persistence.exercise;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.NoteSearchCursor;
+import eu.groeller.ds.domain.exercise.NoteSearchResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ExerciseNoteRepositoryCustomImpl implements ExerciseNoteRepositoryCustom {
+
+    // Has to match the configuration of the generated exercise_note.search column for its GIN index to apply
+    private static final String TEXT_SEARCH_CONFIG = "'english'";
+    // Notes are escaped before the headline is built, so only the inserted selection tags are markup
+    private static final String ESCAPED_CONTENT = "replace(replace(replace(n.content, '&', '&amp;'), '<', '&lt;'), '>', '&gt;')";
+    private static final String HEADLINE_OPTIONS =
+            "'StartSel=<mark>, StopSel=</mark>, MinWords=5, MaxWords=20, MaxFragments=2, FragmentDelimiter=\" ... \"'";
+
+    // The notes drive the search through the GIN index, workouts are only looked up by id for the keyset
+    private static final String MATCHING_WORKOUTS = """
+            SELECT w.id AS workout_id, w.start_time AS start_time, t.name AS workout_type
+            FROM workout w
+            JOIN workout_type t ON t.id = w.workout_type_id
+            WHERE w.id IN (SELECT n.workout_id
+                           FROM exercise_note n
+                           WHERE n.user_id = :userId
+                             AND n.search @@ websearch_to_tsquery(%s, :query))
+            %s
+            ORDER BY w.start_time DESC, w.id DESC
+            LIMIT :limit""";
+    private static final String AFTER_CURSOR = "AND (w.start_time, w.id) < (:afterStartTime, :afterWorkoutId)";
+
+    // A note belongs to either a record or a set, snippets are only built for the notes of one page
+    private static final String MATCHING_NOTES = """
+            SELECT n.workout_id AS workout_id,
+                   coalesce(r.id, sr.id) AS exercise_record_id,
+                   d.name AS exercise_name,
+                   s.order_index AS set_order_index,
+                   ts_headline(%1$s, %2$s, q.query, %3$s) AS snippet
+            FROM exercise_note n
+            CROSS JOIN websearch_to_tsquery(%1$s, :query) AS q(query)
+            LEFT JOIN exercise_record r ON r.note_id = n.id
+            LEFT JOIN exercise_set s ON s.note_id = n.id
+            LEFT JOIN exercise_record sr ON sr.id = s.exercise_record_id
+            JOIN exercise_definition d ON d.id = coalesce(r.exercise_definition_id, sr.exercise_definition_id)
+            WHERE n.workout_id IN (:workoutIds)
+              AND n.search @@ q.query
+            ORDER BY n.workout_id, coalesce(r.order_index, sr.order_index), s.order_index NULLS FIRST""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NoteSearchResult.WorkoutMatch> search(User user, String query, NoteSearchCursor after, int limit) {
+        Session session = entityManager.unwrap(Session.class);
+
+        NativeQuery<Object[]> workoutQuery = session.createNativeQuery(
+                        MATCHING_WORKOUTS.formatted(TEXT_SEARCH_CONFIG, after == null ? "" : AFTER_CURSOR), Object[].class)
+                .addScalar("workout_id", Long.class)
+                .addScalar("start_time", OffsetDateTime.class)
+                .addScalar("workout_type", String.class)
+                .setParameter("userId", user.getId())
+                .setParameter("query", query)
+                .setParameter("limit", limit);
+        if (after != null) {
+            workoutQuery.setParameter("afterStartTime", after.startTime())
+                    .setParameter("afterWorkoutId", after.workoutId());
+        }
+
+        List<Object[]> workouts = workoutQuery.getResultList();
+        if (workouts.isEmpty())
+            return List.of();
+
+        Map<Long, List<NoteSearchResult.NoteMatch>> notesByWorkout = new LinkedHashMap<>();
+        workouts.forEach(workout -> notesByWorkout.put((Long) workout[0], new ArrayList<>()));
+
+        session.createNativeQuery(MATCHING_NOTES.formatted(TEXT_SEARCH_CONFIG, ESCAPED_CONTENT, HEADLINE_OPTIONS), Object[].class)
+                .addScalar("workout_id", Long.class)
+                .addScalar("exercise_record_id", Long.class)
+                .addScalar("exercise_name", String.class)
+                .addScalar("set_order_index", Integer.class)
+                .addScalar("snippet", String.class)
+                .setParameter("query", query)
+                .setParameter("workoutIds", notesByWorkout.keySet())
+                .getResultList()
+                .forEach(note -> notesByWorkout.get((Long) note[0]).add(new NoteSearchResult.NoteMatch(
+                        (Long) note[1], (String) note[2], (Integer) note[3], (String) note[4])));
+
+        return workouts.stream()
+                .map(workout -> new NoteSearchResult.WorkoutMatch(
+                        (Long) workout[0], (OffsetDateTime) workout[1], (String) workout[2], notesByWorkout.get((Long) workout[0])))
+                .toList();
+    }
+}
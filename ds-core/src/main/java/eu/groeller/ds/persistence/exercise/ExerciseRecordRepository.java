@@ -1,7 +1,71 @@
 package eu.groeller.ds.persistence.exercise;
 
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.DistanceExerciseRecord;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
 import eu.groeller.ds.domain.exercise.ExerciseRecord;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ExerciseRecordRepository extends JpaRepository<ExerciseRecord, Long> {
+
+    /**
+     * The user's most recent record of each of the definitions, reached through the user's workouts.
+     */
+    @Query("""
+                SELECT r
+                FROM ExerciseRecord r
+                WHERE r.workout.user = :user
+                AND r.exerciseDefinition.id IN :definitionIds
+                AND r.startTime = (
+                    SELECT max(latest.startTime)
+                    FROM ExerciseRecord latest
+                    WHERE latest.workout.user = :user
+                    AND latest.exerciseDefinition = r.exerciseDefinition
+                )
+            """)
+    List<ExerciseRecord> findLatestByUserAndDefinitions(
+            @Param("user") User user,
+            @Param("definitionIds") Collection<Long> definitionIds
+    );
+
+    /**
+     * Locks the distance record of the user, concurrent uploads of its track are applied one after the other
+     * instead of racing to create the track.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+                SELECT r
+                FROM DistanceExerciseRecord r
+                WHERE r.id = :id
+                AND r.workout.user = :user
+            """)
+    Optional<DistanceExerciseRecord> findDistanceRecordForUpdate(@Param("id") Long id, @Param("user") User user);
+
+    /**
+     * The user's records of the definition in the unit by their precomputed fastest split, fastest first.
+     */
+    @Query("""
+                SELECT r
+                FROM DistanceExerciseRecord r
+                WHERE r.workout.user = :user
+                AND r.exerciseDefinition.id = :definitionId
+                AND r.distanceUnit = :unit
+                AND r.fastestSplitMillis IS NOT NULL
+                ORDER BY r.fastestSplitMillis, r.startTime
+            """)
+    List<DistanceExerciseRecord> findByFastestSplit(
+            @Param("user") User user,
+            @Param("definitionId") Long definitionId,
+            @Param("unit") DistanceUnit unit,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,17 @@
+package eu.groeller.ds.persistence.exercise;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.WorkoutCalendarYear;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WorkoutCalendarYearRepository extends JpaRepository<WorkoutCalendarYear, Long> {
+
+    Optional<WorkoutCalendarYear> findByUserAndYear(User user, Integer year);
+
+    List<WorkoutCalendarYear> findByUser(User user);
+
+    List<WorkoutCalendarYear> findByUserAndYearBetween(User user, Integer from, Integer to);
+}
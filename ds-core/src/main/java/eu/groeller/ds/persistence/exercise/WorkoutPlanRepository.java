@@ -0,0 +1,80 @@
+package eu.groeller.ds.persistence.exercise;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.WorkoutPlan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface WorkoutPlanRepository extends JpaRepository<WorkoutPlan, Long> {
+
+    Optional<WorkoutPlan> findByIdAndUser(Long id, User user);
+
+    List<WorkoutPlan> findByUserOrderByNameAsc(User user);
+
+    boolean existsByUserAndName(User user, String name);
+
+    /**
+     * The plan with its exercises and their definitions in a single query.
+     */
+    @Query("""
+                SELECT DISTINCT p
+                FROM WorkoutPlan p
+                LEFT JOIN FETCH p.exercises e
+                LEFT JOIN FETCH e.exerciseDefinition
+                WHERE p.id = :id
+                AND p.user = :user
+            """)
+    Optional<WorkoutPlan> findWithExercisesByIdAndUser(@Param("id") Long id, @Param("user") User user);
+
+    /**
+     * Adds a scored workout to the plan's counters in place, concurrent workouts against the same plan cannot
+     * lose an update.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+                UPDATE WorkoutPlan p
+                SET p.completedWorkouts = p.completedWorkouts + 1,
+                    p.plannedSets = p.plannedSets + :plannedSets,
+                    p.completedSets = p.completedSets + :completedSets,
+                    p.adherenceSum = p.adherenceSum + :score,
+                    p.lastCompletedAt = CASE
+                        WHEN p.lastCompletedAt IS NULL OR p.lastCompletedAt < :performedAt THEN :performedAt
+                        ELSE p.lastCompletedAt
+                    END
+                WHERE p.id = :id
+            """)
+    int recordWorkout(
+            @Param("id") Long id,
+            @Param("plannedSets") long plannedSets,
+            @Param("completedSets") long completedSets,
+            @Param("score") double score,
+            @Param("performedAt") OffsetDateTime performedAt
+    );
+
+    /**
+     * Takes a deleted workout back out of the plan's counters in place, the last completion falls back to the
+     * latest remaining workout. The workout has to be deleted before.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+                UPDATE WorkoutPlan p
+                SET p.completedWorkouts = p.completedWorkouts - 1,
+                    p.plannedSets = p.plannedSets - :plannedSets,
+                    p.completedSets = p.completedSets - :completedSets,
+                    p.adherenceSum = p.adherenceSum - :score,
+                    p.lastCompletedAt = (SELECT MAX(w.startTime) FROM Workout w WHERE w.workoutPlan.id = p.id)
+                WHERE p.id = :id
+            """)
+    int removeWorkout(
+            @Param("id") Long id,
+            @Param("plannedSets") long plannedSets,
+            @Param("completedSets") long completedSets,
+            @Param("score") double score
+    );
+}
@@ -5,11 +5,36 @@ import eu.groeller.ds.domain.exercise.Workout;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface WorkoutRepository extends JpaRepository<Workout, Long> {
     Set<Workout> findByUser(User user);
 
+    Optional<Workout> findByIdAndUser(Long id, User user);
+
+    @Query("SELECT w.startTime FROM Workout w WHERE w.user = :user")
+    List<OffsetDateTime> findStartTimesByUser(@Param("user") User user);
+
     Slice<Workout> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
+
+    /**
+     * The workouts overlapping {@code [from, to)} that started after {@code startedAfter}, which bounds the index
+     * range scanned for long histories.
+     */
+    @Query("""
+                SELECT w
+                FROM Workout w
+                WHERE w.user = :user
+                AND w.startTime > :startedAfter
+                AND w.startTime < :to
+                AND w.endTime > :from
+            """)
+    List<Workout> findOverlapping(@Param("user") User user, @Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to,
+                                  @Param("startedAfter") OffsetDateTime startedAfter);
 }
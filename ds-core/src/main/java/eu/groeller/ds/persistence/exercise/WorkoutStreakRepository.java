@@ -0,0 +1,12 @@
+package eu.groeller.ds.persistence.exercise;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.WorkoutStreak;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface WorkoutStreakRepository extends JpaRepository<WorkoutStreak, Long> {
+
+    Optional<WorkoutStreak> findByUser(User user);
+}
@@ -0,0 +1,13 @@
+package eu.groeller.ds.persistence.exercise;
+
+import eu.groeller.ds.domain.exercise.WorkoutType;
+
+import java.util.Optional;
+
+public interface WorkoutTypeRepositoryCustom {
+
+    /**
+     * Resolved through the natural-id cache, so repeated lookups of the same name do not hit the database.
+     */
+    Optional<WorkoutType> findByName(String name);
+}
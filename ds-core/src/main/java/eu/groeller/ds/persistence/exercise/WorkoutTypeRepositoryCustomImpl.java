@@ -0,0 +1,23 @@
+package eu.groeller.ds.persistence.exercise;
+
+import eu.groeller.ds.domain.exercise.WorkoutType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class WorkoutTypeRepositoryCustomImpl implements WorkoutTypeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<WorkoutType> findByName(String name) {
+        if (name == null)
+            return Optional.empty();
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(WorkoutType.class).loadOptional(name);
+    }
+}
@@ -0,0 +1,44 @@
+package eu.groeller.ds.persistence.habit;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.habit.Habit;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface HabitRepository extends JpaRepository<Habit, Long> {
+
+    Optional<Habit> findByIdAndUser(Long id, User user);
+
+    boolean existsByUserAndName(User user, String name);
+
+    /**
+     * All habits of the user with all of their years, in a single query.
+     */
+    @Query("""
+                SELECT DISTINCT h
+                FROM Habit h
+                LEFT JOIN FETCH h.years
+                WHERE h.user = :user
+                ORDER BY h.name
+            """)
+    List<Habit> findWithYearsByUser(@Param("user") User user);
+
+    /**
+     * Locks the habit, check-ins of the same habit are applied one after the other instead of overwriting each
+     * other's bits or racing to create the same year.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+                SELECT h
+                FROM Habit h
+                WHERE h.id = :id
+                AND h.user = :user
+            """)
+    Optional<Habit> findForUpdate(@Param("id") Long id, @Param("user") User user);
+}
@@ -0,0 +1,57 @@
+package eu.groeller.ds.persistence.heartrate;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.heartrate.HeartRateBlock;
+import eu.groeller.ds.domain.heartrate.HeartRateBlockSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface HeartRateBlockRepository extends JpaRepository<HeartRateBlock, Long> {
+
+    /**
+     * Locks the existing blocks a batch of samples is merged into, concurrent uploads of the same hour are applied
+     * one after the other instead of overwriting each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+                SELECT b
+                FROM HeartRateBlock b
+                WHERE b.user = :user
+                AND b.blockStart IN :blockStarts
+            """)
+    List<HeartRateBlock> findForUpdate(@Param("user") User user, @Param("blockStarts") Collection<OffsetDateTime> blockStarts);
+
+    /**
+     * The blocks starting in {@code [from, to)}, oldest first.
+     */
+    @Query("""
+                SELECT b
+                FROM HeartRateBlock b
+                WHERE b.user = :user
+                AND b.blockStart >= :from
+                AND b.blockStart < :to
+                ORDER BY b.blockStart
+            """)
+    List<HeartRateBlock> findInRange(@Param("user") User user, @Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    /**
+     * Like {@link #findInRange} but without the encoded samples, which are neither read nor transferred.
+     */
+    @Query("""
+                SELECT new eu.groeller.ds.domain.heartrate.HeartRateBlockSummary(
+                    b.blockStart, b.firstSampleAt, b.lastSampleAt, b.sampleCount, b.minBpm, b.maxBpm, b.sumBpm)
+                FROM HeartRateBlock b
+                WHERE b.user = :user
+                AND b.blockStart >= :from
+                AND b.blockStart < :to
+                ORDER BY b.blockStart
+            """)
+    List<HeartRateBlockSummary> findSummariesInRange(@Param("user") User user, @Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+}
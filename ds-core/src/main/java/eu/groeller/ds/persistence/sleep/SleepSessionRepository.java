@@ -0,0 +1,49 @@
+package eu.groeller.ds.persistence.sleep;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.sleep.SleepSession;
+import eu.groeller.ds.domain.sleep.SleepTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface SleepSessionRepository extends JpaRepository<SleepSession, Long> {
+
+    Optional<SleepSession> findByUserAndNight(User user, LocalDate night);
+
+    List<SleepSession> findByUserAndNightBetweenOrderByNightDesc(User user, LocalDate from, LocalDate to);
+
+    /**
+     * The running totals of the latest night up to and including {@code night}, a single index probe.
+     */
+    @Query("""
+                SELECT s.cumulative
+                FROM SleepSession s
+                WHERE s.user = :user
+                AND s.night = (SELECT max(o.night) FROM SleepSession o WHERE o.user = :user AND o.night <= :night)
+            """)
+    Optional<SleepTotals> findTotalsUpTo(@Param("user") User user, @Param("night") LocalDate night);
+
+    /**
+     * Adds {@code delta} to the running totals of all nights after {@code night}, after a night was added or changed.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+                UPDATE SleepSession s
+                SET s.cumulative.nights = s.cumulative.nights + :#{#delta.nights},
+                    s.cumulative.inBedSeconds = s.cumulative.inBedSeconds + :#{#delta.inBedSeconds},
+                    s.cumulative.asleepSeconds = s.cumulative.asleepSeconds + :#{#delta.asleepSeconds},
+                    s.cumulative.awakeSeconds = s.cumulative.awakeSeconds + :#{#delta.awakeSeconds},
+                    s.cumulative.lightSeconds = s.cumulative.lightSeconds + :#{#delta.lightSeconds},
+                    s.cumulative.deepSeconds = s.cumulative.deepSeconds + :#{#delta.deepSeconds},
+                    s.cumulative.remSeconds = s.cumulative.remSeconds + :#{#delta.remSeconds}
+                WHERE s.user = :user
+                AND s.night > :night
+            """)
+    int addToTotalsAfter(@Param("user") User user, @Param("night") LocalDate night, @Param("delta") SleepTotals delta);
+}
@@ -0,0 +1,27 @@
+package eu.groeller.ds.persistence.track;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.DistanceExerciseRecord;
+import eu.groeller.ds.domain.track.ExerciseTrack;
+import eu.groeller.ds.domain.track.TrackRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ExerciseTrackRepository extends JpaRepository<ExerciseTrack, Long> {
+
+    Optional<ExerciseTrack> findByRecord(DistanceExerciseRecord record);
+
+    /**
+     * The current revision of the track of a record of the user, without reading its points.
+     */
+    @Query("""
+                SELECT new eu.groeller.ds.domain.track.TrackRevision(t.id, t.version, (t.minLatitude + t.maxLatitude) / 2)
+                FROM ExerciseTrack t
+                WHERE t.record.id = :recordId
+                AND t.record.workout.user = :user
+            """)
+    Optional<TrackRevision> findRevision(@Param("recordId") Long recordId, @Param("user") User user);
+}
@@ -1,19 +1,29 @@
 package eu.groeller.ds.persistence.user;
 
 import eu.groeller.ds.domain.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
 
-    Optional<User> findByEmail(String email);
-
     boolean existsByUsername(String username);
 
     boolean existsByEmail(@NonNull String email);
+
+    /**
+     * Locks the row of the user until the end of the transaction, which serializes writes to aggregates kept per
+     * user.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> lockById(@Param("id") Long id);
 }
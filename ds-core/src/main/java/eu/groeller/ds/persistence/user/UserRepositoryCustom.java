@@ -0,0 +1,13 @@
+package eu.groeller.ds.persistence.user;
+
+import eu.groeller.ds.domain.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Resolved through the natural-id cache, so repeated logins do not have to query the users table.
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -1,8 +1,11 @@
 package eu.groeller.ds.presentation.api;
 
 import eu.groeller.ds.configuration.security.CustomUserDetails;
+import eu.groeller.ds.presentation.request.user.RefreshTokenRequest;
 import eu.groeller.ds.presentation.request.user.UserLoginRequest;
 import eu.groeller.ds.presentation.request.user.UserRequest;
+import eu.groeller.ds.presentation.request.user.UserTimeZoneRequest;
+import eu.groeller.ds.presentation.response.user.TokenRefreshResponse;
 import eu.groeller.ds.presentation.response.user.UserLoginResponse;
 import eu.groeller.ds.presentation.response.user.UserTokenLoginResponse;
 import eu.groeller.ds.service.UserService;
@@ -10,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -37,10 +41,40 @@ public class UserController {
         return ResponseEntity.ok(userService.login(loginRequest));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenRefreshResponse> refresh(@RequestBody RefreshTokenRequest refreshRequest) {
+        return ResponseEntity.ok(userService.refresh(refreshRequest));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @AuthenticationPrincipal CustomUserDetails authPrincipal,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest
+    ) {
+        userService.logout(authPrincipal.getUser(), authHeader.substring(7), refreshRequest);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutEverywhere(@AuthenticationPrincipal CustomUserDetails authPrincipal) {
+        userService.logoutEverywhere(authPrincipal.getUser());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/token")
     public ResponseEntity<UserTokenLoginResponse> getUserWithToken(@AuthenticationPrincipal CustomUserDetails authPrincipal) {
         val user = authPrincipal.getUser();
-        return ResponseEntity.ok(new UserTokenLoginResponse(user.getUsername(), user.getEmail()));
+        return ResponseEntity.ok(new UserTokenLoginResponse(user.getUsername(), user.getEmail(), user.getTimeZone()));
+    }
+
+    /**
+     * Sets the time zone the user's days start in, which rebuilds their workout calendar and streaks.
+     */
+    @PutMapping("/time-zone")
+    public ResponseEntity<Void> changeTimeZone(@AuthenticationPrincipal CustomUserDetails authPrincipal, @RequestBody UserTimeZoneRequest request) {
+        userService.changeTimeZone(authPrincipal.getUser(), request);
+        return ResponseEntity.noContent().build();
     }
 
 }
@@ -1,9 +1,12 @@
 package eu.groeller.ds.presentation.api.exercise;
 
 import eu.groeller.ds.configuration.security.CustomUserDetails;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
 import eu.groeller.ds.presentation.request.exercise.CreateExerciseDefinitionRequest;
 import eu.groeller.ds.presentation.response.exercise.ExerciseDefinitionResponse;
+import eu.groeller.ds.presentation.response.exercise.FastestSplitResponse;
 import eu.groeller.ds.service.exercise.ExerciseDefinitionService;
+import eu.groeller.ds.service.exercise.ExerciseRecordService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -21,10 +24,11 @@ import java.util.stream.Collectors;
 public class ExerciseDefinitionController {
 
     private final ExerciseDefinitionService exerciseDefinitionService;
+    private final ExerciseRecordService exerciseRecordService;
 
     @PostMapping("/create")
     public ResponseEntity<ExerciseDefinitionResponse> createExerciseDefinition(@RequestBody CreateExerciseDefinitionRequest request) {
-        log.info("Creating new Exercise Definition [{}]", request);
+        log.trace("Creating new Exercise Definition [{}]", request);
 
         // TODO: Return different fixed status code when "already exists" exception is returned
         val def = exerciseDefinitionService.createExerciseDefinition(request);
@@ -35,7 +39,7 @@ public class ExerciseDefinitionController {
 
     @GetMapping("/all")
     public ResponseEntity<List<ExerciseDefinitionResponse>> getAll(@AuthenticationPrincipal CustomUserDetails details) {
-        log.info("Retrieving all exerciseDefinition for {}", details);
+        log.debug("Retrieving all exerciseDefinition for user [{}]", details.getUser().getId());
 
         val exDefs = exerciseDefinitionService.getAll();
         log.trace("Retrieved {} exercise definitions", exDefs.size());
@@ -50,18 +54,38 @@ public class ExerciseDefinitionController {
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @PathVariable Long workoutTypeId
     ) {
-        log.info("Retrieving recent exercises for workout type: {} and user: {}", workoutTypeId, userDetails.getUsername());
+        log.debug("Retrieving recent exercises for workout type: {} and user: {}", workoutTypeId, userDetails.getUsername());
 
         val exercises = exerciseDefinitionService.getRecentExercisesForType(
                 userDetails.getUser(),
                 workoutTypeId
         );
 
-        log.info("Retrieved {} recent exercises for workout type: {}", exercises.size(), workoutTypeId);
+        log.debug("Retrieved {} recent exercises for workout type: {}", exercises.size(), workoutTypeId);
         log.trace("Exercises [{}] for workout type: {}", exercises, workoutTypeId);
 
         return ResponseEntity.ok(exercises.stream()
                 .map(ExerciseDefinitionResponse::new)
                 .collect(Collectors.toList()));
     }
+
+    /**
+     * Best split candidates of the user for the exercise, one per record, fastest first.
+     */
+    @GetMapping("/{definitionId}/fastest-splits")
+    public ResponseEntity<List<FastestSplitResponse>> getFastestSplits(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Long definitionId,
+            @RequestParam DistanceUnit unit,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        log.debug("Retrieving {} fastest {} splits of exercise {} for user: {}", limit, unit, definitionId, userDetails.getUsername());
+
+        val records = exerciseRecordService.getFastestSplits(userDetails.getUser(), definitionId, unit, limit);
+
+        log.debug("Retrieved {} fastest splits of exercise {} for user: {}", records.size(), definitionId, userDetails.getUsername());
+        return ResponseEntity.ok(records.stream()
+                .map(FastestSplitResponse::new)
+                .toList());
+    }
 }
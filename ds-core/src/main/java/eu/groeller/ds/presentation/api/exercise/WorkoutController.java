@@ -3,8 +3,13 @@ package eu.groeller.ds.presentation.api.exercise;
 import eu.groeller.ds.configuration.security.CustomUserDetails;
 import eu.groeller.ds.presentation.request.exercise.CreateWorkoutRequest;
 import eu.groeller.ds.presentation.request.exercise.CreateWorkoutTypeRequest;
+import eu.groeller.ds.presentation.response.exercise.NoteSearchResponse;
+import eu.groeller.ds.presentation.response.exercise.WorkoutCalendarResponse;
 import eu.groeller.ds.presentation.response.exercise.WorkoutResponse;
+import eu.groeller.ds.presentation.response.exercise.WorkoutStreakResponse;
 import eu.groeller.ds.presentation.response.exercise.WorkoutTypeResponse;
+import eu.groeller.ds.service.exercise.ExerciseNoteService;
+import eu.groeller.ds.service.exercise.WorkoutCalendarService;
 import eu.groeller.ds.service.exercise.WorkoutService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,21 +31,32 @@ import java.util.stream.Collectors;
 public class WorkoutController {
 
     private final WorkoutService workoutService;
+    private final ExerciseNoteService exerciseNoteService;
+    private final WorkoutCalendarService workoutCalendarService;
 
     @PostMapping
     public ResponseEntity<WorkoutResponse> createWorkout(@AuthenticationPrincipal CustomUserDetails userDetails, @RequestBody CreateWorkoutRequest request) {
-        log.info("Creating workout for user: {}", userDetails.getUsername());
-        log.debug("Workout request: {}", request);
+        log.debug("Creating workout for user: {}", userDetails.getUsername());
+        log.trace("Workout request: {}", request);
 
-        WorkoutResponse response = new WorkoutResponse(workoutService.createWorkout(userDetails.getUser(), request));
+        // The notes were just submitted and are still in memory
+        WorkoutResponse response = new WorkoutResponse(workoutService.createWorkout(userDetails.getUser(), request), true);
 
-        log.info("Successfully created workout with ID: {} for user: {}", response.workoutId(), userDetails.getUsername());
+        log.debug("Successfully created workout with ID: {} for user: {}", response.workoutId(), userDetails.getUsername());
         return ResponseEntity.status(201).body(response);
     }
 
+    @DeleteMapping("/{workoutId}")
+    public ResponseEntity<Void> deleteWorkout(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long workoutId) {
+        log.debug("Deleting workout {} of user: {}", workoutId, userDetails.getUsername());
+
+        workoutService.deleteWorkout(userDetails.getUser(), workoutId);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/workout-type")
     public ResponseEntity<WorkoutTypeResponse> createWorkoutType(@RequestBody CreateWorkoutTypeRequest dto) {
-        log.info("Create WorkoutType Request with name [{}]", dto);
+        log.debug("Create WorkoutType Request with name [{}]", dto);
 
         val type = workoutService.createWorkoutType(dto.name());
 
@@ -49,25 +65,56 @@ public class WorkoutController {
 
     @GetMapping
     @Transactional(readOnly = true)
-    public ResponseEntity<Slice<WorkoutResponse>> getWorkouts(@AuthenticationPrincipal CustomUserDetails userDetails, Pageable pageable) {
-        log.info("Retrieving workouts for user: {}, with pageable [{}]", userDetails.getUsername(), pageable);
+    public ResponseEntity<Slice<WorkoutResponse>> getWorkouts(@AuthenticationPrincipal CustomUserDetails userDetails, Pageable pageable,
+                                                              @RequestParam(defaultValue = "false") boolean includeNotes) {
+        log.debug("Retrieving workouts for user: {}, with pageable [{}], notes included: {}", userDetails.getUsername(), pageable, includeNotes);
 
-        val responses = workoutService.getWorkouts(userDetails.getUser(), pageable)
-                .map(WorkoutResponse::new);
+        val workouts = workoutService.getWorkouts(userDetails.getUser(), pageable);
+        if (includeNotes)
+            exerciseNoteService.loadNotes(workouts.getContent());
+        val responses = workouts.map(workout -> new WorkoutResponse(workout, includeNotes));
 
-        log.info("Retrieved {} workouts for user: {}", responses.getContent().size(), userDetails.getUsername());
-        log.debug("Workout IDs: {}", responses.stream().map(WorkoutResponse::workoutId).collect(Collectors.toSet()));
+        log.debug("Retrieved {} workouts for user: {}", responses.getContent().size(), userDetails.getUsername());
+        if (log.isTraceEnabled())
+            log.trace("Workout IDs: {}", responses.stream().map(WorkoutResponse::workoutId).collect(Collectors.toSet()));
 
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/calendar/{year}")
+    public ResponseEntity<WorkoutCalendarResponse> getCalendar(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable int year) {
+        log.debug("Retrieving workout calendar of {} for user: {}", year, userDetails.getUsername());
+
+        return ResponseEntity.ok(new WorkoutCalendarResponse(workoutCalendarService.getYear(userDetails.getUser(), year)));
+    }
+
+    @GetMapping("/streak")
+    public ResponseEntity<WorkoutStreakResponse> getStreak(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                           @RequestParam(defaultValue = "12") int weeks) {
+        log.debug("Retrieving workout streak over {} weeks for user: {}", weeks, userDetails.getUsername());
+
+        return ResponseEntity.ok(new WorkoutStreakResponse(workoutCalendarService.getStreak(userDetails.getUser(), weeks)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<NoteSearchResponse> searchNotes(@AuthenticationPrincipal CustomUserDetails userDetails, @RequestParam("q") String query,
+                                                          @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit) {
+        log.debug("Searching workout notes of user: {}, with cursor [{}] and limit {}", userDetails.getUsername(), cursor, limit);
+        log.trace("Search query: {}", query);
+
+        val response = new NoteSearchResponse(exerciseNoteService.search(userDetails.getUser(), query, cursor, limit));
+
+        log.debug("Found {} workouts with matching notes for user: {}", response.workouts().size(), userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/types")
     public ResponseEntity<List<WorkoutTypeResponse>> getWorkoutTypes() {
-        log.info("Retrieving all workout types");
+        log.debug("Retrieving all workout types");
 
         val types = workoutService.getWorkoutTypes();
 
-        log.info("Retrieved {} workout types", types.size());
+        log.debug("Retrieved {} workout types", types.size());
         log.trace("Workout types: {}", types);
 
         return ResponseEntity.ok(types.stream()
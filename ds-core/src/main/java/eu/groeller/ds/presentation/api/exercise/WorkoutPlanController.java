@@ -0,0 +1,87 @@
+package eu.groeller.ds.presentation.api.exercise;
+
+import eu.groeller.ds.configuration.security.CustomUserDetails;
+import eu.groeller.ds.presentation.request.exercise.CreateWorkoutPlanRequest;
+import eu.groeller.ds.presentation.response.exercise.WorkoutPlanResponse;
+import eu.groeller.ds.presentation.response.exercise.WorkoutPlanSessionResponse;
+import eu.groeller.ds.presentation.response.exercise.WorkoutPlanStatsResponse;
+import eu.groeller.ds.presentation.response.exercise.WorkoutPlanSummaryResponse;
+import eu.groeller.ds.service.exercise.WorkoutPlanService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/plans")
+@RequiredArgsConstructor
+public class WorkoutPlanController {
+
+    private final WorkoutPlanService workoutPlanService;
+
+    @PostMapping
+    public ResponseEntity<WorkoutPlanResponse> createPlan(@AuthenticationPrincipal CustomUserDetails userDetails, @RequestBody CreateWorkoutPlanRequest request) {
+        log.debug("Creating workout plan for user: {}", userDetails.getUsername());
+        log.trace("Workout plan request: {}", request);
+
+        val plan = workoutPlanService.createPlan(userDetails.getUser(), request);
+
+        log.debug("Successfully created workout plan with ID: {} for user: {}", plan.getId(), userDetails.getUsername());
+        return ResponseEntity.status(201).body(new WorkoutPlanResponse(plan));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<WorkoutPlanSummaryResponse>> getPlans(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        log.debug("Retrieving workout plans for user: {}", userDetails.getUsername());
+
+        val plans = workoutPlanService.getPlans(userDetails.getUser());
+
+        log.debug("Retrieved {} workout plans for user: {}", plans.size(), userDetails.getUsername());
+        return ResponseEntity.ok(plans.stream()
+                .map(WorkoutPlanSummaryResponse::new)
+                .toList());
+    }
+
+    @GetMapping("/{planId}")
+    public ResponseEntity<WorkoutPlanResponse> getPlan(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long planId) {
+        log.debug("Retrieving workout plan {} for user: {}", planId, userDetails.getUsername());
+
+        return ResponseEntity.ok(new WorkoutPlanResponse(workoutPlanService.getPlan(userDetails.getUser(), planId)));
+    }
+
+    @PutMapping("/{planId}")
+    public ResponseEntity<WorkoutPlanResponse> updatePlan(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long planId,
+                                                          @RequestBody CreateWorkoutPlanRequest request) {
+        log.debug("Updating workout plan {} for user: {}", planId, userDetails.getUsername());
+        log.trace("Workout plan request: {}", request);
+
+        return ResponseEntity.ok(new WorkoutPlanResponse(workoutPlanService.updatePlan(userDetails.getUser(), planId, request)));
+    }
+
+    @DeleteMapping("/{planId}")
+    public ResponseEntity<Void> deletePlan(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long planId) {
+        log.debug("Deleting workout plan {} for user: {}", planId, userDetails.getUsername());
+
+        workoutPlanService.deletePlan(userDetails.getUser(), planId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{planId}/session")
+    public ResponseEntity<WorkoutPlanSessionResponse> startSession(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long planId) {
+        log.debug("Starting session of workout plan {} for user: {}", planId, userDetails.getUsername());
+
+        return ResponseEntity.ok(new WorkoutPlanSessionResponse(workoutPlanService.getSession(userDetails.getUser(), planId)));
+    }
+
+    @GetMapping("/{planId}/stats")
+    public ResponseEntity<WorkoutPlanStatsResponse> getStats(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long planId) {
+        log.debug("Retrieving adherence statistics of workout plan {} for user: {}", planId, userDetails.getUsername());
+
+        return ResponseEntity.ok(new WorkoutPlanStatsResponse(workoutPlanService.getPlanStats(userDetails.getUser(), planId)));
+    }
+}
@@ -0,0 +1,93 @@
+package eu.groeller.ds.presentation.api.habit;
+
+import eu.groeller.ds.configuration.security.CustomUserDetails;
+import eu.groeller.ds.presentation.request.habit.CreateHabitRequest;
+import eu.groeller.ds.presentation.response.habit.HabitResponse;
+import eu.groeller.ds.presentation.response.habit.HabitYearResponse;
+import eu.groeller.ds.service.habit.HabitService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Streaks are relative to {@code date}, the user's current day, which defaults to the server's.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/habits")
+@RequiredArgsConstructor
+public class HabitController {
+
+    private final HabitService habitService;
+    private final Clock clock;
+
+    @PostMapping
+    public ResponseEntity<HabitResponse> createHabit(@AuthenticationPrincipal CustomUserDetails userDetails, @RequestBody CreateHabitRequest request) {
+        log.debug("Creating habit for user: {}", userDetails.getUsername());
+
+        val habit = habitService.createHabit(userDetails.getUser(), request);
+
+        log.debug("Successfully created habit with ID: {} for user: {}", habit.getId(), userDetails.getUsername());
+        return ResponseEntity.status(201).body(new HabitResponse(habit, LocalDate.now(clock)));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<HabitResponse>> getHabits(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.debug("Retrieving habits for user: {}", userDetails.getUsername());
+
+        val day = dayOf(date);
+        val habits = habitService.getHabits(userDetails.getUser());
+
+        log.debug("Retrieved {} habits for user: {}", habits.size(), userDetails.getUsername());
+        return ResponseEntity.ok(habits.stream()
+                .map(habit -> new HabitResponse(habit, day))
+                .toList());
+    }
+
+    @PutMapping("/{habitId}/check-ins/{day}")
+    public ResponseEntity<HabitResponse> checkIn(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long habitId,
+                                                 @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.debug("Checking in habit {} on {} for user: {}", habitId, day, userDetails.getUsername());
+
+        return ResponseEntity.ok(new HabitResponse(habitService.checkIn(userDetails.getUser(), habitId, day, true), dayOf(date)));
+    }
+
+    @DeleteMapping("/{habitId}/check-ins/{day}")
+    public ResponseEntity<HabitResponse> clearCheckIn(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long habitId,
+                                                      @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.debug("Clearing check-in of habit {} on {} for user: {}", habitId, day, userDetails.getUsername());
+
+        return ResponseEntity.ok(new HabitResponse(habitService.checkIn(userDetails.getUser(), habitId, day, false), dayOf(date)));
+    }
+
+    @GetMapping("/{habitId}/years/{year}")
+    public ResponseEntity<HabitYearResponse> getYear(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long habitId,
+                                                     @PathVariable int year) {
+        log.debug("Retrieving year {} of habit {} for user: {}", year, habitId, userDetails.getUsername());
+
+        return ResponseEntity.ok(new HabitYearResponse(habitId, year, habitService.getYear(userDetails.getUser(), habitId, year)));
+    }
+
+    @DeleteMapping("/{habitId}")
+    public ResponseEntity<Void> deleteHabit(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long habitId) {
+        log.debug("Deleting habit {} for user: {}", habitId, userDetails.getUsername());
+
+        habitService.deleteHabit(userDetails.getUser(), habitId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private LocalDate dayOf(LocalDate date) {
+        return date == null ? LocalDate.now(clock) : date;
+    }
+}
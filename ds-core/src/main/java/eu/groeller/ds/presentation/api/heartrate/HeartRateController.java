@@ -0,0 +1,63 @@
+package eu.groeller.ds.presentation.api.heartrate;
+
+import eu.groeller.ds.configuration.security.CustomUserDetails;
+import eu.groeller.ds.presentation.request.heartrate.HeartRateSamplesRequest;
+import eu.groeller.ds.presentation.response.heartrate.HeartRateBlockResponse;
+import eu.groeller.ds.presentation.response.heartrate.HeartRateIngestResponse;
+import eu.groeller.ds.presentation.response.heartrate.HeartRateSampleResponse;
+import eu.groeller.ds.presentation.response.heartrate.HeartRateSummaryResponse;
+import eu.groeller.ds.service.heartrate.HeartRateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/heart-rate")
+@RequiredArgsConstructor
+public class HeartRateController {
+
+    private final HeartRateService heartRateService;
+
+    @PostMapping("/samples")
+    public ResponseEntity<HeartRateIngestResponse> ingestSamples(@AuthenticationPrincipal CustomUserDetails userDetails, @RequestBody HeartRateSamplesRequest request) {
+        log.debug("Ingesting heart rate samples for user: {}", userDetails.getUsername());
+
+        val blocks = heartRateService.ingest(userDetails.getUser(), request);
+
+        log.debug("Merged {} heart rate samples into {} blocks for user: {}", request.samples().size(), blocks.size(), userDetails.getUsername());
+        return ResponseEntity.ok(new HeartRateIngestResponse(request.samples().size(), blocks.stream()
+                .map(HeartRateBlockResponse::new)
+                .toList()));
+    }
+
+    @GetMapping("/samples")
+    public ResponseEntity<List<HeartRateSampleResponse>> getSamples(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        log.debug("Retrieving heart rate samples between {} and {} for user: {}", from, to, userDetails.getUsername());
+
+        val samples = heartRateService.getSamples(userDetails.getUser(), from, to);
+
+        log.debug("Retrieved {} heart rate samples for user: {}", samples.size(), userDetails.getUsername());
+        return ResponseEntity.ok(samples.stream()
+                .map(HeartRateSampleResponse::new)
+                .toList());
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<HeartRateSummaryResponse> getSummary(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        log.debug("Retrieving heart rate summary between {} and {} for user: {}", from, to, userDetails.getUsername());
+
+        return ResponseEntity.ok(new HeartRateSummaryResponse(from, to, heartRateService.getSummaries(userDetails.getUser(), from, to)));
+    }
+}
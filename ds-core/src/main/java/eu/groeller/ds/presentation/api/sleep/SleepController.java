@@ -0,0 +1,73 @@
+package eu.groeller.ds.presentation.api.sleep;
+
+import eu.groeller.ds.configuration.security.CustomUserDetails;
+import eu.groeller.ds.presentation.request.sleep.SleepSessionRequest;
+import eu.groeller.ds.presentation.response.sleep.SleepSessionResponse;
+import eu.groeller.ds.presentation.response.sleep.SleepSummaryResponse;
+import eu.groeller.ds.presentation.response.sleep.SleepWindowResponse;
+import eu.groeller.ds.service.sleep.SleepService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/sleep")
+@RequiredArgsConstructor
+public class SleepController {
+
+    private final SleepService sleepService;
+    private final Clock clock;
+
+    @PostMapping("/sessions")
+    public ResponseEntity<SleepSessionResponse> recordSession(@AuthenticationPrincipal CustomUserDetails userDetails, @RequestBody SleepSessionRequest request) {
+        log.debug("Recording sleep session for user: {}", userDetails.getUsername());
+        log.trace("Sleep session request: {}", request);
+
+        val session = sleepService.recordSession(userDetails.getUser(), request);
+
+        log.debug("Successfully recorded night {} for user: {}", session.getNight(), userDetails.getUsername());
+        return ResponseEntity.status(201).body(new SleepSessionResponse(session, true));
+    }
+
+    @GetMapping("/sessions")
+    public ResponseEntity<List<SleepSessionResponse>> getSessions(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Retrieving sleep sessions between {} and {} for user: {}", from, to, userDetails.getUsername());
+
+        val sessions = sleepService.getSessions(userDetails.getUser(), from, to);
+
+        log.debug("Retrieved {} sleep sessions for user: {}", sessions.size(), userDetails.getUsername());
+        return ResponseEntity.ok(sessions.stream()
+                .map(session -> new SleepSessionResponse(session, false))
+                .toList());
+    }
+
+    @GetMapping("/sessions/{night}")
+    public ResponseEntity<SleepSessionResponse> getSession(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                           @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate night) {
+        log.debug("Retrieving night {} for user: {}", night, userDetails.getUsername());
+
+        return ResponseEntity.ok(new SleepSessionResponse(sleepService.getSession(userDetails.getUser(), night), true));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<SleepSummaryResponse> getSummary(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        val end = date == null ? LocalDate.now(clock) : date;
+        log.debug("Retrieving sleep summary up to {} for user: {}", end, userDetails.getUsername());
+
+        return ResponseEntity.ok(new SleepSummaryResponse(end, sleepService.getSummary(userDetails.getUser(), end).stream()
+                .map(SleepWindowResponse::new)
+                .toList()));
+    }
+}
@@ -0,0 +1,54 @@
+package eu.groeller.ds.presentation.api.track;
+
+import eu.groeller.ds.configuration.security.CustomUserDetails;
+import eu.groeller.ds.presentation.request.track.TrackRequest;
+import eu.groeller.ds.presentation.response.track.SimplifiedTrackResponse;
+import eu.groeller.ds.presentation.response.track.TrackResponse;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.track.TrackService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Tracks are only ever served simplified, either for a map zoom level or to a tolerance in meters that is rounded to
+ * one.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/exercise-records/{recordId}/track")
+@RequiredArgsConstructor
+public class TrackController {
+
+    private final TrackService trackService;
+
+    @PutMapping
+    public ResponseEntity<TrackResponse> uploadTrack(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long recordId,
+                                                     @RequestBody TrackRequest request) {
+        log.debug("Uploading track of exercise record {} for user: {}", recordId, userDetails.getUsername());
+
+        val record = trackService.upload(userDetails.getUser(), recordId, request);
+
+        log.debug("Stored track of exercise record {} for user: {}", recordId, userDetails.getUsername());
+        return ResponseEntity.ok(new TrackResponse(record));
+    }
+
+    @GetMapping
+    public ResponseEntity<SimplifiedTrackResponse> getTrack(@AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable Long recordId,
+                                                            @RequestParam(required = false) Integer zoom,
+                                                            @RequestParam(required = false) Double tolerance) {
+        if ((zoom == null) == (tolerance == null))
+            throw new DSIllegalArgumentException("Either zoom or tolerance is required");
+        log.debug("Retrieving track of exercise record {} at zoom {} / tolerance {} for user: {}", recordId, zoom, tolerance, userDetails.getUsername());
+
+        val track = zoom != null
+                ? trackService.getSimplified(userDetails.getUser(), recordId, zoom)
+                : trackService.getSimplified(userDetails.getUser(), recordId, tolerance);
+
+        log.debug("Retrieved {} of {} track points for user: {}", track.pointCount(), track.originalPointCount(), userDetails.getUsername());
+        return ResponseEntity.ok(new SimplifiedTrackResponse(recordId, track));
+    }
+}
@@ -1,7 +1,10 @@
 package eu.groeller.ds.presentation.exception;
 
+import eu.groeller.ds.service.exceptions.DSConflictException;
 import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
 import eu.groeller.ds.service.exceptions.DSNotFoundException;
+import eu.groeller.ds.service.exceptions.DSTooManyRequestsException;
+import eu.groeller.ds.service.exceptions.DSUnauthorizedException;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -26,6 +29,24 @@ public class GlobalExceptionHandler {
         return buildResponseAndLog(HttpStatus.BAD_REQUEST, errorResponse, ex);
     }
 
+    @ExceptionHandler(DSUnauthorizedException.class)
+    public ResponseEntity<ErrorResponse> handleDSUnauthorizedException(final DSUnauthorizedException ex) {
+        val errorResponse = new ErrorResponse(ex.getMessage());
+        return buildResponseAndLog(HttpStatus.UNAUTHORIZED, errorResponse, ex);
+    }
+
+    @ExceptionHandler(DSConflictException.class)
+    public ResponseEntity<ErrorResponse> handleDSConflictException(final DSConflictException ex) {
+        val errorResponse = new ErrorResponse(ex.getMessage());
+        return buildResponseAndLog(HttpStatus.CONFLICT, errorResponse, ex);
+    }
+
+    @ExceptionHandler(DSTooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleDSTooManyRequestsException(final DSTooManyRequestsException ex) {
+        val errorResponse = new ErrorResponse(ex.getMessage());
+        return buildResponseAndLog(HttpStatus.TOO_MANY_REQUESTS, errorResponse, ex);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(final IllegalArgumentException ex) {
         val errorResponse = new ErrorResponse(ex.getMessage());
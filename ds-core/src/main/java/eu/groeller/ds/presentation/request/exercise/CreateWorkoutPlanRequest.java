@@ -0,0 +1,11 @@
+package eu.groeller.ds.presentation.request.exercise;
+
+import java.util.List;
+
+public record CreateWorkoutPlanRequest(
+        String name,
+        String workoutType,
+        Integer sessionsPerWeek,
+        List<PlannedExerciseRequest> exercises
+) {
+}
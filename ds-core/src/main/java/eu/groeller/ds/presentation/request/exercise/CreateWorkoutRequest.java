@@ -7,6 +7,11 @@ public record CreateWorkoutRequest(
         List<ExerciseRecordRequest> exercises,
         String type,
         OffsetDateTime startTime,
-        OffsetDateTime endTime
+        OffsetDateTime endTime,
+        // Optional, the workout is scored against the plan when set
+        Long workoutPlanId
 ) {
+    public CreateWorkoutRequest(List<ExerciseRecordRequest> exercises, String type, OffsetDateTime startTime, OffsetDateTime endTime) {
+        this(exercises, type, startTime, endTime, null);
+    }
 }
@@ -8,12 +8,20 @@ public record ExerciseRecordDetailsRequest(
         // For DistanceExerciseRecord
         Double distance,
         DistanceUnit distanceUnit,
+        // Ignored, computed from distance and duration
         Double distancePerUnit,
 
         // For SetBasedExerciseRecord
         List<ExerciseSetRequest> sets,
 
         // Common for both
-        Double weightKg
+        Double weightKg,
+
+        // Optional for DistanceExerciseRecord, consecutive from the start, splits are computed from them
+        List<LapRequest> laps
 ) {
+    public ExerciseRecordDetailsRequest(Double distance, DistanceUnit distanceUnit, Double distancePerUnit,
+                                        List<ExerciseSetRequest> sets, Double weightKg) {
+        this(distance, distanceUnit, distancePerUnit, sets, weightKg, null);
+    }
 }
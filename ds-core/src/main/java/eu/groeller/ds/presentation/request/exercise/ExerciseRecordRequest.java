@@ -7,6 +7,11 @@ public record ExerciseRecordRequest(
         OffsetDateTime startTime,
         OffsetDateTime endTime,
         ExerciseRecordDetailsRequest details,
-        Integer order
+        Integer order,
+        // Optional free text, searchable
+        String notes
 ) {
+    public ExerciseRecordRequest(Long exerciseDefinitionId, OffsetDateTime startTime, OffsetDateTime endTime, ExerciseRecordDetailsRequest details, Integer order) {
+        this(exerciseDefinitionId, startTime, endTime, details, order, null);
+    }
 }
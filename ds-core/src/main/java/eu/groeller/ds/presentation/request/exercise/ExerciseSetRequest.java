@@ -9,6 +9,12 @@ public record ExerciseSetRequest(
         Integer repetitions,
         Integer partialRepetitions,
         Double weight,
-        Integer order
+        Integer order,
+        // Optional free text, searchable
+        String notes
 ) {
+    public ExerciseSetRequest(OffsetDateTime startTime, OffsetDateTime endTime, Boolean isFailure, Integer repetitions,
+                              Integer partialRepetitions, Double weight, Integer order) {
+        this(startTime, endTime, isFailure, repetitions, partialRepetitions, weight, order, null);
+    }
 }
@@ -0,0 +1,7 @@
+package eu.groeller.ds.presentation.request.exercise;
+
+/**
+ * @param distance in the unit of the record
+ */
+public record LapRequest(Double distance, Long durationMs) {
+}
@@ -0,0 +1,15 @@
+package eu.groeller.ds.presentation.request.exercise;
+
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+
+public record PlannedExerciseRequest(
+        Long exerciseDefinitionId,
+        Integer order,
+        Integer targetSets,
+        Integer targetRepetitions,
+        Double targetWeightKg,
+        Double targetDistance,
+        DistanceUnit targetDistanceUnit,
+        Integer restTimeSeconds
+) {
+}
@@ -0,0 +1,4 @@
+package eu.groeller.ds.presentation.request.habit;
+
+public record CreateHabitRequest(String name) {
+}
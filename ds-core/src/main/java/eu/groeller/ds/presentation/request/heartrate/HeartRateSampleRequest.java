@@ -0,0 +1,6 @@
+package eu.groeller.ds.presentation.request.heartrate;
+
+import java.time.OffsetDateTime;
+
+public record HeartRateSampleRequest(OffsetDateTime time, Integer bpm) {
+}
@@ -0,0 +1,10 @@
+package eu.groeller.ds.presentation.request.heartrate;
+
+import java.util.List;
+
+/**
+ * A batch of samples as synced from a wearable, in any order. Samples may span several hours and may repeat
+ * samples of earlier batches.
+ */
+public record HeartRateSamplesRequest(List<HeartRateSampleRequest> samples) {
+}
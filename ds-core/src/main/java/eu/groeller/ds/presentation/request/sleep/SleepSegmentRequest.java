@@ -0,0 +1,12 @@
+package eu.groeller.ds.presentation.request.sleep;
+
+import eu.groeller.ds.domain.sleep.SleepStage;
+
+import java.time.OffsetDateTime;
+
+public record SleepSegmentRequest(
+        SleepStage stage,
+        OffsetDateTime startTime,
+        OffsetDateTime endTime
+) {
+}
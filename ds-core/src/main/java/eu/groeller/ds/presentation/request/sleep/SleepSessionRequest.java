@@ -0,0 +1,14 @@
+package eu.groeller.ds.presentation.request.sleep;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * @param segments the stages of the night, time in between counts as awake
+ */
+public record SleepSessionRequest(
+        OffsetDateTime startTime,
+        OffsetDateTime endTime,
+        List<SleepSegmentRequest> segments
+) {
+}
@@ -0,0 +1,14 @@
+package eu.groeller.ds.presentation.request.track;
+
+import java.time.OffsetDateTime;
+
+/**
+ * @param elevation meters above sea level, optional but then for none of the points of a track
+ */
+public record TrackPointRequest(
+        OffsetDateTime time,
+        Double latitude,
+        Double longitude,
+        Double elevation
+) {
+}
@@ -0,0 +1,9 @@
+package eu.groeller.ds.presentation.request.track;
+
+import java.util.List;
+
+/**
+ * @param points ascending in time
+ */
+public record TrackRequest(List<TrackPointRequest> points) {
+}
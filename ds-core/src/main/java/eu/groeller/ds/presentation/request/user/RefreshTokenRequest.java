@@ -0,0 +1,4 @@
+package eu.groeller.ds.presentation.request.user;
+
+public record RefreshTokenRequest(String refreshToken) {
+}
@@ -0,0 +1,7 @@
+package eu.groeller.ds.presentation.request.user;
+
+/**
+ * @param timeZone a zone id like {@code Europe/Vienna}, null to use the server's
+ */
+public record UserTimeZoneRequest(String timeZone) {
+}
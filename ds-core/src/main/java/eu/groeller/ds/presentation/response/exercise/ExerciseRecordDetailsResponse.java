@@ -1,13 +1,16 @@
 package eu.groeller.ds.presentation.response.exercise;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import eu.groeller.ds.domain.exercise.DistanceExerciseRecord;
 import eu.groeller.ds.domain.exercise.DistanceUnit;
 import eu.groeller.ds.domain.exercise.ExerciseRecord;
 import eu.groeller.ds.domain.exercise.SetBasedExerciseRecord;
+import eu.groeller.ds.presentation.response.track.TrackSummaryResponse;
 import lombok.Getter;
 
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Getter
 public class ExerciseRecordDetailsResponse {
     // For DistanceExerciseRecord
@@ -19,17 +22,33 @@ public class ExerciseRecordDetailsResponse {
 
     // Only for DistanceExerciseRecord
     private Double weightKg = null;
+    private Double distancePerUnit = null;
+    private List<SplitResponse> splits = null;
+    private Long fastestSplitMs = null;
+    private Boolean negativeSplit = null;
+    private TrackSummaryResponse track = null;
 
     public ExerciseRecordDetailsResponse(ExerciseRecord record) {
+        this(record, false);
+    }
+
+    public ExerciseRecordDetailsResponse(ExerciseRecord record, boolean includeNotes) {
         switch (record) {
             case DistanceExerciseRecord distanceRecord -> {
                 this.distance = distanceRecord.getDistance();
                 this.distanceUnit = distanceRecord.getDistanceUnit();
                 this.weightKg = distanceRecord.getWeightKg();
+                this.distancePerUnit = distanceRecord.getDistancePerUnit();
+                this.splits = distanceRecord.getSplits() == null ? null : distanceRecord.splits().stream()
+                        .map(SplitResponse::new)
+                        .toList();
+                this.fastestSplitMs = distanceRecord.getFastestSplitMillis();
+                this.negativeSplit = distanceRecord.getNegativeSplit();
+                this.track = distanceRecord.getTrack() == null ? null : new TrackSummaryResponse(distanceRecord.getTrack());
             }
             case SetBasedExerciseRecord setBasedRecord -> {
                 this.sets = setBasedRecord.getSets().stream()
-                        .map(ExerciseSetResponse::new)
+                        .map(set -> new ExerciseSetResponse(set, includeNotes))
                         .toList();
             }
             default -> throw new IllegalStateException("Unexpected exercise class type: " + record.getClass());
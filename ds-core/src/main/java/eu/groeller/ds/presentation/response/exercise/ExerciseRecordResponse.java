@@ -1,10 +1,13 @@
 package eu.groeller.ds.presentation.response.exercise;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import eu.groeller.ds.domain.exercise.ExerciseRecord;
 import eu.groeller.ds.domain.exercise.ExerciseType;
+import eu.groeller.ds.presentation.response.heartrate.HeartRateStatsResponse;
 
 import java.time.OffsetDateTime;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ExerciseRecordResponse(
         Long exerciseRecordId,
         Long exerciseDefinitionId,
@@ -13,9 +16,16 @@ public record ExerciseRecordResponse(
         OffsetDateTime startTime,
         OffsetDateTime endTime,
         ExerciseRecordDetailsResponse details,
-        Integer orderIndex
+        Integer orderIndex,
+        // Only resolved when asked for
+        String notes,
+        HeartRateStatsResponse heartRate
 ) {
     public ExerciseRecordResponse(ExerciseRecord record) {
+        this(record, false);
+    }
+
+    public ExerciseRecordResponse(ExerciseRecord record, boolean includeNotes) {
         this(
                 record.getId(),
                 record.getExerciseDefinition().getId(),
@@ -23,8 +33,10 @@ public record ExerciseRecordResponse(
                 record.getExerciseDefinition().getType(),
                 record.getStartTime(),
                 record.getEndTime(),
-                new ExerciseRecordDetailsResponse(record),
-                record.getOrderIndex()
+                new ExerciseRecordDetailsResponse(record, includeNotes),
+                record.getOrderIndex(),
+                includeNotes && record.getNote() != null ? record.getNote().getContent() : null,
+                record.getHeartRate() == null ? null : new HeartRateStatsResponse(record.getHeartRate())
         );
     }
 }
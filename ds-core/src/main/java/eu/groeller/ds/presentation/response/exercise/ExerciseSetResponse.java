@@ -1,23 +1,32 @@
 package eu.groeller.ds.presentation.response.exercise;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import eu.groeller.ds.domain.exercise.ExerciseSet;
 
 import java.time.OffsetDateTime;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ExerciseSetResponse(
         OffsetDateTime startTime,
         OffsetDateTime endTime,
         Boolean failure,
         Integer repetitions,
-        Double weightKg
+        Double weightKg,
+        // Only resolved when asked for
+        String notes
 ) {
     public ExerciseSetResponse(ExerciseSet set) {
+        this(set, false);
+    }
+
+    public ExerciseSetResponse(ExerciseSet set, boolean includeNotes) {
         this(
                 set.getStartTime(),
                 set.getEndTime(),
                 set.getFailure(),
                 set.getRepetitions(),
-                set.getWeightKg()
+                set.getWeightKg(),
+                includeNotes && set.getNote() != null ? set.getNote().getContent() : null
         );
     }
 }
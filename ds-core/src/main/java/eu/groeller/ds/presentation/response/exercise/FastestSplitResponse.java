@@ -0,0 +1,29 @@
+package eu.groeller.ds.presentation.response.exercise;
+
+import eu.groeller.ds.domain.exercise.DistanceExerciseRecord;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+
+import java.time.OffsetDateTime;
+
+/**
+ * @param splitNumber which split of the record it was, 1-based
+ */
+public record FastestSplitResponse(
+        Long exerciseRecordId,
+        OffsetDateTime startTime,
+        DistanceUnit distanceUnit,
+        double splitMeters,
+        long durationMs,
+        int splitNumber
+) {
+    public FastestSplitResponse(DistanceExerciseRecord record) {
+        this(
+                record.getId(),
+                record.getStartTime(),
+                record.getDistanceUnit(),
+                record.getDistanceUnit().getSplitMeters(),
+                record.getFastestSplitMillis(),
+                record.getFastestSplitNumber()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package eu.groeller.ds.presentation.response.exercise;
+
+import eu.groeller.ds.domain.exercise.NoteSearchResult;
+
+import java.util.List;
+
+/**
+ * @param nextCursor pass as {@code cursor} to get the following page, {@code null} on the last page
+ */
+public record NoteSearchResponse(
+        List<NoteSearchResult.WorkoutMatch> workouts,
+        String nextCursor
+) {
+    public NoteSearchResponse(NoteSearchResult result) {
+        this(
+                result.workouts(),
+                result.next() == null ? null : result.next().encode()
+        );
+    }
+}
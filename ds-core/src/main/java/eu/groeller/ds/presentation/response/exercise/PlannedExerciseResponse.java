@@ -0,0 +1,30 @@
+package eu.groeller.ds.presentation.response.exercise;
+
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+import eu.groeller.ds.domain.exercise.PlannedExercise;
+
+public record PlannedExerciseResponse(
+        Long plannedExerciseId,
+        ExerciseDefinitionResponse exerciseDefinition,
+        Integer orderIndex,
+        Integer targetSets,
+        Integer targetRepetitions,
+        Double targetWeightKg,
+        Double targetDistance,
+        DistanceUnit targetDistanceUnit,
+        Integer restTimeSeconds
+) {
+    public PlannedExerciseResponse(PlannedExercise exercise) {
+        this(
+                exercise.getId(),
+                new ExerciseDefinitionResponse(exercise.getExerciseDefinition()),
+                exercise.getOrderIndex(),
+                exercise.getTargetSets(),
+                exercise.getTargetRepetitions(),
+                exercise.getTargetWeightKg(),
+                exercise.getTargetDistance(),
+                exercise.getTargetDistanceUnit(),
+                exercise.getRestTimeSeconds()
+        );
+    }
+}
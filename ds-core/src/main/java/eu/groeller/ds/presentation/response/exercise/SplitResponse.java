@@ -0,0 +1,16 @@
+package eu.groeller.ds.presentation.response.exercise;
+
+import eu.groeller.ds.domain.exercise.Split;
+
+/**
+ * @param paceMsPerKm the duration scaled to a kilometer, comparable between splits of different length
+ */
+public record SplitResponse(
+        double distanceMeters,
+        long durationMs,
+        double paceMsPerKm
+) {
+    public SplitResponse(Split split) {
+        this(split.distanceMeters(), split.durationMillis(), split.durationMillis() * 1_000 / split.distanceMeters());
+    }
+}
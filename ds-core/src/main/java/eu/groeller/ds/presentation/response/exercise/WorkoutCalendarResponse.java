@@ -0,0 +1,20 @@
+package eu.groeller.ds.presentation.response.exercise;
+
+import eu.groeller.ds.domain.exercise.WorkoutCalendarYear;
+
+/**
+ * @param days          the days trained on as a bitset of {@link WorkoutCalendarYear#SIZE} bytes, base64 in JSON: bit
+ *                      {@code n}, least significant bit first within each byte, is day of year {@code n + 1}
+ * @param workoutCounts the number of workouts per day, one unsigned byte per day of year, base64 in JSON
+ */
+public record WorkoutCalendarResponse(
+        int year,
+        int trainingDays,
+        int workouts,
+        byte[] days,
+        byte[] workoutCounts
+) {
+    public WorkoutCalendarResponse(WorkoutCalendarYear year) {
+        this(year.getYear(), year.trainingDays(), year.workouts(), year.getDays(), year.getWorkoutCounts());
+    }
+}
@@ -0,0 +1,25 @@
+package eu.groeller.ds.presentation.response.exercise;
+
+import eu.groeller.ds.domain.exercise.WorkoutPlan;
+
+import java.util.List;
+
+public record WorkoutPlanResponse(
+        Long workoutPlanId,
+        String name,
+        String workoutType,
+        Integer sessionsPerWeek,
+        List<PlannedExerciseResponse> exercises
+) {
+    public WorkoutPlanResponse(WorkoutPlan plan) {
+        this(
+                plan.getId(),
+                plan.getName(),
+                plan.getWorkoutType().getName(),
+                plan.getSessionsPerWeek(),
+                plan.getExercises().stream()
+                        .map(PlannedExerciseResponse::new)
+                        .toList()
+        );
+    }
+}
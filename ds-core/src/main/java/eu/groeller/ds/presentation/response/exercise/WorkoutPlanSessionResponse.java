@@ -0,0 +1,23 @@
+package eu.groeller.ds.presentation.response.exercise;
+
+import eu.groeller.ds.domain.exercise.WorkoutPlanSession;
+
+import java.util.List;
+
+public record WorkoutPlanSessionResponse(
+        Long workoutPlanId,
+        String name,
+        Long workoutTypeId,
+        String workoutType,
+        List<WorkoutPlanSession.Exercise> exercises
+) {
+    public WorkoutPlanSessionResponse(WorkoutPlanSession session) {
+        this(
+                session.planId(),
+                session.planName(),
+                session.workoutTypeId(),
+                session.workoutType(),
+                session.exercises()
+        );
+    }
+}
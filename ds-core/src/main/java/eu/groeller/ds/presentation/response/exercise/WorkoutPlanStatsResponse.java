@@ -0,0 +1,27 @@
+package eu.groeller.ds.presentation.response.exercise;
+
+import eu.groeller.ds.domain.exercise.WorkoutPlan;
+
+import java.time.OffsetDateTime;
+
+public record WorkoutPlanStatsResponse(
+        Long workoutPlanId,
+        Integer completedWorkouts,
+        Double averageAdherence,
+        Long plannedSets,
+        Long completedSets,
+        Double setCompletionRate,
+        OffsetDateTime lastCompletedAt
+) {
+    public WorkoutPlanStatsResponse(WorkoutPlan plan) {
+        this(
+                plan.getId(),
+                plan.getCompletedWorkouts(),
+                plan.getAverageAdherence(),
+                plan.getPlannedSets(),
+                plan.getCompletedSets(),
+                plan.getSetCompletionRate(),
+                plan.getLastCompletedAt()
+        );
+    }
+}
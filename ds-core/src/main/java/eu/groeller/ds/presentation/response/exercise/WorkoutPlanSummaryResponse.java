@@ -0,0 +1,22 @@
+package eu.groeller.ds.presentation.response.exercise;
+
+import eu.groeller.ds.domain.exercise.WorkoutPlan;
+
+/**
+ * A plan without its exercises, for listings.
+ */
+public record WorkoutPlanSummaryResponse(
+        Long workoutPlanId,
+        String name,
+        String workoutType,
+        Integer sessionsPerWeek
+) {
+    public WorkoutPlanSummaryResponse(WorkoutPlan plan) {
+        this(
+                plan.getId(),
+                plan.getName(),
+                plan.getWorkoutType().getName(),
+                plan.getSessionsPerWeek()
+        );
+    }
+}
@@ -1,27 +1,45 @@
 package eu.groeller.ds.presentation.response.exercise;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import eu.groeller.ds.domain.exercise.Workout;
+import eu.groeller.ds.presentation.response.heartrate.HeartRateStatsResponse;
 
 import java.time.OffsetDateTime;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+// Workout history pages are dominated by the fields a record type does not have, so nulls are left out
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record WorkoutResponse(
         Long workoutId,
         Long durationMs,
         OffsetDateTime date,
         Set<ExerciseRecordResponse> exercises,
-        String workoutType
+        String workoutType,
+        Long workoutPlanId,
+        Double planAdherence,
+        HeartRateStatsResponse heartRate
 ) {
     public WorkoutResponse(Workout workout) {
+        this(workout, false);
+    }
+
+    /**
+     * @param includeNotes whether to resolve the notes of records and sets, which costs a load of them unless they
+     *                     are already in the persistence context
+     */
+    public WorkoutResponse(Workout workout, boolean includeNotes) {
         this(
                 workout.getId(),
                 workout.getDuration(),
                 workout.getStartTime(),
                 workout.getExercises().stream()
-                        .map(ExerciseRecordResponse::new)
+                        .map(record -> new ExerciseRecordResponse(record, includeNotes))
                         .collect(Collectors.toSet()),
-                workout.getWorkoutType().getName()
+                workout.getWorkoutType().getName(),
+                workout.getWorkoutPlan() == null ? null : workout.getWorkoutPlan().getId(),
+                workout.getPlanAdherence(),
+                workout.getHeartRate() == null ? null : new HeartRateStatsResponse(workout.getHeartRate())
         );
     }
 }
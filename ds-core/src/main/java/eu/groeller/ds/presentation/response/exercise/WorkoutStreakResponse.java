@@ -0,0 +1,27 @@
+package eu.groeller.ds.presentation.response.exercise;
+
+import eu.groeller.ds.domain.exercise.WorkoutStreakStats;
+
+import java.time.LocalDate;
+
+/**
+ * @param currentStreak   days in a row up to {@code today}, still counting yesterday's run if there was no workout
+ *                        today yet
+ * @param activeWeeks     how many of the last {@code weeks} seven day periods, the last one ending today, had a
+ *                        workout
+ * @param workoutsPerWeek the average number of workouts per week over the last {@code weeks} weeks
+ */
+public record WorkoutStreakResponse(
+        LocalDate today,
+        int currentStreak,
+        int longestStreak,
+        LocalDate lastTrainingDay,
+        int weeks,
+        int activeWeeks,
+        double workoutsPerWeek
+) {
+    public WorkoutStreakResponse(WorkoutStreakStats stats) {
+        this(stats.today(), stats.currentStreak(), stats.longestStreak(), stats.lastTrainingDay(), stats.weeks(),
+                stats.activeWeeks(), stats.workoutsPerWeek());
+    }
+}
@@ -0,0 +1,40 @@
+package eu.groeller.ds.presentation.response.habit;
+
+import eu.groeller.ds.domain.habit.Habit;
+import eu.groeller.ds.domain.habit.HabitStats;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * @param date the day the streaks and rates refer to
+ */
+public record HabitResponse(
+        Long habitId,
+        String name,
+        OffsetDateTime createdAt,
+        LocalDate date,
+        boolean checkedIn,
+        int currentStreak,
+        int longestStreak,
+        double completionRateLast30Days,
+        long totalCheckIns
+) {
+    public HabitResponse(Habit habit, LocalDate date) {
+        this(habit, date, habit.stats(date));
+    }
+
+    private HabitResponse(Habit habit, LocalDate date, HabitStats stats) {
+        this(
+                habit.getId(),
+                habit.getName(),
+                habit.getCreatedAt(),
+                date,
+                stats.checkedIn(),
+                stats.currentStreak(),
+                stats.longestStreak(),
+                stats.completionRateLast30Days(),
+                stats.totalCheckIns()
+        );
+    }
+}
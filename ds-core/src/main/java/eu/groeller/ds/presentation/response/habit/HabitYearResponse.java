@@ -0,0 +1,13 @@
+package eu.groeller.ds.presentation.response.habit;
+
+/**
+ * @param days the check-ins of the year as a bitset of {@link eu.groeller.ds.domain.habit.HabitYear#SIZE} bytes,
+ *             base64 in JSON: bit {@code n}, least significant bit first within each byte, is day of year
+ *             {@code n + 1}
+ */
+public record HabitYearResponse(
+        Long habitId,
+        int year,
+        byte[] days
+) {
+}
@@ -0,0 +1,40 @@
+package eu.groeller.ds.presentation.response.heartrate;
+
+import eu.groeller.ds.domain.heartrate.HeartRateBlock;
+import eu.groeller.ds.domain.heartrate.HeartRateBlockSummary;
+
+import java.time.OffsetDateTime;
+
+public record HeartRateBlockResponse(
+        OffsetDateTime blockStart,
+        OffsetDateTime firstSampleAt,
+        OffsetDateTime lastSampleAt,
+        int sampleCount,
+        int minBpm,
+        double averageBpm,
+        int maxBpm
+) {
+    public HeartRateBlockResponse(HeartRateBlock block) {
+        this(
+                block.getBlockStart(),
+                block.getFirstSampleAt(),
+                block.getLastSampleAt(),
+                block.getSampleCount(),
+                block.getMinBpm(),
+                block.getAverageBpm(),
+                block.getMaxBpm()
+        );
+    }
+
+    public HeartRateBlockResponse(HeartRateBlockSummary summary) {
+        this(
+                summary.blockStart(),
+                summary.firstSampleAt(),
+                summary.lastSampleAt(),
+                summary.sampleCount(),
+                summary.minBpm(),
+                summary.averageBpm(),
+                summary.maxBpm()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package eu.groeller.ds.presentation.response.heartrate;
+
+import java.util.List;
+
+/**
+ * @param blocks the blocks the samples were merged into, with their updated summaries
+ */
+public record HeartRateIngestResponse(
+        int acceptedSamples,
+        List<HeartRateBlockResponse> blocks
+) {
+}
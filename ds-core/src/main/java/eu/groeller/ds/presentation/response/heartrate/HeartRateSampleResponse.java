@@ -0,0 +1,13 @@
+package eu.groeller.ds.presentation.response.heartrate;
+
+import eu.groeller.ds.domain.heartrate.HeartRateSample;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+public record HeartRateSampleResponse(OffsetDateTime time, int bpm) {
+
+    public HeartRateSampleResponse(HeartRateSample sample) {
+        this(sample.time().atOffset(ZoneOffset.UTC), sample.bpm());
+    }
+}
@@ -0,0 +1,24 @@
+package eu.groeller.ds.presentation.response.heartrate;
+
+import eu.groeller.ds.domain.heartrate.HeartRateStats;
+
+import java.util.List;
+
+/**
+ * @param timeInZonesMs time spent in each heart rate zone, zone 1 first
+ */
+public record HeartRateStatsResponse(
+        int sampleCount,
+        double averageBpm,
+        int maxBpm,
+        List<Long> timeInZonesMs
+) {
+    public HeartRateStatsResponse(HeartRateStats stats) {
+        this(
+                stats.getSampleCount(),
+                stats.getAverageBpm(),
+                stats.getMaxBpm(),
+                stats.timeInZonesMillis()
+        );
+    }
+}
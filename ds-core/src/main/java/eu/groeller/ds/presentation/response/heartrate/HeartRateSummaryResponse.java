@@ -0,0 +1,34 @@
+package eu.groeller.ds.presentation.response.heartrate;
+
+import eu.groeller.ds.domain.heartrate.HeartRateBlockSummary;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Heart rate over a range, aggregated from the summaries of its hourly blocks. The overall values are
+ * {@code null} if there are no samples in the range.
+ */
+public record HeartRateSummaryResponse(
+        OffsetDateTime from,
+        OffsetDateTime to,
+        long sampleCount,
+        Integer minBpm,
+        Double averageBpm,
+        Integer maxBpm,
+        List<HeartRateBlockResponse> blocks
+) {
+    public HeartRateSummaryResponse(OffsetDateTime from, OffsetDateTime to, List<HeartRateBlockSummary> blocks) {
+        this(
+                from,
+                to,
+                blocks.stream().mapToLong(HeartRateBlockSummary::sampleCount).sum(),
+                blocks.stream().mapToInt(HeartRateBlockSummary::minBpm).boxed().min(Integer::compare).orElse(null),
+                blocks.isEmpty() ? null
+                        : (double) blocks.stream().mapToLong(HeartRateBlockSummary::sumBpm).sum()
+                        / blocks.stream().mapToLong(HeartRateBlockSummary::sampleCount).sum(),
+                blocks.stream().mapToInt(HeartRateBlockSummary::maxBpm).boxed().max(Integer::compare).orElse(null),
+                blocks.stream().map(HeartRateBlockResponse::new).toList()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package eu.groeller.ds.presentation.response.sleep;
+
+import eu.groeller.ds.domain.sleep.SleepStage;
+
+import java.time.OffsetDateTime;
+
+public record SleepSegmentResponse(
+        SleepStage stage,
+        OffsetDateTime startTime,
+        OffsetDateTime endTime
+) {
+}
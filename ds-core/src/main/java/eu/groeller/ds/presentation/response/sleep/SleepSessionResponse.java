@@ -0,0 +1,55 @@
+package eu.groeller.ds.presentation.response.sleep;
+
+import eu.groeller.ds.domain.sleep.SleepSession;
+import eu.groeller.ds.domain.sleep.SleepStageRun;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @param segments the decoded stages, only included for a single night
+ */
+public record SleepSessionResponse(
+        Long sleepSessionId,
+        LocalDate night,
+        OffsetDateTime startTime,
+        OffsetDateTime endTime,
+        double inBedMinutes,
+        double asleepMinutes,
+        double awakeMinutes,
+        double lightMinutes,
+        double deepMinutes,
+        double remMinutes,
+        double efficiency,
+        List<SleepSegmentResponse> segments
+) {
+    public SleepSessionResponse(SleepSession session, boolean includeSegments) {
+        this(
+                session.getId(),
+                session.getNight(),
+                session.getStartTime(),
+                session.getEndTime(),
+                session.getInBedSeconds() / 60.0,
+                session.getAsleepSeconds() / 60.0,
+                session.getAwakeSeconds() / 60.0,
+                session.getLightSeconds() / 60.0,
+                session.getDeepSeconds() / 60.0,
+                session.getRemSeconds() / 60.0,
+                session.getEfficiency(),
+                includeSegments ? segmentsOf(session) : null
+        );
+    }
+
+    private static List<SleepSegmentResponse> segmentsOf(SleepSession session) {
+        List<SleepSegmentResponse> segments = new ArrayList<>();
+        OffsetDateTime start = session.getStartTime();
+        for (SleepStageRun run : session.runs()) {
+            OffsetDateTime end = start.plusSeconds(run.seconds());
+            segments.add(new SleepSegmentResponse(run.stage(), start, end));
+            start = end;
+        }
+        return segments;
+    }
+}
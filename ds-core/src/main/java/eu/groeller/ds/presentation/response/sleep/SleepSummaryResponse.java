@@ -0,0 +1,13 @@
+package eu.groeller.ds.presentation.response.sleep;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @param date the last night of every window
+ */
+public record SleepSummaryResponse(
+        LocalDate date,
+        List<SleepWindowResponse> windows
+) {
+}
@@ -0,0 +1,43 @@
+package eu.groeller.ds.presentation.response.sleep;
+
+import eu.groeller.ds.domain.sleep.SleepTotals;
+import eu.groeller.ds.domain.sleep.SleepWindow;
+
+import java.time.LocalDate;
+
+/**
+ * Averages per recorded night of a window, {@code null} if it has no nights.
+ */
+public record SleepWindowResponse(
+        int days,
+        LocalDate from,
+        LocalDate to,
+        long nights,
+        Double averageInBedMinutes,
+        Double averageAsleepMinutes,
+        Double averageAwakeMinutes,
+        Double averageLightMinutes,
+        Double averageDeepMinutes,
+        Double averageRemMinutes,
+        Double efficiency
+) {
+    public SleepWindowResponse(SleepWindow window) {
+        this(
+                window.days(),
+                window.end().minusDays(window.days() - 1L),
+                window.end(),
+                window.totals().getNights(),
+                averageMinutes(window.totals(), window.totals().getInBedSeconds()),
+                averageMinutes(window.totals(), window.totals().getAsleepSeconds()),
+                averageMinutes(window.totals(), window.totals().getAwakeSeconds()),
+                averageMinutes(window.totals(), window.totals().getLightSeconds()),
+                averageMinutes(window.totals(), window.totals().getDeepSeconds()),
+                averageMinutes(window.totals(), window.totals().getRemSeconds()),
+                window.totals().efficiency()
+        );
+    }
+
+    private static Double averageMinutes(SleepTotals totals, long seconds) {
+        return totals.getNights() == 0 ? null : seconds / 60.0 / totals.getNights();
+    }
+}
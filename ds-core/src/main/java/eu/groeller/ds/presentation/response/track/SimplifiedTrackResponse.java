@@ -0,0 +1,30 @@
+package eu.groeller.ds.presentation.response.track;
+
+import eu.groeller.ds.domain.track.SimplifiedTrack;
+import eu.groeller.ds.domain.track.TrackBounds;
+
+/**
+ * @param zoom     the zoom level the track was simplified for, a requested tolerance is rounded to one
+ * @param polyline the kept points as an encoded polyline (precision 5)
+ */
+public record SimplifiedTrackResponse(
+        Long exerciseRecordId,
+        int zoom,
+        double toleranceMeters,
+        int pointCount,
+        int originalPointCount,
+        String polyline,
+        TrackBounds bounds
+) {
+    public SimplifiedTrackResponse(Long exerciseRecordId, SimplifiedTrack track) {
+        this(
+                exerciseRecordId,
+                track.zoom(),
+                track.toleranceMeters(),
+                track.pointCount(),
+                track.originalPointCount(),
+                track.polyline(),
+                track.bounds()
+        );
+    }
+}
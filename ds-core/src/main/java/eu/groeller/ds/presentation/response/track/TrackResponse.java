@@ -0,0 +1,30 @@
+package eu.groeller.ds.presentation.response.track;
+
+import eu.groeller.ds.domain.exercise.DistanceExerciseRecord;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+import eu.groeller.ds.presentation.response.exercise.SplitResponse;
+
+import java.util.List;
+
+/**
+ * What was computed from an uploaded track, the points themselves are only served simplified.
+ */
+public record TrackResponse(
+        Long exerciseRecordId,
+        double distance,
+        DistanceUnit distanceUnit,
+        TrackSummaryResponse summary,
+        List<SplitResponse> splits
+) {
+    public TrackResponse(DistanceExerciseRecord record) {
+        this(
+                record.getId(),
+                record.getDistance(),
+                record.getDistanceUnit(),
+                new TrackSummaryResponse(record.getTrack()),
+                record.splits().stream()
+                        .map(SplitResponse::new)
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package eu.groeller.ds.presentation.response.track;
+
+import eu.groeller.ds.domain.track.TrackSummary;
+
+/**
+ * @param thumbnail the track simplified for a small map, as an encoded polyline
+ */
+public record TrackSummaryResponse(
+        int pointCount,
+        double distanceMeters,
+        long durationMs,
+        Double elevationGainMeters,
+        Double elevationLossMeters,
+        String thumbnail
+) {
+    public TrackSummaryResponse(TrackSummary summary) {
+        this(
+                summary.getPointCount(),
+                summary.getDistanceMeters(),
+                summary.getDurationMillis(),
+                summary.getElevationGainMeters(),
+                summary.getElevationLossMeters(),
+                summary.getThumbnail()
+        );
+    }
+}
@@ -0,0 +1,4 @@
+package eu.groeller.ds.presentation.response.user;
+
+public record TokenRefreshResponse(String token, String refreshToken) {
+}
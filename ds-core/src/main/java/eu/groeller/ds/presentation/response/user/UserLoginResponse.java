@@ -1,4 +1,4 @@
 package eu.groeller.ds.presentation.response.user;
 
-public record UserLoginResponse(String username, String email, String token) {
-}
\ No newline at end of file
+public record UserLoginResponse(String username, String email, String token, String refreshToken) {
+}
@@ -1,4 +1,7 @@
 package eu.groeller.ds.presentation.response.user;
 
-public record UserTokenLoginResponse(String username, String email) {
+/**
+ * @param timeZone the zone id the user's days start in, null for the server's
+ */
+public record UserTokenLoginResponse(String username, String email, String timeZone) {
 }
@@ -2,16 +2,29 @@ package eu.groeller.ds.service;
 
 import eu.groeller.ds.domain.User;
 import eu.groeller.ds.persistence.user.UserRepository;
+import eu.groeller.ds.presentation.request.user.RefreshTokenRequest;
 import eu.groeller.ds.presentation.request.user.UserLoginRequest;
 import eu.groeller.ds.presentation.request.user.UserRequest;
+import eu.groeller.ds.presentation.request.user.UserTimeZoneRequest;
+import eu.groeller.ds.presentation.response.user.TokenRefreshResponse;
 import eu.groeller.ds.presentation.response.user.UserLoginResponse;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.exceptions.UserNotFoundException;
+import eu.groeller.ds.service.exercise.WorkoutCalendarService;
 import eu.groeller.ds.service.security.JwtService;
+import eu.groeller.ds.service.security.RefreshTokenService;
+import eu.groeller.ds.service.security.TokenRevocationService;
 import eu.groeller.ds.service.utils.DtoUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.Objects;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -22,6 +35,9 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final WorkoutCalendarService workoutCalendarService;
 
     public User createUser(UserRequest dto) {
         if (dto == null) {
@@ -64,8 +80,76 @@ public class UserService {
             throw new IllegalArgumentException("Invalid password");
         }
 
+        if (user.upgradePasswordEncoding(dto.password(), passwordEncoder)) {
+            log.info("Re-hashed outdated password encoding for user [{}]", user.getUsername());
+            userRepository.save(user);
+        }
+
         String token = jwtService.generateToken(user);
-        log.info("User Login accept, token generated, building Dto");
-        return new UserLoginResponse(user.getUsername(), user.getEmail(), token);
+        String refreshToken = refreshTokenService.issue(user);
+        log.info("User Login accept, tokens generated, building Dto");
+        return new UserLoginResponse(user.getUsername(), user.getEmail(), token, refreshToken);
+    }
+
+    public TokenRefreshResponse refresh(RefreshTokenRequest dto) {
+        if (dto == null) {
+            log.warn("RefreshTokenRequest Dto was null");
+            throw new NullPointerException("RefreshTokenRequest Body must not be null");
+        }
+        DtoUtils.checkAllNullsAndBlanks(dto);
+
+        val rotated = refreshTokenService.rotate(dto.refreshToken());
+        String token = jwtService.generateToken(rotated.user());
+        log.info("Refreshed tokens for user [{}]", rotated.user().getUsername());
+        return new TokenRefreshResponse(token, rotated.refreshToken());
+    }
+
+    /**
+     * Revokes the presented access token and, if given, the refresh token family it was obtained with.
+     */
+    public void logout(User user, String accessToken, RefreshTokenRequest dto) {
+        tokenRevocationService.revokeToken(jwtService.validateToken(accessToken));
+        if (dto != null && dto.refreshToken() != null)
+            refreshTokenService.revoke(user, dto.refreshToken());
+
+        log.info("User [{}] logged out", user.getUsername());
+    }
+
+    /**
+     * Ends every session of the user, e.g. after a device was lost or credentials leaked.
+     */
+    public void logoutEverywhere(User user) {
+        refreshTokenService.revokeAll(user);
+        tokenRevocationService.revokeAllForUser(user);
+        log.info("User [{}] logged out of all sessions", user.getUsername());
+    }
+
+    /**
+     * Saves the new time zone of the user and rebuilds their calendar in the same transaction, so workouts logged
+     * meanwhile wait on the lock and are counted for a day of the new zone.
+     */
+    @Transactional(readOnly = false)
+    public void changeTimeZone(User user, UserTimeZoneRequest dto) {
+        if (dto == null) {
+            log.warn("UserTimeZoneRequest Dto was null");
+            throw new NullPointerException("UserTimeZoneRequest Body must not be null");
+        }
+
+        ZoneId zone;
+        try {
+            zone = dto.timeZone() == null ? null : ZoneId.of(dto.timeZone());
+        } catch (DateTimeException e) {
+            log.warn("Invalid time zone [{}] for user [{}]", dto.timeZone(), user.getUsername());
+            throw new DSIllegalArgumentException("Invalid time zone: " + dto.timeZone());
+        }
+
+        val locked = userRepository.lockById(user.getId()).orElseThrow(() -> new UserNotFoundException(user.getId()));
+        val timeZone = zone == null ? null : zone.getId();
+        if (Objects.equals(locked.getTimeZone(), timeZone))
+            return;
+
+        log.info("Changing time zone of user [{}] from [{}] to [{}]", user.getUsername(), locked.getTimeZone(), timeZone);
+        locked.setTimeZone(timeZone);
+        workoutCalendarService.rebuildForTimeZone(userRepository.save(locked));
     }
 }
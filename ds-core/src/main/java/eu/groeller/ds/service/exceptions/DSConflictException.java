@@ -0,0 +1,8 @@
+package eu.groeller.ds.service.exceptions;
+
+public class DSConflictException extends RuntimeException {
+
+    public DSConflictException(String message) {
+        super(message);
+    }
+}
@@ -5,4 +5,8 @@ public abstract class DSNotFoundException extends RuntimeException {
     public DSNotFoundException(long id, String className) {
         super(className + "not found with ID: " + id);
     }
+
+    protected DSNotFoundException(String message) {
+        super(message);
+    }
 }
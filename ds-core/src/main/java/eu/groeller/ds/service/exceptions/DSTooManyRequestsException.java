@@ -0,0 +1,8 @@
+package eu.groeller.ds.service.exceptions;
+
+public class DSTooManyRequestsException extends RuntimeException {
+
+    public DSTooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package eu.groeller.ds.service.exceptions;
+
+public class DSUnauthorizedException extends RuntimeException {
+
+    public DSUnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package eu.groeller.ds.service.exceptions;
+
+public class ExerciseRecordNotFoundException extends DSNotFoundException {
+    public ExerciseRecordNotFoundException(long id) {
+        super(id, "ExerciseRecord");
+    }
+}
@@ -0,0 +1,7 @@
+package eu.groeller.ds.service.exceptions;
+
+public class HabitNotFoundException extends DSNotFoundException {
+    public HabitNotFoundException(long id) {
+        super(id, "Habit");
+    }
+}
@@ -0,0 +1,9 @@
+package eu.groeller.ds.service.exceptions;
+
+import java.time.LocalDate;
+
+public class SleepSessionNotFoundException extends DSNotFoundException {
+    public SleepSessionNotFoundException(LocalDate night) {
+        super("SleepSession not found for night: " + night);
+    }
+}
@@ -0,0 +1,7 @@
+package eu.groeller.ds.service.exceptions;
+
+public class TrackNotFoundException extends DSNotFoundException {
+    public TrackNotFoundException(long recordId) {
+        super("Track not found for exercise record: " + recordId);
+    }
+}
@@ -0,0 +1,7 @@
+package eu.groeller.ds.service.exceptions;
+
+public class WorkoutNotFoundException extends DSNotFoundException {
+    public WorkoutNotFoundException(long id) {
+        super(id, "Workout");
+    }
+}
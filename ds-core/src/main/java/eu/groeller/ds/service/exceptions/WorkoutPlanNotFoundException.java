@@ -0,0 +1,7 @@
+package eu.groeller.ds.service.exceptions;
+
+public class WorkoutPlanNotFoundException extends DSNotFoundException {
+    public WorkoutPlanNotFoundException(long id) {
+        super(id, "WorkoutPlan");
+    }
+}
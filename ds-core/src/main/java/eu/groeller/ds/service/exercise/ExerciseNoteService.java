@@ -0,0 +1,69 @@
+package eu.groeller.ds.service.exercise;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.NoteSearchCursor;
+import eu.groeller.ds.domain.exercise.NoteSearchResult;
+import eu.groeller.ds.domain.exercise.Workout;
+import eu.groeller.ds.persistence.exercise.ExerciseNoteRepository;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+
+@Transactional(readOnly = true)
+public class ExerciseNoteService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final ExerciseNoteRepository exerciseNoteRepository;
+
+    /**
+     * @param cursor the token of the previous page, {@code null} for the first page
+     * @param limit  workouts per page, {@link #DEFAULT_PAGE_SIZE} if {@code null}, at most {@link #MAX_PAGE_SIZE}
+     */
+    public NoteSearchResult search(@NonNull User user, String query, String cursor, Integer limit) {
+        if (query == null || query.isBlank())
+            throw new DSIllegalArgumentException("Search query must not be blank");
+        if (query.length() > MAX_QUERY_LENGTH)
+            throw new DSIllegalArgumentException("Search query must not be longer than " + MAX_QUERY_LENGTH + " characters");
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE)
+            throw new DSIllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+
+        val after = cursor == null ? null : NoteSearchCursor.decode(cursor);
+
+        log.debug("Searching notes of user: {} for [{}] after {}", user.getUsername(), query, after);
+        // One extra row tells whether there is a next page
+        val workouts = exerciseNoteRepository.search(user, query.strip(), after, pageSize + 1);
+        if (workouts.size() <= pageSize)
+            return new NoteSearchResult(workouts, null);
+
+        val page = workouts.subList(0, pageSize);
+        val last = page.getLast();
+        return new NoteSearchResult(page, new NoteSearchCursor(last.startTime(), last.workoutId()));
+    }
+
+    /**
+     * Loads the notes of the given workouts with a single query, so that resolving the lazy note references of their
+     * records and sets afterwards is served from the persistence context.
+     */
+    public void loadNotes(@NonNull Collection<Workout> workouts) {
+        if (workouts.isEmpty())
+            return;
+
+        val notes = exerciseNoteRepository.findByWorkoutIn(workouts);
+        log.debug("Loaded {} notes of {} workouts", notes.size(), workouts.size());
+    }
+}
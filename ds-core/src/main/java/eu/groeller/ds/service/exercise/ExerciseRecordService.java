@@ -1,16 +1,20 @@
 package eu.groeller.ds.service.exercise;
 
+import eu.groeller.ds.domain.User;
 import eu.groeller.ds.domain.exercise.*;
 import eu.groeller.ds.persistence.exercise.ExerciseDefinitionRepository;
 import eu.groeller.ds.persistence.exercise.ExerciseRecordRepository;
 import eu.groeller.ds.presentation.request.exercise.ExerciseRecordRequest;
 import eu.groeller.ds.presentation.request.exercise.ExerciseSetRequest;
+import eu.groeller.ds.presentation.request.exercise.LapRequest;
 import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
 import eu.groeller.ds.service.utils.DtoUtils;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.util.Comparator;
@@ -20,6 +24,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ExerciseRecordService {
 
+    public static final int MAX_FASTEST_SPLITS = 50;
+    // Devices round the distance of every lap, their sum may end up slightly above the record's distance
+    public static final double LAP_DISTANCE_TOLERANCE = 0.01;
+
     private final ExerciseDefinitionRepository exerciseDefinitionRepository;
     private final ExerciseRecordRepository exerciseRecordRepository;
 
@@ -36,10 +44,22 @@ public class ExerciseRecordService {
 
 
         record.setOrderIndex(request.order());
+        record.setNote(ExerciseNote.of(request.notes()));
 
         return record;
     }
 
+    /**
+     * @return the user's records of the definition with the fastest splits in the unit, read from the precomputed
+     * fastest split of each record
+     */
+    @Transactional(readOnly = true)
+    public List<DistanceExerciseRecord> getFastestSplits(@NonNull User user, @NonNull Long definitionId, @NonNull DistanceUnit unit, int limit) {
+        if (limit < 1 || limit > MAX_FASTEST_SPLITS)
+            throw new DSIllegalArgumentException("Limit must be between 1 and " + MAX_FASTEST_SPLITS);
+        return exerciseRecordRepository.findByFastestSplit(user, definitionId, unit, PageRequest.of(0, limit));
+    }
+
     private DistanceExerciseRecord createDistanceExerciseRecord(@NonNull ExerciseRecordRequest request, @NonNull ExerciseDefinition definition) {
         DtoUtils.checkNulls(request, List.of("details"));
         val details = request.details();
@@ -52,12 +72,41 @@ public class ExerciseRecordService {
         record.setDuration(Duration.between(request.startTime(), request.endTime()).toMillis());
         record.setDistanceUnit(details.distanceUnit());
         record.setWeightKg(details.weightKg());
+        record.updateDistancePerUnit();
+        if (details.laps() != null && !details.laps().isEmpty())
+            record.updateSplits(SplitCalculator.fromLaps(createLaps(details.laps(), record), details.distanceUnit().getSplitMeters()));
 
         record.setStartTime(request.startTime());
         record.setEndTime(request.endTime());
         return record;
     }
 
+    /**
+     * Laps are in the unit of the record and together must not be longer than the record, neither in distance
+     * nor in time.
+     */
+    private List<Lap> createLaps(@NonNull List<LapRequest> requests, @NonNull DistanceExerciseRecord record) {
+        double totalDistance = 0;
+        long totalDuration = 0;
+        for (LapRequest request : requests) {
+            DtoUtils.checkNulls(request, List.of("distance", "durationMs"));
+            if (request.distance() <= 0 || request.durationMs() <= 0)
+                throw new DSIllegalArgumentException("Laps must have a positive distance and duration");
+            totalDistance += request.distance();
+            totalDuration += request.durationMs();
+        }
+        if (totalDistance > record.getDistance() * (1 + LAP_DISTANCE_TOLERANCE))
+            throw new DSIllegalArgumentException("Laps cover " + totalDistance + " " + record.getDistanceUnit()
+                    + ", more than the record's " + record.getDistance());
+        if (totalDuration > record.getDuration())
+            throw new DSIllegalArgumentException("Laps take " + totalDuration + " ms, longer than the record's " + record.getDuration() + " ms");
+
+        DistanceUnit unit = record.getDistanceUnit();
+        return requests.stream()
+                .map(request -> new Lap(unit.convert(request.distance(), DistanceUnit.METERS), request.durationMs()))
+                .toList();
+    }
+
     private SetBasedExerciseRecord createSetBasedExerciseRecord(@NonNull ExerciseRecordRequest request, @NonNull ExerciseDefinition definition) {
         DtoUtils.checkNulls(request, List.of("details"));
         val details = request.details();
@@ -86,6 +135,7 @@ public class ExerciseRecordService {
         set.setRepetitions(request.repetitions());
         set.setWeightKg(request.weight());
         set.setOrderIndex(request.order());
+        set.setNote(ExerciseNote.of(request.notes()));
 
         Integer partials = request.partialRepetitions();
         if (!request.isFailure())
@@ -0,0 +1,159 @@
+package eu.groeller.ds.service.exercise;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.TrainingDays;
+import eu.groeller.ds.domain.exercise.Workout;
+import eu.groeller.ds.domain.exercise.WorkoutCalendarYear;
+import eu.groeller.ds.domain.exercise.WorkoutStreak;
+import eu.groeller.ds.domain.exercise.WorkoutStreakStats;
+import eu.groeller.ds.persistence.exercise.WorkoutCalendarYearRepository;
+import eu.groeller.ds.persistence.exercise.WorkoutRepository;
+import eu.groeller.ds.persistence.exercise.WorkoutStreakRepository;
+import eu.groeller.ds.persistence.user.UserRepository;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.exceptions.UserNotFoundException;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the {@link WorkoutCalendarYear}s and the {@link WorkoutStreak} of a user in step with their workouts. A
+ * workout counts for the day it started on in the user's time zone, the server's if they did not set one. Reads
+ * never touch the workouts themselves.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+
+@Transactional(readOnly = true)
+public class WorkoutCalendarService {
+
+    public static final int MIN_YEAR = 1900;
+    public static final int MAX_YEAR = 9999;
+    public static final int MAX_CONSISTENCY_WEEKS = 52;
+
+    private final WorkoutCalendarYearRepository calendarYearRepository;
+    private final WorkoutStreakRepository streakRepository;
+    private final WorkoutRepository workoutRepository;
+    private final UserRepository userRepository;
+    private final Clock clock;
+
+    @Transactional(readOnly = false)
+    public void onWorkoutCreated(@NonNull User user, @NonNull Workout workout) {
+        val day = dayOf(lockCalendar(user), workout);
+
+        val year = calendarYearRepository.findByUserAndYear(user, day.getYear())
+                .orElseGet(() -> new WorkoutCalendarYear(user, day.getYear()));
+        boolean newDay = year.add(day);
+        calendarYearRepository.save(year);
+
+        val streak = streakRepository.findByUser(user);
+        if (streak.isEmpty()) {
+            rebuildStreak(user);
+        } else if (newDay) {
+            // Only back-dated days need the calendar, the year just changed is already in the persistence context
+            streak.get().onTrainingDayAdded(day, () -> trainingDays(user));
+        }
+    }
+
+    @Transactional(readOnly = false)
+    public void onWorkoutDeleted(@NonNull User user, @NonNull Workout workout) {
+        val day = dayOf(lockCalendar(user), workout);
+
+        val year = calendarYearRepository.findByUserAndYear(user, day.getYear());
+        if (year.isEmpty()) {
+            log.warn("No calendar year {} for deleted workout {} of user: {}", day.getYear(), workout.getId(), user.getUsername());
+            return;
+        }
+        if (!year.get().remove(day))
+            return;
+
+        streakRepository.findByUser(user).ifPresentOrElse(
+                streak -> streak.onTrainingDayRemoved(day, trainingDays(user)),
+                () -> rebuildStreak(user));
+    }
+
+    /**
+     * Moves the day boundaries of the user to their current time zone after it was changed. Calendars and streaks are
+     * rebuilt from the start times of all workouts of the user, the only time they are read. The caller holds the lock
+     * on the user and has already saved the new zone.
+     */
+    @Transactional(readOnly = false)
+    public void rebuildForTimeZone(@NonNull User user) {
+        val zone = user.zone(clock.getZone());
+        log.info("Rebuilding calendar of user: {} for time zone {}", user.getUsername(), zone);
+
+        Map<Integer, WorkoutCalendarYear> years = new HashMap<>();
+        calendarYearRepository.findByUser(user).forEach(year -> {
+            year.clear();
+            years.put(year.getYear(), year);
+        });
+        for (val startTime : workoutRepository.findStartTimesByUser(user)) {
+            val day = startTime.atZoneSameInstant(zone).toLocalDate();
+            years.computeIfAbsent(day.getYear(), year -> new WorkoutCalendarYear(user, year)).add(day);
+        }
+        calendarYearRepository.saveAll(years.values());
+        rebuildStreak(user);
+    }
+
+    /**
+     * @return the calendar of the year, empty if the user did not train in it
+     */
+    public WorkoutCalendarYear getYear(@NonNull User user, int year) {
+        if (year < MIN_YEAR || year > MAX_YEAR)
+            throw new DSIllegalArgumentException("Year must be between " + MIN_YEAR + " and " + MAX_YEAR);
+
+        return calendarYearRepository.findByUserAndYear(user, year)
+                .orElseGet(() -> new WorkoutCalendarYear(user, year));
+    }
+
+    /**
+     * @param weeks the number of weeks up to today the consistency is computed over
+     */
+    public WorkoutStreakStats getStreak(@NonNull User user, int weeks) {
+        if (weeks < 1 || weeks > MAX_CONSISTENCY_WEEKS)
+            throw new DSIllegalArgumentException("Weeks must be between 1 and " + MAX_CONSISTENCY_WEEKS);
+
+        val today = LocalDate.now(clock.withZone(user.zone(clock.getZone())));
+        val streak = streakRepository.findByUser(user);
+        if (streak.isPresent()) {
+            val days = new TrainingDays(calendarYearRepository.findByUserAndYearBetween(user, today.minusWeeks(weeks).getYear(), today.getYear()));
+            return WorkoutStreakStats.of(streak.get(), days, today, weeks);
+        }
+
+        // Users who have not logged a workout since streaks are kept
+        val days = trainingDays(user);
+        val rebuilt = new WorkoutStreak(user);
+        rebuilt.rebuild(days);
+        return WorkoutStreakStats.of(rebuilt, days, today, weeks);
+    }
+
+    public LocalDate dayOf(@NonNull User user, @NonNull Workout workout) {
+        return workout.getStartTime().atZoneSameInstant(user.zone(clock.getZone())).toLocalDate();
+    }
+
+    private TrainingDays trainingDays(User user) {
+        return new TrainingDays(calendarYearRepository.findByUser(user));
+    }
+
+    private void rebuildStreak(User user) {
+        val streak = streakRepository.findByUser(user).orElseGet(() -> new WorkoutStreak(user));
+        streak.rebuild(trainingDays(user));
+        streakRepository.save(streak);
+    }
+
+    // Concurrent workouts of the same user would otherwise race to create the same year or streak, or overwrite each
+    // other's counts. The locked user is read fresh, so a concurrent time zone change is seen.
+    private User lockCalendar(User user) {
+        return userRepository.lockById(user.getId()).orElseThrow(() -> new UserNotFoundException(user.getId()));
+    }
+}
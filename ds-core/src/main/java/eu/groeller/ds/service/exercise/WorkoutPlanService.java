@@ -0,0 +1,268 @@
+package eu.groeller.ds.service.exercise;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.DistanceExerciseRecord;
+import eu.groeller.ds.domain.exercise.ExerciseDefinition;
+import eu.groeller.ds.domain.exercise.ExerciseRecord;
+import eu.groeller.ds.domain.exercise.ExerciseSet;
+import eu.groeller.ds.domain.exercise.PlanAdherence;
+import eu.groeller.ds.domain.exercise.PlannedExercise;
+import eu.groeller.ds.domain.exercise.SetBasedExerciseRecord;
+import eu.groeller.ds.domain.exercise.Workout;
+import eu.groeller.ds.domain.exercise.WorkoutPlan;
+import eu.groeller.ds.domain.exercise.WorkoutPlanSession;
+import eu.groeller.ds.domain.exercise.WorkoutType;
+import eu.groeller.ds.persistence.exercise.ExerciseDefinitionRepository;
+import eu.groeller.ds.persistence.exercise.ExerciseRecordRepository;
+import eu.groeller.ds.persistence.exercise.WorkoutPlanRepository;
+import eu.groeller.ds.persistence.exercise.WorkoutTypeRepository;
+import eu.groeller.ds.presentation.request.exercise.CreateWorkoutPlanRequest;
+import eu.groeller.ds.presentation.request.exercise.PlannedExerciseRequest;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.exceptions.WorkoutPlanNotFoundException;
+import eu.groeller.ds.service.utils.DtoUtils;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class WorkoutPlanService {
+
+    private final WorkoutPlanRepository workoutPlanRepository;
+    private final WorkoutTypeRepository workoutTypeRepository;
+    private final ExerciseDefinitionRepository exerciseDefinitionRepository;
+    private final ExerciseRecordRepository exerciseRecordRepository;
+    private final WorkoutPlanSessionCache sessionCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public WorkoutPlanService(WorkoutPlanRepository workoutPlanRepository, WorkoutTypeRepository workoutTypeRepository,
+                              ExerciseDefinitionRepository exerciseDefinitionRepository, ExerciseRecordRepository exerciseRecordRepository,
+                              WorkoutPlanSessionCache sessionCache, PlatformTransactionManager transactionManager) {
+        this.workoutPlanRepository = workoutPlanRepository;
+        this.workoutTypeRepository = workoutTypeRepository;
+        this.exerciseDefinitionRepository = exerciseDefinitionRepository;
+        this.exerciseRecordRepository = exerciseRecordRepository;
+        this.sessionCache = sessionCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Transactional(readOnly = false)
+    public WorkoutPlan createPlan(@NonNull User user, @NonNull CreateWorkoutPlanRequest request) {
+        validate(request);
+        log.info("Creating workout plan [{}] for user [{}]", request.name(), user.getId());
+
+        if (workoutPlanRepository.existsByUserAndName(user, request.name())) {
+            log.warn("WorkoutPlan with name [{}] already exists for user [{}]", request.name(), user.getId());
+            throw new DSIllegalArgumentException("Workout plan with name " + request.name() + " already exists");
+        }
+
+        val plan = new WorkoutPlan(user, request.name(), findWorkoutType(request.workoutType()), request.sessionsPerWeek(),
+                createPlannedExercises(request.exercises()));
+        return workoutPlanRepository.save(plan);
+    }
+
+    public List<WorkoutPlan> getPlans(@NonNull User user) {
+        return workoutPlanRepository.findByUserOrderByNameAsc(user);
+    }
+
+    public WorkoutPlan getPlan(@NonNull User user, @NonNull Long planId) {
+        return workoutPlanRepository.findWithExercisesByIdAndUser(planId, user)
+                .orElseThrow(() -> new WorkoutPlanNotFoundException(planId));
+    }
+
+    @Transactional(readOnly = false)
+    public WorkoutPlan updatePlan(@NonNull User user, @NonNull Long planId, @NonNull CreateWorkoutPlanRequest request) {
+        validate(request);
+        val plan = getPlan(user, planId);
+
+        if (!plan.getName().equals(request.name()) && workoutPlanRepository.existsByUserAndName(user, request.name())) {
+            log.warn("WorkoutPlan with name [{}] already exists for user [{}]", request.name(), user.getId());
+            throw new DSIllegalArgumentException("Workout plan with name " + request.name() + " already exists");
+        }
+
+        plan.setName(request.name());
+        plan.setWorkoutType(findWorkoutType(request.workoutType()));
+        plan.setSessionsPerWeek(request.sessionsPerWeek());
+        plan.replaceExercises(createPlannedExercises(request.exercises()));
+
+        sessionCache.evictUserAfterCommit(user.getId());
+        return plan;
+    }
+
+    /**
+     * Workouts logged against the plan are kept, they just lose the link (ON DELETE SET NULL).
+     */
+    @Transactional(readOnly = false)
+    public void deletePlan(@NonNull User user, @NonNull Long planId) {
+        val plan = workoutPlanRepository.findByIdAndUser(planId, user)
+                .orElseThrow(() -> new WorkoutPlanNotFoundException(planId));
+        log.info("Deleting workout plan [{}] of user [{}]", planId, user.getId());
+
+        workoutPlanRepository.delete(plan);
+        sessionCache.evictUserAfterCommit(user.getId());
+    }
+
+    /**
+     * The pre-resolved skeleton for starting a workout from the plan. Served from {@link WorkoutPlanSessionCache},
+     * a hit does not touch the database at all.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public WorkoutPlanSession getSession(@NonNull User user, @NonNull Long planId) {
+        return sessionCache.get(user.getId(), planId, () -> readOnlyTransaction.execute(status -> loadSession(user, planId)));
+    }
+
+    /**
+     * Adherence statistics straight from the plan's counters.
+     */
+    public WorkoutPlan getPlanStats(@NonNull User user, @NonNull Long planId) {
+        return workoutPlanRepository.findByIdAndUser(planId, user)
+                .orElseThrow(() -> new WorkoutPlanNotFoundException(planId));
+    }
+
+    /**
+     * Links a new workout to the plan, scores it against the plan's targets and adds the score to the plan's
+     * counters. Only the workout itself is looked at, never the history.
+     */
+    @Transactional(readOnly = false)
+    public PlanAdherence linkWorkout(@NonNull User user, @NonNull Long planId, @NonNull Workout workout) {
+        val plan = getPlan(user, planId);
+        val adherence = PlanAdherence.of(plan, workout.getExercises());
+        log.debug("Workout of user [{}] scored [{}] against plan [{}]", user.getId(), adherence.score(), planId);
+
+        workout.setWorkoutPlan(plan);
+        workout.setPlanAdherence(adherence.score());
+        workout.setPlanPlannedSets(adherence.plannedSets());
+        workout.setPlanCompletedSets(adherence.completedSets());
+        workoutPlanRepository.recordWorkout(plan.getId(), adherence.plannedSets(), adherence.completedSets(),
+                adherence.score(), workout.getStartTime());
+        return adherence;
+    }
+
+    /**
+     * Every new workout can change the last-performance hints of the user's plan sessions.
+     */
+    public void onWorkoutCreated(@NonNull User user) {
+        sessionCache.evictUserAfterCommit(user.getId());
+    }
+
+    /**
+     * Takes the deleted workout back out of its plan's counters, the hints may have come from it as well. Has to
+     * run after the workout was deleted in the same transaction.
+     */
+    @Transactional(readOnly = false)
+    public void onWorkoutDeleted(@NonNull User user, @NonNull Workout workout) {
+        if (workout.getWorkoutPlan() != null && workout.getPlanAdherence() != null) {
+            val planId = workout.getWorkoutPlan().getId();
+            log.debug("Removing workout [{}] from the counters of plan [{}]", workout.getId(), planId);
+            workoutPlanRepository.removeWorkout(planId, workout.getPlanPlannedSets(),
+                    workout.getPlanCompletedSets(), workout.getPlanAdherence());
+        }
+        sessionCache.evictUserAfterCommit(user.getId());
+    }
+
+    private WorkoutPlanSession loadSession(User user, Long planId) {
+        val plan = getPlan(user, planId);
+        log.debug("Resolving session of workout plan [{}] for user [{}]", planId, user.getId());
+
+        List<Long> definitionIds = plan.getExercises().stream()
+                .map(exercise -> exercise.getExerciseDefinition().getId())
+                .distinct()
+                .toList();
+        Map<Long, ExerciseRecord> latest = definitionIds.isEmpty() ? Map.of()
+                : exerciseRecordRepository.findLatestByUserAndDefinitions(user, definitionIds).stream()
+                .collect(Collectors.toMap(record -> record.getExerciseDefinition().getId(), Function.identity(),
+                        (first, second) -> first.getId() > second.getId() ? first : second));
+
+        WorkoutType type = plan.getWorkoutType();
+        return new WorkoutPlanSession(plan.getId(), plan.getName(), type.getId(), type.getName(), plan.getExercises().stream()
+                .map(exercise -> sessionExercise(exercise, latest.get(exercise.getExerciseDefinition().getId())))
+                .toList());
+    }
+
+    private static WorkoutPlanSession.Exercise sessionExercise(PlannedExercise exercise, ExerciseRecord latest) {
+        ExerciseDefinition definition = exercise.getExerciseDefinition();
+        return new WorkoutPlanSession.Exercise(exercise.getOrderIndex(), definition.getId(), definition.getName(), definition.getType(),
+                exercise.getTargetSets(), exercise.getTargetRepetitions(), exercise.getTargetWeightKg(), exercise.getTargetDistance(),
+                exercise.getTargetDistanceUnit(), exercise.getRestTimeSeconds(), lastPerformance(latest));
+    }
+
+    private static WorkoutPlanSession.LastPerformance lastPerformance(ExerciseRecord record) {
+        if (record instanceof SetBasedExerciseRecord setBased) {
+            return new WorkoutPlanSession.LastPerformance(record.getStartTime(), setBased.getSets().stream()
+                    .sorted(Comparator.comparing(ExerciseSet::getOrderIndex))
+                    .map(set -> new WorkoutPlanSession.SetPerformance(set.getRepetitions(), set.getWeightKg(), set.getFailure()))
+                    .toList(), null, null, null);
+        }
+        if (record instanceof DistanceExerciseRecord distance) {
+            return new WorkoutPlanSession.LastPerformance(record.getStartTime(), List.of(), distance.getDistance(),
+                    distance.getDistanceUnit(), distance.getDuration());
+        }
+        return null;
+    }
+
+    private WorkoutType findWorkoutType(String name) {
+        return workoutTypeRepository.findByName(name)
+                .orElseThrow(() -> {
+                    log.warn("No WorkoutType with name [{}] found", name);
+                    return new DSIllegalArgumentException("Workout type not found: " + name);
+                });
+    }
+
+    private List<PlannedExercise> createPlannedExercises(List<PlannedExerciseRequest> requests) {
+        Map<Long, ExerciseDefinition> definitions = exerciseDefinitionRepository.findAllById(requests.stream()
+                        .map(PlannedExerciseRequest::exerciseDefinitionId)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(ExerciseDefinition::getId, Function.identity()));
+
+        return requests.stream().map(request -> {
+            ExerciseDefinition definition = definitions.get(request.exerciseDefinitionId());
+            if (definition == null)
+                throw new DSIllegalArgumentException("Exercise definition not found: " + request.exerciseDefinitionId());
+
+            val exercise = new PlannedExercise();
+            exercise.setExerciseDefinition(definition);
+            exercise.setOrderIndex(request.order());
+            exercise.setTargetSets(request.targetSets());
+            exercise.setTargetRepetitions(request.targetRepetitions());
+            exercise.setTargetWeightKg(request.targetWeightKg());
+            exercise.setTargetDistance(request.targetDistance());
+            exercise.setTargetDistanceUnit(request.targetDistanceUnit());
+            exercise.setRestTimeSeconds(request.restTimeSeconds());
+            return exercise;
+        }).toList();
+    }
+
+    private static void validate(CreateWorkoutPlanRequest request) {
+        DtoUtils.checkNulls(request, List.of("name", "workoutType", "exercises"));
+        DtoUtils.checkBlanks(request, List.of("name"));
+
+        if (request.exercises().isEmpty())
+            throw new DSIllegalArgumentException("Exercises must not be empty");
+        for (PlannedExerciseRequest exercise : request.exercises()) {
+            DtoUtils.checkNulls(exercise, List.of("exerciseDefinitionId", "order"));
+            if (isNegative(exercise.targetSets()) || isNegative(exercise.targetRepetitions())
+                    || isNegative(exercise.targetWeightKg()) || isNegative(exercise.targetDistance()))
+                throw new DSIllegalArgumentException("Targets must not be negative");
+        }
+    }
+
+    private static boolean isNegative(Number value) {
+        return value != null && value.doubleValue() < 0;
+    }
+}
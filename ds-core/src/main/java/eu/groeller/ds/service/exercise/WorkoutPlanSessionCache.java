@@ -0,0 +1,77 @@
+package eu.groeller.ds.service.exercise;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.groeller.ds.configuration.WorkoutPlanConfig;
+import eu.groeller.ds.domain.exercise.WorkoutPlanSession;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Resolved {@link WorkoutPlanSession}s, grouped per user. The last-performance hints of a session depend on every
+ * workout of the user, so any write of the user drops all of their sessions at once.
+ * <p>
+ * Sessions are stored into the per-user map that was current when loading started. An eviction replaces that map,
+ * so a session loaded concurrently with a write is never visible afterwards, even if the load read the old state.
+ */
+@Component
+public class WorkoutPlanSessionCache {
+
+    private final Cache<Long, Map<Long, WorkoutPlanSession>> sessionsByUser;
+
+    @Autowired
+    public WorkoutPlanSessionCache(WorkoutPlanConfig config, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(config, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    WorkoutPlanSessionCache(WorkoutPlanConfig config, MeterRegistry meterRegistry) {
+        this.sessionsByUser = Caffeine.newBuilder()
+                .maximumSize(config.getSessionCacheMaxUsers())
+                .expireAfterWrite(config.getSessionCacheTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessionsByUser, "ds.workout-plan.sessions");
+    }
+
+    public WorkoutPlanSession get(long userId, long planId, Supplier<WorkoutPlanSession> loader) {
+        Map<Long, WorkoutPlanSession> sessions = sessionsByUser.get(userId, id -> new ConcurrentHashMap<>());
+        WorkoutPlanSession session = sessions.get(planId);
+        if (session == null) {
+            // Not computeIfAbsent, the loader queries the database and must not block other plans of the user
+            session = loader.get();
+            sessions.put(planId, session);
+        }
+        return session;
+    }
+
+    public void evictUser(long userId) {
+        sessionsByUser.invalidate(userId);
+    }
+
+    /**
+     * Evicts once the current transaction has committed, a load in between would otherwise cache the old state
+     * again. Evicts right away when there is no transaction.
+     */
+    public void evictUserAfterCommit(long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictUser(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictUser(userId);
+            }
+        });
+    }
+}
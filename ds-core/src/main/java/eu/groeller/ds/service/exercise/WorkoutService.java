@@ -8,6 +8,8 @@ import eu.groeller.ds.persistence.exercise.WorkoutRepository;
 import eu.groeller.ds.persistence.exercise.WorkoutTypeRepository;
 import eu.groeller.ds.presentation.request.exercise.CreateWorkoutRequest;
 import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.exceptions.WorkoutNotFoundException;
+import eu.groeller.ds.service.heartrate.WorkoutHeartRateService;
 import eu.groeller.ds.service.utils.DtoUtils;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -32,11 +34,14 @@ public class WorkoutService {
     private final WorkoutTypeRepository workoutTypeRepository;
     private final ExerciseRecordService exerciseRecordService;
     private final ExerciseDefinitionService exerciseDefinitionService;
+    private final WorkoutPlanService workoutPlanService;
+    private final WorkoutHeartRateService workoutHeartRateService;
+    private final WorkoutCalendarService workoutCalendarService;
     private final Clock clock;
 
     @Transactional(readOnly = false)
     public Workout createWorkout(@NonNull User user, @NonNull CreateWorkoutRequest request) {
-        DtoUtils.checkAllNulls(request);
+        DtoUtils.checkNulls(request, List.of("exercises", "type", "startTime", "endTime"));
 
         if (request.exercises().isEmpty()) {
             throw new DSIllegalArgumentException("Exercises must not be empty");
@@ -54,7 +59,30 @@ public class WorkoutService {
                 .toList();
 
         Workout workout = new Workout(user, request.startTime(), request.endTime(), exerciseRecords, workoutType);
-        return workoutRepository.save(workout);
+        if (request.workoutPlanId() != null)
+            workoutPlanService.linkWorkout(user, request.workoutPlanId(), workout);
+        // Samples synced before the workout was logged, later ones update it on ingestion
+        workoutHeartRateService.analyze(workout);
+
+        workout = workoutRepository.save(workout);
+        workoutPlanService.onWorkoutCreated(user);
+        workoutCalendarService.onWorkoutCreated(user, workout);
+        return workout;
+    }
+
+    /**
+     * Deletes the workout with its exercise records, sets and notes. It is taken back out of the calendar and out of
+     * the counters of a plan it was performed for.
+     */
+    @Transactional(readOnly = false)
+    public void deleteWorkout(@NonNull User user, @NonNull Long workoutId) {
+        log.info("Deleting workout {} of user: {}", workoutId, user.getUsername());
+
+        val workout = workoutRepository.findByIdAndUser(workoutId, user)
+                .orElseThrow(() -> new WorkoutNotFoundException(workoutId));
+        workoutCalendarService.onWorkoutDeleted(user, workout);
+        workoutRepository.delete(workout);
+        workoutPlanService.onWorkoutDeleted(user, workout);
     }
 
     public Slice<Workout> getWorkouts(@NonNull User user, @NonNull Pageable pageable) {
@@ -0,0 +1,85 @@
+package eu.groeller.ds.service.habit;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.habit.Habit;
+import eu.groeller.ds.persistence.habit.HabitRepository;
+import eu.groeller.ds.presentation.request.habit.CreateHabitRequest;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.exceptions.HabitNotFoundException;
+import eu.groeller.ds.service.utils.DtoUtils;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+
+@Transactional(readOnly = true)
+public class HabitService {
+
+    private final HabitRepository habitRepository;
+    private final Clock clock;
+
+    @Transactional(readOnly = false)
+    public Habit createHabit(@NonNull User user, @NonNull CreateHabitRequest request) {
+        DtoUtils.checkAllNullsAndBlanks(request);
+        val name = request.name().strip();
+        if (name.length() > Habit.MAX_NAME_LENGTH)
+            throw new DSIllegalArgumentException("Habit name must not be longer than " + Habit.MAX_NAME_LENGTH + " characters");
+        if (habitRepository.existsByUserAndName(user, name))
+            throw new DSIllegalArgumentException("Habit with name " + name + " already exists");
+
+        log.info("Creating habit [{}] for user: {}", name, user.getUsername());
+        return habitRepository.save(new Habit(user, name));
+    }
+
+    /**
+     * @return all habits of the user with their check-ins loaded, read with a single query
+     */
+    public List<Habit> getHabits(@NonNull User user) {
+        return habitRepository.findWithYearsByUser(user);
+    }
+
+    public Habit getHabit(@NonNull User user, @NonNull Long habitId) {
+        return habitRepository.findByIdAndUser(habitId, user)
+                .orElseThrow(() -> new HabitNotFoundException(habitId));
+    }
+
+    /**
+     * @return the {@link eu.groeller.ds.domain.habit.HabitYear} bitset of the year, the payload of a year heatmap
+     */
+    public byte[] getYear(@NonNull User user, @NonNull Long habitId, int year) {
+        return getHabit(user, habitId).daysOf(year);
+    }
+
+    /**
+     * Sets or clears the check-in of a day. Doing either twice is harmless.
+     */
+    @Transactional(readOnly = false)
+    public Habit checkIn(@NonNull User user, @NonNull Long habitId, @NonNull LocalDate date, boolean checkedIn) {
+        // A day ahead of the server, for users east of it
+        if (date.isAfter(LocalDate.now(clock).plusDays(1)))
+            throw new DSIllegalArgumentException("Cannot check in on a future date: " + date);
+
+        val habit = habitRepository.findForUpdate(habitId, user)
+                .orElseThrow(() -> new HabitNotFoundException(habitId));
+        boolean changed = habit.checkIn(date, checkedIn);
+
+        log.debug("{} habit {} on {} for user: {}, changed: {}", checkedIn ? "Checked in" : "Cleared", habitId, date, user.getUsername(), changed);
+        return habit;
+    }
+
+    @Transactional(readOnly = false)
+    public void deleteHabit(@NonNull User user, @NonNull Long habitId) {
+        log.info("Deleting habit {} of user: {}", habitId, user.getUsername());
+        habitRepository.delete(getHabit(user, habitId));
+    }
+}
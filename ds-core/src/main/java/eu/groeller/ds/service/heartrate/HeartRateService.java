@@ -0,0 +1,171 @@
+package eu.groeller.ds.service.heartrate;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.heartrate.HeartRateBlock;
+import eu.groeller.ds.domain.heartrate.HeartRateBlockSummary;
+import eu.groeller.ds.domain.heartrate.HeartRateSample;
+import eu.groeller.ds.persistence.heartrate.HeartRateBlockRepository;
+import eu.groeller.ds.presentation.request.heartrate.HeartRateSampleRequest;
+import eu.groeller.ds.presentation.request.heartrate.HeartRateSamplesRequest;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.utils.DtoUtils;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class HeartRateService {
+
+    public static final int MIN_BPM = 20;
+    public static final int MAX_BPM = 250;
+    // A day at one sample per second
+    public static final int MAX_SAMPLES_PER_BATCH = 86_400;
+    public static final Duration MAX_SAMPLE_RANGE = Duration.ofDays(1);
+    public static final Duration MAX_SUMMARY_RANGE = Duration.ofDays(366);
+    // Tolerated clock skew of devices
+    private static final Duration MAX_FUTURE_SKEW = Duration.ofMinutes(5);
+
+    private final HeartRateBlockRepository heartRateBlockRepository;
+    private final WorkoutHeartRateService workoutHeartRateService;
+    private final TransactionTemplate writeTransaction;
+    private final Clock clock;
+
+    public HeartRateService(HeartRateBlockRepository heartRateBlockRepository, WorkoutHeartRateService workoutHeartRateService,
+                            PlatformTransactionManager transactionManager, Clock clock) {
+        this.heartRateBlockRepository = heartRateBlockRepository;
+        this.workoutHeartRateService = workoutHeartRateService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Merges a batch of samples into the hourly blocks they fall into. Each touched block is decoded, merged and
+     * re-encoded once per batch, no matter how many samples it receives. Workouts overlapping the batch are
+     * re-analyzed in the same transaction.
+     *
+     * @return the touched blocks, oldest first
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<HeartRateBlock> ingest(@NonNull User user, @NonNull HeartRateSamplesRequest request) {
+        val samples = validate(request);
+        val samplesByBlock = groupByBlock(samples);
+        log.debug("Ingesting {} heart rate samples into {} blocks for user: {}", samples.size(), samplesByBlock.size(), user.getUsername());
+
+        try {
+            return writeTransaction.execute(status -> merge(user, samples, samplesByBlock));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent batch created one of the blocks first, now it exists and is locked like the others
+            log.debug("Concurrent creation of a heart rate block for user: {}, retrying", user.getUsername());
+            return writeTransaction.execute(status -> merge(user, samples, samplesByBlock));
+        }
+    }
+
+    /**
+     * @return the samples taken in {@code [from, to)}, decoded from only the blocks overlapping the range
+     */
+    public List<HeartRateSample> getSamples(@NonNull User user, @NonNull OffsetDateTime from, @NonNull OffsetDateTime to) {
+        validateRange(from, to, MAX_SAMPLE_RANGE);
+        Instant start = from.toInstant();
+        Instant end = to.toInstant();
+
+        val blocks = heartRateBlockRepository.findInRange(user,
+                HeartRateBlock.startOf(start).atOffset(ZoneOffset.UTC), to);
+        log.debug("Decoding {} heart rate blocks between {} and {} for user: {}", blocks.size(), from, to, user.getUsername());
+
+        List<HeartRateSample> samples = new ArrayList<>();
+        for (HeartRateBlock block : blocks) {
+            for (HeartRateSample sample : block.samples()) {
+                if (!sample.time().isBefore(start) && sample.time().isBefore(end))
+                    samples.add(sample);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Blocks whose hour overlaps {@code [from, to)}, read from their summary columns only. Since blocks are not
+     * split, the range is effectively widened to whole hours.
+     */
+    public List<HeartRateBlockSummary> getSummaries(@NonNull User user, @NonNull OffsetDateTime from, @NonNull OffsetDateTime to) {
+        validateRange(from, to, MAX_SUMMARY_RANGE);
+
+        return heartRateBlockRepository.findSummariesInRange(user,
+                HeartRateBlock.startOf(from.toInstant()).atOffset(ZoneOffset.UTC), to);
+    }
+
+    private List<HeartRateBlock> merge(User user, List<HeartRateSample> samples, Map<Instant, List<HeartRateSample>> samplesByBlock) {
+        val blockStarts = samplesByBlock.keySet().stream()
+                .map(start -> start.atOffset(ZoneOffset.UTC))
+                .toList();
+        Map<Instant, HeartRateBlock> existing = heartRateBlockRepository.findForUpdate(user, blockStarts).stream()
+                .collect(Collectors.toMap(block -> block.getBlockStart().toInstant(), Function.identity()));
+
+        List<HeartRateBlock> blocks = new ArrayList<>(samplesByBlock.size());
+        samplesByBlock.forEach((start, blockSamples) -> {
+            HeartRateBlock block = existing.getOrDefault(start, new HeartRateBlock(user, start));
+            block.merge(blockSamples);
+            blocks.add(heartRateBlockRepository.save(block));
+        });
+        heartRateBlockRepository.flush();
+
+        val times = samples.stream().map(HeartRateSample::time).toList();
+        workoutHeartRateService.analyzeWorkoutsBetween(user, Collections.min(times), Collections.max(times));
+        return blocks;
+    }
+
+    private List<HeartRateSample> validate(HeartRateSamplesRequest request) {
+        DtoUtils.checkNulls(request, List.of("samples"));
+        if (request.samples().isEmpty())
+            throw new DSIllegalArgumentException("Samples must not be empty");
+        if (request.samples().size() > MAX_SAMPLES_PER_BATCH)
+            throw new DSIllegalArgumentException("At most " + MAX_SAMPLES_PER_BATCH + " samples per batch");
+
+        Instant latest = clock.instant().plus(MAX_FUTURE_SKEW);
+        List<HeartRateSample> samples = new ArrayList<>(request.samples().size());
+        for (HeartRateSampleRequest sample : request.samples()) {
+            DtoUtils.checkNulls(sample, List.of("time", "bpm"));
+            if (sample.bpm() < MIN_BPM || sample.bpm() > MAX_BPM)
+                throw new DSIllegalArgumentException("Heart rate must be between " + MIN_BPM + " and " + MAX_BPM + " bpm, was " + sample.bpm());
+            // Blocks store milliseconds, finer times would not match their stored samples when a batch is re-sent
+            Instant time = sample.time().toInstant().truncatedTo(ChronoUnit.MILLIS);
+            if (time.isAfter(latest))
+                throw new DSIllegalArgumentException("Sample at " + sample.time() + " is in the future");
+            samples.add(new HeartRateSample(time, sample.bpm()));
+        }
+        return samples;
+    }
+
+    private static Map<Instant, List<HeartRateSample>> groupByBlock(List<HeartRateSample> samples) {
+        return samples.stream().collect(Collectors.groupingBy(
+                sample -> HeartRateBlock.startOf(sample.time()), TreeMap::new, Collectors.toList()));
+    }
+
+    private static void validateRange(OffsetDateTime from, OffsetDateTime to, Duration maxRange) {
+        if (!from.isBefore(to))
+            throw new DSIllegalArgumentException("From must be before to");
+        if (Duration.between(from, to).compareTo(maxRange) > 0)
+            throw new DSIllegalArgumentException("Range must not be longer than " + maxRange.toDays() + " days");
+    }
+}
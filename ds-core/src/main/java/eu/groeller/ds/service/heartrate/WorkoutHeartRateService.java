@@ -0,0 +1,89 @@
+package eu.groeller.ds.service.heartrate;
+
+import eu.groeller.ds.configuration.HeartRateConfig;
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.Workout;
+import eu.groeller.ds.domain.heartrate.HeartRateAnalyzer;
+import eu.groeller.ds.domain.heartrate.HeartRateBlock;
+import eu.groeller.ds.domain.heartrate.HeartRateSample;
+import eu.groeller.ds.domain.heartrate.HeartRateZones;
+import eu.groeller.ds.persistence.exercise.WorkoutRepository;
+import eu.groeller.ds.persistence.heartrate.HeartRateBlockRepository;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Keeps the {@link eu.groeller.ds.domain.heartrate.HeartRateStats} of workouts and their exercises up to date. They
+ * are computed when a workout is logged and again whenever samples overlapping it are ingested, whichever comes
+ * last, so reads only ever see stored stats.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class WorkoutHeartRateService {
+
+    // Longer workouts are not analyzed, which bounds the blocks decoded per workout and the lookup of overlapping ones
+    public static final Duration MAX_WORKOUT_DURATION = Duration.ofDays(1);
+
+    private final HeartRateBlockRepository heartRateBlockRepository;
+    private final WorkoutRepository workoutRepository;
+    private final HeartRateAnalyzer analyzer;
+
+    public WorkoutHeartRateService(HeartRateBlockRepository heartRateBlockRepository, WorkoutRepository workoutRepository, HeartRateConfig config) {
+        this.heartRateBlockRepository = heartRateBlockRepository;
+        this.workoutRepository = workoutRepository;
+        this.analyzer = new HeartRateAnalyzer(
+                new HeartRateZones(config.getMaxHeartRate(), config.getZoneThresholds()), config.getMaxSampleGap());
+    }
+
+    /**
+     * Computes the stats of the workout and each of its exercises from the stored samples, decoding the overlapping
+     * blocks once for all of them. The workout is updated in place and left untouched if there are no samples.
+     */
+    public void analyze(@NonNull Workout workout) {
+        Instant start = workout.getStartTime().toInstant();
+        Instant end = workout.getEndTime().toInstant();
+        if (Duration.between(start, end).compareTo(MAX_WORKOUT_DURATION) > 0) {
+            log.debug("Not analyzing heart rate of workout {}, it is longer than {}", workout.getId(), MAX_WORKOUT_DURATION);
+            return;
+        }
+
+        // A sample shortly before the start covers its beginning, one shortly after the end bounds the last one in it
+        val gap = analyzer.getMaxSampleGap();
+        List<HeartRateSample> samples = heartRateBlockRepository.findInRange(workout.getUser(),
+                        HeartRateBlock.startOf(start.minus(gap)).atOffset(ZoneOffset.UTC), end.plus(gap).atOffset(ZoneOffset.UTC))
+                .stream()
+                .flatMap(block -> block.samples().stream())
+                .toList();
+        if (samples.isEmpty())
+            return;
+
+        workout.setHeartRate(analyzer.analyze(samples, start, end));
+        workout.getExercises().forEach(record -> record.setHeartRate(
+                analyzer.analyze(samples, record.getStartTime().toInstant(), record.getEndTime().toInstant())));
+        log.debug("Analyzed {} heart rate samples of workout {}", samples.size(), workout.getId());
+    }
+
+    /**
+     * Re-analyzes the workouts of the user that samples taken in {@code [from, to]} can affect.
+     */
+    @Transactional(readOnly = false)
+    public void analyzeWorkoutsBetween(@NonNull User user, @NonNull Instant from, @NonNull Instant to) {
+        val gap = analyzer.getMaxSampleGap();
+        val workouts = workoutRepository.findOverlapping(user,
+                from.minus(gap).atOffset(ZoneOffset.UTC),
+                to.plus(gap).atOffset(ZoneOffset.UTC),
+                from.minus(gap).minus(MAX_WORKOUT_DURATION).atOffset(ZoneOffset.UTC));
+
+        log.debug("Re-analyzing heart rate of {} workouts of user: {}", workouts.size(), user.getUsername());
+        workouts.forEach(this::analyze);
+    }
+}
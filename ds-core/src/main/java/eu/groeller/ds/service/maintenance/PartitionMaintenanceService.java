@@ -0,0 +1,135 @@
+package eu.groeller.ds.service.maintenance;
+
+import eu.groeller.ds.configuration.PartitioningConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of the tables range partitioned on {@code start_time} (see the PostgreSQL
+ * migrations) ahead of time. Rows that landed in a table's default partition, e.g. back-dated workouts, are
+ * moved into a partition of their own month, so the default partition stays small and pruning keeps working.
+ * Partitions are named {@code <table>_YYYY_MM} and bounded by UTC months. Does nothing on other databases.
+ */
+@Slf4j
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final PartitioningConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private volatile Boolean postgres;
+
+    public PartitionMaintenanceService(PartitioningConfig config, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Clock clock) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.partitioning.cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!config.isEnabled() || !isPostgres())
+            return;
+
+        for (String table : config.getTables()) {
+            if (!IDENTIFIER.matcher(table).matches())
+                throw new IllegalArgumentException("Invalid partitioned table name [" + table + "]");
+            if (!isPartitioned(table)) {
+                log.warn("Table [{}] is configured for partition maintenance but is not partitioned", table);
+                continue;
+            }
+            for (YearMonth month : monthsToEnsure(table)) {
+                ensurePartition(table, month);
+            }
+        }
+    }
+
+    /**
+     * @return the partition the given month of {@code table} is stored in
+     */
+    public static String partitionName(String table, YearMonth month) {
+        return table + "_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private SortedSet<YearMonth> monthsToEnsure(String table) {
+        SortedSet<YearMonth> months = new TreeSet<>();
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int i = 0; i <= config.getMonthsAhead(); i++) {
+            months.add(current.plusMonths(i));
+        }
+
+        List<OffsetDateTime> strayMonths = jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', start_time AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' FROM " + table + "_default",
+                OffsetDateTime.class);
+        strayMonths.forEach(month -> months.add(YearMonth.from(month.withOffsetSameInstant(ZoneOffset.UTC))));
+        return months;
+    }
+
+    private void ensurePartition(String table, YearMonth month) {
+        String partition = partitionName(table, month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists))
+            return;
+
+        OffsetDateTime from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = from.plusMonths(1);
+        String bounds = "FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer stray = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM " + table + "_default WHERE start_time >= ? AND start_time < ?", Integer.class, from, to);
+
+            if (stray == null || stray == 0) {
+                jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + table + " " + bounds);
+            } else {
+                // Rows of this month sit in the default partition, which would reject the new partition. Move
+                // them into a detached table first and attach it afterwards.
+                jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                jdbcTemplate.update("""
+                        WITH moved AS (DELETE FROM %s_default WHERE start_time >= ? AND start_time < ? RETURNING *)
+                        INSERT INTO %s SELECT * FROM moved
+                        """.formatted(table, partition), from, to);
+                jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + partition + " " + bounds);
+            }
+            log.info("Created partition [{}] of [{}], moved [{}] rows from the default partition", partition, table, stray);
+        });
+    }
+
+    private boolean isPartitioned(String table) {
+        Boolean partitioned = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = ?)
+                """, Boolean.class, table);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(JdbcUtils.commonDatabaseName(connection.getMetaData().getDatabaseProductName()))));
+        }
+        return postgres;
+    }
+}
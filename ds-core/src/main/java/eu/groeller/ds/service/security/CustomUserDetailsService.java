@@ -1,5 +1,6 @@
 package eu.groeller.ds.service.security;
 
+import eu.groeller.ds.configuration.security.AdminConfig;
 import eu.groeller.ds.configuration.security.CustomUserDetails;
 import eu.groeller.ds.persistence.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final AdminConfig adminConfig;
 
     @Override
     public UserDetails loadUserByUsername(String id) throws UsernameNotFoundException {
@@ -25,6 +27,6 @@ public class CustomUserDetailsService implements UserDetailsService {
                     return new UsernameNotFoundException("User with id [" + id + "] not found");
                 });
         log.debug("Found user [{}]", user.getUsername());
-        return new CustomUserDetails(user);
+        return new CustomUserDetails(user, adminConfig.getEmails().contains(user.getEmail()));
     }
 }
@@ -3,21 +3,32 @@ package eu.groeller.ds.service.security;
 import eu.groeller.ds.configuration.security.JwtConfig;
 import eu.groeller.ds.domain.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import lombok.val;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
     private final JwtConfig jwtConfig;
+    // Key and parser are immutable and thread-safe, no need to rebuild them for every request
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtService(JwtConfig jwtConfig) {
+        this.jwtConfig = jwtConfig;
+        this.signingKey = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
 
     public String generateToken(User user) {
         log.debug("Generating Token for user [id: {}]", user.getId());
@@ -25,24 +36,24 @@ public class JwtService {
         Date expiryDate = new Date(now.getTime() + jwtConfig.getExpiration().toMillis());
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(String.valueOf(user.getId()))
                 .claim("id", String.valueOf(user.getId()))
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes()))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String validateTokenAndGetEmail(String token) {
+    public Claims validateToken(String token) {
         log.debug("Validating authentication token...");
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        val subject = claims.getSubject();
-        log.debug("Validated Token for user [id: {}]", subject);
-        return subject;
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        log.debug("Validated Token for user [id: {}]", claims.getSubject());
+        return claims;
+    }
+
+    public String validateTokenAndGetEmail(String token) {
+        return validateToken(token).getSubject();
     }
 }
@@ -0,0 +1,152 @@
+package eu.groeller.ds.service.security;
+
+import eu.groeller.ds.configuration.security.RateLimitConfig;
+import eu.groeller.ds.service.utils.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps one {@link TokenBucket} per route and client. The bucket map is bounded by
+ * {@link RateLimitConfig#getMaxBuckets()}: idle buckets are evicted periodically and, while the map is full, new
+ * clients share their route's overflow bucket instead of growing it further.
+ */
+@Slf4j
+@Service
+public class RateLimiter {
+
+    private final RateLimitConfig config;
+    private final LongSupplier nanoClock;
+    private final List<RouteLimit> routes;
+    private final RouteLimit defaultRoute;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Counter evictedBuckets;
+    private final Counter overflowedRequests;
+
+    @Autowired
+    public RateLimiter(RateLimitConfig config, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(config, meterRegistry.getIfAvailable(SimpleMeterRegistry::new), System::nanoTime);
+    }
+
+    RateLimiter(RateLimitConfig config, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.routes = new ArrayList<>();
+        for (RateLimitConfig.Route route : config.getRoutes()) {
+            routes.add(new RouteLimit(route.getName(), route.getMethod(), parser.parse(route.getPattern()), route.getLimit(), meterRegistry, nanoClock.getAsLong()));
+        }
+        this.defaultRoute = new RouteLimit("default", null, null, config.getDefaultLimit(), meterRegistry, nanoClock.getAsLong());
+
+        Gauge.builder("ds.ratelimit.buckets", buckets, ConcurrentHashMap::size).register(meterRegistry);
+        this.evictedBuckets = Counter.builder("ds.ratelimit.buckets.evicted").register(meterRegistry);
+        this.overflowedRequests = Counter.builder("ds.ratelimit.buckets.overflow").register(meterRegistry);
+    }
+
+    /**
+     * @param clientKey user id for authenticated requests, client IP otherwise
+     * @return 0 if the request may proceed, otherwise the nanos until the client may retry
+     */
+    public long tryAcquire(HttpServletRequest request, String clientKey) {
+        RouteLimit route = resolveRoute(request);
+        long now = nanoClock.getAsLong();
+        long waitNanos = bucketFor(route, clientKey, now).tryAcquire(now);
+
+        (waitNanos == 0 ? route.allowed : route.rejected).increment();
+        return waitNanos;
+    }
+
+    @Scheduled(fixedDelayString = "${application.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        long idleNanos = config.getIdleEviction().toNanos();
+        int before = buckets.size();
+
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            evictedBuckets.increment(evicted);
+            log.debug("Evicted [{}] idle rate limit buckets, [{}] remaining", evicted, buckets.size());
+        }
+    }
+
+    // Rounded up, a client retrying earlier would only be rejected again
+    public static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucketFor(RouteLimit route, String clientKey, long now) {
+        String key = route.name + ':' + clientKey;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null)
+            return bucket;
+
+        // Eviction only runs scheduled, scanning the map here would make a full map slow for every new client
+        if (buckets.size() >= config.getMaxBuckets()) {
+            overflowedRequests.increment();
+            return route.overflow;
+        }
+        return buckets.computeIfAbsent(key, k -> route.newBucket(now));
+    }
+
+    private RouteLimit resolveRoute(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (RouteLimit route : routes) {
+            if (route.matches(request.getMethod(), path))
+                return route;
+        }
+        return defaultRoute;
+    }
+
+    private static final class RouteLimit {
+        private final String name;
+        private final String method;
+        private final PathPattern pattern;
+        private final int capacity;
+        private final long refillPeriodNanos;
+        private final TokenBucket overflow;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private RouteLimit(String name, String method, PathPattern pattern, RateLimitConfig.Limit limit, MeterRegistry meterRegistry, long now) {
+            this.name = name;
+            this.method = method;
+            this.pattern = pattern;
+            this.capacity = limit.getCapacity();
+            this.refillPeriodNanos = limit.getRefillPeriod().toNanos();
+            this.overflow = newBucket(now);
+            this.allowed = Counter.builder("ds.ratelimit.requests").tag("route", name).tag("outcome", "allowed").register(meterRegistry);
+            this.rejected = Counter.builder("ds.ratelimit.requests").tag("route", name).tag("outcome", "rejected").register(meterRegistry);
+        }
+
+        private boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
+        }
+
+        private TokenBucket newBucket(long now) {
+            return new TokenBucket(capacity, refillPeriodNanos, now);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package eu.groeller.ds.service.security;
+
+import eu.groeller.ds.configuration.security.JwtConfig;
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.auth.RefreshToken;
+import eu.groeller.ds.persistence.auth.RefreshTokenRepository;
+import eu.groeller.ds.service.exceptions.DSUnauthorizedException;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Each refresh token can be used exactly once, presenting an already
+ * rotated token is treated as theft: its whole family and all access tokens of the user are revoked.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtConfig jwtConfig;
+    private final Clock clock;
+
+    public record RotatedRefreshToken(User user, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(@NonNull User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = DSUnauthorizedException.class)
+    public RotatedRefreshToken rotate(@NonNull String rawToken) {
+        val now = OffsetDateTime.now(clock);
+        // A concurrent refresh with the same token waits here and is then handled as reuse
+        val token = refreshTokenRepository.findForUpdateByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new DSUnauthorizedException("Invalid refresh token"));
+
+        if (token.getRevokedAt() != null) {
+            log.warn("Reuse of rotated refresh token detected for user [id: {}], revoking token family [{}]", token.getUser().getId(), token.getFamilyId());
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            tokenRevocationService.revokeAllForUser(token.getUser());
+            throw new DSUnauthorizedException("Invalid refresh token");
+        }
+        if (!token.isUsable(now))
+            throw new DSUnauthorizedException("Refresh token expired");
+
+        token.setRevokedAt(now);
+        log.debug("Rotating refresh token of family [{}] for user [id: {}]", token.getFamilyId(), token.getUser().getId());
+        return new RotatedRefreshToken(token.getUser(), issue(token.getUser(), token.getFamilyId()));
+    }
+
+    @Transactional
+    public void revoke(@NonNull User user, @NonNull String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .filter(token -> token.getUser().getId().equals(user.getId()))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), OffsetDateTime.now(clock)));
+    }
+
+    @Transactional
+    public void revokeAll(@NonNull User user) {
+        refreshTokenRepository.revokeAllForUser(user, OffsetDateTime.now(clock));
+    }
+
+    @Scheduled(cron = "${application.jwt.refresh-token-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(OffsetDateTime.now(clock));
+        log.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        val expiresAt = OffsetDateTime.now(clock).plus(jwtConfig.getRefreshExpiration());
+        refreshTokenRepository.save(new RefreshToken(user, hash(rawToken), familyId, expiresAt));
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            val digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package eu.groeller.ds.service.security;
+
+import eu.groeller.ds.service.utils.BloomFilter;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory view of all revoked access tokens, consulted by the JWT filter on every request without any I/O.
+ * Bloom filters answer the common "not revoked" case without allocating, only their (rare) hits fall through to
+ * the exact maps. Since bloom filters cannot forget entries, {@link #purgeExpired(Instant)} rebuilds them from the
+ * exact maps once revoked tokens have expired.
+ */
+@Component
+public class TokenRevocationCache {
+
+    private static final int MIN_EXPECTED_INSERTIONS = 1_024;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    // JWT issued-at only has second precision, so cutoffs are kept in whole seconds as well. Otherwise a token issued
+    // in the same second right after a revocation would have its issued-at truncated below the cutoff.
+    private record UserCutoff(long revokedBeforeSeconds, Instant expiresAt) {
+    }
+
+    private record Filters(BloomFilter tokens, BloomFilter users) {
+    }
+
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, UserCutoff> userCutoffs = new ConcurrentHashMap<>();
+    // Writers and rebuilds are serialized so no revocation is lost while a new filter is swapped in
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Filters filters = newFilters(MIN_EXPECTED_INSERTIONS);
+
+    /**
+     * @param tokenId  JWT id of the access token, tokens without an id predate revocation support and are rejected
+     * @param subject  JWT subject (user id)
+     * @param issuedAt JWT issued-at
+     */
+    public boolean isRevoked(String tokenId, String subject, Date issuedAt) {
+        if (tokenId == null || issuedAt == null)
+            return true;
+
+        Filters current = filters;
+        if (current.tokens().mightContain(tokenId) && revokedTokens.containsKey(tokenId))
+            return true;
+
+        if (current.users().mightContain(subject)) {
+            UserCutoff cutoff = userCutoffs.get(subject);
+            return cutoff != null && issuedAt.toInstant().getEpochSecond() < cutoff.revokedBeforeSeconds();
+        }
+        return false;
+    }
+
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        writeLock.lock();
+        try {
+            revokedTokens.put(tokenId, expiresAt);
+            filters.tokens().put(tokenId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void revokeUser(String subject, Instant revokedBefore, Instant expiresAt) {
+        writeLock.lock();
+        try {
+            userCutoffs.merge(subject, new UserCutoff(revokedBefore.truncatedTo(ChronoUnit.SECONDS).getEpochSecond(), expiresAt),
+                    (existing, added) -> existing.revokedBeforeSeconds() >= added.revokedBeforeSeconds() ? existing : added);
+            filters.users().put(subject);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void purgeExpired(Instant now) {
+        writeLock.lock();
+        try {
+            revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            userCutoffs.values().removeIf(cutoff -> !cutoff.expiresAt().isAfter(now));
+
+            Filters rebuilt = newFilters(Math.max(revokedTokens.size(), userCutoffs.size()) * 2);
+            revokedTokens.keySet().forEach(rebuilt.tokens()::put);
+            userCutoffs.keySet().forEach(rebuilt.users()::put);
+            filters = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return revokedTokens.size() + userCutoffs.size();
+    }
+
+    private static Filters newFilters(int expectedInsertions) {
+        int expected = Math.max(expectedInsertions, MIN_EXPECTED_INSERTIONS);
+        return new Filters(
+                new BloomFilter(expected, FALSE_POSITIVE_PROBABILITY),
+                new BloomFilter(expected, FALSE_POSITIVE_PROBABILITY)
+        );
+    }
+}
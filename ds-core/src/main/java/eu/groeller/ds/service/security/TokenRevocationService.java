@@ -0,0 +1,78 @@
+package eu.groeller.ds.service.security;
+
+import eu.groeller.ds.configuration.security.JwtConfig;
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.auth.RevokedToken;
+import eu.groeller.ds.persistence.auth.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Persists access token revocations and keeps the {@link TokenRevocationCache} in sync with them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationCache revocationCache;
+    private final JwtConfig jwtConfig;
+    private final Clock clock;
+
+    @Transactional
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null)
+            return;
+
+        val expiresAt = claims.getExpiration().toInstant();
+        revokedTokenRepository.save(RevokedToken.forToken(claims.getId(), expiresAt.atOffset(ZoneOffset.UTC)));
+        revocationCache.revokeToken(claims.getId(), expiresAt);
+        log.debug("Revoked access token [{}] of user [id: {}]", claims.getId(), claims.getSubject());
+    }
+
+    /**
+     * Revokes every access token of the user issued until now, e.g. after a stolen refresh token was detected.
+     */
+    @Transactional
+    public void revokeAllForUser(User user) {
+        val now = OffsetDateTime.now(clock);
+        val expiresAt = now.plus(jwtConfig.getExpiration());
+        revokedTokenRepository.save(RevokedToken.forUser(user.getId(), now, expiresAt));
+        revocationCache.revokeUser(String.valueOf(user.getId()), now.toInstant(), expiresAt.toInstant());
+        log.info("Revoked all access tokens of user [id: {}]", user.getId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadRevocations() {
+        val revocations = revokedTokenRepository.findByExpiresAtAfter(OffsetDateTime.now(clock));
+        for (val revocation : revocations) {
+            if (revocation.getTokenId() != null)
+                revocationCache.revokeToken(revocation.getTokenId(), revocation.getExpiresAt().toInstant());
+            else
+                revocationCache.revokeUser(String.valueOf(revocation.getUserId()), revocation.getRevokedBefore().toInstant(), revocation.getExpiresAt().toInstant());
+        }
+        log.info("Loaded {} active token revocations", revocations.size());
+    }
+
+    @Scheduled(fixedDelayString = "${application.jwt.revocation-purge-interval:PT5M}")
+    @Transactional
+    public void purgeExpired() {
+        val now = OffsetDateTime.now(clock);
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        revocationCache.purgeExpired(now.toInstant());
+        log.debug("Purged {} expired token revocations, {} remain cached", deleted, revocationCache.size());
+    }
+}
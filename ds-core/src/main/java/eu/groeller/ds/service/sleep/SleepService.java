@@ -0,0 +1,119 @@
+package eu.groeller.ds.service.sleep;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.sleep.SleepSegment;
+import eu.groeller.ds.domain.sleep.SleepSession;
+import eu.groeller.ds.domain.sleep.SleepTotals;
+import eu.groeller.ds.domain.sleep.SleepWindow;
+import eu.groeller.ds.persistence.sleep.SleepSessionRepository;
+import eu.groeller.ds.persistence.user.UserRepository;
+import eu.groeller.ds.presentation.request.sleep.SleepSegmentRequest;
+import eu.groeller.ds.presentation.request.sleep.SleepSessionRequest;
+import eu.groeller.ds.service.exceptions.DSConflictException;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.exceptions.SleepSessionNotFoundException;
+import eu.groeller.ds.service.exceptions.UserNotFoundException;
+import eu.groeller.ds.service.utils.DtoUtils;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+
+@Transactional(readOnly = true)
+public class SleepService {
+
+    public static final List<Integer> SUMMARY_WINDOWS = List.of(7, 30, 90);
+    // 24 hours of 30 second epochs, the finest resolution devices report
+    public static final int MAX_SEGMENTS = 2_880;
+    public static final int MAX_RANGE_DAYS = 366;
+
+    private final SleepSessionRepository sleepSessionRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Records the night the sleep ends in, replacing what was recorded for it before if it overlaps (a re-sync of
+     * the same sleep). A sleep that does not overlap it, like a nap, is rejected instead of overwriting the night.
+     * The running totals of the night are derived from the night before it, later nights are shifted by the change
+     * in a single update.
+     */
+    @Transactional(readOnly = false)
+    public SleepSession recordSession(@NonNull User user, @NonNull SleepSessionRequest request) {
+        DtoUtils.checkNulls(request, List.of("startTime", "endTime", "segments"));
+        if (request.segments().size() > MAX_SEGMENTS)
+            throw new DSIllegalArgumentException("At most " + MAX_SEGMENTS + " sleep segments per night");
+
+        val segments = request.segments().stream()
+                .map(SleepService::toSegment)
+                .toList();
+        val night = request.endTime().toLocalDate();
+
+        // Concurrent uploads of the same user would otherwise build on the same running totals
+        userRepository.lockById(user.getId()).orElseThrow(() -> new UserNotFoundException(user.getId()));
+
+        val session = sleepSessionRepository.findByUserAndNight(user, night)
+                .orElseGet(() -> new SleepSession(user, night));
+        boolean replaceable = session.getStartTime() == null
+                || (request.startTime().isBefore(session.getEndTime()) && session.getStartTime().isBefore(request.endTime()));
+        if (!replaceable)
+            throw new DSConflictException("Another sleep session is already recorded for night " + night);
+        val before = session.nightTotals();
+        session.record(request.startTime(), request.endTime(), segments);
+        val delta = session.nightTotals().minus(before);
+
+        val previous = sleepSessionRepository.findTotalsUpTo(user, night.minusDays(1)).orElse(SleepTotals.EMPTY);
+        session.setCumulative(previous.plus(session.nightTotals()));
+
+        val saved = sleepSessionRepository.save(session);
+        int shifted = sleepSessionRepository.addToTotalsAfter(user, night, delta);
+        log.debug("Recorded night {} for user: {}, shifted the totals of {} later nights", night, user.getUsername(), shifted);
+        return saved;
+    }
+
+    public SleepSession getSession(@NonNull User user, @NonNull LocalDate night) {
+        return sleepSessionRepository.findByUserAndNight(user, night)
+                .orElseThrow(() -> new SleepSessionNotFoundException(night));
+    }
+
+    /**
+     * @return the nights in {@code [from, to]}, latest first
+     */
+    public List<SleepSession> getSessions(@NonNull User user, @NonNull LocalDate from, @NonNull LocalDate to) {
+        if (from.isAfter(to))
+            throw new DSIllegalArgumentException("From must not be after to");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS)
+            throw new DSIllegalArgumentException("Range must not be longer than " + MAX_RANGE_DAYS + " days");
+
+        return sleepSessionRepository.findByUserAndNightBetweenOrderByNightDesc(user, from, to);
+    }
+
+    /**
+     * Rolling summaries of the windows in {@link #SUMMARY_WINDOWS} ending with {@code end}, each the difference of
+     * two running totals, no matter how many nights they span.
+     */
+    public List<SleepWindow> getSummary(@NonNull User user, @NonNull LocalDate end) {
+        val totals = totalsUpTo(user, end);
+
+        return SUMMARY_WINDOWS.stream()
+                .map(days -> new SleepWindow(days, end, totals.minus(totalsUpTo(user, end.minusDays(days)))))
+                .toList();
+    }
+
+    private SleepTotals totalsUpTo(User user, LocalDate night) {
+        return sleepSessionRepository.findTotalsUpTo(user, night).orElse(SleepTotals.EMPTY);
+    }
+
+    private static SleepSegment toSegment(SleepSegmentRequest segment) {
+        DtoUtils.checkNulls(segment, List.of("stage", "startTime", "endTime"));
+        return new SleepSegment(segment.stage(), segment.startTime().toInstant(), segment.endTime().toInstant());
+    }
+}
@@ -0,0 +1,53 @@
+package eu.groeller.ds.service.track;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.groeller.ds.configuration.TrackConfig;
+import eu.groeller.ds.domain.track.SimplifiedTrack;
+import eu.groeller.ds.domain.track.TrackRevision;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Tracks simplified for a zoom level. Keyed by the {@link TrackRevision}, so a new upload is never served an old
+ * simplification and nothing has to be evicted.
+ */
+@Component
+public class SimplifiedTrackCache {
+
+    private final Cache<Key, SimplifiedTrack> tracks;
+
+    @Autowired
+    public SimplifiedTrackCache(TrackConfig config, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(config, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    SimplifiedTrackCache(TrackConfig config, MeterRegistry meterRegistry) {
+        this.tracks = Caffeine.newBuilder()
+                .maximumSize(config.getSimplifiedCacheMaxEntries())
+                .expireAfterAccess(config.getSimplifiedCacheTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tracks, "ds.track.simplified");
+    }
+
+    public SimplifiedTrack get(TrackRevision revision, int zoom, Supplier<SimplifiedTrack> loader) {
+        Key key = new Key(revision, zoom);
+        SimplifiedTrack track = tracks.getIfPresent(key);
+        if (track == null) {
+            // Not get(key, loader), the loader reads the database and must not block other keys
+            track = loader.get();
+            tracks.put(key, track);
+        }
+        return track;
+    }
+
+    private record Key(TrackRevision revision, int zoom) {
+    }
+}
@@ -0,0 +1,126 @@
+package eu.groeller.ds.service.track;
+
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.DistanceExerciseRecord;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+import eu.groeller.ds.domain.track.*;
+import eu.groeller.ds.persistence.exercise.ExerciseRecordRepository;
+import eu.groeller.ds.persistence.track.ExerciseTrackRepository;
+import eu.groeller.ds.presentation.request.track.TrackPointRequest;
+import eu.groeller.ds.presentation.request.track.TrackRequest;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.exceptions.ExerciseRecordNotFoundException;
+import eu.groeller.ds.service.exceptions.TrackNotFoundException;
+import eu.groeller.ds.service.utils.DtoUtils;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+
+@Transactional(readOnly = true)
+public class TrackService {
+
+    // A day at one point per second
+    public static final int MAX_POINTS = 86_400;
+    public static final double MIN_ELEVATION = -500;
+    public static final double MAX_ELEVATION = 9_000;
+
+    private final ExerciseRecordRepository exerciseRecordRepository;
+    private final ExerciseTrackRepository exerciseTrackRepository;
+    private final SimplifiedTrackCache simplifiedTrackCache;
+
+    /**
+     * Stores the track of a distance record, replacing a previous one. Distance, elevation, splits and the
+     * thumbnail are computed here once and stored on the record, the record's distance becomes the measured one.
+     */
+    @Transactional(readOnly = false)
+    public DistanceExerciseRecord upload(@NonNull User user, @NonNull Long recordId, @NonNull TrackRequest request) {
+        val points = validate(request);
+        val record = exerciseRecordRepository.findDistanceRecordForUpdate(recordId, user)
+                .orElseThrow(() -> new ExerciseRecordNotFoundException(recordId));
+        log.debug("Uploading track of {} points for exercise record {} of user: {}", points.size(), recordId, user.getUsername());
+
+        val track = exerciseTrackRepository.findByRecord(record).orElseGet(() -> new ExerciseTrack(record));
+        track.replace(points);
+        exerciseTrackRepository.save(track);
+
+        val summary = new TrackSummary(points);
+        val splitMeters = record.getDistanceUnit().getSplitMeters();
+        record.setTrack(summary);
+        record.setDistance(DistanceUnit.METERS.convert(summary.getDistanceMeters(), record.getDistanceUnit()));
+        record.updateDistancePerUnit();
+        record.updateSplits(TrackSplits.compute(points, splitMeters));
+        return record;
+    }
+
+    /**
+     * @return the track simplified to what is visible at the zoom level, cached per zoom level
+     */
+    public SimplifiedTrack getSimplified(@NonNull User user, @NonNull Long recordId, int zoom) {
+        if (zoom < 0 || zoom > TrackSimplifier.MAX_ZOOM)
+            throw new DSIllegalArgumentException("Zoom must be between 0 and " + TrackSimplifier.MAX_ZOOM);
+        val revision = exerciseTrackRepository.findRevision(recordId, user)
+                .orElseThrow(() -> new TrackNotFoundException(recordId));
+
+        return getSimplified(revision, recordId, zoom);
+    }
+
+    /**
+     * A tolerance is rounded down to the zoom level closest to it, so it is served from the same cache and never
+     * finer than the finest zoom level: the raw points are never served.
+     *
+     * @return the track simplified to at most the tolerance
+     */
+    public SimplifiedTrack getSimplified(@NonNull User user, @NonNull Long recordId, double toleranceMeters) {
+        if (!(toleranceMeters >= 0) || Double.isInfinite(toleranceMeters))
+            throw new DSIllegalArgumentException("Tolerance must be a non-negative number");
+        val revision = exerciseTrackRepository.findRevision(recordId, user)
+                .orElseThrow(() -> new TrackNotFoundException(recordId));
+
+        return getSimplified(revision, recordId, TrackSimplifier.zoomForTolerance(toleranceMeters, revision.centerLatitude()));
+    }
+
+    private SimplifiedTrack getSimplified(TrackRevision revision, Long recordId, int zoom) {
+        return simplifiedTrackCache.get(revision, zoom, () -> {
+            val track = exerciseTrackRepository.findById(revision.trackId())
+                    .orElseThrow(() -> new TrackNotFoundException(recordId));
+            log.debug("Simplifying track {} of {} points for zoom {}", track.getId(), track.getPointCount(), zoom);
+            return SimplifiedTrack.of(track, zoom);
+        });
+    }
+
+    private List<TrackPoint> validate(TrackRequest request) {
+        DtoUtils.checkNulls(request, List.of("points"));
+        if (request.points().size() < 2)
+            throw new DSIllegalArgumentException("A track needs at least two points");
+        if (request.points().size() > MAX_POINTS)
+            throw new DSIllegalArgumentException("A track must not have more than " + MAX_POINTS + " points");
+
+        boolean hasElevation = request.points().getFirst() != null && request.points().getFirst().elevation() != null;
+        List<TrackPoint> points = new ArrayList<>(request.points().size());
+        for (TrackPointRequest point : request.points()) {
+            DtoUtils.checkNulls(point, List.of("time", "latitude", "longitude"));
+            if (!(point.latitude() >= -90 && point.latitude() <= 90) || !(point.longitude() >= -180 && point.longitude() <= 180))
+                throw new DSIllegalArgumentException("Invalid coordinates: " + point.latitude() + ", " + point.longitude());
+            if ((point.elevation() != null) != hasElevation)
+                throw new DSIllegalArgumentException("Either all or no points must have an elevation");
+            if (hasElevation && !(point.elevation() >= MIN_ELEVATION && point.elevation() <= MAX_ELEVATION))
+                throw new DSIllegalArgumentException("Elevation must be between " + MIN_ELEVATION + " and " + MAX_ELEVATION + ": " + point.elevation());
+
+            val trackPoint = new TrackPoint(point.time().toInstant(), point.latitude(), point.longitude(), point.elevation());
+            if (!points.isEmpty() && !trackPoint.time().isAfter(points.getLast().time()))
+                throw new DSIllegalArgumentException("Points must be strictly ascending in time");
+            points.add(trackPoint);
+        }
+        return points;
+    }
+}
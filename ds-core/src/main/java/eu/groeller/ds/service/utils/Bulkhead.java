@@ -0,0 +1,69 @@
+package eu.groeller.ds.service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of concurrent callers with a fair {@link Semaphore}. Callers queue for at most
+ * {@code maxWait} and are rejected afterwards. Waiting parks the thread without pinning, so it is cheap for
+ * virtual threads.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final Counter permitted;
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        if (maxConcurrent <= 0)
+            throw new IllegalArgumentException("Bulkhead [" + name + "] needs at least one permit");
+
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        this.permitted = Counter.builder("ds.bulkhead.calls").tag("bulkhead", name).tag("outcome", "permitted").register(meterRegistry);
+        this.rejected = Counter.builder("ds.bulkhead.calls").tag("bulkhead", name).tag("outcome", "rejected").register(meterRegistry);
+        this.waitTimer = Timer.builder("ds.bulkhead.wait")
+                .description("Time a call queued for a permit, rejected calls included")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("ds.bulkhead.active", this, Bulkhead::activeCalls).tag("bulkhead", name).register(meterRegistry);
+        Gauge.builder("ds.bulkhead.queued", permits, Semaphore::getQueueLength).tag("bulkhead", name).register(meterRegistry);
+    }
+
+    /**
+     * @return whether a permit was taken, which then has to be handed back with {@link #release()}
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        long start = System.nanoTime();
+        boolean acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        (acquired ? permitted : rejected).increment();
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int activeCalls() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
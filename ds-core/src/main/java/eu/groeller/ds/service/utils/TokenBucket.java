@@ -0,0 +1,47 @@
+package eu.groeller.ds.service.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: instead of a token count the bucket keeps
+ * the "theoretical arrival time" of the next request in a single {@link AtomicLong}. A full bucket of
+ * {@code capacity} tokens refills evenly over {@code refillPeriodNanos}. Acquiring never allocates.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, long refillPeriodNanos, long nowNanos) {
+        if (capacity <= 0 || refillPeriodNanos <= 0)
+            throw new IllegalArgumentException("Capacity and refill period must be positive");
+
+        this.emissionIntervalNanos = Math.max(1, refillPeriodNanos / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanos until the next token becomes available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0)
+                return waitNanos;
+            if (theoreticalArrival.compareAndSet(current, next))
+                return 0;
+        }
+    }
+
+    /**
+     * A bucket is idle once it has been completely refilled for at least {@code idleNanos}, dropping it then is
+     * indistinguishable from keeping it.
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() > idleNanos;
+    }
+}
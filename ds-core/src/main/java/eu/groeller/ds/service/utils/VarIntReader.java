@@ -0,0 +1,41 @@
+package eu.groeller.ds.service.utils;
+
+/**
+ * Reads what a {@link VarIntWriter} wrote. Truncated or overlong input is reported as an
+ * {@link IllegalStateException}, stored data that fails to decode is corrupt rather than a bad request.
+ */
+public class VarIntReader {
+
+    private final byte[] data;
+    private int position;
+
+    public VarIntReader(byte[] data) {
+        this.data = data;
+    }
+
+    public int readByte() {
+        if (position >= data.length)
+            throw new IllegalStateException("Unexpected end of data at byte " + position);
+        return data[position++] & 0xFF;
+    }
+
+    public long readUnsigned() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IllegalStateException("Varint longer than 10 bytes ending at byte " + position);
+    }
+
+    public long readSigned() {
+        long value = readUnsigned();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public boolean hasRemaining() {
+        return position < data.length;
+    }
+}
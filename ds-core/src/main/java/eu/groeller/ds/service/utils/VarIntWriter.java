@@ -0,0 +1,54 @@
+package eu.groeller.ds.service.utils;
+
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for LEB128 varints: 7 bits per byte, least significant group first, high bit set on all but
+ * the last byte. Small magnitudes take a single byte, which is what makes delta encoded series compact. Signed
+ * values go through zigzag encoding first so that small negative deltas stay small as well.
+ */
+public class VarIntWriter {
+
+    private byte[] buffer;
+    private int size;
+
+    public VarIntWriter(int expectedBytes) {
+        this.buffer = new byte[Math.max(expectedBytes, 16)];
+    }
+
+    public VarIntWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * @param value interpreted as unsigned, negative values take the full ten bytes
+     */
+    public VarIntWriter writeUnsigned(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    public VarIntWriter writeSigned(long value) {
+        return writeUnsigned((value << 1) ^ (value >> 63));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length)
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+    }
+}
@@ -0,0 +1,27 @@
+CREATE TABLE refresh_token (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    token_hash VARCHAR(255) NOT NULL UNIQUE,
+    family_id VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_refresh_token_family_id ON refresh_token (family_id);
+CREATE INDEX idx_refresh_token_user_id ON refresh_token (user_id);
+
+CREATE TABLE revoked_token (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    token_id VARCHAR(255) UNIQUE,
+    user_id BIGINT,
+    revoked_before TIMESTAMP(6) WITH TIME ZONE,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revoked_token_expires_at ON revoked_token (expires_at);
@@ -0,0 +1,24 @@
+-- GPS tracks of distance records, the points encoded by TrackCodec. Summary views read the track_* columns of the
+-- record (TrackSummary) and its splits (SplitCodec), both computed on upload, and never touch exercise_track.
+CREATE TABLE exercise_track (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    exercise_record_id BIGINT NOT NULL UNIQUE REFERENCES distance_exercise_record(id) ON DELETE CASCADE,
+    points BYTEA NOT NULL,
+    point_count INTEGER NOT NULL,
+    min_latitude DOUBLE PRECISION NOT NULL,
+    max_latitude DOUBLE PRECISION NOT NULL,
+    min_longitude DOUBLE PRECISION NOT NULL,
+    max_longitude DOUBLE PRECISION NOT NULL
+);
+
+ALTER TABLE distance_exercise_record ADD COLUMN track_point_count INTEGER;
+ALTER TABLE distance_exercise_record ADD COLUMN track_distance_meters DOUBLE PRECISION;
+ALTER TABLE distance_exercise_record ADD COLUMN track_duration_millis BIGINT;
+ALTER TABLE distance_exercise_record ADD COLUMN track_elevation_gain_meters DOUBLE PRECISION;
+ALTER TABLE distance_exercise_record ADD COLUMN track_elevation_loss_meters DOUBLE PRECISION;
+-- Bounded by TrackSummary.THUMBNAIL_MAX_POINTS
+ALTER TABLE distance_exercise_record ADD COLUMN track_thumbnail VARCHAR(4000);
+ALTER TABLE distance_exercise_record ADD COLUMN splits BYTEA;
@@ -0,0 +1,8 @@
+-- Derived from the splits (SplitCodec) when they are computed from a track or laps, read by history and best split
+-- views without decoding splits
+ALTER TABLE distance_exercise_record ADD COLUMN fastest_split_millis BIGINT;
+ALTER TABLE distance_exercise_record ADD COLUMN fastest_split_number INTEGER;
+ALTER TABLE distance_exercise_record ADD COLUMN negative_split BOOLEAN;
+
+-- Was never filled in
+UPDATE distance_exercise_record SET distance_per_unit = distance / (duration / 3600000.0) WHERE duration > 0;
@@ -0,0 +1,14 @@
+-- Days trained on per user and year with the number of workouts per day (WorkoutCalendarYear), maintained on
+-- workout creation and deletion so that a year's heatmap never reads the workouts
+CREATE TABLE workout_calendar_year (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    calendar_year INTEGER NOT NULL,
+    days BYTEA NOT NULL,
+    workout_counts BYTEA NOT NULL,
+    -- Also serves the FK check on user deletes
+    UNIQUE (user_id, calendar_year)
+);
@@ -0,0 +1,16 @@
+-- Zone id of the user's day boundaries, null for the server's
+ALTER TABLE users ADD COLUMN time_zone VARCHAR(64);
+
+-- Training streaks per user (WorkoutStreak), derived from workout_calendar_year. Users without a row are rebuilt from
+-- their calendars on their next workout.
+CREATE TABLE workout_streak (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    -- Also serves the FK check on user deletes
+    user_id BIGINT NOT NULL UNIQUE REFERENCES users(id),
+    last_training_day DATE,
+    current_streak_start DATE,
+    longest_streak INTEGER NOT NULL
+);
@@ -0,0 +1,4 @@
+-- The sets a workout added to its plan's counters, so deleting the workout can take them back. Zero for workouts
+-- without a plan.
+ALTER TABLE workout ADD COLUMN plan_planned_sets INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE workout ADD COLUMN plan_completed_sets INTEGER NOT NULL DEFAULT 0;
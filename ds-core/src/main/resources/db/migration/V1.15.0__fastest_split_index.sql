@@ -0,0 +1,3 @@
+-- Best splits of a definition in a unit (ExerciseRecordRepository#findByFastestSplit) read in split order, the
+-- definition is matched through idx_exercise_record_exercise_definition_id
+CREATE INDEX idx_distance_exercise_record_unit_fastest_split ON distance_exercise_record (distance_unit, fastest_split_millis, id);
@@ -0,0 +1,17 @@
+-- Workout history, newest first (WorkoutRepository#findByUserOrderByCreatedAtDesc, #findByUser)
+CREATE INDEX idx_workout_user_id_created_at ON workout (user_id, created_at DESC);
+
+-- Recent exercises of a user for one workout type (ExerciseDefinitionRepository#findRecentExercisesForTypeAndUser)
+CREATE INDEX idx_workout_user_id_workout_type_id ON workout (user_id, workout_type_id);
+
+-- Loading the exercises of a workout in their order, also serves the FK check on workout deletes
+CREATE INDEX idx_exercise_record_workout_id_order_index ON exercise_record (workout_id, order_index);
+
+-- FK check on exercise definition deletes and joins from a definition to its records
+CREATE INDEX idx_exercise_record_exercise_definition_id ON exercise_record (exercise_definition_id, workout_id);
+
+-- Loading the sets of a record in their order
+CREATE INDEX idx_exercise_set_exercise_record_id_order_index ON exercise_set (exercise_record_id, order_index);
+
+-- FK check on workout type deletes
+CREATE INDEX idx_workout_workout_type_id ON workout (workout_type_id);
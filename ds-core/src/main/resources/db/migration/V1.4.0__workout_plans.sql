@@ -0,0 +1,49 @@
+CREATE TABLE workout_plan (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    name VARCHAR(255) NOT NULL,
+    workout_type_id BIGINT NOT NULL REFERENCES workout_type(id),
+    sessions_per_week INTEGER,
+    -- Adherence counters, maintained whenever a workout is logged against the plan
+    completed_workouts INTEGER NOT NULL DEFAULT 0,
+    planned_sets BIGINT NOT NULL DEFAULT 0,
+    completed_sets BIGINT NOT NULL DEFAULT 0,
+    adherence_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    last_completed_at TIMESTAMP(6) WITH TIME ZONE,
+    UNIQUE (user_id, name)
+);
+
+CREATE TABLE planned_exercise (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    workout_plan_id BIGINT NOT NULL REFERENCES workout_plan(id),
+    exercise_definition_id BIGINT NOT NULL REFERENCES exercise_definition(id),
+    order_index INTEGER NOT NULL,
+    target_sets INTEGER,
+    target_repetitions INTEGER,
+    target_weight_kg DOUBLE PRECISION,
+    target_distance DOUBLE PRECISION,
+    target_distance_unit VARCHAR(255),
+    rest_time_seconds INTEGER
+);
+
+-- Loading the exercises of a plan in their order
+CREATE INDEX idx_planned_exercise_workout_plan_id_order_index ON planned_exercise (workout_plan_id, order_index);
+
+-- FK check on exercise definition deletes
+CREATE INDEX idx_planned_exercise_exercise_definition_id ON planned_exercise (exercise_definition_id);
+
+-- FK check on workout type deletes
+CREATE INDEX idx_workout_plan_workout_type_id ON workout_plan (workout_type_id);
+
+-- Workouts logged against a plan keep their own data when the plan is deleted
+ALTER TABLE workout ADD COLUMN workout_plan_id BIGINT REFERENCES workout_plan(id) ON DELETE SET NULL;
+ALTER TABLE workout ADD COLUMN plan_adherence DOUBLE PRECISION;
+
+-- Plan history and the FK check on plan deletes
+CREATE INDEX idx_workout_workout_plan_id_start_time ON workout (workout_plan_id, start_time DESC);
@@ -0,0 +1,25 @@
+-- Free text notes on exercise records and sets. The text lives in its own table so that history reads, which only
+-- see the note_id of a record or set, never load it unless asked to. Owner columns are denormalized onto the note
+-- so that searches can be restricted to a user and grouped by workout without walking the exercise tables.
+CREATE TABLE exercise_note (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    workout_id BIGINT NOT NULL REFERENCES workout(id),
+    content VARCHAR(2000) NOT NULL
+);
+
+ALTER TABLE exercise_record ADD COLUMN note_id BIGINT REFERENCES exercise_note(id);
+ALTER TABLE exercise_set ADD COLUMN note_id BIGINT REFERENCES exercise_note(id);
+
+-- Resolving a matched note to its record or set, also serves the FK check on note deletes
+CREATE INDEX idx_exercise_record_note_id ON exercise_record (note_id);
+CREATE INDEX idx_exercise_set_note_id ON exercise_set (note_id);
+
+-- Loading the notes of a page of workouts, also serves the FK check on workout deletes
+CREATE INDEX idx_exercise_note_workout_id ON exercise_note (workout_id);
+
+-- FK check on user deletes
+CREATE INDEX idx_exercise_note_user_id ON exercise_note (user_id);
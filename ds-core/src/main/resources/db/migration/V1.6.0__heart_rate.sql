@@ -0,0 +1,19 @@
+-- Heart rate samples, one row per user and hour holding all of its samples encoded (HeartRateBlockCodec) instead
+-- of a row per sample. The summary columns answer aggregate reads without touching data.
+CREATE TABLE heart_rate_block (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    block_start TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    first_sample_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_sample_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sample_count INTEGER NOT NULL,
+    min_bpm INTEGER NOT NULL,
+    max_bpm INTEGER NOT NULL,
+    sum_bpm BIGINT NOT NULL,
+    data BYTEA NOT NULL,
+    -- Also serves the range reads of a user and the FK check on user deletes
+    UNIQUE (user_id, block_start)
+);
@@ -0,0 +1,22 @@
+-- Heart rate stats of workouts and their exercises (HeartRateStats), computed from heart_rate_block when a workout
+-- is logged or samples overlapping it are ingested
+ALTER TABLE workout ADD COLUMN hr_sample_count INTEGER;
+ALTER TABLE workout ADD COLUMN hr_average_bpm DOUBLE PRECISION;
+ALTER TABLE workout ADD COLUMN hr_max_bpm INTEGER;
+ALTER TABLE workout ADD COLUMN hr_zone1_millis BIGINT;
+ALTER TABLE workout ADD COLUMN hr_zone2_millis BIGINT;
+ALTER TABLE workout ADD COLUMN hr_zone3_millis BIGINT;
+ALTER TABLE workout ADD COLUMN hr_zone4_millis BIGINT;
+ALTER TABLE workout ADD COLUMN hr_zone5_millis BIGINT;
+
+ALTER TABLE exercise_record ADD COLUMN hr_sample_count INTEGER;
+ALTER TABLE exercise_record ADD COLUMN hr_average_bpm DOUBLE PRECISION;
+ALTER TABLE exercise_record ADD COLUMN hr_max_bpm INTEGER;
+ALTER TABLE exercise_record ADD COLUMN hr_zone1_millis BIGINT;
+ALTER TABLE exercise_record ADD COLUMN hr_zone2_millis BIGINT;
+ALTER TABLE exercise_record ADD COLUMN hr_zone3_millis BIGINT;
+ALTER TABLE exercise_record ADD COLUMN hr_zone4_millis BIGINT;
+ALTER TABLE exercise_record ADD COLUMN hr_zone5_millis BIGINT;
+
+-- Finds the workouts overlapping freshly ingested samples
+CREATE INDEX idx_workout_user_id_start_time ON workout (user_id, start_time);
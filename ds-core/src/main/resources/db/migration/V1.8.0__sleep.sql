@@ -0,0 +1,30 @@
+-- One row per user and night, the stages run-length encoded (SleepStageCodec) and the nightly aggregates computed
+-- on upload. The cum_* columns hold the running totals of all nights of the user up to and including the row, so
+-- rolling summaries are the difference of two rows.
+CREATE TABLE sleep_session (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    night DATE NOT NULL,
+    start_time TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    end_time TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    stages BYTEA NOT NULL,
+    in_bed_seconds INTEGER NOT NULL,
+    asleep_seconds INTEGER NOT NULL,
+    awake_seconds INTEGER NOT NULL,
+    light_seconds INTEGER NOT NULL,
+    deep_seconds INTEGER NOT NULL,
+    rem_seconds INTEGER NOT NULL,
+    efficiency DOUBLE PRECISION NOT NULL,
+    cum_nights BIGINT NOT NULL,
+    cum_in_bed_seconds BIGINT NOT NULL,
+    cum_asleep_seconds BIGINT NOT NULL,
+    cum_awake_seconds BIGINT NOT NULL,
+    cum_light_seconds BIGINT NOT NULL,
+    cum_deep_seconds BIGINT NOT NULL,
+    cum_rem_seconds BIGINT NOT NULL,
+    -- Also serves the lookups of the latest night up to a date and the FK check on user deletes
+    UNIQUE (user_id, night)
+);
@@ -0,0 +1,22 @@
+CREATE TABLE habit (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    name VARCHAR(100) NOT NULL,
+    -- Also serves the listing of a user's habits and the FK check on user deletes
+    UNIQUE (user_id, name)
+);
+
+-- Check-ins of a habit in one year, one bit per day of the year (HabitYear)
+CREATE TABLE habit_year (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    habit_id BIGINT NOT NULL REFERENCES habit(id) ON DELETE CASCADE,
+    calendar_year INTEGER NOT NULL,
+    days BYTEA NOT NULL,
+    UNIQUE (habit_id, calendar_year)
+);
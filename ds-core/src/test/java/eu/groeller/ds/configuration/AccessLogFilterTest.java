@@ -0,0 +1,99 @@
+package eu.groeller.ds.configuration;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessLogFilterTest {
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.ACCESS_LOGGER);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private AccessLogConfig config;
+    private AccessLogFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        accessLogger.addAppender(appender);
+        config = new AccessLogConfig();
+        config.setSampleRate(0.0);
+        filter = new AccessLogFilter(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    void successfulRequest_WhenNotSampled_IsNotLogged() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/workouts"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void errorResponse_IsAlwaysLoggedWithRequestDetails() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/workouts");
+        request.setQueryString("page=2");
+        request.setAttribute(AccessLogFilter.USER_ATTRIBUTE, "42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(appender.list).hasSize(1);
+        Map<String, Object> record = keyValues(appender.list.getFirst());
+        assertThat(record).containsEntry("method", "GET")
+                .containsEntry("path", "/api/v1/workouts")
+                .containsEntry("query", "page=2")
+                .containsEntry("status", 404)
+                .containsEntry("user", "42");
+    }
+
+    @Test
+    void failingChain_IsLoggedAsServerError() {
+        MockFilterChain failingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/workouts"), new MockHttpServletResponse(), failingChain))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(keyValues(appender.list.getFirst()))
+                .containsEntry("status", 500)
+                .containsEntry("error", "IllegalStateException");
+    }
+
+    @Test
+    void shouldLog_SlowOrSampledRequests() {
+        config.setSlowThreshold(Duration.ofMillis(100));
+
+        assertThat(filter.shouldLog(200, Duration.ofMillis(50).toNanos())).isFalse();
+        assertThat(filter.shouldLog(200, Duration.ofMillis(150).toNanos())).isTrue();
+
+        config.setSampleRate(1.0);
+        assertThat(filter.shouldLog(200, 0)).isTrue();
+    }
+
+    private static Map<String, Object> keyValues(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream().collect(Collectors.toMap(kv -> kv.key, kv -> kv.value));
+    }
+}
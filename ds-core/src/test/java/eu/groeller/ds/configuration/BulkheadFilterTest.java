@@ -0,0 +1,81 @@
+package eu.groeller.ds.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private BulkheadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadConfig config = new BulkheadConfig();
+        config.setWrites(new BulkheadConfig.Compartment(1, Duration.ofMillis(10)));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new BulkheadFilter(config, meterRegistry);
+    }
+
+    @Test
+    void resolveBulkhead_ClassifiesByPathAndMethod() {
+        assertThat(filter.resolveBulkhead(new MockHttpServletRequest("POST", "/api/v1/users/login")).getName()).isEqualTo("auth");
+        assertThat(filter.resolveBulkhead(new MockHttpServletRequest("GET", "/api/v1/workouts")).getName()).isEqualTo("reads");
+        assertThat(filter.resolveBulkhead(new MockHttpServletRequest("POST", "/api/v1/workouts")).getName()).isEqualTo("writes");
+        assertThat(filter.resolveBulkhead(new MockHttpServletRequest("DELETE", "/api/v1/workouts/1")).getName()).isEqualTo("writes");
+    }
+
+    @Test
+    void fullBulkhead_RejectsWithServiceUnavailable() throws Exception {
+        MockHttpServletResponse rejectedResponse = new MockHttpServletResponse();
+        FilterChain holdingPermit = (request, response) ->
+                filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/workouts"), rejectedResponse, new MockFilterChain());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/workouts"), response, holdingPermit);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(rejectedResponse.getStatus()).isEqualTo(503);
+        assertThat(rejectedResponse.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(meterRegistry.get("ds.bulkhead.calls").tags("bulkhead", "writes", "outcome", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void permit_IsReleasedWhenChainFails() throws Exception {
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("handler failed");
+        };
+        try {
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/workouts"), new MockHttpServletResponse(), failing);
+        } catch (IllegalStateException expected) {
+            // permit has to be released anyway
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/workouts"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("ds.bulkhead.active").tags("bulkhead", "writes").gauge().value()).isZero();
+    }
+
+    @Test
+    void nonApiRequests_AreNotLimited() throws Exception {
+        MockHttpServletResponse rejectedResponse = new MockHttpServletResponse();
+        FilterChain holdingPermit = (request, response) ->
+                filter.doFilter(new MockHttpServletRequest("POST", "/actuator/slowrequests"), rejectedResponse, new MockFilterChain());
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/workouts"), new MockHttpServletResponse(), holdingPermit);
+
+        assertThat(rejectedResponse.getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,79 @@
+package eu.groeller.ds.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import eu.groeller.ds.domain.exercise.Workout;
+import eu.groeller.ds.domain.exercise.WorkoutFixtures;
+import eu.groeller.ds.presentation.response.exercise.WorkoutResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JacksonConfigurationTest {
+
+    private ObjectMapper jsonMapper;
+
+    @BeforeEach
+    void setUp() {
+        jsonMapper = bootDefaultBuilder().build();
+    }
+
+    @Test
+    void workoutResponse_OmitsNullFields() {
+        Workout workout = WorkoutFixtures.historyPage(1).getContent().getFirst();
+
+        JsonNode tree = jsonMapper.valueToTree(new WorkoutResponse(workout));
+
+        assertThat(tree.has("workoutPlanId")).isFalse();
+        JsonNode exercise = tree.get("exercises").get(0);
+        assertThat(exercise.has("notes")).isFalse();
+        assertThat(exercise.get("details").has("sets")).isTrue();
+        assertThat(exercise.get("details").has("distance")).isFalse();
+        assertThat(exercise.get("details").has("distanceUnit")).isFalse();
+    }
+
+    @Test
+    void historyPage_ShrinksToLessThanHalfWhenCompressed() throws Exception {
+        byte[] json = jsonMapper.writeValueAsBytes(WorkoutFixtures.historyPage(20).map(WorkoutResponse::new));
+
+        assertThat(gzip(json).length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    void binaryFormats_CarrySameValuesAsJson() throws Exception {
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        WorkoutResponse workout = new WorkoutResponse(WorkoutFixtures.historyPage(1).getContent().getFirst());
+        JsonNode expected = jsonMapper.valueToTree(workout);
+
+        for (ObjectMapper mapper : List.of(configuration.cborHttpMessageConverter(bootDefaultBuilder()).getObjectMapper(),
+                configuration.smileHttpMessageConverter(bootDefaultBuilder()).getObjectMapper())) {
+            JsonNode actual = mapper.readTree(mapper.writeValueAsBytes(workout));
+
+            assertThat(actual.get("workoutId").asLong()).isEqualTo(expected.get("workoutId").asLong());
+            assertThat(actual.get("durationMs").asLong()).isEqualTo(expected.get("durationMs").asLong());
+            assertThat(actual.get("date").asText()).isEqualTo(expected.get("date").asText());
+            assertThat(actual.get("exercises").size()).isEqualTo(expected.get("exercises").size());
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    // Spring Boot's auto-configured builder writes dates as ISO strings, the plain Spring builder does not
+    private static Jackson2ObjectMapperBuilder bootDefaultBuilder() {
+        return new Jackson2ObjectMapperBuilder().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,69 @@
+package eu.groeller.ds.configuration;
+
+import eu.groeller.ds.domain.exercise.WorkoutType;
+import eu.groeller.ds.persistence.exercise.WorkoutTypeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the embedded database, every repository call below uses its own persistence context.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private WorkoutTypeRepository workoutTypeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByName_SecondLookup_IsServedFromNaturalIdCache() {
+        workoutTypeRepository.save(new WorkoutType("Cached Type"));
+
+        assertThat(workoutTypeRepository.findByName("Cached Type")).isPresent();
+        long queriesAfterFirstLookup = statistics.getPrepareStatementCount();
+        assertThat(workoutTypeRepository.findByName("Cached Type")).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queriesAfterFirstLookup);
+        assertThat(statistics.getDomainDataRegionStatistics(WorkoutType.NATURAL_ID_CACHE_REGION).getHitCount()).isPositive();
+    }
+
+    @Test
+    void findById_SecondLookup_IsServedFromEntityCache() {
+        Long id = workoutTypeRepository.save(new WorkoutType("Cached By Id")).getId();
+
+        // Identity inserts are not put into the cache, the first lookup warms it
+        assertThat(workoutTypeRepository.findById(id)).isPresent();
+        long queriesAfterFirstLookup = statistics.getPrepareStatementCount();
+        assertThat(workoutTypeRepository.findById(id)).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queriesAfterFirstLookup);
+        assertThat(statistics.getDomainDataRegionStatistics(WorkoutType.CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void regionStatistics_AreExportedAsMetrics() {
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", WorkoutType.CACHE_REGION).meters())
+                .isNotEmpty();
+    }
+}
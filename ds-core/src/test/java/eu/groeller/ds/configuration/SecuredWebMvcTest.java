@@ -1,10 +1,15 @@
 package eu.groeller.ds.configuration;
 
+import eu.groeller.ds.configuration.security.AdminConfig;
 import eu.groeller.ds.configuration.security.JwtConfig;
 import eu.groeller.ds.configuration.security.PasswordConfig;
+import eu.groeller.ds.configuration.security.PasswordHashingConfig;
+import eu.groeller.ds.configuration.security.RateLimitConfig;
 import eu.groeller.ds.configuration.security.SecurityConfig;
 import eu.groeller.ds.service.security.CustomUserDetailsService;
 import eu.groeller.ds.service.security.JwtService;
+import eu.groeller.ds.service.security.RateLimiter;
+import eu.groeller.ds.service.security.TokenRevocationCache;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.annotation.AliasFor;
@@ -18,9 +23,15 @@ import java.lang.annotation.*;
 @Import({
         SecurityConfig.class,
         JwtService.class,
+        TokenRevocationCache.class,
         JwtConfig.class,
         CustomUserDetailsService.class,
-        PasswordConfig.class
+        AdminConfig.class,
+        PasswordConfig.class,
+        PasswordHashingConfig.class,
+        RateLimitConfig.class,
+        RateLimiter.class,
+        BulkheadConfig.class
 })
 public @interface SecuredWebMvcTest {
     @AliasFor(annotation = WebMvcTest.class, attribute = "value")
@@ -0,0 +1,131 @@
+package eu.groeller.ds.configuration.datasource;
+
+import eu.groeller.ds.configuration.security.CustomUserDetails;
+import eu.groeller.ds.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadYourWritesTrackerTest {
+
+    private MutableClock clock;
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-06-01T12:00:00Z"));
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void committedWrite_KeepsUserOnPrimaryUntilWindowEnds() {
+        authenticateAs(1L);
+        tracker.afterCommit(transaction(false, true), null);
+
+        assertThat(tracker.hasRecentWrite()).isTrue();
+        clock.advance(Duration.ofSeconds(5));
+        assertThat(tracker.hasRecentWrite()).isFalse();
+    }
+
+    @Test
+    void committedWrite_OnlyAffectsTheWritingUser() {
+        authenticateAs(1L);
+        tracker.afterCommit(transaction(false, true), null);
+
+        authenticateAs(2L);
+        assertThat(tracker.hasRecentWrite()).isFalse();
+    }
+
+    @Test
+    void readOnlyParticipatingOrFailedTransactions_AreIgnored() {
+        authenticateAs(1L);
+        tracker.afterCommit(transaction(true, true), null);
+        tracker.afterCommit(transaction(false, false), null);
+        tracker.afterCommit(transaction(false, true), new IllegalStateException("commit failed"));
+
+        assertThat(tracker.hasRecentWrite()).isFalse();
+    }
+
+    @Test
+    void anonymousWrites_AreIgnored() {
+        tracker.afterCommit(transaction(false, true), null);
+
+        assertThat(tracker.trackedUsers()).isZero();
+        assertThat(tracker.hasRecentWrite()).isFalse();
+    }
+
+    @Test
+    void evictExpired_RemovesUsersOutsideTheirWindow() {
+        authenticateAs(1L);
+        tracker.afterCommit(transaction(false, true), null);
+        clock.advance(Duration.ofSeconds(2));
+        authenticateAs(2L);
+        tracker.afterCommit(transaction(false, true), null);
+
+        clock.advance(Duration.ofSeconds(4));
+        tracker.evictExpired();
+
+        assertThat(tracker.trackedUsers()).isEqualTo(1);
+    }
+
+    private static TransactionExecution transaction(boolean readOnly, boolean newTransaction) {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.isReadOnly()).thenReturn(readOnly);
+        when(transaction.isNewTransaction()).thenReturn(newTransaction);
+        return transaction;
+    }
+
+    private static void authenticateAs(long userId) {
+        User user = new User("user" + userId, "user" + userId + "@example.com", "password");
+        user.setId(userId);
+        CustomUserDetails userDetails = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package eu.groeller.ds.configuration.datasource;
+
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.configuration.security.CustomUserDetails;
+import eu.groeller.ds.domain.User;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against two independent PostgreSQL containers. Without replication between them, the database that
+ * answers {@code current_database()} tells which one a transaction was routed to.
+ */
+@SpringBootTest
+@Import(TestContainersConfig.class)
+class ReplicaRoutingTest {
+
+    private static final String PRIMARY_DATABASE = "integration-tests-db";
+    private static final String REPLICA_DATABASE = "replica-db";
+
+    private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName(REPLICA_DATABASE)
+            .withUsername("test")
+            .withPassword("test");
+
+    // A real replica receives the schema from the primary, here it is migrated separately
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        replica.start();
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load()
+                .migrate();
+        registry.add("application.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("application.datasource.replica.username", replica::getUsername);
+        registry.add("application.datasource.replica.password", replica::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() {
+        assertThat(currentDatabase(true)).isEqualTo(REPLICA_DATABASE);
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() {
+        assertThat(currentDatabase(false)).isEqualTo(PRIMARY_DATABASE);
+    }
+
+    @Test
+    void readOnlyTransaction_AfterOwnWrite_UsesPrimary() {
+        authenticateAs(1L);
+        currentDatabase(false);
+
+        assertThat(currentDatabase(true)).isEqualTo(PRIMARY_DATABASE);
+
+        authenticateAs(2L);
+        assertThat(currentDatabase(true)).isEqualTo(REPLICA_DATABASE);
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private static void authenticateAs(long userId) {
+        User user = new User("user" + userId, "user" + userId + "@example.com", "password");
+        user.setId(userId);
+        CustomUserDetails userDetails = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+}
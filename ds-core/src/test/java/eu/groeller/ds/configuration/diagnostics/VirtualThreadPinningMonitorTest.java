@@ -0,0 +1,70 @@
+package eu.groeller.ds.configuration.diagnostics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @BeforeEach
+    void setUp() {
+        PinningDiagnosticsConfig config = new PinningDiagnosticsConfig();
+        config.setThreshold(Duration.ZERO);
+        pinningMonitor = new VirtualThreadPinningMonitor(config);
+        pinningMonitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pinningMonitor.stop();
+    }
+
+    @Test
+    void sleepingInsideSynchronized_IsRecordedWithCulprit() throws Exception {
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        awaitEvents();
+        assertThat(pinningMonitor.report().totalEvents()).isPositive();
+
+        VirtualThreadPinningMonitor.PinningReport report = pinningMonitor.report();
+        assertThat(report.countByCulprit().keySet())
+                .anyMatch(culprit -> culprit.startsWith(VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileHoldingMonitor"));
+        assertThat(report.recent().getFirst().stackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void clear_ResetsReport() throws Exception {
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+        awaitEvents();
+
+        pinningMonitor.clear();
+
+        assertThat(pinningMonitor.report().totalEvents()).isZero();
+        assertThat(pinningMonitor.report().recent()).isEmpty();
+    }
+
+    // The JFR stream delivers events asynchronously, roughly once per second
+    private void awaitEvents() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (pinningMonitor.report().totalEvents() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
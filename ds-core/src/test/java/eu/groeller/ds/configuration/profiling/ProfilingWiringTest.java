@@ -0,0 +1,80 @@
+package eu.groeller.ds.configuration.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Boots the application on the embedded database with profiling switched on and checks that one request is
+ * traced through all phases, and that only admins can read the profiles over the web.
+ */
+@SpringBootTest(properties = {
+        "application.profiling.enabled=true",
+        "application.profiling.slow-threshold=0ms",
+        "application.admin.emails=profiling-admin@test.com",
+        "management.endpoints.web.exposure.include=health,slowrequests"
+})
+@AutoConfigureMockMvc
+class ProfilingWiringTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SlowRequestsEndpoint endpoint;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void register_IsProfiledThroughAllPhases() throws Exception {
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"profiled\", \"email\": \"profiled@test.com\", \"password\": \"password123\"}"))
+                .andExpect(status().isCreated());
+
+        ProfiledRequest request = endpoint.slowRequests().stream()
+                .filter(r -> r.path().equals("/api/v1/users/register"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(request.status()).isEqualTo(201);
+        assertThat(request.spans()).extracting(ProfiledRequest.ProfiledSpan::name)
+                .contains("filters", "handler", "service", "sql", "serialization");
+        assertThat(request.spans()).filteredOn(span -> span.name().equals("sql"))
+                .anySatisfy(span -> assertThat(span.detail()).containsIgnoringCase("insert into"));
+    }
+
+    @Test
+    void slowRequestsEndpoint_RequiresAdmin() throws Exception {
+        String userToken = registerAndLogin("profiling-user");
+        String adminToken = registerAndLogin("profiling-admin");
+
+        mockMvc.perform(get("/actuator/slowrequests").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/slowrequests").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/slowrequests").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+    }
+
+    private String registerAndLogin(String username) throws Exception {
+        String credentials = "{\"username\": \"" + username + "\", \"email\": \"" + username + "@test.com\", \"password\": \"password123\"}";
+        mockMvc.perform(post("/api/v1/users/register").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isCreated());
+        String response = mockMvc.perform(post("/api/v1/users/login").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+}
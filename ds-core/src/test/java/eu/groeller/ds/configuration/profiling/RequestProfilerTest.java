@@ -0,0 +1,64 @@
+package eu.groeller.ds.configuration.profiling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestProfilerTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestProfiler.finish(200);
+    }
+
+    @Test
+    void span_WithoutActiveProfile_IsNoop() {
+        assertThat(RequestProfiler.isActive()).isFalse();
+        assertThat(RequestProfiler.span("service")).isSameAs(RequestProfiler.Span.NOOP);
+        assertThat(RequestProfiler.finish(200)).isNull();
+    }
+
+    @Test
+    void finish_ReturnsNestedSpansInStartOrder() {
+        RequestProfiler.start("POST", "/api/v1/workouts", 100);
+        try (var handler = RequestProfiler.span("handler", "WorkoutController.createWorkout")) {
+            try (var service = RequestProfiler.span("service", "WorkoutService.createWorkout")) {
+                RequestProfiler.record("sql", "insert into workout", 1_000);
+            }
+        }
+
+        ProfiledRequest request = RequestProfiler.finish(201);
+
+        assertThat(RequestProfiler.isActive()).isFalse();
+        assertThat(request.status()).isEqualTo(201);
+        assertThat(request.spans()).extracting(ProfiledRequest.ProfiledSpan::name).containsExactly("handler", "service", "sql");
+        assertThat(request.spans()).extracting(ProfiledRequest.ProfiledSpan::depth).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void finish_BeyondMaxSpans_CountsDroppedSpans() {
+        RequestProfiler.start("GET", "/api/v1/workouts", 2);
+        for (int i = 0; i < 5; i++) {
+            RequestProfiler.record("sql", "select " + i, 10);
+        }
+
+        ProfiledRequest request = RequestProfiler.finish(200);
+
+        assertThat(request.spans()).hasSize(2);
+        assertThat(request.droppedSpans()).isEqualTo(3);
+        assertThat(ProfilingFilter.format(request)).contains("select 0").contains("3 further spans dropped");
+    }
+
+    @Test
+    void slowRequestLog_KeepsSlowestRequests() {
+        SlowRequestLog log = new SlowRequestLog(2);
+        for (long duration : List.of(5L, 50L, 1L, 20L, 30L)) {
+            log.offer(new ProfiledRequest("GET", "/" + duration, 200, null, duration, List.of(), 0));
+        }
+
+        assertThat(log.slowestFirst()).extracting(ProfiledRequest::durationMicros).containsExactly(50L, 30L);
+    }
+}
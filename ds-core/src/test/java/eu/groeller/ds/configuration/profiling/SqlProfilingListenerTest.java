@@ -0,0 +1,45 @@
+package eu.groeller.ds.configuration.profiling;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlProfilingListenerTest {
+
+    private final SqlProfilingListener listener = new SqlProfilingListener(100);
+
+    @AfterEach
+    void tearDown() {
+        RequestProfiler.finish(200);
+    }
+
+    @Test
+    void afterQuery_RecordsSubMillisecondDurations() {
+        RequestProfiler.start("GET", "/api/v1/workouts", 10);
+        ExecutionInfo execInfo = new ExecutionInfo();
+        List<QueryInfo> queries = List.of(new QueryInfo("select * from workout where id = ?"));
+
+        listener.beforeQuery(execInfo, queries);
+        long until = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(300);
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+        // What datasource-proxy reports for a statement below one millisecond
+        execInfo.setElapsedTime(0);
+        execInfo.setSuccess(true);
+        listener.afterQuery(execInfo, queries);
+
+        ProfiledRequest request = RequestProfiler.finish(200);
+
+        assertThat(request.spans()).singleElement().satisfies(span -> {
+            assertThat(span.name()).isEqualTo("sql");
+            assertThat(span.durationMicros()).isBetween(300L, 1_000_000L);
+        });
+    }
+}
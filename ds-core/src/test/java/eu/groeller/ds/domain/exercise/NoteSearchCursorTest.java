@@ -0,0 +1,40 @@
+package eu.groeller.ds.domain.exercise;
+
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NoteSearchCursorTest {
+
+    @Test
+    void decode_ReturnsEncodedPosition() {
+        OffsetDateTime startTime = OffsetDateTime.of(2024, 3, 1, 18, 30, 15, 123_456_000, ZoneOffset.ofHours(2));
+        NoteSearchCursor cursor = new NoteSearchCursor(startTime, 42);
+
+        NoteSearchCursor decoded = NoteSearchCursor.decode(cursor.encode());
+
+        assertThat(decoded.startTime()).isEqualTo(startTime.withOffsetSameInstant(ZoneOffset.UTC));
+        assertThat(decoded.workoutId()).isEqualTo(42);
+    }
+
+    @Test
+    void encode_IsUrlSafe() {
+        String token = new NoteSearchCursor(OffsetDateTime.now(), Long.MAX_VALUE).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not base64!", "bm8tc2VwYXJhdG9y", "MjAyNC0wMy0wMVQxNjozMDoxNVosYWJj", "bm90LWEtZGF0ZSw0Mg"})
+    void decode_WhenTokenIsInvalid_ThrowsIllegalArgumentException(String token) {
+        assertThatThrownBy(() -> NoteSearchCursor.decode(token))
+                .isInstanceOf(DSIllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package eu.groeller.ds.domain.exercise;
+
+import eu.groeller.ds.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PlanAdherenceTest {
+
+    private ExerciseDefinition bench;
+    private ExerciseDefinition squat;
+    private ExerciseDefinition run;
+    private OffsetDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        bench = definition(1L, "Bench Press", ExerciseType.SETS_REPS);
+        squat = definition(2L, "Squat", ExerciseType.SETS_REPS);
+        run = definition(3L, "Run", ExerciseType.DISTANCE);
+        now = OffsetDateTime.now();
+    }
+
+    @Test
+    void of_WhenAllTargetsMet_ScoresOne() {
+        WorkoutPlan plan = plan(planned(bench, 0, 3, 10, 60.0), planned(run, 1, null, null, null));
+        plan.getExercises().get(1).setTargetDistance(5.0);
+        plan.getExercises().get(1).setTargetDistanceUnit(DistanceUnit.KILOMETERS);
+
+        PlanAdherence adherence = PlanAdherence.of(plan, List.of(setBased(bench, 4, 12, 62.5), distance(run, 5_200, DistanceUnit.METERS)));
+
+        assertThat(adherence.score()).isEqualTo(1.0);
+        assertThat(adherence.plannedSets()).isEqualTo(3);
+        assertThat(adherence.completedSets()).isEqualTo(3);
+    }
+
+    @Test
+    void of_WhenExerciseSkipped_ScoresItZero() {
+        WorkoutPlan plan = plan(planned(bench, 0, 3, 10, null), planned(squat, 1, 4, 8, null));
+
+        PlanAdherence adherence = PlanAdherence.of(plan, List.of(setBased(bench, 3, 10, 60.0)));
+
+        assertThat(adherence.score()).isEqualTo(0.5);
+        assertThat(adherence.plannedSets()).isEqualTo(7);
+        assertThat(adherence.completedSets()).isEqualTo(3);
+    }
+
+    @Test
+    void of_WhenTargetsPartiallyMet_AveragesTargets() {
+        WorkoutPlan plan = plan(planned(bench, 0, 4, 10, 80.0));
+
+        // 2 of 4 sets, all repetitions, 60 of 80 kg
+        PlanAdherence adherence = PlanAdherence.of(plan, List.of(setBased(bench, 2, 10, 60.0)));
+
+        assertThat(adherence.score()).isCloseTo((0.5 + 1.0 + 0.75) / 3, within(1e-9));
+        assertThat(adherence.completedSets()).isEqualTo(2);
+    }
+
+    @Test
+    void of_WhenExercisePlannedTwice_MatchesRecordsInOrder() {
+        WorkoutPlan plan = plan(planned(bench, 0, 3, null, null), planned(bench, 1, 3, null, null));
+
+        PlanAdherence adherence = PlanAdherence.of(plan, List.of(setBased(bench, 3, 10, 60.0)));
+
+        assertThat(adherence.score()).isEqualTo(0.5);
+    }
+
+    @Test
+    void of_IgnoresUnplannedExercises() {
+        WorkoutPlan plan = plan(planned(bench, 0, 3, null, null));
+
+        PlanAdherence adherence = PlanAdherence.of(plan, List.of(setBased(squat, 5, 5, 100.0), setBased(bench, 3, 10, 60.0)));
+
+        assertThat(adherence.score()).isEqualTo(1.0);
+    }
+
+    private static WorkoutPlan plan(PlannedExercise... exercises) {
+        return new WorkoutPlan(new User("testuser", "test@example.com", "password"), "Plan", new WorkoutType("Push"), 3, List.of(exercises));
+    }
+
+    private static PlannedExercise planned(ExerciseDefinition definition, int order, Integer sets, Integer repetitions, Double weightKg) {
+        PlannedExercise exercise = new PlannedExercise();
+        exercise.setExerciseDefinition(definition);
+        exercise.setOrderIndex(order);
+        exercise.setTargetSets(sets);
+        exercise.setTargetRepetitions(repetitions);
+        exercise.setTargetWeightKg(weightKg);
+        return exercise;
+    }
+
+    private SetBasedExerciseRecord setBased(ExerciseDefinition definition, int setCount, int repetitions, double weightKg) {
+        SetBasedExerciseRecord record = new SetBasedExerciseRecord();
+        record.setExerciseDefinition(definition);
+        List<ExerciseSet> sets = new ArrayList<>();
+        for (int i = 0; i < setCount; i++) {
+            ExerciseSet set = new ExerciseSet();
+            set.setStartTime(now.plusMinutes(i * 3L));
+            set.setEndTime(now.plusMinutes(i * 3L + 1));
+            set.setRepetitions(repetitions);
+            set.setWeightKg(weightKg);
+            set.setOrderIndex(i);
+            sets.add(set);
+        }
+        record.setSets(sets);
+        return record;
+    }
+
+    private static DistanceExerciseRecord distance(ExerciseDefinition definition, double distance, DistanceUnit unit) {
+        DistanceExerciseRecord record = new DistanceExerciseRecord();
+        record.setExerciseDefinition(definition);
+        record.setDistance(distance);
+        record.setDistanceUnit(unit);
+        return record;
+    }
+
+    private static ExerciseDefinition definition(Long id, String name, ExerciseType type) {
+        ExerciseDefinition definition = new ExerciseDefinition(name, type);
+        definition.setId(id);
+        return definition;
+    }
+}
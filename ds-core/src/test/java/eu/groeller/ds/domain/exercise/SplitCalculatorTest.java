@@ -0,0 +1,78 @@
+package eu.groeller.ds.domain.exercise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SplitCalculatorTest {
+
+    private static final double MILE = DistanceUnit.MILES.getSplitMeters();
+
+    @Test
+    void fromLaps_InterpolatesSplitsInsideLaps() {
+        // 1.5km at 5:00/km, then 1km at 4:00/km
+        List<Split> splits = SplitCalculator.fromLaps(List.of(
+                new Lap(1_500, 450_000),
+                new Lap(1_000, 240_000)
+        ), 1_000);
+
+        assertThat(splits).containsExactly(
+                new Split(1_000, 300_000),
+                new Split(1_000, 150_000 + 120_000),
+                new Split(500, 120_000)
+        );
+    }
+
+    @Test
+    void fromLaps_SplitsPerMile() {
+        List<Split> splits = SplitCalculator.fromLaps(List.of(new Lap(MILE * 2, 960_000)), MILE);
+
+        assertThat(splits).containsExactly(new Split(MILE, 480_000), new Split(MILE, 480_000));
+    }
+
+    @Test
+    void fastest_IgnoresPartialSplit() {
+        List<Split> splits = List.of(new Split(1_000, 300_000), new Split(1_000, 290_000), new Split(200, 50_000));
+
+        assertThat(SplitCalculator.fastest(splits, 1_000)).isEqualTo(1);
+        assertThat(SplitCalculator.fastest(List.of(new Split(200, 50_000)), 1_000)).isEqualTo(-1);
+    }
+
+    @Test
+    void isNegativeSplit_ComparesHalvesOfDistance() {
+        // Halfway is in the middle of the second split
+        List<Split> faster = List.of(new Split(1_000, 300_000), new Split(1_000, 300_000), new Split(1_000, 280_000));
+        List<Split> even = List.of(new Split(1_000, 300_000), new Split(1_000, 300_000));
+        List<Split> slower = List.of(new Split(1_000, 280_000), new Split(1_000, 300_000), new Split(500, 150_000));
+
+        assertThat(SplitCalculator.isNegativeSplit(faster)).isTrue();
+        assertThat(SplitCalculator.isNegativeSplit(even)).isFalse();
+        assertThat(SplitCalculator.isNegativeSplit(slower)).isFalse();
+    }
+
+    @Test
+    void compute_WhenCheckpointsDescend_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> SplitCalculator.compute(new double[]{500, 400}, new long[]{1, 2}, 1_000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void updateSplits_StoresSplitsAndWhatIsDerivedFromThem() {
+        DistanceExerciseRecord record = new DistanceExerciseRecord();
+        record.setDistanceUnit(DistanceUnit.KILOMETERS);
+
+        record.updateSplits(List.of(new Split(1_000, 300_000), new Split(1_000, 280_000), new Split(300, 80_000)));
+
+        assertThat(record.splits()).containsExactly(new Split(1_000, 300_000), new Split(1_000, 280_000), new Split(300, 80_000));
+        assertThat(record.getFastestSplitMillis()).isEqualTo(280_000);
+        assertThat(record.getFastestSplitNumber()).isEqualTo(2);
+        assertThat(record.getNegativeSplit()).isTrue();
+
+        record.updateSplits(List.of());
+        assertThat(record.getSplits()).isNull();
+        assertThat(record.getFastestSplitMillis()).isNull();
+    }
+}
@@ -0,0 +1,67 @@
+package eu.groeller.ds.domain.exercise;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrainingDaysTest {
+
+    private static final LocalDate DEC_30 = LocalDate.of(2023, 12, 30);
+
+    @Test
+    void runs_ContinueAcrossYears() {
+        TrainingDays days = days(DEC_30, DEC_30.plusDays(1), DEC_30.plusDays(2), DEC_30.plusDays(3), DEC_30.plusDays(6));
+
+        assertThat(days.runStart(DEC_30.plusDays(3))).isEqualTo(DEC_30);
+        assertThat(days.runEnd(DEC_30)).isEqualTo(DEC_30.plusDays(3));
+        assertThat(days.runStart(DEC_30.plusDays(6))).isEqualTo(DEC_30.plusDays(6));
+        assertThat(days.runEnd(DEC_30.plusDays(6))).isEqualTo(DEC_30.plusDays(6));
+        assertThat(days.longestRun()).isEqualTo(4);
+    }
+
+    @Test
+    void runs_EndAtYearsWithoutCalendar() {
+        TrainingDays days = days(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+        assertThat(days.runStart(LocalDate.of(2024, 1, 1))).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(days.runEnd(LocalDate.of(2024, 12, 31))).isEqualTo(LocalDate.of(2024, 12, 31));
+        assertThat(days.longestRun()).isEqualTo(1);
+    }
+
+    @Test
+    void lastTrainingDay_SkipsEmptyYears() {
+        TrainingDays days = days(LocalDate.of(2021, 6, 1), LocalDate.of(2024, 1, 3));
+
+        assertThat(days.lastTrainingDay()).isEqualTo(LocalDate.of(2024, 1, 3));
+        assertThat(days.lastTrainingDayBefore(LocalDate.of(2024, 1, 3))).isEqualTo(LocalDate.of(2021, 6, 1));
+        assertThat(days.lastTrainingDayBefore(LocalDate.of(2021, 6, 1))).isNull();
+        assertThat(new TrainingDays(List.of()).lastTrainingDay()).isNull();
+    }
+
+    @Test
+    void between_CountsDaysAndWorkoutsInRange() {
+        WorkoutCalendarYear last = new WorkoutCalendarYear(null, 2023);
+        WorkoutCalendarYear current = new WorkoutCalendarYear(null, 2024);
+        last.add(DEC_30);
+        last.add(DEC_30);
+        current.add(LocalDate.of(2024, 1, 2));
+        current.add(LocalDate.of(2024, 1, 20));
+        TrainingDays days = new TrainingDays(List.of(last, current));
+
+        assertThat(days.trainingDaysBetween(DEC_30, LocalDate.of(2024, 1, 19))).isEqualTo(2);
+        assertThat(days.workoutsBetween(DEC_30, LocalDate.of(2024, 1, 19))).isEqualTo(3);
+        assertThat(days.workoutsBetween(DEC_30.minusYears(2), LocalDate.of(2024, 12, 31))).isEqualTo(4);
+    }
+
+    static TrainingDays days(LocalDate... trainingDays) {
+        Map<Integer, WorkoutCalendarYear> years = new HashMap<>();
+        for (LocalDate day : trainingDays)
+            years.computeIfAbsent(day.getYear(), year -> new WorkoutCalendarYear(null, year)).add(day);
+        return new TrainingDays(years.values());
+    }
+}
@@ -0,0 +1,57 @@
+package eu.groeller.ds.domain.exercise;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkoutCalendarYearTest {
+
+    private final WorkoutCalendarYear year = new WorkoutCalendarYear(null, 2024);
+
+    @Test
+    void add_SetsDayBitAndCountsWorkouts() {
+        year.add(LocalDate.of(2024, 1, 1));
+        year.add(LocalDate.of(2024, 1, 10));
+        year.add(LocalDate.of(2024, 1, 10));
+        year.add(LocalDate.of(2024, 12, 31));
+
+        assertThat(year.getDays()[0]).isEqualTo((byte) 0b0000_0001);
+        assertThat(year.getDays()[1]).isEqualTo((byte) 0b0000_0010);
+        assertThat(year.toBitSet().get(365)).isTrue();
+        assertThat(year.workoutsOn(LocalDate.of(2024, 1, 10))).isEqualTo(2);
+        assertThat(year.trainingDays()).isEqualTo(3);
+        assertThat(year.workouts()).isEqualTo(4);
+    }
+
+    @Test
+    void remove_ClearsDayOnlyWithItsLastWorkout() {
+        LocalDate day = LocalDate.of(2024, 3, 5);
+        year.add(day);
+        year.add(day);
+
+        assertThat(year.remove(day)).isFalse();
+        assertThat(year.toBitSet().get(day.getDayOfYear() - 1)).isTrue();
+        assertThat(year.remove(day)).isTrue();
+        assertThat(year.toBitSet().isEmpty()).isTrue();
+        assertThat(year.remove(day)).isFalse();
+        assertThat(year.workoutsOn(day)).isZero();
+    }
+
+    @Test
+    void add_SaturatesCountOfDay() {
+        LocalDate day = LocalDate.of(2024, 6, 1);
+        for (int i = 0; i < WorkoutCalendarYear.MAX_COUNT + 10; i++)
+            year.add(day);
+
+        assertThat(year.workoutsOn(day)).isEqualTo(WorkoutCalendarYear.MAX_COUNT);
+    }
+
+    @Test
+    void add_WhenDayIsInOtherYear_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> year.add(LocalDate.of(2023, 12, 31)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package eu.groeller.ds.domain.exercise;
+
+import eu.groeller.ds.domain.User;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory workout histories for payload and serialization tests: every workout has four set based
+ * exercises with four sets each, cycling through three exercise definitions.
+ */
+public final class WorkoutFixtures {
+
+    private WorkoutFixtures() {
+    }
+
+    public static Slice<Workout> historyPage(int workoutCount) {
+        User user = new User("testuser", "test@example.com", "password");
+        WorkoutType type = new WorkoutType("Push Day");
+        List<ExerciseDefinition> definitions = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            ExerciseDefinition definition = new ExerciseDefinition("Exercise " + i, ExerciseType.SETS_REPS);
+            definition.setId(i);
+            definitions.add(definition);
+        }
+
+        OffsetDateTime start = OffsetDateTime.now().minusDays(workoutCount);
+        List<Workout> workouts = new ArrayList<>();
+        for (int w = 0; w < workoutCount; w++) {
+            OffsetDateTime workoutStart = start.plusDays(w);
+            List<ExerciseRecord> records = new ArrayList<>();
+            for (int e = 0; e < 4; e++) {
+                SetBasedExerciseRecord record = new SetBasedExerciseRecord();
+                record.setId((long) w * 10 + e);
+                record.setExerciseDefinition(definitions.get(e % definitions.size()));
+                record.setOrderIndex(e);
+                List<ExerciseSet> sets = new ArrayList<>();
+                for (int s = 0; s < 4; s++) {
+                    ExerciseSet set = new ExerciseSet();
+                    set.setStartTime(workoutStart.plusMinutes(e * 15L + s * 3L));
+                    set.setEndTime(workoutStart.plusMinutes(e * 15L + s * 3L + 1));
+                    set.setFailure(s == 3);
+                    set.setRepetitions(10 - s);
+                    set.setWeightKg(60.0 + s * 2.5);
+                    set.setOrderIndex(s);
+                    sets.add(set);
+                }
+                record.setSets(sets);
+                record.setStartTime(sets.getFirst().getStartTime());
+                record.setEndTime(sets.getLast().getEndTime());
+                records.add(record);
+            }
+            Workout workout = new Workout(user, workoutStart, workoutStart.plusHours(1), records, type);
+            workout.setId((long) w);
+            workouts.add(workout);
+        }
+        return new SliceImpl<>(workouts, PageRequest.of(0, workoutCount), true);
+    }
+}
@@ -0,0 +1,104 @@
+package eu.groeller.ds.domain.exercise;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkoutStreakTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    private final Map<Integer, WorkoutCalendarYear> years = new HashMap<>();
+    private final WorkoutStreak streak = new WorkoutStreak(null);
+
+    @Test
+    void add_ExtendsCurrentRunAndStartsNewOneAfterGap() {
+        add(MONDAY);
+        add(MONDAY.plusDays(1));
+        add(MONDAY.plusDays(2));
+        add(MONDAY.plusDays(5));
+
+        assertThat(streak.getCurrentStreakStart()).isEqualTo(MONDAY.plusDays(5));
+        assertThat(streak.currentStreak(MONDAY.plusDays(6))).isEqualTo(1);
+        assertThat(streak.getLongestStreak()).isEqualTo(3);
+    }
+
+    @Test
+    void add_WhenBackDated_JoinsRunsIntoCurrentOne() {
+        add(MONDAY);
+        add(MONDAY.plusDays(1));
+        add(MONDAY.plusDays(3));
+        add(MONDAY.plusDays(4));
+
+        add(MONDAY.plusDays(2));
+
+        assertThat(streak.getCurrentStreakStart()).isEqualTo(MONDAY);
+        assertThat(streak.currentStreak(MONDAY.plusDays(4))).isEqualTo(5);
+        assertThat(streak.getLongestStreak()).isEqualTo(5);
+    }
+
+    @Test
+    void remove_RewindsCurrentAndLongestRun() {
+        for (int day = 0; day < 5; day++)
+            add(MONDAY.plusDays(day));
+
+        remove(MONDAY.plusDays(4));
+        assertThat(streak.getLastTrainingDay()).isEqualTo(MONDAY.plusDays(3));
+        assertThat(streak.getLongestStreak()).isEqualTo(4);
+
+        remove(MONDAY.plusDays(1));
+        assertThat(streak.getCurrentStreakStart()).isEqualTo(MONDAY.plusDays(2));
+        assertThat(streak.currentStreak(MONDAY.plusDays(4))).isEqualTo(2);
+        assertThat(streak.getLongestStreak()).isEqualTo(2);
+    }
+
+    @Test
+    void currentStreak_IsBrokenAfterDayWithoutWorkout() {
+        add(MONDAY);
+        add(MONDAY.plusDays(1));
+
+        assertThat(streak.currentStreak(MONDAY.plusDays(1))).isEqualTo(2);
+        assertThat(streak.currentStreak(MONDAY.plusDays(2))).isEqualTo(2);
+        assertThat(streak.currentStreak(MONDAY.plusDays(3))).isZero();
+        assertThat(new WorkoutStreak(null).currentStreak(MONDAY)).isZero();
+    }
+
+    @Test
+    void incrementalUpdates_MatchRebuildFromCalendar() {
+        Random random = new Random(7);
+        LocalDate first = LocalDate.of(2023, 12, 1);
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate day = first.plusDays(random.nextInt(62));
+            if (random.nextInt(3) == 0)
+                remove(day);
+            else
+                add(day);
+
+            WorkoutStreak rebuilt = new WorkoutStreak(null);
+            rebuilt.rebuild(days());
+            assertThat(streak.getLastTrainingDay()).isEqualTo(rebuilt.getLastTrainingDay());
+            assertThat(streak.getCurrentStreakStart()).isEqualTo(rebuilt.getCurrentStreakStart());
+            assertThat(streak.getLongestStreak()).isEqualTo(rebuilt.getLongestStreak());
+        }
+    }
+
+    private void add(LocalDate day) {
+        if (years.computeIfAbsent(day.getYear(), year -> new WorkoutCalendarYear(null, year)).add(day))
+            streak.onTrainingDayAdded(day, this::days);
+    }
+
+    private void remove(LocalDate day) {
+        WorkoutCalendarYear year = years.get(day.getYear());
+        if (year != null && year.remove(day))
+            streak.onTrainingDayRemoved(day, days());
+    }
+
+    private TrainingDays days() {
+        return new TrainingDays(years.values());
+    }
+}
@@ -85,6 +85,26 @@ class WorkoutTest {
         assertThat(workout.getEndTime()).isEqualTo(now.plusMinutes(65));
     }
 
+    @Test
+    void constructor_AttachesNotesOfRecordsAndSetsToWorkoutAndUser() {
+        ExerciseRecord distance = createTestExerciseRecord();
+        distance.setNote(ExerciseNote.of("windy"));
+        SetBasedExerciseRecord setBased = new SetBasedExerciseRecord();
+        setBased.setStartTime(now.plusMinutes(35));
+        setBased.setEndTime(now.plusMinutes(50));
+        setBased.setOrderIndex(1);
+        ExerciseSet set = new ExerciseSet();
+        set.setNote(ExerciseNote.of("new grip"));
+        setBased.setSets(List.of(set, new ExerciseSet()));
+
+        Workout workout = new Workout(testUser, now, now.plusMinutes(50), List.of(distance, setBased), new WorkoutType());
+
+        assertThat(List.of(distance.getNote(), set.getNote())).allSatisfy(note -> {
+            assertThat(note.getWorkout()).isSameAs(workout);
+            assertThat(note.getUser()).isSameAs(testUser);
+        });
+    }
+
     private ExerciseRecord createTestExerciseRecord() {
         return createTestExerciseRecord(0, now, now.plusMinutes(30));
     }
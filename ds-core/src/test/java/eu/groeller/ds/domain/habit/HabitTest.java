@@ -0,0 +1,91 @@
+package eu.groeller.ds.domain.habit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HabitTest {
+
+    private static final LocalDate NEW_YEAR = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void stats_CurrentStreakContinuesAcrossYears() {
+        Habit habit = new Habit(null, "Read");
+        checkInDays(habit, NEW_YEAR.minusDays(40), NEW_YEAR.plusDays(4));
+
+        HabitStats stats = habit.stats(NEW_YEAR.plusDays(4));
+
+        assertThat(stats.checkedIn()).isTrue();
+        assertThat(stats.currentStreak()).isEqualTo(45);
+        assertThat(stats.longestStreak()).isEqualTo(45);
+        assertThat(stats.totalCheckIns()).isEqualTo(45);
+        assertThat(stats.checkInsLast30Days()).isEqualTo(30);
+        assertThat(stats.completionRateLast30Days()).isEqualTo(1.0);
+    }
+
+    @Test
+    void stats_WhenTodayIsNotCheckedInYet_KeepsStreakOfYesterday() {
+        Habit habit = new Habit(null, "Read");
+        checkInDays(habit, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10));
+
+        assertThat(habit.stats(LocalDate.of(2024, 3, 11)).currentStreak()).isEqualTo(10);
+        assertThat(habit.stats(LocalDate.of(2024, 3, 11)).checkedIn()).isFalse();
+        assertThat(habit.stats(LocalDate.of(2024, 3, 12)).currentStreak()).isZero();
+    }
+
+    @Test
+    void stats_LongestStreakIsLongestRunOfAnyYear() {
+        Habit habit = new Habit(null, "Read");
+        // Runs of 5 in 2023, 12 through leap day and 3 at the end of 2024
+        checkInDays(habit, LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 5));
+        checkInDays(habit, LocalDate.of(2024, 2, 20), LocalDate.of(2024, 3, 2));
+        checkInDays(habit, LocalDate.of(2024, 12, 29), LocalDate.of(2024, 12, 31));
+
+        HabitStats stats = habit.stats(LocalDate.of(2025, 1, 1));
+
+        assertThat(stats.longestStreak()).isEqualTo(12);
+        assertThat(stats.currentStreak()).isEqualTo(3);
+        assertThat(stats.totalCheckIns()).isEqualTo(20);
+        assertThat(stats.checkInsLast30Days()).isEqualTo(3);
+    }
+
+    @Test
+    void stats_WithoutCheckIns_IsEmpty() {
+        HabitStats stats = new Habit(null, "Read").stats(NEW_YEAR);
+
+        assertThat(stats).isEqualTo(new HabitStats(false, 0, 0, 0, 0));
+        assertThat(stats.completionRateLast30Days()).isZero();
+    }
+
+    @Test
+    void checkIn_IsIdempotentAndCanBeCleared() {
+        Habit habit = new Habit(null, "Read");
+        LocalDate day = LocalDate.of(2024, 12, 31);
+
+        assertThat(habit.checkIn(day, true)).isTrue();
+        assertThat(habit.checkIn(day, true)).isFalse();
+        assertThat(habit.daysOf(2024)[HabitYear.SIZE - 1]).isEqualTo((byte) 0b0010_0000);
+
+        assertThat(habit.checkIn(day, false)).isTrue();
+        assertThat(habit.checkIn(day, false)).isFalse();
+        assertThat(habit.daysOf(2024)).containsOnly(0);
+        // Clearing a day of a year without check-ins does not create it
+        assertThat(habit.checkIn(NEW_YEAR.minusYears(1), false)).isFalse();
+        assertThat(habit.getYears()).hasSize(1);
+    }
+
+    @Test
+    void yearDays_WhenDateIsInOtherYear_ThrowIllegalArgumentException() {
+        HabitYear year = new HabitYear(null, 2024);
+
+        assertThatThrownBy(() -> year.isCheckedIn(NEW_YEAR.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void checkInDays(Habit habit, LocalDate from, LocalDate to) {
+        from.datesUntil(to.plusDays(1)).forEach(day -> habit.checkIn(day, true));
+    }
+}
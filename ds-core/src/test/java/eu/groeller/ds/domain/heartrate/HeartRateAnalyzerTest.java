@@ -0,0 +1,93 @@
+package eu.groeller.ds.domain.heartrate;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeartRateAnalyzerTest {
+
+    private static final Instant START = Instant.parse("2024-03-01T16:30:00Z");
+
+    // Zones start at 100, 120, 140 and 160 bpm
+    private final HeartRateZones zones = new HeartRateZones(200, List.of(50, 60, 70, 80));
+    private final HeartRateAnalyzer analyzer = new HeartRateAnalyzer(zones, Duration.ofSeconds(10));
+
+    @Test
+    void analyze_SumsTimeUntilNextSampleIntoZones() {
+        List<HeartRateSample> samples = new ArrayList<>();
+        // A minute in zone 1, then a minute in zone 4, sampled every second
+        for (int i = 0; i < 60; i++)
+            samples.add(new HeartRateSample(START.plusSeconds(i), 90));
+        for (int i = 60; i < 120; i++)
+            samples.add(new HeartRateSample(START.plusSeconds(i), 150));
+
+        HeartRateStats stats = analyzer.analyze(samples, START, START.plusSeconds(120));
+
+        assertThat(stats.getSampleCount()).isEqualTo(120);
+        assertThat(stats.getAverageBpm()).isEqualTo(120.0);
+        assertThat(stats.getMaxBpm()).isEqualTo(150);
+        assertThat(stats.timeInZonesMillis()).containsExactly(60_000L, 0L, 0L, 60_000L, 0L);
+    }
+
+    @Test
+    void analyze_DoesNotStretchSamplesOverGaps() {
+        List<HeartRateSample> samples = List.of(
+                new HeartRateSample(START, 130),
+                // Watch off the wrist for five minutes
+                new HeartRateSample(START.plusSeconds(300), 170),
+                new HeartRateSample(START.plusSeconds(305), 170)
+        );
+
+        HeartRateStats stats = analyzer.analyze(samples, START, START.plusSeconds(600));
+
+        assertThat(stats.timeInZonesMillis()).containsExactly(0L, 0L, 10_000L, 0L, 15_000L);
+    }
+
+    @Test
+    void analyze_ClipsSamplesToWindow() {
+        List<HeartRateSample> samples = List.of(
+                new HeartRateSample(START.minusSeconds(4), 110),
+                new HeartRateSample(START.plusSeconds(2), 125),
+                new HeartRateSample(START.plusSeconds(8), 145),
+                new HeartRateSample(START.plusSeconds(12), 200)
+        );
+
+        HeartRateStats stats = analyzer.analyze(samples, START, START.plusSeconds(10));
+
+        // The sample before the window still covers its first two seconds, but only those inside count as samples
+        assertThat(stats.getSampleCount()).isEqualTo(2);
+        assertThat(stats.getMaxBpm()).isEqualTo(145);
+        assertThat(stats.timeInZonesMillis()).containsExactly(0L, 2_000L, 6_000L, 2_000L, 0L);
+    }
+
+    @Test
+    void analyze_WhenNoSampleIsInWindow_ReturnsNull() {
+        List<HeartRateSample> samples = List.of(new HeartRateSample(START.minusSeconds(60), 110));
+
+        assertThat(analyzer.analyze(samples, START, START.plusSeconds(60))).isNull();
+        assertThat(analyzer.analyze(List.of(), START, START.plusSeconds(60))).isNull();
+    }
+
+    @Test
+    void zones_IndexOf_UsesLowerBoundsInclusively() {
+        assertThat(zones.indexOf(99)).isEqualTo(0);
+        assertThat(zones.indexOf(100)).isEqualTo(1);
+        assertThat(zones.indexOf(159)).isEqualTo(3);
+        assertThat(zones.indexOf(160)).isEqualTo(4);
+        assertThat(zones.indexOf(250)).isEqualTo(4);
+    }
+
+    @Test
+    void zones_WhenThresholdsAreInvalid_ThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> new HeartRateZones(190, List.of(60, 70, 80)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HeartRateZones(190, List.of(60, 80, 70, 90)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
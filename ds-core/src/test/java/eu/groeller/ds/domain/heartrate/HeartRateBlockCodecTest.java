@@ -0,0 +1,82 @@
+package eu.groeller.ds.domain.heartrate;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeartRateBlockCodecTest {
+
+    private static final Instant BLOCK_START = Instant.parse("2024-03-01T16:00:00Z");
+
+    @Test
+    void decode_ReturnsEncodedSamples() {
+        List<HeartRateSample> samples = List.of(
+                new HeartRateSample(BLOCK_START.plusMillis(1_250), 72),
+                new HeartRateSample(BLOCK_START.plusMillis(2_250), 74),
+                new HeartRateSample(BLOCK_START.plusMillis(3_250), 71),
+                // Gap while the watch was off the wrist, then a different sampling rate
+                new HeartRateSample(BLOCK_START.plusSeconds(900), 140),
+                new HeartRateSample(BLOCK_START.plusSeconds(905), 180),
+                new HeartRateSample(BLOCK_START.plusSeconds(906), 35),
+                new HeartRateSample(BLOCK_START.plusMillis(3_599_999), 250)
+        );
+
+        byte[] data = HeartRateBlockCodec.encode(BLOCK_START, samples);
+
+        assertThat(HeartRateBlockCodec.decode(BLOCK_START, data)).isEqualTo(samples);
+    }
+
+    @Test
+    void encode_RegularSamplesTakeAboutTwoBytesEach() {
+        List<HeartRateSample> samples = new ArrayList<>();
+        for (int i = 0; i < 3_600; i++)
+            samples.add(new HeartRateSample(BLOCK_START.plusSeconds(i), 120 + (i % 20) / 4));
+
+        byte[] data = HeartRateBlockCodec.encode(BLOCK_START, samples);
+
+        assertThat(data.length).isLessThan(2 * 3_600 + 16);
+        assertThat(HeartRateBlockCodec.decode(BLOCK_START, data)).isEqualTo(samples);
+    }
+
+    @Test
+    void encode_WhenSamplesAreNotAscending_ThrowsIllegalArgumentException() {
+        List<HeartRateSample> samples = List.of(
+                new HeartRateSample(BLOCK_START.plusSeconds(2), 70),
+                new HeartRateSample(BLOCK_START.plusSeconds(2), 71)
+        );
+
+        assertThatThrownBy(() -> HeartRateBlockCodec.encode(BLOCK_START, samples))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encode_WhenSampleIsBeforeBlockStart_ThrowsIllegalArgumentException() {
+        List<HeartRateSample> samples = List.of(new HeartRateSample(BLOCK_START.minusMillis(1), 70));
+
+        assertThatThrownBy(() -> HeartRateBlockCodec.encode(BLOCK_START, samples))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decode_WhenDataIsCorrupt_ThrowsIllegalStateException() {
+        byte[] data = HeartRateBlockCodec.encode(BLOCK_START, List.of(
+                new HeartRateSample(BLOCK_START.plusSeconds(1), 70),
+                new HeartRateSample(BLOCK_START.plusSeconds(2), 71)
+        ));
+
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        byte[] trailing = Arrays.copyOf(data, data.length + 1);
+        byte[] unknownVersion = data.clone();
+        unknownVersion[0] = 99;
+
+        assertThatThrownBy(() -> HeartRateBlockCodec.decode(BLOCK_START, truncated)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> HeartRateBlockCodec.decode(BLOCK_START, trailing)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> HeartRateBlockCodec.decode(BLOCK_START, unknownVersion)).isInstanceOf(IllegalStateException.class);
+    }
+}
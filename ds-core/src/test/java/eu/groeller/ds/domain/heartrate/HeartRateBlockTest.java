@@ -0,0 +1,79 @@
+package eu.groeller.ds.domain.heartrate;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeartRateBlockTest {
+
+    private static final Instant BLOCK_START = Instant.parse("2024-03-01T16:00:00Z");
+
+    @Test
+    void merge_KeepsSamplesOrderedAndSummariesInSync() {
+        HeartRateBlock block = new HeartRateBlock(null, BLOCK_START);
+
+        block.merge(List.of(
+                new HeartRateSample(BLOCK_START.plusSeconds(20), 90),
+                new HeartRateSample(BLOCK_START.plusSeconds(10), 80)
+        ));
+        block.merge(List.of(new HeartRateSample(BLOCK_START.plusSeconds(5), 120)));
+
+        assertThat(block.samples()).containsExactly(
+                new HeartRateSample(BLOCK_START.plusSeconds(5), 120),
+                new HeartRateSample(BLOCK_START.plusSeconds(10), 80),
+                new HeartRateSample(BLOCK_START.plusSeconds(20), 90)
+        );
+        assertThat(block.getSampleCount()).isEqualTo(3);
+        assertThat(block.getMinBpm()).isEqualTo(80);
+        assertThat(block.getMaxBpm()).isEqualTo(120);
+        assertThat(block.getSumBpm()).isEqualTo(290);
+        assertThat(block.getFirstSampleAt().toInstant()).isEqualTo(BLOCK_START.plusSeconds(5));
+        assertThat(block.getLastSampleAt().toInstant()).isEqualTo(BLOCK_START.plusSeconds(20));
+    }
+
+    @Test
+    void merge_WhenSampleIsResent_ReplacesIt() {
+        HeartRateBlock block = new HeartRateBlock(null, BLOCK_START);
+        List<HeartRateSample> batch = List.of(
+                new HeartRateSample(BLOCK_START.plusSeconds(1), 70),
+                new HeartRateSample(BLOCK_START.plusSeconds(2), 72)
+        );
+
+        block.merge(batch);
+        block.merge(batch);
+        block.merge(List.of(new HeartRateSample(BLOCK_START.plusSeconds(2), 75)));
+
+        assertThat(block.samples()).containsExactly(
+                new HeartRateSample(BLOCK_START.plusSeconds(1), 70),
+                new HeartRateSample(BLOCK_START.plusSeconds(2), 75)
+        );
+        assertThat(block.getSumBpm()).isEqualTo(145);
+        assertThat(block.getAverageBpm()).isEqualTo(72.5);
+    }
+
+    @Test
+    void merge_WhenSampleIsOutsideOfBlock_ThrowsIllegalArgumentException() {
+        HeartRateBlock block = new HeartRateBlock(null, BLOCK_START);
+
+        assertThatThrownBy(() -> block.merge(List.of(new HeartRateSample(BLOCK_START.plus(HeartRateBlock.DURATION), 70))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> block.merge(List.of(new HeartRateSample(BLOCK_START.minusMillis(1), 70))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructor_WhenStartIsNotAligned_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new HeartRateBlock(null, BLOCK_START.plusSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void startOf_ReturnsStartOfHour() {
+        assertThat(HeartRateBlock.startOf(Instant.parse("2024-03-01T16:59:59.999Z"))).isEqualTo(BLOCK_START);
+        assertThat(HeartRateBlock.startOf(BLOCK_START)).isEqualTo(BLOCK_START);
+    }
+}
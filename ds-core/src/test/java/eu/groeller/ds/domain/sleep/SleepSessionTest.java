@@ -0,0 +1,109 @@
+package eu.groeller.ds.domain.sleep;
+
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SleepSessionTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2024, 3, 1, 23, 0, 0, 0, ZoneOffset.ofHours(1));
+
+    @Test
+    void record_MergesSegmentsIntoRunsAndFillsGapsAsAwake() {
+        SleepSession session = new SleepSession(null, LocalDate.of(2024, 3, 2));
+
+        session.record(START, START.plusHours(8), List.of(
+                segment(SleepStage.LIGHT, 15, 60),
+                segment(SleepStage.LIGHT, 60, 90),
+                segment(SleepStage.DEEP, 90, 180),
+                // Ten minutes without data
+                segment(SleepStage.REM, 190, 300),
+                segment(SleepStage.LIGHT, 300, 470)
+        ));
+
+        assertThat(session.runs()).containsExactly(
+                new SleepStageRun(SleepStage.AWAKE, 15 * 60),
+                new SleepStageRun(SleepStage.LIGHT, 75 * 60),
+                new SleepStageRun(SleepStage.DEEP, 90 * 60),
+                new SleepStageRun(SleepStage.AWAKE, 10 * 60),
+                new SleepStageRun(SleepStage.REM, 110 * 60),
+                new SleepStageRun(SleepStage.LIGHT, 170 * 60),
+                new SleepStageRun(SleepStage.AWAKE, 10 * 60)
+        );
+        assertThat(session.getInBedSeconds()).isEqualTo(480 * 60);
+        assertThat(session.getAwakeSeconds()).isEqualTo(35 * 60);
+        assertThat(session.getLightSeconds()).isEqualTo(245 * 60);
+        assertThat(session.getDeepSeconds()).isEqualTo(90 * 60);
+        assertThat(session.getRemSeconds()).isEqualTo(110 * 60);
+        assertThat(session.getAsleepSeconds()).isEqualTo(445 * 60);
+        assertThat(session.getEfficiency()).isEqualTo(445.0 / 480);
+        assertThat(session.getStages()).hasSizeLessThan(24);
+    }
+
+    @Test
+    void record_RoundsBoundariesRelativeToStart() {
+        SleepSession session = new SleepSession(null, LocalDate.of(2024, 3, 2));
+        Instant start = START.toInstant();
+
+        session.record(START, START.plusSeconds(10), List.of(
+                new SleepSegment(SleepStage.LIGHT, start.plusMillis(400), start.plusMillis(3_700)),
+                new SleepSegment(SleepStage.DEEP, start.plusMillis(3_700), start.plusMillis(6_900))
+        ));
+
+        assertThat(session.runs()).containsExactly(
+                new SleepStageRun(SleepStage.LIGHT, 3),
+                new SleepStageRun(SleepStage.DEEP, 3),
+                new SleepStageRun(SleepStage.AWAKE, 4)
+        );
+    }
+
+    @Test
+    void record_WhenSegmentsAreInvalid_ThrowsDSIllegalArgumentException() {
+        SleepSession session = new SleepSession(null, LocalDate.of(2024, 3, 2));
+
+        assertThatThrownBy(() -> session.record(START, START.plusHours(8), List.of(
+                segment(SleepStage.LIGHT, 0, 60), segment(SleepStage.DEEP, 30, 90))))
+                .isInstanceOf(DSIllegalArgumentException.class);
+        assertThatThrownBy(() -> session.record(START, START.plusHours(8), List.of(segment(SleepStage.LIGHT, -5, 60))))
+                .isInstanceOf(DSIllegalArgumentException.class);
+        assertThatThrownBy(() -> session.record(START, START.plusHours(8), List.of(segment(SleepStage.LIGHT, 400, 490))))
+                .isInstanceOf(DSIllegalArgumentException.class);
+        assertThatThrownBy(() -> session.record(START, START.plusHours(25), List.of()))
+                .isInstanceOf(DSIllegalArgumentException.class);
+    }
+
+    @Test
+    void nightTotals_CountTheNightOnceRecorded() {
+        SleepSession session = new SleepSession(null, LocalDate.of(2024, 3, 2));
+        assertThat(session.nightTotals().getNights()).isZero();
+
+        session.record(START, START.plusHours(1), List.of(segment(SleepStage.DEEP, 0, 45)));
+
+        SleepTotals totals = session.nightTotals();
+        assertThat(totals.getNights()).isEqualTo(1);
+        assertThat(totals.getDeepSeconds()).isEqualTo(45 * 60);
+        assertThat(totals.efficiency()).isEqualTo(0.75);
+    }
+
+    @Test
+    void codec_WhenDataIsCorrupt_ThrowsIllegalStateException() {
+        byte[] data = SleepStageCodec.encode(List.of(new SleepStageRun(SleepStage.REM, 600)));
+        byte[] unknownStage = data.clone();
+        unknownStage[2] = 9;
+
+        assertThat(SleepStageCodec.decode(data)).containsExactly(new SleepStageRun(SleepStage.REM, 600));
+        assertThatThrownBy(() -> SleepStageCodec.decode(unknownStage)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static SleepSegment segment(SleepStage stage, int fromMinute, int toMinute) {
+        return new SleepSegment(stage, START.plusMinutes(fromMinute).toInstant(), START.plusMinutes(toMinute).toInstant());
+    }
+}
@@ -0,0 +1,79 @@
+package eu.groeller.ds.domain.track;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrackCodecTest {
+
+    private static final Instant START = Instant.parse("2024-05-04T07:00:00Z");
+
+    @Test
+    void decode_ReturnsEncodedPoints() {
+        List<TrackPoint> points = List.of(
+                new TrackPoint(START, 48.20849, 16.37208, 171.2),
+                new TrackPoint(START.plusSeconds(1), 48.20853, 16.37215, 171.5),
+                new TrackPoint(START.plusSeconds(2), 48.20858, 16.37221, 170.9),
+                // Signal lost in a tunnel, then a different recording interval
+                new TrackPoint(START.plusSeconds(95), 48.21301, 16.37902, 165.0),
+                new TrackPoint(START.plusMillis(100_500), -0.00001, -179.99999, -12.3)
+        );
+
+        assertThat(TrackCodec.decode(TrackCodec.encode(points))).isEqualTo(points);
+    }
+
+    @Test
+    void decode_RoundsToStoredPrecision() {
+        List<TrackPoint> points = List.of(new TrackPoint(START, 48.208494, 16.372076, null));
+
+        assertThat(TrackCodec.decode(TrackCodec.encode(points)))
+                .containsExactly(new TrackPoint(START, 48.20849, 16.37208, null));
+    }
+
+    @Test
+    void encode_RegularPointsTakeAFewBytesEach() {
+        List<TrackPoint> points = new ArrayList<>();
+        for (int i = 0; i < 3_600; i++)
+            points.add(new TrackPoint(START.plusSeconds(i), 48.2 + i * 0.00003, 16.37 + (i % 100) * 0.00002, 170.0 + (i % 50) / 10.0));
+
+        byte[] data = TrackCodec.encode(points);
+
+        assertThat(data.length).isLessThan(5 * 3_600);
+        assertThat(TrackCodec.decode(data)).hasSize(3_600);
+    }
+
+    @Test
+    void encode_WhenPointsAreInvalid_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> TrackCodec.encode(List.of(
+                new TrackPoint(START, 48.2, 16.3, null),
+                new TrackPoint(START, 48.3, 16.3, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TrackCodec.encode(List.of(
+                new TrackPoint(START, 48.2, 16.3, 100.0),
+                new TrackPoint(START.plusSeconds(1), 48.3, 16.3, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decode_WhenDataIsCorrupt_ThrowsIllegalStateException() {
+        byte[] data = TrackCodec.encode(List.of(
+                new TrackPoint(START, 48.2, 16.3, null),
+                new TrackPoint(START.plusSeconds(1), 48.3, 16.3, null)
+        ));
+
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        byte[] trailing = Arrays.copyOf(data, data.length + 1);
+        byte[] unknownVersion = data.clone();
+        unknownVersion[0] = 99;
+
+        assertThatThrownBy(() -> TrackCodec.decode(truncated)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TrackCodec.decode(trailing)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TrackCodec.decode(unknownVersion)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package eu.groeller.ds.domain.track;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TrackSimplifierTest {
+
+    private static final Instant START = Instant.parse("2024-05-04T07:00:00Z");
+    // Meters per degree of latitude
+    private static final double DEGREE = 111_195.08;
+
+    @Test
+    void simplify_DropsPointsWithinToleranceOfStraightLine() {
+        List<TrackPoint> points = new ArrayList<>();
+        // 1km north with up to 2m of jitter, then 1km east
+        for (int i = 0; i <= 100; i++)
+            points.add(point(i, i * 10, (i % 3 - 1) * 2));
+        for (int i = 1; i <= 100; i++)
+            points.add(point(100 + i, 1_000, i * 10));
+
+        List<TrackPoint> simplified = TrackSimplifier.simplify(points, 5);
+
+        assertThat(simplified).containsExactly(points.getFirst(), points.get(100), points.getLast());
+        // The jitter is kept once it exceeds the tolerance
+        assertThat(TrackSimplifier.simplify(points, 1)).hasSizeGreaterThan(60);
+    }
+
+    @Test
+    void simplify_KeepsPointsFartherThanTolerance() {
+        List<TrackPoint> points = List.of(point(0, 0, 0), point(1, 50, 20), point(2, 100, 0));
+
+        assertThat(TrackSimplifier.simplify(points, 19)).hasSize(3);
+        assertThat(TrackSimplifier.simplify(points, 21)).hasSize(2);
+    }
+
+    @Test
+    void toleranceForZoom_IsAPixelAtLatitude() {
+        assertThat(TrackSimplifier.toleranceForZoom(0, 0)).isCloseTo(156_543.03, within(0.01));
+        assertThat(TrackSimplifier.toleranceForZoom(15, 60)).isCloseTo(2.39, within(0.01));
+        assertThatThrownBy(() -> TrackSimplifier.toleranceForZoom(23, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void zoomForTolerance_RoundsDownToZoomLevelAndClampsToFinest() {
+        assertThat(TrackSimplifier.zoomForTolerance(200_000, 0)).isZero();
+        assertThat(TrackSimplifier.zoomForTolerance(10, 0)).isEqualTo(14);
+        assertThat(TrackSimplifier.zoomForTolerance(TrackSimplifier.toleranceForZoom(14, 0), 0)).isEqualTo(14);
+        assertThat(TrackSimplifier.zoomForTolerance(0, 0)).isEqualTo(TrackSimplifier.MAX_ZOOM);
+        assertThatThrownBy(() -> TrackSimplifier.zoomForTolerance(-1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void polyline_EncodesLikeMapSdks() {
+        // Reference example of the encoded polyline algorithm format
+        List<TrackPoint> points = List.of(
+                new TrackPoint(START, 38.5, -120.2, null),
+                new TrackPoint(START, 40.7, -120.95, null),
+                new TrackPoint(START, 43.252, -126.453, null)
+        );
+
+        assertThat(Polyline.encode(points)).isEqualTo("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+    }
+
+    // Meters north and east of 0/0, on the equator where both are the same scale
+    private static TrackPoint point(int second, double north, double east) {
+        return new TrackPoint(START.plusSeconds(second), north / DEGREE, east / DEGREE, null);
+    }
+}
@@ -0,0 +1,72 @@
+package eu.groeller.ds.domain.track;
+
+import eu.groeller.ds.domain.exercise.Split;
+import eu.groeller.ds.domain.exercise.SplitCodec;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrackSummaryTest {
+
+    private static final Instant START = Instant.parse("2024-05-04T07:00:00Z");
+    private static final double DEGREE = 111_195.08;
+
+    @Test
+    void summary_ComputesDistanceDurationAndThumbnail() {
+        // 2480m north at 4 m/s
+        List<TrackPoint> points = run(62, 40, 10, null);
+
+        TrackSummary summary = new TrackSummary(points);
+
+        assertThat(summary.getPointCount()).isEqualTo(63);
+        assertThat(summary.getDistanceMeters()).isCloseTo(2_480, within(0.5));
+        assertThat(summary.getDurationMillis()).isEqualTo(620_000);
+        assertThat(summary.getElevationGainMeters()).isNull();
+        // A straight line is two points
+        assertThat(summary.getThumbnail()).isEqualTo(Polyline.encode(List.of(points.getFirst(), points.getLast())));
+    }
+
+    @Test
+    void summary_IgnoresElevationJitterBelowThreshold() {
+        List<Double> elevations = List.of(100.0, 101.0, 99.5, 100.5, 104.0, 108.0, 107.0, 109.0, 103.0, 102.0);
+        List<TrackPoint> points = new ArrayList<>();
+        for (int i = 0; i < elevations.size(); i++)
+            points.add(new TrackPoint(START.plusSeconds(i), i * 10 / DEGREE, 0, elevations.get(i)));
+
+        TrackSummary summary = new TrackSummary(points);
+
+        // 100 -> 104 -> 108 -> 103, the 107/109 wiggle and the rest are noise
+        assertThat(summary.getElevationGainMeters()).isEqualTo(8.0);
+        assertThat(summary.getElevationLossMeters()).isEqualTo(5.0);
+    }
+
+    @Test
+    void splits_InterpolateBoundariesAndKeepPartialSplit() {
+        List<TrackPoint> points = run(62, 40, 10, null);
+
+        List<Split> splits = TrackSplits.compute(points, 1_000);
+
+        assertThat(splits).hasSize(3);
+        assertThat(splits.get(0).durationMillis()).isCloseTo(250_000, within(5L));
+        assertThat(splits.get(1).durationMillis()).isCloseTo(250_000, within(5L));
+        assertThat(splits.get(2).distanceMeters()).isCloseTo(480, within(0.5));
+        assertThat(splits.get(2).durationMillis()).isCloseTo(120_000, within(5L));
+
+        List<Split> decoded = SplitCodec.decode(SplitCodec.encode(splits, 1_000), 1_000);
+        assertThat(decoded).hasSize(3);
+        assertThat(decoded.get(0)).isEqualTo(splits.get(0));
+        assertThat(decoded.get(2).distanceMeters()).isCloseTo(480, within(0.1));
+    }
+
+    private static List<TrackPoint> run(int segments, double metersPerSegment, int secondsPerSegment, Double elevation) {
+        List<TrackPoint> points = new ArrayList<>();
+        for (int i = 0; i <= segments; i++)
+            points.add(new TrackPoint(START.plusSeconds((long) i * secondsPerSegment), i * metersPerSegment / DEGREE, 0, elevation));
+        return points;
+    }
+}
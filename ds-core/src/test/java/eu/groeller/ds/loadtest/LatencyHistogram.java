@@ -0,0 +1,60 @@
+package eu.groeller.ds.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Raw latency samples of one operation. Not thread-safe, every client records into its own histograms, which are
+ * merged once the run is over.
+ */
+class LatencyHistogram {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+    private int rejected;
+
+    void record(long nanos, int status) {
+        if (count == samples.length)
+            samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = nanos;
+
+        if (status == 503)
+            rejected++;
+        else if (status < 200 || status >= 300)
+            errors++;
+    }
+
+    void merge(LatencyHistogram other) {
+        for (int i = 0; i < other.count; i++) {
+            if (count == samples.length)
+                samples = Arrays.copyOf(samples, Math.max(count * 2, count + other.count));
+            samples[count++] = other.samples[i];
+        }
+        errors += other.errors;
+        rejected += other.rejected;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    int rejected() {
+        return rejected;
+    }
+
+    /**
+     * @param percentile between 0 and 1, nearest-rank
+     */
+    double percentileMillis(double percentile) {
+        if (count == 0)
+            return 0;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * count);
+        return sorted[Math.clamp(rank - 1, 0, count - 1)] / 1e6;
+    }
+}
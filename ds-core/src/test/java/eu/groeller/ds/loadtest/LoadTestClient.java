@@ -0,0 +1,93 @@
+package eu.groeller.ds.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+
+/**
+ * Thin JSON client of the running application. Every call reports its status and wall-clock latency, failures
+ * are returned rather than thrown so the load test can count them.
+ */
+class LoadTestClient {
+
+    private static final int MAX_RETRIES = 20;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+
+    LoadTestClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+    }
+
+    Response get(String path, String token) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), token);
+    }
+
+    Response post(String path, Object body, String token) {
+        try {
+            return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))), token);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Retries requests shed by the bulkheads, for seeding where every request has to go through.
+     */
+    Response postRetrying(String path, Object body, String token) {
+        Response response = post(path, body, token);
+        for (int attempt = 1; response.status() == 503 && attempt <= MAX_RETRIES; attempt++) {
+            try {
+                Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return response;
+            }
+            response = post(path, body, token);
+        }
+        return response;
+    }
+
+    private Response send(HttpRequest.Builder request, String token) {
+        if (token != null)
+            request.header("Authorization", "Bearer " + token);
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body(), System.nanoTime() - start);
+        } catch (IOException e) {
+            return new Response(-1, e.toString(), System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, e.toString(), System.nanoTime() - start);
+        }
+    }
+
+    record Response(int status, String body, long nanos) {
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode json(ObjectMapper objectMapper) {
+            try {
+                return objectMapper.readTree(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Not a JSON response [" + status + "]: " + body, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package eu.groeller.ds.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parameters of a load test run, read from {@code loadtest.*} system properties, e.g.
+ * {@code mvn test -Ploadtest -Dloadtest.users=200 -Dloadtest.duration=PT2M -Dloadtest.mix=history=80,create=20}.
+ */
+record LoadTestSettings(
+        int users,
+        int workoutsPerUser,
+        int clients,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        Map<Operation, Integer> mix
+) {
+
+    static final String DEFAULT_MIX = "register=1,login=4,create=15,history=60,picker=20";
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 50),
+                Integer.getInteger("loadtest.workouts-per-user", 30),
+                Integer.getInteger("loadtest.clients", 32),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                Long.getLong("loadtest.seed", 42L),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX))
+        );
+    }
+
+    /**
+     * @param mix comma separated {@code operation=weight} pairs, operations left out are not issued
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2)
+                throw new IllegalArgumentException("Invalid traffic mix entry [" + entry + "], expected operation=weight");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    enum Operation {
+        REGISTER,
+        LOGIN,
+        CREATE,
+        HISTORY,
+        PICKER
+    }
+}
@@ -0,0 +1,386 @@
+package eu.groeller.ds.loadtest;
+
+import eu.groeller.ds.presentation.request.exercise.CreateWorkoutRequest;
+import eu.groeller.ds.presentation.request.exercise.ExerciseRecordRequest;
+import eu.groeller.ds.presentation.request.exercise.ExerciseSetRequest;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulk-loads a synthetic dataset straight into PostgreSQL, bypassing the API and JPA: users with the training
+ * histories of {@link WorkoutGenerator}, the workout types and exercise definitions they use, their workouts,
+ * exercise records and sets. Users are split into batches that {@link Spec#streams()} connections load in
+ * parallel, one {@code COPY ... FROM STDIN} per table and batch. Ids are reserved from the tables' sequences
+ * up front, so rows reference each other without a round trip.
+ * <p>
+ * The same {@link Spec} always produces the same rows, only the ids depend on the sequences' state. The
+ * dataset of a seed can be loaded once per database, generated usernames contain the seed.
+ */
+public class SyntheticDataGenerator {
+
+    // Upper bound of workouts generated and copied per transaction, keeps memory flat for deep histories
+    private static final int WORKOUTS_PER_BATCH = 10_000;
+    private static final String NULL = "\\N";
+
+    private static final String COPY_USERS = "COPY users (id, version, created_at, username, email, password) FROM STDIN";
+    private static final String COPY_WORKOUTS = """
+            COPY workout (id, version, created_at, user_id, duration, start_time, end_time, workout_type_id) FROM STDIN""";
+    private static final String COPY_RECORDS = """
+            COPY exercise_record (id, version, created_at, exercise_definition_id, workout_id, start_time, end_time, order_index) FROM STDIN""";
+    private static final String COPY_SET_BASED = "COPY set_based_exercise_record (id) FROM STDIN";
+    private static final String COPY_DISTANCE = """
+            COPY distance_exercise_record (id, distance, distance_unit, duration, weight_kg) FROM STDIN""";
+    private static final String COPY_SETS = """
+            COPY exercise_set (id, version, created_at, start_time, end_time, failure, weight_kg, repetitions,
+                               partial_repetitions, order_index, exercise_record_id) FROM STDIN""";
+
+    private final DataSource dataSource;
+    private final ReentrantLock idLock = new ReentrantLock();
+
+    public SyntheticDataGenerator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public static String username(long seed, int userIndex) {
+        return "synthetic-" + seed + "-" + userIndex;
+    }
+
+    public static String email(long seed, int userIndex) {
+        return username(seed, userIndex) + "@synthetic.local";
+    }
+
+    public Result generate(Spec spec) throws SQLException, InterruptedException {
+        long start = System.nanoTime();
+        Map<String, Long> workoutTypeIds;
+        Map<String, Long> definitionIds;
+        Sequences sequences;
+        try (Connection connection = dataSource.getConnection()) {
+            if (exists(connection, username(spec.seed(), 0)))
+                throw new IllegalStateException("Synthetic dataset for seed " + spec.seed() + " is already loaded");
+            workoutTypeIds = upsertWorkoutTypes(connection);
+            definitionIds = upsertDefinitions(connection);
+            sequences = new Sequences(
+                    sequence(connection, "users"), sequence(connection, "workout"),
+                    sequence(connection, "exercise_record"), sequence(connection, "exercise_set"));
+        }
+
+        Batch batch = new Batch(spec, new WorkoutGenerator(spec.seed(), definitionIds), workoutTypeIds, sequences);
+        int usersPerBatch = Math.max(1, WORKOUTS_PER_BATCH / Math.max(1, spec.workoutsPerUser()));
+        int batches = (spec.users() + usersPerBatch - 1) / usersPerBatch;
+        AtomicInteger nextBatch = new AtomicInteger();
+
+        List<Future<?>> streams = new ArrayList<>(spec.streams());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < Math.min(spec.streams(), batches); i++) {
+                streams.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        for (int next = nextBatch.getAndIncrement(); next < batches; next = nextBatch.getAndIncrement()) {
+                            int from = next * usersPerBatch;
+                            batch.load(connection, from, Math.min(spec.users(), from + usersPerBatch));
+                        }
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> stream : streams) {
+            try {
+                stream.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SQLException sqlException)
+                    throw sqlException;
+                throw new IllegalStateException("Loading synthetic data failed", e.getCause());
+            }
+        }
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users, workout, exercise_record, set_based_exercise_record, distance_exercise_record, exercise_set");
+        }
+
+        return new Result(workoutTypeIds, definitionIds, spec.users(), batch.workouts.get(), batch.records.get(),
+                batch.sets.get(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static boolean exists(Connection connection, String username) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM users WHERE username = ?")) {
+            statement.setString(1, username);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    // Types and definitions may already exist, e.g. when several seeds are loaded into the same database
+    private static Map<String, Long> upsertWorkoutTypes(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO workout_type (version, created_at, name) VALUES (0, now(), ?) ON CONFLICT (name) DO NOTHING")) {
+            for (String type : WorkoutGenerator.WORKOUT_TYPES) {
+                statement.setString(1, type);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return ids(connection, "SELECT name, id FROM workout_type");
+    }
+
+    private static Map<String, Long> upsertDefinitions(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO exercise_definition (version, created_at, name, type) VALUES (0, now(), ?, ?) ON CONFLICT (name, type) DO NOTHING")) {
+            for (WorkoutGenerator.ExerciseTemplate exercise : WorkoutGenerator.EXERCISES) {
+                statement.setString(1, exercise.name());
+                statement.setString(2, exercise.type().name());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM exercise_definition WHERE name = ? AND type = ?")) {
+            for (WorkoutGenerator.ExerciseTemplate exercise : WorkoutGenerator.EXERCISES) {
+                statement.setString(1, exercise.name());
+                statement.setString(2, exercise.type().name());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    ids.put(exercise.name(), resultSet.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static Map<String, Long> ids(Connection connection, String sql) throws SQLException {
+        Map<String, Long> ids = new HashMap<>();
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                ids.put(resultSet.getString(1), resultSet.getLong(2));
+            }
+        }
+        return ids;
+    }
+
+    private static String sequence(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_get_serial_sequence(?, 'id')")) {
+            statement.setString(1, table);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids. The lock keeps the streams from interleaving between
+     * {@code nextval} and {@code setval}, the application must not insert into the table meanwhile.
+     *
+     * @return the first reserved id
+     */
+    private long reserveIds(Connection connection, String sequence, long count) throws SQLException {
+        if (count == 0)
+            return 0;
+        idLock.lock();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT setval(?::regclass, nextval(?::regclass) + ? - 1)")) {
+            statement.setString(1, sequence);
+            statement.setString(2, sequence);
+            statement.setLong(3, count);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1) - count + 1;
+            }
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    /**
+     * @param users           number of users to create
+     * @param workoutsPerUser depth of every user's history
+     * @param end             the histories end before this point in time
+     * @param streams         connections loading in parallel
+     * @param passwordHash    stored for every user, the default matches no password
+     */
+    public record Spec(int users, int workoutsPerUser, long seed, OffsetDateTime end, int streams, String passwordHash) {
+
+        private static final String NO_PASSWORD = "!";
+
+        public Spec {
+            if (users < 1 || workoutsPerUser < 0 || streams < 1)
+                throw new IllegalArgumentException("Invalid synthetic data spec: " + users + " users, "
+                        + workoutsPerUser + " workouts per user, " + streams + " streams");
+        }
+
+        /**
+         * Histories ending today (UTC), loaded by four streams.
+         */
+        public static Spec of(int users, int workoutsPerUser, long seed) {
+            return new Spec(users, workoutsPerUser, seed, OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS), 4, NO_PASSWORD);
+        }
+
+        public Spec withEnd(OffsetDateTime end) {
+            return new Spec(users, workoutsPerUser, seed, end, streams, passwordHash);
+        }
+
+        public Spec withStreams(int streams) {
+            return new Spec(users, workoutsPerUser, seed, end, streams, passwordHash);
+        }
+
+        public Spec withPasswordHash(String passwordHash) {
+            return new Spec(users, workoutsPerUser, seed, end, streams, passwordHash);
+        }
+    }
+
+    public record Result(
+            Map<String, Long> workoutTypeIds,
+            Map<String, Long> definitionIds,
+            long users,
+            long workouts,
+            long records,
+            long sets,
+            Duration elapsed
+    ) {
+    }
+
+    private record Sequences(String users, String workouts, String records, String sets) {
+    }
+
+    private record UserHistory(int index, List<CreateWorkoutRequest> workouts) {
+    }
+
+    private class Batch {
+        private final Spec spec;
+        private final WorkoutGenerator generator;
+        private final Map<String, Long> workoutTypeIds;
+        private final Sequences sequences;
+        private final AtomicLong workouts = new AtomicLong();
+        private final AtomicLong records = new AtomicLong();
+        private final AtomicLong sets = new AtomicLong();
+
+        Batch(Spec spec, WorkoutGenerator generator, Map<String, Long> workoutTypeIds, Sequences sequences) {
+            this.spec = spec;
+            this.generator = generator;
+            this.workoutTypeIds = workoutTypeIds;
+            this.sequences = sequences;
+        }
+
+        void load(Connection connection, int fromUser, int toUser) throws SQLException, IOException {
+            List<UserHistory> histories = new ArrayList<>(toUser - fromUser);
+            long workoutCount = 0, recordCount = 0, setCount = 0;
+            for (int index = fromUser; index < toUser; index++) {
+                List<CreateWorkoutRequest> history = generator.history(generator.profile(index), spec.workoutsPerUser(), spec.end());
+                histories.add(new UserHistory(index, history));
+                for (CreateWorkoutRequest workout : history) {
+                    workoutCount++;
+                    for (ExerciseRecordRequest record : workout.exercises()) {
+                        recordCount++;
+                        if (record.details().sets() != null)
+                            setCount += record.details().sets().size();
+                    }
+                }
+            }
+
+            long userId = reserveIds(connection, sequences.users(), histories.size());
+            long workoutId = reserveIds(connection, sequences.workouts(), workoutCount);
+            long recordId = reserveIds(connection, sequences.records(), recordCount);
+            long setId = reserveIds(connection, sequences.sets(), setCount);
+
+            CopyRows userRows = new CopyRows(), workoutRows = new CopyRows(), recordRows = new CopyRows(),
+                    setBasedRows = new CopyRows(), distanceRows = new CopyRows(), setRows = new CopyRows();
+            for (UserHistory user : histories) {
+                OffsetDateTime registeredAt = user.workouts().isEmpty() ? spec.end() : user.workouts().getFirst().startTime().minusDays(1);
+                userRows.row(userId, 0, registeredAt, username(spec.seed(), user.index()), email(spec.seed(), user.index()), spec.passwordHash());
+
+                for (CreateWorkoutRequest workout : user.workouts()) {
+                    // Same end time and duration the Workout constructor derives
+                    OffsetDateTime end = workout.exercises().getLast().endTime().isAfter(workout.endTime())
+                            ? workout.exercises().getLast().endTime() : workout.endTime();
+                    workoutRows.row(workoutId, 0, end, userId, Duration.between(workout.startTime(), end).toMillis(),
+                            workout.startTime(), end, workoutTypeIds.get(workout.type()));
+
+                    for (ExerciseRecordRequest record : workout.exercises()) {
+                        recordRows.row(recordId, 0, end, record.exerciseDefinitionId(), workoutId, record.startTime(), record.endTime(), record.order());
+                        List<ExerciseSetRequest> recordSets = record.details().sets();
+                        if (recordSets == null) {
+                            distanceRows.row(recordId, record.details().distance(), record.details().distanceUnit(),
+                                    Duration.between(record.startTime(), record.endTime()).toMillis(), record.details().weightKg());
+                        } else {
+                            setBasedRows.row(recordId);
+                            for (ExerciseSetRequest set : recordSets) {
+                                setRows.row(setId++, 0, end, set.startTime(), set.endTime(), set.isFailure(), set.weight(), set.repetitions(),
+                                        set.isFailure() ? set.partialRepetitions() : null, set.order(), recordId);
+                            }
+                        }
+                        recordId++;
+                    }
+                    workoutId++;
+                }
+                userId++;
+            }
+
+            // Tables in foreign key order, a batch is either loaded completely or not at all
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            connection.setAutoCommit(false);
+            try {
+                copy.copyIn(COPY_USERS, userRows.reader());
+                copy.copyIn(COPY_WORKOUTS, workoutRows.reader());
+                copy.copyIn(COPY_RECORDS, recordRows.reader());
+                copy.copyIn(COPY_SET_BASED, setBasedRows.reader());
+                copy.copyIn(COPY_DISTANCE, distanceRows.reader());
+                copy.copyIn(COPY_SETS, setRows.reader());
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+            workouts.addAndGet(workoutCount);
+            records.addAndGet(recordCount);
+            sets.addAndGet(setCount);
+        }
+    }
+
+    /**
+     * Rows in the text format of {@code COPY}: tab separated, {@code \N} for null. Generated values contain
+     * neither tabs, newlines nor backslashes, so nothing needs escaping.
+     */
+    private static class CopyRows {
+        private final StringBuilder rows = new StringBuilder();
+
+        void row(Object... values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    rows.append('\t');
+                rows.append(values[i] == null ? NULL : values[i]);
+            }
+            rows.append('\n');
+        }
+
+        StringReader reader() {
+            return new StringReader(rows.toString());
+        }
+    }
+}
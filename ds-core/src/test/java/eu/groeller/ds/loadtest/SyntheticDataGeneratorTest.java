@@ -0,0 +1,113 @@
+package eu.groeller.ds.loadtest;
+
+import eu.groeller.ds.config.TestContainersConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(TestContainersConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyntheticDataGeneratorTest {
+
+    private static final OffsetDateTime END = OffsetDateTime.parse("2026-10-19T00:00:00Z");
+
+    // Everything but ids, in an order that does not depend on them
+    private static final String FINGERPRINT = """
+            SELECT md5(string_agg(concat_ws(',', u.created_at, w.start_time, w.end_time, w.duration, t.name, r.order_index,
+                                            d.name, r.start_time, r.end_time, dr.distance, dr.duration, s.order_index,
+                                            s.start_time, s.repetitions, s.weight_kg, s.failure, s.partial_repetitions),
+                              ';' ORDER BY u.username, w.start_time, r.order_index, s.order_index))
+            FROM users u
+            JOIN workout w ON w.user_id = u.id
+            JOIN workout_type t ON t.id = w.workout_type_id
+            JOIN exercise_record r ON r.workout_id = w.id
+            JOIN exercise_definition d ON d.id = r.exercise_definition_id
+            LEFT JOIN distance_exercise_record dr ON dr.id = r.id
+            LEFT JOIN exercise_set s ON s.exercise_record_id = r.id
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private SyntheticDataGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        truncate();
+        generator = new SyntheticDataGenerator(dataSource);
+    }
+
+    @Test
+    void generate_LoadsRequestedVolume() throws Exception {
+        SyntheticDataGenerator.Result result = generator.generate(SyntheticDataGenerator.Spec.of(25, 12, 7).withEnd(END));
+
+        assertThat(result.users()).isEqualTo(25);
+        assertThat(result.workouts()).isEqualTo(25 * 12);
+        assertThat(count("users")).isEqualTo(25);
+        assertThat(count("workout")).isEqualTo(25 * 12);
+        assertThat(count("exercise_record")).isEqualTo(result.records());
+        assertThat(count("set_based_exercise_record") + count("distance_exercise_record")).isEqualTo(result.records());
+        assertThat(count("exercise_set")).isEqualTo(result.sets()).isGreaterThan(result.records());
+        assertThat(count("workout_type")).isEqualTo(WorkoutGenerator.WORKOUT_TYPES.size());
+        assertThat(count("exercise_definition")).isEqualTo(WorkoutGenerator.EXERCISES.size());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT max(end_time) < ? FROM workout", Boolean.class, END)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT email FROM users WHERE username = ?", String.class,
+                SyntheticDataGenerator.username(7, 3))).isEqualTo(SyntheticDataGenerator.email(7, 3));
+    }
+
+    @Test
+    void generate_IsDeterministicBySeed() throws Exception {
+        generator.generate(SyntheticDataGenerator.Spec.of(30, 8, 7).withEnd(END).withStreams(1));
+        String sequential = fingerprint();
+
+        truncate();
+        generator.generate(SyntheticDataGenerator.Spec.of(30, 8, 7).withEnd(END).withStreams(3));
+        String parallel = fingerprint();
+
+        truncate();
+        generator.generate(SyntheticDataGenerator.Spec.of(30, 8, 8).withEnd(END));
+        String otherSeed = fingerprint();
+
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(otherSeed).isNotEqualTo(sequential);
+    }
+
+    @Test
+    void generate_WhenSeedAlreadyLoaded_Throws() throws Exception {
+        generator.generate(SyntheticDataGenerator.Spec.of(2, 1, 7));
+
+        assertThatThrownBy(() -> generator.generate(SyntheticDataGenerator.Spec.of(2, 1, 7)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(count("users")).isEqualTo(2);
+    }
+
+    private void truncate() {
+        jdbcTemplate.execute("TRUNCATE users, workout_type, exercise_definition RESTART IDENTITY CASCADE");
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    private String fingerprint() {
+        return jdbcTemplate.queryForObject(FINGERPRINT, String.class);
+    }
+}
@@ -0,0 +1,39 @@
+package eu.groeller.ds.loadtest;
+
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks the next operation of a simulated client according to the configured weights.
+ */
+class TrafficMix {
+
+    private final LoadTestSettings.Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    TrafficMix(Map<LoadTestSettings.Operation, Integer> weights) {
+        this.operations = new LoadTestSettings.Operation[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+
+        int i = 0;
+        int total = 0;
+        for (var entry : weights.entrySet()) {
+            if (entry.getValue() < 0)
+                throw new IllegalArgumentException("Negative weight for " + entry.getKey());
+            total += entry.getValue();
+            operations[i] = entry.getKey();
+            cumulativeWeights[i++] = total;
+        }
+        if (total == 0)
+            throw new IllegalArgumentException("Traffic mix needs at least one positive weight");
+    }
+
+    LoadTestSettings.Operation next(RandomGenerator random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i])
+                return operations[i];
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
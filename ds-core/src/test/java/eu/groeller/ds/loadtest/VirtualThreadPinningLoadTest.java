@@ -0,0 +1,176 @@
+package eu.groeller.ds.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.configuration.diagnostics.VirtualThreadPinningMonitor;
+import eu.groeller.ds.domain.exercise.ExerciseType;
+import eu.groeller.ds.presentation.request.exercise.CreateExerciseDefinitionRequest;
+import eu.groeller.ds.presentation.request.exercise.CreateWorkoutRequest;
+import eu.groeller.ds.presentation.request.exercise.CreateWorkoutTypeRequest;
+import eu.groeller.ds.presentation.request.exercise.ExerciseRecordDetailsRequest;
+import eu.groeller.ds.presentation.request.exercise.ExerciseRecordRequest;
+import eu.groeller.ds.presentation.request.exercise.ExerciseSetRequest;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@code POST /api/v1/workouts} and {@code GET /api/v1/workouts} through the embedded Tomcat, which serves
+ * every request on its own virtual thread, at increasing client concurrency while JFR records every pin. Fails if
+ * a pin originates in our own code, or if more clients do not raise the throughput: requests serialized on pinned
+ * carriers would not scale. Runs on the embedded database with {@code -Ploadtest}.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "application.pinning-diagnostics.enabled=true",
+                "application.pinning-diagnostics.threshold=0ms",
+                "application.bulkhead.enabled=false",
+                "spring.jpa.show-sql=false",
+                "logging.level.eu.groeller.ds=INFO"
+        }
+)
+class VirtualThreadPinningLoadTest {
+
+    private static final int[] CONCURRENCY_LEVELS = {1, 4, 16, 64};
+    private static final int REQUESTS_PER_LEVEL = 128;
+    // Well below what the embedded database reaches, the history read gets slower with every level
+    private static final double MIN_THROUGHPUT_GAIN = 1.5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    private final HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+    private String authToken;
+    private String workoutType;
+    private long exerciseDefinitionId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        String email = "load" + suffix + "@example.com";
+        send("POST", "/api/v1/users/register", new UserRequest("load" + suffix, email, "password123"));
+        authToken = objectMapper.readTree(send("POST", "/api/v1/users/login", new UserLoginRequest(email, "password123")).body())
+                .get("token").asText();
+
+        workoutType = objectMapper.readTree(send("POST", "/api/v1/workouts/workout-type", new CreateWorkoutTypeRequest("Load " + suffix)).body())
+                .get("name").asText();
+        exerciseDefinitionId = objectMapper.readTree(send("POST", "/api/v1/exercises/create",
+                        new CreateExerciseDefinitionRequest("Squat " + suffix, ExerciseType.SETS_REPS)).body())
+                .get("id").asLong();
+
+        // Warm up class loading and the JIT, pins during startup are not the request path's fault
+        runLevel(4, 64);
+        pinningMonitor.clear();
+    }
+
+    @Test
+    void workoutEndpoints_DoNotPinCarrierThreads() throws Exception {
+        double[] throughput = new double[CONCURRENCY_LEVELS.length];
+        System.out.printf("%11s %10s %8s %8s%n", "concurrency", "req/s", "p50 ms", "p99 ms");
+        for (int level = 0; level < CONCURRENCY_LEVELS.length; level++) {
+            long start = System.nanoTime();
+            long[] latencies = runLevel(CONCURRENCY_LEVELS[level], REQUESTS_PER_LEVEL);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            throughput[level] = latencies.length / seconds;
+            System.out.printf("%11d %10.0f %8.1f %8.1f%n", CONCURRENCY_LEVELS[level], throughput[level],
+                    percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99));
+        }
+
+        VirtualThreadPinningMonitor.PinningReport report = pinningMonitor.report();
+        System.out.printf("Pinned virtual threads: %d %s%n", report.totalEvents(), report.countByCulprit());
+        assertThat(report.countByCulprit().keySet())
+                .as("Pins caused by ds-core, see the recorded stack traces:%n%s", report.recent())
+                .noneMatch(culprit -> culprit.startsWith("eu.groeller.ds."));
+        assertThat(Arrays.stream(throughput).max().orElseThrow() / throughput[0])
+                .as("Best throughput with concurrent clients relative to one client")
+                .isGreaterThanOrEqualTo(MIN_THROUGHPUT_GAIN);
+    }
+
+    // Every client alternates between creating a workout and reading the history
+    private long[] runLevel(int concurrency, int requests) throws Exception {
+        int perClient = requests / concurrency;
+        List<Future<long[]>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[perClient];
+                    for (int i = 0; i < perClient; i++) {
+                        long start = System.nanoTime();
+                        HttpResponse<String> response = i % 2 == 0
+                                ? send("POST", "/api/v1/workouts", workout())
+                                : send("GET", "/api/v1/workouts", null);
+                        latencies[i] = System.nanoTime() - start;
+                        assertThat(response.statusCode()).as(response.body()).isBetween(200, 299);
+                    }
+                    return latencies;
+                }));
+            }
+        }
+
+        long[] all = new long[perClient * concurrency];
+        for (int c = 0; c < clients.size(); c++) {
+            System.arraycopy(clients.get(c).get(), 0, all, c * perClient, perClient);
+        }
+        return all;
+    }
+
+    private CreateWorkoutRequest workout() {
+        OffsetDateTime start = OffsetDateTime.now();
+        return new CreateWorkoutRequest(
+                List.of(new ExerciseRecordRequest(
+                        exerciseDefinitionId,
+                        start,
+                        start.plusMinutes(30),
+                        new ExerciseRecordDetailsRequest(null, null, null,
+                                List.of(new ExerciseSetRequest(start, start.plusMinutes(1), false, 10, 0, 80.0, 1)),
+                                80.0),
+                        1
+                )),
+                workoutType,
+                start,
+                start.plusHours(1)
+        );
+    }
+
+    private HttpResponse<String> send(String method, String path, Object body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (authToken != null)
+            request.header("Authorization", "Bearer " + authToken);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,158 @@
+package eu.groeller.ds.loadtest;
+
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+import eu.groeller.ds.domain.exercise.ExerciseType;
+import eu.groeller.ds.presentation.request.exercise.CreateWorkoutRequest;
+import eu.groeller.ds.presentation.request.exercise.ExerciseRecordDetailsRequest;
+import eu.groeller.ds.presentation.request.exercise.ExerciseRecordRequest;
+import eu.groeller.ds.presentation.request.exercise.ExerciseSetRequest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Produces plausible training histories. Every user gets a strength level, a running pace and a weekly training
+ * frequency. Their workouts follow a push/pull/legs/run split with 3-5 sets per exercise, repetitions around
+ * ten, weights progressing slowly over time and runs of varying length. The same seed and user index always
+ * yield the same history.
+ */
+class WorkoutGenerator {
+
+    static final List<String> WORKOUT_TYPES = List.of("Push", "Pull", "Legs", "Run", "Full Body");
+
+    // Bodyweight exercises have a base weight of 0, distance exercises a typical distance in km instead
+    static final List<ExerciseTemplate> EXERCISES = List.of(
+            new ExerciseTemplate("Bench Press", ExerciseType.SETS_REPS, "Push", 60),
+            new ExerciseTemplate("Overhead Press", ExerciseType.SETS_REPS, "Push", 40),
+            new ExerciseTemplate("Incline Dumbbell Press", ExerciseType.SETS_REPS, "Push", 24),
+            new ExerciseTemplate("Dip", ExerciseType.SETS_REPS, "Push", 0),
+            new ExerciseTemplate("Deadlift", ExerciseType.SETS_REPS, "Pull", 100),
+            new ExerciseTemplate("Barbell Row", ExerciseType.SETS_REPS, "Pull", 60),
+            new ExerciseTemplate("Pull Up", ExerciseType.SETS_REPS, "Pull", 0),
+            new ExerciseTemplate("Biceps Curl", ExerciseType.SETS_REPS, "Pull", 14),
+            new ExerciseTemplate("Squat", ExerciseType.SETS_REPS, "Legs", 80),
+            new ExerciseTemplate("Romanian Deadlift", ExerciseType.SETS_REPS, "Legs", 70),
+            new ExerciseTemplate("Leg Press", ExerciseType.SETS_REPS, "Legs", 120),
+            new ExerciseTemplate("Calf Raise", ExerciseType.SETS_REPS, "Legs", 60),
+            new ExerciseTemplate("Easy Run", ExerciseType.DISTANCE, "Run", 6),
+            new ExerciseTemplate("Tempo Run", ExerciseType.DISTANCE, "Run", 8),
+            new ExerciseTemplate("Long Run", ExerciseType.DISTANCE, "Run", 16)
+    );
+
+    private final long seed;
+    private final Map<String, Long> definitionIds;
+
+    /**
+     * @param definitionIds ids of the {@link #EXERCISES} by name, as created in the database under test
+     */
+    WorkoutGenerator(long seed, Map<String, Long> definitionIds) {
+        this.seed = seed;
+        this.definitionIds = definitionIds;
+    }
+
+    UserProfile profile(int userIndex) {
+        RandomGenerator random = random(userIndex, -1);
+        return new UserProfile(
+                userIndex,
+                Math.exp(random.nextGaussian(0, 0.25)),
+                Math.clamp(random.nextGaussian(330, 45), 240, 480),
+                2 + random.nextInt(4)
+        );
+    }
+
+    /**
+     * @return {@code count} workouts of the user, spread evenly over the weeks before {@code end}, oldest first
+     */
+    List<CreateWorkoutRequest> history(UserProfile user, int count, OffsetDateTime end) {
+        double daysBetween = 7.0 / user.sessionsPerWeek();
+        OffsetDateTime first = end.minusHours(Math.round(count * daysBetween * 24));
+
+        List<CreateWorkoutRequest> workouts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OffsetDateTime day = first.plusHours(Math.round(i * daysBetween * 24)).truncatedTo(ChronoUnit.DAYS);
+            workouts.add(workout(user, i, day));
+        }
+        return workouts;
+    }
+
+    /**
+     * @param sequence position of the workout in the user's history, drives progression and the split
+     */
+    CreateWorkoutRequest workout(UserProfile user, int sequence, OffsetDateTime day) {
+        RandomGenerator random = random(user.index(), sequence);
+        String type = WORKOUT_TYPES.get(sequence % WORKOUT_TYPES.size());
+        // Roughly half a percent stronger per week of training
+        double progression = 1 + 0.005 * sequence * 7.0 / user.sessionsPerWeek();
+
+        OffsetDateTime start = day.withOffsetSameInstant(ZoneOffset.UTC).withHour(6 + random.nextInt(14)).withMinute(random.nextInt(60));
+        OffsetDateTime cursor = start;
+        List<ExerciseRecordRequest> records = new ArrayList<>();
+        for (ExerciseTemplate exercise : pickExercises(type, random)) {
+            ExerciseRecordRequest record = exercise.type() == ExerciseType.DISTANCE
+                    ? distanceRecord(exercise, user, random, cursor, records.size())
+                    : setBasedRecord(exercise, user, progression, random, cursor, records.size());
+            records.add(record);
+            cursor = record.endTime().plusMinutes(2);
+        }
+
+        return new CreateWorkoutRequest(records, type, start, cursor);
+    }
+
+    private List<ExerciseTemplate> pickExercises(String type, RandomGenerator random) {
+        List<ExerciseTemplate> candidates = new ArrayList<>(EXERCISES.stream()
+                .filter(exercise -> type.equals("Full Body") ? exercise.type() != ExerciseType.DISTANCE : exercise.workoutType().equals(type))
+                .toList());
+        int count = type.equals("Run") ? 1 : Math.min(candidates.size(), 3 + random.nextInt(3));
+
+        List<ExerciseTemplate> picked = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            picked.add(candidates.remove(random.nextInt(candidates.size())));
+        }
+        return picked;
+    }
+
+    private ExerciseRecordRequest setBasedRecord(ExerciseTemplate exercise, UserProfile user, double progression,
+                                                 RandomGenerator random, OffsetDateTime start, int order) {
+        int setCount = 3 + random.nextInt(3);
+        Double weight = exercise.base() == 0 ? null
+                : Math.round(exercise.base() * user.strength() * progression * (1 + random.nextGaussian(0, 0.03)) / 2.5) * 2.5;
+
+        List<ExerciseSetRequest> sets = new ArrayList<>(setCount);
+        OffsetDateTime cursor = start;
+        for (int i = 0; i < setCount; i++) {
+            OffsetDateTime setEnd = cursor.plusSeconds(30 + random.nextInt(31));
+            boolean failure = i == setCount - 1 && random.nextDouble() < 0.2;
+            int repetitions = (int) Math.clamp(Math.round(random.nextGaussian(10, 2.5)) - i, 1, 20);
+            sets.add(new ExerciseSetRequest(cursor, setEnd, failure, repetitions, failure ? 1 + random.nextInt(3) : 0, weight, i));
+            cursor = setEnd.plusSeconds(90 + random.nextInt(91));
+        }
+
+        return new ExerciseRecordRequest(definitionIds.get(exercise.name()), start, sets.getLast().endTime(),
+                new ExerciseRecordDetailsRequest(null, null, null, sets, weight), order);
+    }
+
+    private ExerciseRecordRequest distanceRecord(ExerciseTemplate exercise, UserProfile user, RandomGenerator random,
+                                                 OffsetDateTime start, int order) {
+        double distanceKm = Math.round(exercise.base() * Math.clamp(random.nextGaussian(1, 0.15), 0.5, 1.5) * 100) / 100.0;
+        long seconds = Math.round(distanceKm * user.secondsPerKm() * Math.clamp(random.nextGaussian(1, 0.05), 0.85, 1.15));
+
+        return new ExerciseRecordRequest(definitionIds.get(exercise.name()), start, start.plusSeconds(seconds),
+                new ExerciseRecordDetailsRequest(distanceKm, DistanceUnit.KILOMETERS, null, null, null), order);
+    }
+
+    private RandomGenerator random(int userIndex, int sequence) {
+        return new SplittableRandom(seed ^ (userIndex * 0x9E3779B97F4A7C15L) ^ (sequence * 0xC2B2AE3D27D4EB4FL));
+    }
+
+    record ExerciseTemplate(String name, ExerciseType type, String workoutType, double base) {
+    }
+
+    record UserProfile(int index, double strength, double secondsPerKm, int sessionsPerWeek) {
+    }
+}
@@ -0,0 +1,93 @@
+package eu.groeller.ds.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import eu.groeller.ds.configuration.JacksonConfiguration;
+import eu.groeller.ds.domain.exercise.WorkoutFixtures;
+import eu.groeller.ds.presentation.response.exercise.WorkoutResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares payload size and serialization time of a full history page across the negotiated formats. Runs with
+ * {@code -Ploadtest}, timings are medians of several warmed trials.
+ */
+class WorkoutPayloadLoadTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int TRIALS = 9;
+    private static final int ITERATIONS_PER_TRIAL = 1_000;
+    // Headroom for a noisy machine, a format actually slower than JSON still fails
+    private static final double TIME_TOLERANCE = 1.2;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+    private Slice<WorkoutResponse> page;
+
+    @BeforeEach
+    void setUp() {
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        json = bootDefaultBuilder().build();
+        cbor = configuration.cborHttpMessageConverter(bootDefaultBuilder()).getObjectMapper();
+        smile = configuration.smileHttpMessageConverter(bootDefaultBuilder()).getObjectMapper();
+        page = WorkoutFixtures.historyPage(PAGE_SIZE).map(WorkoutResponse::new);
+    }
+
+    @Test
+    void binaryFormats_AreSmallerThanJson() throws Exception {
+        int jsonSize = json.writeValueAsBytes(page).length;
+
+        // CBOR still writes every field name, Smile back-references the repeated ones
+        assertThat(cbor.writeValueAsBytes(page).length).isLessThan(jsonSize * 9 / 10);
+        assertThat(smile.writeValueAsBytes(page).length).isLessThan(jsonSize * 6 / 10);
+    }
+
+    @Test
+    void binaryFormats_AreNotSlowerThanJson() throws Exception {
+        ObjectMapper[] mappers = {json, cbor, smile};
+        for (ObjectMapper mapper : mappers) {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                mapper.writeValueAsBytes(page);
+            }
+        }
+
+        // Trials of the formats are interleaved, so a slow phase of the machine hits all of them alike
+        long[][] trials = new long[mappers.length][TRIALS];
+        for (int trial = 0; trial < TRIALS; trial++) {
+            for (int m = 0; m < mappers.length; m++) {
+                trials[m][trial] = nanosPerPage(mappers[m]);
+            }
+        }
+
+        long jsonNanos = median(trials[0]);
+        assertThat(median(trials[1])).isLessThanOrEqualTo((long) (jsonNanos * TIME_TOLERANCE));
+        assertThat(median(trials[2])).isLessThanOrEqualTo((long) (jsonNanos * TIME_TOLERANCE));
+    }
+
+    private long nanosPerPage(ObjectMapper mapper) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS_PER_TRIAL; i++) {
+            mapper.writeValueAsBytes(page);
+        }
+        return (System.nanoTime() - start) / ITERATIONS_PER_TRIAL;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    // Spring Boot's auto-configured builder writes dates as ISO strings, the plain Spring builder does not
+    private static Jackson2ObjectMapperBuilder bootDefaultBuilder() {
+        return new Jackson2ObjectMapperBuilder().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,231 @@
+package eu.groeller.ds.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import eu.groeller.ds.service.maintenance.PartitionMaintenanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads users with realistic workout histories through {@link SyntheticDataGenerator}, then lets
+ * {@code loadtest.clients} simulated users issue a weighted mix of registrations, logins, workout creations, history
+ * pages and exercise-picker lookups against the locally started application on Testcontainers PostgreSQL. Reports throughput and latency percentiles per operation.
+ * <p>
+ * Only runs with the {@code loadtest} Maven profile, see {@link LoadTestSettings} for the parameters.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "logging.level.eu.groeller.ds=INFO"
+        }
+)
+@Import(TestContainersConfig.class)
+class WorkoutTrafficLoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final int SEED_CONCURRENCY = 16;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private final AtomicInteger registrations = new AtomicInteger();
+    private LoadTestClient client;
+    private WorkoutGenerator generator;
+    private Map<String, Long> workoutTypeIds;
+    private List<SimulatedUser> users;
+
+    @Test
+    void workoutTraffic() throws Exception {
+        client = new LoadTestClient("http://localhost:" + port, objectMapper);
+
+        long seedStart = System.nanoTime();
+        seed();
+        System.out.printf("Seeded %d users with %d workouts each in %.1fs%n",
+                settings.users(), settings.workoutsPerUser(), (System.nanoTime() - seedStart) / 1e9);
+
+        run(settings.warmup().toNanos());
+        long start = System.nanoTime();
+        Map<LoadTestSettings.Operation, LatencyHistogram> results = run(settings.duration().toNanos());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report(results, seconds);
+        assertThat(results.values()).allSatisfy(histogram -> assertThat(histogram.errors()).isZero());
+    }
+
+    private void seed() throws Exception {
+        SyntheticDataGenerator.Result dataset = new SyntheticDataGenerator(dataSource).generate(
+                SyntheticDataGenerator.Spec.of(settings.users(), settings.workoutsPerUser(), settings.seed())
+                        .withPasswordHash(passwordEncoder.encode(PASSWORD)));
+        // Histories reach back further than the partitions created at startup
+        partitionMaintenanceService.maintainPartitions();
+        System.out.printf("Loaded %d workouts with %d exercises and %d sets in %.1fs%n",
+                dataset.workouts(), dataset.records(), dataset.sets(), dataset.elapsed().toMillis() / 1e3);
+
+        workoutTypeIds = dataset.workoutTypeIds();
+        generator = new WorkoutGenerator(settings.seed(), dataset.definitionIds());
+        users = forEachConcurrently(settings.users(), SEED_CONCURRENCY, index -> {
+            SimulatedUser user = login(SyntheticDataGenerator.email(settings.seed(), index));
+            user.profile = generator.profile(index);
+            user.workouts.set(settings.workoutsPerUser());
+            return user;
+        });
+    }
+
+    private Map<LoadTestSettings.Operation, LatencyHistogram> run(long durationNanos) throws Exception {
+        TrafficMix mix = new TrafficMix(settings.mix());
+        long deadline = System.nanoTime() + durationNanos;
+
+        List<Map<LoadTestSettings.Operation, LatencyHistogram>> perClient = forEachConcurrently(settings.clients(), settings.clients(), index -> {
+            SplittableRandom random = new SplittableRandom(settings.seed() + index);
+            SimulatedUser user = users.get(index % users.size());
+            Map<LoadTestSettings.Operation, LatencyHistogram> histograms = new EnumMap<>(LoadTestSettings.Operation.class);
+
+            while (System.nanoTime() < deadline) {
+                LoadTestSettings.Operation operation = mix.next(random);
+                LoadTestClient.Response response = execute(operation, user, random);
+                histograms.computeIfAbsent(operation, ignored -> new LatencyHistogram()).record(response.nanos(), response.status());
+            }
+            return histograms;
+        });
+
+        Map<LoadTestSettings.Operation, LatencyHistogram> merged = new EnumMap<>(LoadTestSettings.Operation.class);
+        perClient.forEach(histograms -> histograms.forEach((operation, histogram) ->
+                merged.computeIfAbsent(operation, ignored -> new LatencyHistogram()).merge(histogram)));
+        return merged;
+    }
+
+    private LoadTestClient.Response execute(LoadTestSettings.Operation operation, SimulatedUser user, SplittableRandom random) {
+        return switch (operation) {
+            case REGISTER -> {
+                String username = newUsername();
+                yield client.post("/api/v1/users/register", new UserRequest(username, username + "@loadtest.local", PASSWORD), null);
+            }
+            case LOGIN -> {
+                LoadTestClient.Response response = client.post("/api/v1/users/login", new UserLoginRequest(user.email, PASSWORD), null);
+                if (response.isSuccess())
+                    user.token = response.json(objectMapper).get("token").asText();
+                yield response;
+            }
+            case CREATE -> client.post("/api/v1/workouts",
+                    generator.workout(user.profile, user.workouts.getAndIncrement(), OffsetDateTime.now(ZoneOffset.UTC)), user.token);
+            case HISTORY -> client.get("/api/v1/workouts?size=20&page=" + historyPage(random), user.token);
+            case PICKER -> {
+                String type = WorkoutGenerator.WORKOUT_TYPES.get(random.nextInt(WorkoutGenerator.WORKOUT_TYPES.size()));
+                yield client.get("/api/v1/exercises/recent/" + workoutTypeIds.get(type), user.token);
+            }
+        };
+    }
+
+    private SimulatedUser login(String email) {
+        LoadTestClient.Response login = client.postRetrying("/api/v1/users/login", new UserLoginRequest(email, PASSWORD), null);
+        assertThat(login.isSuccess()).as("Login of %s failed: %s", email, login.body()).isTrue();
+
+        JsonNode body = login.json(objectMapper);
+        return new SimulatedUser(email, body.get("token").asText());
+    }
+
+    // Most users only look at the first page, some scroll back a few pages
+    private static int historyPage(SplittableRandom random) {
+        return Math.min(5, (int) (-Math.log(1 - random.nextDouble()) / 1.5));
+    }
+
+    private String newUsername() {
+        return "loadtest-new-" + settings.seed() + "-" + registrations.incrementAndGet() + "-" + System.nanoTime();
+    }
+
+    private void report(Map<LoadTestSettings.Operation, LatencyHistogram> results, double seconds) {
+        System.out.printf("%n%d clients for %.1fs, mix %s%n", settings.clients(), seconds, settings.mix());
+        System.out.printf("%-10s %8s %9s %8s %8s %8s %8s %7s %8s%n", "operation", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors", "503s");
+
+        LatencyHistogram total = new LatencyHistogram();
+        results.forEach((operation, histogram) -> {
+            printRow(operation.name().toLowerCase(), histogram, seconds);
+            total.merge(histogram);
+        });
+        printRow("total", total, seconds);
+    }
+
+    private static void printRow(String name, LatencyHistogram histogram, double seconds) {
+        System.out.printf("%-10s %8d %9.1f %8.1f %8.1f %8.1f %8.1f %7d %8d%n", name, histogram.count(), histogram.count() / seconds,
+                histogram.percentileMillis(0.5), histogram.percentileMillis(0.9), histogram.percentileMillis(0.99),
+                histogram.percentileMillis(1.0), histogram.errors(), histogram.rejected());
+    }
+
+    private static <T> List<T> forEachConcurrently(int count, int concurrency, IndexedTask<T> task) throws Exception {
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<T>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.run(index);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<T> results = new ArrayList<>(count);
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask<T> {
+        T run(int index) throws Exception;
+    }
+
+    private static class SimulatedUser {
+        private final String email;
+        private volatile String token;
+        private WorkoutGenerator.UserProfile profile;
+        private final AtomicInteger workouts = new AtomicInteger();
+
+        SimulatedUser(String email, String token) {
+            this.email = email;
+            this.token = token;
+        }
+    }
+}
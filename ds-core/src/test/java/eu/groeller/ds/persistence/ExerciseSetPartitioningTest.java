@@ -0,0 +1,128 @@
+package eu.groeller.ds.persistence;
+
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.configuration.PartitioningConfig;
+import eu.groeller.ds.service.maintenance.PartitionMaintenanceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the monthly range partitioning of {@code exercise_set} on PostgreSQL: partitions are created ahead of
+ * time, back-dated rows are moved out of the default partition and range queries only touch matching partitions.
+ */
+@DataJpaTest
+@Import(TestContainersConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExerciseSetPartitioningTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T12:00:00Z");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PartitionMaintenanceService maintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE users, workout_type, exercise_definition RESTART IDENTITY CASCADE");
+        maintenanceService = new PartitionMaintenanceService(
+                new PartitioningConfig(), jdbcTemplate, transactionManager, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void maintenance_CreatesPartitionsAhead() {
+        maintenanceService.maintainPartitions();
+
+        YearMonth current = YearMonth.from(NOW.atOffset(ZoneOffset.UTC));
+        for (int i = 0; i <= 3; i++) {
+            assertThat(partitionExists(PartitionMaintenanceService.partitionName("exercise_set", current.plusMonths(i)))).isTrue();
+        }
+    }
+
+    @Test
+    void maintenance_MovesBackDatedRowsOutOfDefaultPartition() {
+        OffsetDateTime backDated = OffsetDateTime.of(2019, 3, 14, 8, 0, 0, 0, ZoneOffset.UTC);
+        long recordId = insertSetBasedRecord(backDated);
+        insertSet(recordId, backDated);
+        insertSet(recordId, backDated.plusMinutes(5));
+        assertThat(countIn("exercise_set_default")).isEqualTo(2);
+
+        maintenanceService.maintainPartitions();
+
+        assertThat(countIn("exercise_set_default")).isZero();
+        assertThat(countIn("exercise_set_2019_03")).isEqualTo(2);
+        assertThat(countIn("exercise_set")).isEqualTo(2);
+    }
+
+    @Test
+    void rangeQuery_IsPrunedToMatchingPartition() {
+        maintenanceService.maintainPartitions();
+        OffsetDateTime from = OffsetDateTime.of(2026, 11, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        List<String> plan = jdbcTemplate.queryForList("""
+                EXPLAIN SELECT * FROM exercise_set
+                WHERE start_time >= '2026-11-01T00:00:00Z' AND start_time < '2026-11-08T00:00:00Z'
+                """, String.class);
+
+        String joined = String.join("\n", plan);
+        assertThat(joined).contains(PartitionMaintenanceService.partitionName("exercise_set", YearMonth.from(from)));
+        assertThat(joined).doesNotContain("exercise_set_2026_10", "exercise_set_2026_12", "exercise_set_default");
+    }
+
+    private long insertSetBasedRecord(OffsetDateTime startTime) {
+        Long userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (version, created_at, username, email, password)
+                VALUES (0, now(), 'partition', 'partition@example.com', 'not-a-hash') RETURNING id
+                """, Long.class);
+        Long typeId = jdbcTemplate.queryForObject(
+                "INSERT INTO workout_type (version, created_at, name) VALUES (0, now(), 'Strength') RETURNING id", Long.class);
+        Long definitionId = jdbcTemplate.queryForObject(
+                "INSERT INTO exercise_definition (version, created_at, name, type) VALUES (0, now(), 'Squat', 'SETS_REPS') RETURNING id", Long.class);
+        Long workoutId = jdbcTemplate.queryForObject("""
+                INSERT INTO workout (version, created_at, user_id, duration, start_time, end_time, workout_type_id)
+                VALUES (0, now(), ?, 3600000, ?, ?, ?) RETURNING id
+                """, Long.class, userId, startTime, startTime.plusHours(1), typeId);
+        Long recordId = jdbcTemplate.queryForObject("""
+                INSERT INTO exercise_record (version, created_at, exercise_definition_id, workout_id, start_time, end_time, order_index)
+                VALUES (0, now(), ?, ?, ?, ?, 0) RETURNING id
+                """, Long.class, definitionId, workoutId, startTime, startTime.plusMinutes(30));
+        jdbcTemplate.update("INSERT INTO set_based_exercise_record (id) VALUES (?)", recordId);
+        return recordId;
+    }
+
+    private void insertSet(long recordId, OffsetDateTime startTime) {
+        jdbcTemplate.update("""
+                INSERT INTO exercise_set (version, created_at, start_time, end_time, order_index, exercise_record_id, repetitions, weight_kg)
+                VALUES (0, now(), ?, ?, 0, ?, 10, 50.0)
+                """, startTime, startTime.plusMinutes(2), recordId);
+    }
+
+    private boolean partitionExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+
+    private int countIn(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+}
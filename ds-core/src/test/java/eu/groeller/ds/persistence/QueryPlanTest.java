@@ -0,0 +1,226 @@
+package eu.groeller.ds.persistence;
+
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+import eu.groeller.ds.domain.exercise.WorkoutType;
+import eu.groeller.ds.loadtest.SyntheticDataGenerator;
+import eu.groeller.ds.persistence.exercise.ExerciseDefinitionRepository;
+import eu.groeller.ds.persistence.exercise.ExerciseRecordRepository;
+import eu.groeller.ds.persistence.exercise.WorkoutRepository;
+import eu.groeller.ds.persistence.exercise.WorkoutTypeRepository;
+import eu.groeller.ds.persistence.user.UserRepository;
+import eu.groeller.ds.presentation.response.exercise.WorkoutResponse;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a {@link SyntheticDataGenerator} dataset large enough for the planner to prefer indexes, replays every
+ * statement the repositories issue on the hot read paths with {@code EXPLAIN} and fails if one of them sequentially
+ * scans a large table.
+ */
+@DataJpaTest
+@Import({TestContainersConfig.class, QueryPlanTest.StatementCapture.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+
+    private static final int USERS = 2_000;
+    private static final int WORKOUTS_PER_USER = 50;
+    private static final long SEED = 42;
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "users", "workout", "exercise_record", "set_based_exercise_record", "distance_exercise_record", "exercise_set"
+    );
+    // Partitions of a large table count as the table itself, scans of empty (future) partitions cost nothing
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+?)(?:_\\d{4}_\\d{2}|_default)?\\b.*?\\(cost=[\\d.]+\\.\\.([\\d.]+)");
+
+    private static boolean seeded;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private ExerciseDefinitionRepository exerciseDefinitionRepository;
+
+    @Autowired
+    private WorkoutTypeRepository workoutTypeRepository;
+
+    @Autowired
+    private ExerciseRecordRepository exerciseRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private WorkoutType workoutType;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+        user = userRepository.findByUsername(SyntheticDataGenerator.username(SEED, 42)).orElseThrow();
+        workoutType = workoutTypeRepository.findByName("Legs").orElseThrow();
+        StatementCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void workoutHistory_UsesIndexes() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                workoutRepository.findByUserOrderByCreatedAtDesc(user, PageRequest.of(0, 20)).map(WorkoutResponse::new));
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void allWorkoutsOfUser_UseIndexes() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                workoutRepository.findByUser(user).forEach(WorkoutResponse::new));
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void recentExercisesForType_UseIndexes() throws Exception {
+        exerciseDefinitionRepository.findRecentExercisesForTypeAndUser(user, workoutType);
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void fastestSplits_UseIndexes() throws Exception {
+        Long definitionId = exerciseDefinitionRepository.findAll().stream()
+                .filter(definition -> definition.getName().equals("Easy Run"))
+                .findFirst().orElseThrow().getId();
+        StatementCapture.STATEMENTS.clear();
+
+        exerciseRecordRepository.findByFastestSplit(user, definitionId, DistanceUnit.KILOMETERS, PageRequest.of(0, 10));
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void userLookups_UseIndexes() throws Exception {
+        userRepository.findByEmail(SyntheticDataGenerator.email(SEED, 7));
+        userRepository.existsByUsername(SyntheticDataGenerator.username(SEED, 8));
+        userRepository.existsByEmail(SyntheticDataGenerator.email(SEED, 9));
+
+        assertNoSequentialScans();
+    }
+
+    private void assertNoSequentialScans() throws Exception {
+        List<CapturedStatement> statements = List.copyOf(StatementCapture.STATEMENTS);
+        assertThat(statements).isNotEmpty();
+
+        for (CapturedStatement statement : statements) {
+            String plan = explain(statement);
+            Matcher matcher = SEQ_SCAN.matcher(plan);
+            while (matcher.find()) {
+                if (Double.parseDouble(matcher.group(2)) == 0)
+                    continue;
+                assertThat(LARGE_TABLES)
+                        .as("Sequential scan on [%s] for%n%s%n%s", matcher.group(1), statement.sql(), plan)
+                        .doesNotContain(matcher.group(1));
+            }
+        }
+    }
+
+    private String explain(CapturedStatement statement) throws Exception {
+        StatementCapture.PAUSED.set(true);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (ParameterSetOperation operation : statement.parameters()) {
+                operation.getMethod().invoke(explain, operation.getArgs());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append(System.lineSeparator());
+                }
+            }
+            return plan.toString();
+        } finally {
+            StatementCapture.PAUSED.set(false);
+        }
+    }
+
+    private void seed() throws Exception {
+        new SyntheticDataGenerator(dataSource).generate(SyntheticDataGenerator.Spec.of(USERS, WORKOUTS_PER_USER, SEED));
+    }
+
+    record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        static final List<CapturedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+        static final ThreadLocal<Boolean> PAUSED = ThreadLocal.withInitial(() -> false);
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource))
+                        return bean;
+                    return ProxyDataSourceBuilder.create(dataSource).listener(new QueryExecutionListener() {
+                        @Override
+                        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                        }
+
+                        @Override
+                        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                            if (PAUSED.get() || execInfo.isBatch())
+                                return;
+                            for (QueryInfo query : queryInfoList) {
+                                if (!query.getQuery().stripLeading().toLowerCase().startsWith("select"))
+                                    continue;
+                                List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                                        ? List.of() : new ArrayList<>(query.getParametersList().getFirst());
+                                STATEMENTS.add(new CapturedStatement(query.getQuery(), parameters));
+                            }
+                        }
+                    }).build();
+                }
+            };
+        }
+    }
+}
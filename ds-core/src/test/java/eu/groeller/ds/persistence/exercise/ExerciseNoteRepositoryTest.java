@@ -0,0 +1,83 @@
+package eu.groeller.ds.persistence.exercise;
+
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.exercise.*;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(TestContainersConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExerciseNoteRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExerciseNoteRepository repository;
+
+    private Workout workout;
+
+    @BeforeEach
+    void setUp() {
+        String uniqueId = UUID.randomUUID().toString();
+        User user = entityManager.persist(new User("notes" + uniqueId, "notes" + uniqueId + "@example.com", "password"));
+        WorkoutType type = entityManager.persist(new WorkoutType("Notes " + uniqueId));
+        ExerciseDefinition squat = entityManager.persist(new ExerciseDefinition("Squat " + uniqueId, ExerciseType.SETS_REPS));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        ExerciseSet set = new ExerciseSet();
+        set.setStartTime(now);
+        set.setEndTime(now.plusMinutes(1));
+        set.setOrderIndex(0);
+        set.setNote(ExerciseNote.of("new grip"));
+
+        SetBasedExerciseRecord record = new SetBasedExerciseRecord();
+        record.setExerciseDefinition(squat);
+        record.setStartTime(now);
+        record.setEndTime(now.plusMinutes(10));
+        record.setOrderIndex(0);
+        record.setSets(List.of(set));
+        record.setNote(ExerciseNote.of("knee pain"));
+
+        workout = entityManager.persist(new Workout(user, now, now.plusMinutes(10), List.of(record), type));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void loadingWorkout_DoesNotLoadNotes() {
+        SetBasedExerciseRecord record = (SetBasedExerciseRecord) entityManager.find(Workout.class, workout.getId()).getExercises().getFirst();
+
+        assertThat(record.getNote()).isNotNull();
+        assertThat(Hibernate.isInitialized(record.getNote())).isFalse();
+        assertThat(Hibernate.isInitialized(record.getSets().getFirst().getNote())).isFalse();
+    }
+
+    @Test
+    void findByWorkoutIn_ResolvesNotesOfLoadedWorkouts() {
+        Workout loaded = entityManager.find(Workout.class, workout.getId());
+        SetBasedExerciseRecord record = (SetBasedExerciseRecord) loaded.getExercises().getFirst();
+        ExerciseSet set = record.getSets().getFirst();
+
+        List<ExerciseNote> notes = repository.findByWorkoutIn(List.of(loaded));
+
+        assertThat(notes).extracting(ExerciseNote::getContent).containsExactlyInAnyOrder("knee pain", "new grip");
+        assertThat(Hibernate.isInitialized(record.getNote())).isTrue();
+        assertThat(Hibernate.isInitialized(set.getNote())).isTrue();
+        assertThat(notes).allSatisfy(note -> assertThat(note.getUser().getId()).isEqualTo(workout.getUser().getId()));
+    }
+}
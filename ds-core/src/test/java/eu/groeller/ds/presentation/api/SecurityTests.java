@@ -9,6 +9,7 @@ import org.reflections.scanners.Scanners;
 import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
@@ -39,7 +40,9 @@ public class SecurityTests {
     @Autowired
     private MockMvc mockMvc;
 
+    // Actuator registers its own RequestMappingHandlerMapping for @ControllerEndpoint beans
     @Autowired
+    @Qualifier("requestMappingHandlerMapping")
     private RequestMappingHandlerMapping handlerMapping;
 
     private static final Set<String> PUBLIC_ENDPOINTS = Set.of(
@@ -49,7 +52,8 @@ public class SecurityTests {
             "GET /swagger-ui.html",
             "GET /swagger-ui/**",
             "POST /api/v1/users/register",
-            "POST /api/v1/users/login"
+            "POST /api/v1/users/login",
+            "POST /api/v1/users/refresh"
     );
 
     protected Stream<EndpointInfo> provideEndpoints() {
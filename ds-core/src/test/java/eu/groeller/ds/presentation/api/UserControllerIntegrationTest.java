@@ -2,17 +2,29 @@ package eu.groeller.ds.presentation.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.presentation.request.user.RefreshTokenRequest;
 import eu.groeller.ds.presentation.request.user.UserLoginRequest;
 import eu.groeller.ds.presentation.request.user.UserRequest;
+import eu.groeller.ds.presentation.response.user.TokenRefreshResponse;
+import eu.groeller.ds.presentation.response.user.UserLoginResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -80,4 +92,45 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.message").exists());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void refresh_ConcurrentRefreshesWithSameToken_RotateOnceAndRevokeFamily() throws Exception {
+        String uniqueId = java.util.UUID.randomUUID().toString();
+        UserRequest createRequest = new UserRequest("refresh_" + uniqueId, "refresh_" + uniqueId + "@user.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(createRequest.email(), "password123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String refreshToken = objectMapper.readValue(login, UserLoginResponse.class).refreshToken();
+
+        List<Callable<MockHttpServletResponse>> refreshes = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            refreshes.add(() -> refresh(refreshToken).andReturn().getResponse());
+
+        List<Integer> statuses = new ArrayList<>();
+        String rotated = null;
+        try (ExecutorService executor = Executors.newFixedThreadPool(refreshes.size())) {
+            for (var refresh : executor.invokeAll(refreshes)) {
+                MockHttpServletResponse response = refresh.get();
+                statuses.add(response.getStatus());
+                if (response.getStatus() == 200)
+                    rotated = objectMapper.readValue(response.getContentAsString(), TokenRefreshResponse.class).refreshToken();
+            }
+        }
+
+        // Every refresh after the first sees the token rotated, which is reuse and revokes the whole family
+        assertThat(statuses).containsExactlyInAnyOrder(200, 401, 401, 401);
+        refresh(rotated).andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/v1/users/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))));
+    }
+}
@@ -0,0 +1,200 @@
+package eu.groeller.ds.presentation.api.exercise;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+import eu.groeller.ds.domain.exercise.ExerciseType;
+import eu.groeller.ds.presentation.request.exercise.*;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+class NoteSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authToken;
+    private String workoutType;
+    private long squatId;
+    private long runId;
+    private long oldestWorkoutId;
+    private long middleWorkoutId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String uniqueId = UUID.randomUUID().toString();
+        authToken = registerAndLogin(uniqueId);
+
+        workoutType = "Notes Day " + uniqueId;
+        perform(post("/api/v1/workouts/workout-type"), new CreateWorkoutTypeRequest(workoutType))
+                .andExpect(status().isCreated());
+        squatId = createDefinition("Squat " + uniqueId, ExerciseType.SETS_REPS);
+        runId = createDefinition("Run " + uniqueId, ExerciseType.DISTANCE);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        oldestWorkoutId = logWorkout(now.minusDays(3), "Knee pain during the deep squats", null, null);
+        middleWorkoutId = logWorkout(now.minusDays(2), null, "slight knee pain, tried a new grip", "felt great");
+        logWorkout(now.minusDays(1), null, null, "rainy and cold");
+    }
+
+    @Test
+    void search_ReturnsMatchingWorkoutsNewestFirstWithSnippets() throws Exception {
+        perform(get("/api/v1/workouts/search").param("q", "knee pain"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workouts.length()").value(2))
+                .andExpect(jsonPath("$.workouts[0].workoutId").value(middleWorkoutId))
+                .andExpect(jsonPath("$.workouts[0].workoutType").value(workoutType))
+                .andExpect(jsonPath("$.workouts[0].notes.length()").value(1))
+                .andExpect(jsonPath("$.workouts[0].notes[0].setOrderIndex").value(0))
+                .andExpect(jsonPath("$.workouts[0].notes[0].snippet").value(containsString("<mark>knee</mark> <mark>pain</mark>")))
+                .andExpect(jsonPath("$.workouts[1].workoutId").value(oldestWorkoutId))
+                .andExpect(jsonPath("$.workouts[1].notes[0].setOrderIndex").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void search_EscapesNoteTextInSnippets() throws Exception {
+        logWorkout(OffsetDateTime.now(), "<img src=x onerror=alert(1)> shoulder", null, null);
+
+        perform(get("/api/v1/workouts/search").param("q", "shoulder"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workouts[0].notes[0].snippet")
+                        .value(allOf(containsString("alert(1)&gt; <mark>shoulder</mark>"), not(containsString("<img")))));
+    }
+
+    @Test
+    void search_MatchesWordStems() throws Exception {
+        perform(get("/api/v1/workouts/search").param("q", "squat"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workouts.length()").value(1))
+                .andExpect(jsonPath("$.workouts[0].workoutId").value(oldestWorkoutId))
+                .andExpect(jsonPath("$.workouts[0].notes[0].exerciseName").value(containsString("Squat")));
+    }
+
+    @Test
+    void search_PagesWithCursor() throws Exception {
+        String response = perform(get("/api/v1/workouts/search").param("q", "knee").param("limit", "1"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workouts.length()").value(1))
+                .andExpect(jsonPath("$.workouts[0].workoutId").value(middleWorkoutId))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(response).get("nextCursor").asText();
+
+        // Workouts logged in between do not shift the next page
+        logWorkout(OffsetDateTime.now(), "knee felt fine today", null, null);
+
+        perform(get("/api/v1/workouts/search").param("q", "knee").param("limit", "1").param("cursor", cursor), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workouts.length()").value(1))
+                .andExpect(jsonPath("$.workouts[0].workoutId").value(oldestWorkoutId))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void search_OnlyFindsOwnNotes() throws Exception {
+        authToken = registerAndLogin(UUID.randomUUID().toString());
+
+        perform(get("/api/v1/workouts/search").param("q", "knee pain"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workouts.length()").value(0));
+    }
+
+    @Test
+    void search_WhenRequestIsInvalid_ReturnsBadRequest() throws Exception {
+        perform(get("/api/v1/workouts/search").param("q", " "), null)
+                .andExpect(status().isBadRequest());
+        perform(get("/api/v1/workouts/search").param("q", "knee").param("cursor", "garbage"), null)
+                .andExpect(status().isBadRequest());
+        perform(get("/api/v1/workouts/search").param("q", "knee").param("limit", "1000"), null)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void workoutHistory_OnlyContainsNotesWhenAskedFor() throws Exception {
+        perform(get("/api/v1/workouts"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[*].exercises[*].notes").value(everyItem(nullValue())))
+                .andExpect(jsonPath("$.content[*].exercises[*].details.sets[*].notes").value(everyItem(nullValue())));
+
+        perform(get("/api/v1/workouts").param("includeNotes", "true"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].exercises[*].notes").value(hasItems("Knee pain during the deep squats", "felt great", "rainy and cold")))
+                .andExpect(jsonPath("$.content[*].exercises[*].details.sets[*].notes").value(hasItem("slight knee pain, tried a new grip")));
+    }
+
+    private long logWorkout(OffsetDateTime start, String squatNotes, String setNotes, String runNotes) throws Exception {
+        OffsetDateTime runStart = start.plusMinutes(20);
+        CreateWorkoutRequest request = new CreateWorkoutRequest(List.of(
+                new ExerciseRecordRequest(squatId, start, start.plusMinutes(10),
+                        new ExerciseRecordDetailsRequest(null, null, null, List.of(
+                                new ExerciseSetRequest(start, start.plusMinutes(1), false, 8, 0, 100.0, 0, setNotes),
+                                new ExerciseSetRequest(start.plusMinutes(4), start.plusMinutes(5), false, 8, 0, 100.0, 1)
+                        ), null), 0, squatNotes),
+                new ExerciseRecordRequest(runId, runStart, runStart.plusMinutes(30),
+                        new ExerciseRecordDetailsRequest(5.0, DistanceUnit.KILOMETERS, null, null, null), 1, runNotes)
+        ), workoutType, start, runStart.plusMinutes(30));
+
+        String response = perform(post("/api/v1/workouts"), request)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("workoutId").asLong();
+    }
+
+    private long createDefinition(String name, ExerciseType type) throws Exception {
+        String response = perform(post("/api/v1/exercises/create"), new CreateExerciseDefinitionRequest(name, type))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private String registerAndLogin(String uniqueId) throws Exception {
+        UserRequest user = new UserRequest("noteuser" + uniqueId, "note" + uniqueId + "@workout.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(user.email(), user.password()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode body = objectMapper.readTree(response);
+        return body.get("token").asText();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        request.header("Authorization", "Bearer " + authToken);
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return mockMvc.perform(request);
+    }
+}
@@ -0,0 +1,136 @@
+package eu.groeller.ds.presentation.api.exercise;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+import eu.groeller.ds.domain.exercise.ExerciseType;
+import eu.groeller.ds.presentation.request.exercise.*;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+class SplitIntegrationTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2024, 5, 4, 7, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authToken;
+    private String workoutType;
+    private long runId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String uniqueId = UUID.randomUUID().toString();
+        authToken = registerAndLogin(uniqueId);
+
+        workoutType = "Split Day " + uniqueId;
+        perform(post("/api/v1/workouts/workout-type"), new CreateWorkoutTypeRequest(workoutType))
+                .andExpect(status().isCreated());
+        String definition = perform(post("/api/v1/exercises/create"), new CreateExerciseDefinitionRequest("Run " + uniqueId, ExerciseType.DISTANCE))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        runId = objectMapper.readTree(definition).get("id").asLong();
+    }
+
+    @Test
+    void createWorkout_WithLaps_StoresSplits() throws Exception {
+        // 3km, the last one faster
+        perform(post("/api/v1/workouts"), run(START, List.of(
+                new LapRequest(2.0, 600_000L),
+                new LapRequest(1.0, 270_000L))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.exercises[0].details.splits.length()").value(3))
+                .andExpect(jsonPath("$.exercises[0].details.splits[0].durationMs").value(300_000))
+                .andExpect(jsonPath("$.exercises[0].details.fastestSplitMs").value(270_000))
+                .andExpect(jsonPath("$.exercises[0].details.negativeSplit").value(true))
+                .andExpect(jsonPath("$.exercises[0].details.distancePerUnit").value(3.0 / (870.0 / 3_600)));
+
+        perform(get("/api/v1/workouts"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].exercises[0].details.splits[2].durationMs").value(270_000));
+    }
+
+    @Test
+    void getFastestSplits_ReturnsBestSplitPerRecordFastestFirst() throws Exception {
+        perform(post("/api/v1/workouts"), run(START, List.of(new LapRequest(3.0, 900_000L))))
+                .andExpect(status().isCreated());
+        perform(post("/api/v1/workouts"), run(START.plusDays(1), List.of(
+                new LapRequest(1.0, 310_000L),
+                new LapRequest(2.0, 560_000L))))
+                .andExpect(status().isCreated());
+        // Without laps there are no splits to compare
+        perform(post("/api/v1/workouts"), run(START.plusDays(2), null))
+                .andExpect(status().isCreated());
+
+        perform(get("/api/v1/exercises/" + runId + "/fastest-splits").param("unit", "KILOMETERS"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].durationMs").value(280_000))
+                .andExpect(jsonPath("$[0].splitNumber").value(2))
+                .andExpect(jsonPath("$[1].durationMs").value(300_000));
+        perform(get("/api/v1/exercises/" + runId + "/fastest-splits").param("unit", "MILES"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        perform(get("/api/v1/exercises/" + runId + "/fastest-splits").param("unit", "KILOMETERS").param("limit", "0"), null)
+                .andExpect(status().isBadRequest());
+    }
+
+    private CreateWorkoutRequest run(OffsetDateTime start, List<LapRequest> laps) {
+        long millis = laps == null ? 900_000 : laps.stream().mapToLong(LapRequest::durationMs).sum();
+        double distance = laps == null ? 3.0 : laps.stream().mapToDouble(LapRequest::distance).sum();
+        OffsetDateTime end = start.plusNanos(millis * 1_000_000);
+        return new CreateWorkoutRequest(List.of(
+                new ExerciseRecordRequest(runId, start, end,
+                        new ExerciseRecordDetailsRequest(distance, DistanceUnit.KILOMETERS, null, null, null, laps), 0)
+        ), workoutType, start, end);
+    }
+
+    private String registerAndLogin(String uniqueId) throws Exception {
+        UserRequest user = new UserRequest("splituser" + uniqueId, "split" + uniqueId + "@workout.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(user.email(), user.password()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        request.header("Authorization", "Bearer " + authToken);
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return mockMvc.perform(request);
+    }
+}
@@ -0,0 +1,172 @@
+package eu.groeller.ds.presentation.api.exercise;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.exercise.ExerciseType;
+import eu.groeller.ds.presentation.request.exercise.*;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+class WorkoutCalendarIntegrationTest {
+
+    // Noon, so the day is the same in any time zone the server may run in
+    private static final OffsetDateTime MARCH_5 = OffsetDateTime.of(2024, 3, 5, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authToken;
+    private String workoutType;
+    private long squatId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String uniqueId = UUID.randomUUID().toString();
+        authToken = registerAndLogin(uniqueId);
+
+        workoutType = "Calendar Day " + uniqueId;
+        perform(post("/api/v1/workouts/workout-type"), new CreateWorkoutTypeRequest(workoutType))
+                .andExpect(status().isCreated());
+        String definition = perform(post("/api/v1/exercises/create"), new CreateExerciseDefinitionRequest("Squat " + uniqueId, ExerciseType.SETS_REPS))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        squatId = objectMapper.readTree(definition).get("id").asLong();
+    }
+
+    @Test
+    void getCalendar_CountsWorkoutsPerDay() throws Exception {
+        createWorkout(MARCH_5);
+        createWorkout(MARCH_5.plusHours(2));
+        createWorkout(MARCH_5.plusDays(2));
+        createWorkout(MARCH_5.minusYears(1));
+
+        String response = perform(get("/api/v1/workouts/calendar/2024"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.year").value(2024))
+                .andExpect(jsonPath("$.trainingDays").value(2))
+                .andExpect(jsonPath("$.workouts").value(3))
+                .andReturn().getResponse().getContentAsString();
+
+        byte[] days = Base64.getDecoder().decode(objectMapper.readTree(response).get("days").asText());
+        byte[] counts = Base64.getDecoder().decode(objectMapper.readTree(response).get("workoutCounts").asText());
+        // 5th of March is day 65 of the leap year
+        assertThat(BitSet.valueOf(days).stream().toArray()).containsExactly(64, 66);
+        assertThat(counts).hasSize(366);
+        assertThat(counts[64]).isEqualTo((byte) 2);
+        assertThat(counts[66]).isEqualTo((byte) 1);
+
+        perform(get("/api/v1/workouts/calendar/2023"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainingDays").value(1));
+        perform(get("/api/v1/workouts/calendar/2022"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainingDays").value(0))
+                .andExpect(jsonPath("$.workouts").value(0));
+    }
+
+    @Test
+    void deleteWorkout_RemovesItFromCalendar() throws Exception {
+        long first = createWorkout(MARCH_5);
+        long second = createWorkout(MARCH_5.plusHours(2));
+
+        perform(delete("/api/v1/workouts/" + first), null)
+                .andExpect(status().isNoContent());
+        perform(get("/api/v1/workouts/calendar/2024"), null)
+                .andExpect(jsonPath("$.trainingDays").value(1))
+                .andExpect(jsonPath("$.workouts").value(1));
+
+        perform(delete("/api/v1/workouts/" + second), null)
+                .andExpect(status().isNoContent());
+        perform(get("/api/v1/workouts/calendar/2024"), null)
+                .andExpect(jsonPath("$.trainingDays").value(0))
+                .andExpect(jsonPath("$.workouts").value(0));
+        perform(get("/api/v1/workouts"), null)
+                .andExpect(jsonPath("$.content.length()").value(0));
+
+        perform(delete("/api/v1/workouts/" + second), null)
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteWorkout_OfOtherUser_ReturnsNotFound() throws Exception {
+        long workoutId = createWorkout(MARCH_5);
+
+        authToken = registerAndLogin(UUID.randomUUID().toString());
+
+        perform(delete("/api/v1/workouts/" + workoutId), null)
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getCalendar_WhenYearIsOutOfRange_ReturnsBadRequest() throws Exception {
+        perform(get("/api/v1/workouts/calendar/10000"), null)
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createWorkout(OffsetDateTime start) throws Exception {
+        OffsetDateTime end = start.plusMinutes(30);
+        CreateWorkoutRequest request = new CreateWorkoutRequest(List.of(
+                new ExerciseRecordRequest(squatId, start, end,
+                        new ExerciseRecordDetailsRequest(null, null, null, List.of(
+                                new ExerciseSetRequest(start, start.plusMinutes(1), false, 8, 0, 100.0, 0, "Deep")
+                        ), null), 0, "Felt heavy")
+        ), workoutType, start, end);
+
+        String response = perform(post("/api/v1/workouts"), request)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("workoutId").asLong();
+    }
+
+    private String registerAndLogin(String uniqueId) throws Exception {
+        UserRequest user = new UserRequest("calendaruser" + uniqueId, "calendar" + uniqueId + "@workout.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(user.email(), user.password()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        request.header("Authorization", "Bearer " + authToken);
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return mockMvc.perform(request);
+    }
+}
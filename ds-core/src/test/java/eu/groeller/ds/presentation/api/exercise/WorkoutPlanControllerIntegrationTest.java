@@ -0,0 +1,265 @@
+package eu.groeller.ds.presentation.api.exercise;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+import eu.groeller.ds.domain.exercise.ExerciseType;
+import eu.groeller.ds.presentation.request.exercise.*;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+class WorkoutPlanControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authToken;
+    private String workoutType;
+    private long benchId;
+    private long runId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String uniqueId = UUID.randomUUID().toString();
+        authToken = registerAndLogin(uniqueId);
+
+        workoutType = "Plan Day " + uniqueId;
+        perform(post("/api/v1/workouts/workout-type"), new CreateWorkoutTypeRequest(workoutType))
+                .andExpect(status().isCreated());
+        benchId = createDefinition("Bench Press " + uniqueId, ExerciseType.SETS_REPS);
+        runId = createDefinition("Run " + uniqueId, ExerciseType.DISTANCE);
+    }
+
+    @Test
+    void createPlan_ThenGetAndList() throws Exception {
+        long planId = createPlan("Push A");
+
+        perform(get("/api/v1/plans/" + planId), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Push A"))
+                .andExpect(jsonPath("$.workoutType").value(workoutType))
+                .andExpect(jsonPath("$.exercises.length()").value(2))
+                .andExpect(jsonPath("$.exercises[0].exerciseDefinition.id").value(benchId))
+                .andExpect(jsonPath("$.exercises[0].targetSets").value(3))
+                .andExpect(jsonPath("$.exercises[1].targetDistance").value(5.0));
+
+        perform(get("/api/v1/plans"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].workoutPlanId").value(planId));
+    }
+
+    @Test
+    void createPlan_WhenNameTaken_ReturnsBadRequest() throws Exception {
+        createPlan("Push A");
+
+        perform(post("/api/v1/plans"), planRequest("Push A"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void session_ContainsTargetsAndLastPerformance() throws Exception {
+        long planId = createPlan("Push A");
+
+        perform(get("/api/v1/plans/" + planId + "/session"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workoutType").value(workoutType))
+                .andExpect(jsonPath("$.exercises[0].exerciseName").exists())
+                .andExpect(jsonPath("$.exercises[0].targetRepetitions").value(10))
+                .andExpect(jsonPath("$.exercises[0].lastPerformance").doesNotExist());
+
+        logWorkout(null, 3, 60.0, OffsetDateTime.now().minusDays(2));
+        logWorkout(null, 2, 65.0, OffsetDateTime.now().minusDays(1));
+
+        // The cached session was evicted by the new workouts
+        perform(get("/api/v1/plans/" + planId + "/session"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exercises[0].lastPerformance.sets.length()").value(2))
+                .andExpect(jsonPath("$.exercises[0].lastPerformance.sets[0].weightKg").value(65.0))
+                .andExpect(jsonPath("$.exercises[1].lastPerformance.distance").value(5.0));
+    }
+
+    @Test
+    void linkedWorkouts_AreScoredIntoStats() throws Exception {
+        long planId = createPlan("Push A");
+
+        logWorkout(planId, 3, 60.0, OffsetDateTime.now().minusDays(2))
+                .andExpect(jsonPath("$.workoutPlanId").value(planId))
+                .andExpect(jsonPath("$.planAdherence").value(1.0));
+        // 1 of 3 sets at full weight and repetitions, the run is fully done
+        logWorkout(planId, 1, 60.0, OffsetDateTime.now().minusDays(1))
+                .andExpect(jsonPath("$.planAdherence").value(closeTo((7.0 / 9 + 1) / 2, 1e-9)));
+        logWorkout(null, 3, 60.0, OffsetDateTime.now());
+
+        perform(get("/api/v1/plans/" + planId + "/stats"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completedWorkouts").value(2))
+                .andExpect(jsonPath("$.averageAdherence").value(closeTo((1 + (7.0 / 9 + 1) / 2) / 2, 1e-9)))
+                .andExpect(jsonPath("$.plannedSets").value(6))
+                .andExpect(jsonPath("$.completedSets").value(4))
+                .andExpect(jsonPath("$.lastCompletedAt").exists());
+    }
+
+    @Test
+    void deletedWorkouts_AreRemovedFromStats() throws Exception {
+        long planId = createPlan("Push A");
+        OffsetDateTime earlier = OffsetDateTime.now().minusDays(2);
+        logWorkout(planId, 3, 60.0, earlier);
+        String response = logWorkout(planId, 1, 60.0, OffsetDateTime.now().minusDays(1))
+                .andReturn().getResponse().getContentAsString();
+        long workoutId = objectMapper.readTree(response).get("workoutId").asLong();
+
+        perform(delete("/api/v1/workouts/" + workoutId), null)
+                .andExpect(status().isNoContent());
+
+        String stats = perform(get("/api/v1/plans/" + planId + "/stats"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completedWorkouts").value(1))
+                .andExpect(jsonPath("$.averageAdherence").value(closeTo(1.0, 1e-9)))
+                .andExpect(jsonPath("$.plannedSets").value(3))
+                .andExpect(jsonPath("$.completedSets").value(3))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(OffsetDateTime.parse(objectMapper.readTree(stats).get("lastCompletedAt").asText()))
+                .isCloseTo(earlier, within(1, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void updatePlan_KeepsStatsAndReplacesExercises() throws Exception {
+        long planId = createPlan("Push A");
+        logWorkout(planId, 3, 60.0, OffsetDateTime.now().minusDays(1));
+
+        CreateWorkoutPlanRequest update = new CreateWorkoutPlanRequest("Push B", workoutType, 4, List.of(
+                new PlannedExerciseRequest(benchId, 0, 5, 5, 80.0, null, null, 180)));
+        perform(put("/api/v1/plans/" + planId), update)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Push B"))
+                .andExpect(jsonPath("$.exercises.length()").value(1))
+                .andExpect(jsonPath("$.exercises[0].targetSets").value(5));
+
+        perform(get("/api/v1/plans/" + planId + "/session"), null)
+                .andExpect(jsonPath("$.exercises.length()").value(1))
+                .andExpect(jsonPath("$.exercises[0].targetWeightKg").value(80.0));
+        perform(get("/api/v1/plans/" + planId + "/stats"), null)
+                .andExpect(jsonPath("$.completedWorkouts").value(1));
+    }
+
+    @Test
+    void deletePlan_KeepsWorkouts() throws Exception {
+        long planId = createPlan("Push A");
+        logWorkout(planId, 3, 60.0, OffsetDateTime.now().minusDays(1));
+
+        perform(delete("/api/v1/plans/" + planId), null)
+                .andExpect(status().isNoContent());
+
+        perform(get("/api/v1/plans/" + planId), null)
+                .andExpect(status().isNotFound());
+        perform(get("/api/v1/workouts"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].workoutPlanId").doesNotExist());
+    }
+
+    @Test
+    void plansOfOtherUsers_AreNotFound() throws Exception {
+        long planId = createPlan("Push A");
+        authToken = registerAndLogin(UUID.randomUUID().toString());
+
+        perform(get("/api/v1/plans/" + planId + "/session"), null)
+                .andExpect(status().isNotFound());
+        logWorkout(planId, 3, 60.0, OffsetDateTime.now(), 404);
+    }
+
+    private long createPlan(String name) throws Exception {
+        String response = perform(post("/api/v1/plans"), planRequest(name))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("workoutPlanId").asLong();
+    }
+
+    private CreateWorkoutPlanRequest planRequest(String name) {
+        return new CreateWorkoutPlanRequest(name, workoutType, 3, List.of(
+                new PlannedExerciseRequest(benchId, 0, 3, 10, 60.0, null, null, 120),
+                new PlannedExerciseRequest(runId, 1, null, null, null, 5.0, DistanceUnit.KILOMETERS, null)
+        ));
+    }
+
+    private ResultActions logWorkout(Long planId, int sets, double weightKg, OffsetDateTime start) throws Exception {
+        return logWorkout(planId, sets, weightKg, start, 201);
+    }
+
+    private ResultActions logWorkout(Long planId, int sets, double weightKg, OffsetDateTime start, int expectedStatus) throws Exception {
+        List<ExerciseSetRequest> setRequests = new ArrayList<>();
+        for (int i = 0; i < sets; i++) {
+            setRequests.add(new ExerciseSetRequest(start.plusMinutes(i * 3L), start.plusMinutes(i * 3L + 1), false, 10, 0, weightKg, i));
+        }
+        OffsetDateTime runStart = start.plusMinutes(20);
+        CreateWorkoutRequest request = new CreateWorkoutRequest(List.of(
+                new ExerciseRecordRequest(benchId, start, start.plusMinutes(15),
+                        new ExerciseRecordDetailsRequest(null, null, null, setRequests, weightKg), 0),
+                new ExerciseRecordRequest(runId, runStart, runStart.plusMinutes(30),
+                        new ExerciseRecordDetailsRequest(5.0, DistanceUnit.KILOMETERS, null, null, null), 1)
+        ), workoutType, start, runStart.plusMinutes(30), planId);
+
+        return perform(post("/api/v1/workouts"), request)
+                .andExpect(status().is(expectedStatus));
+    }
+
+    private long createDefinition(String name, ExerciseType type) throws Exception {
+        String response = perform(post("/api/v1/exercises/create"), new CreateExerciseDefinitionRequest(name, type))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private String registerAndLogin(String uniqueId) throws Exception {
+        UserRequest user = new UserRequest("planuser" + uniqueId, "plan" + uniqueId + "@workout.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(user.email(), user.password()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode body = objectMapper.readTree(response);
+        return body.get("token").asText();
+    }
+
+    private ResultActions perform(org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder request, Object body) throws Exception {
+        request.header("Authorization", "Bearer " + authToken);
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return mockMvc.perform(request);
+    }
+}
@@ -0,0 +1,179 @@
+package eu.groeller.ds.presentation.api.exercise;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.exercise.ExerciseType;
+import eu.groeller.ds.presentation.request.exercise.*;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import eu.groeller.ds.presentation.request.user.UserTimeZoneRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+class WorkoutStreakIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authToken;
+    private String workoutType;
+    private long squatId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String uniqueId = UUID.randomUUID().toString();
+        authToken = registerAndLogin(uniqueId);
+
+        workoutType = "Streak Day " + uniqueId;
+        perform(post("/api/v1/workouts/workout-type"), new CreateWorkoutTypeRequest(workoutType))
+                .andExpect(status().isCreated());
+        String definition = perform(post("/api/v1/exercises/create"), new CreateExerciseDefinitionRequest("Squat " + uniqueId, ExerciseType.SETS_REPS))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        squatId = objectMapper.readTree(definition).get("id").asLong();
+
+        perform(put("/api/v1/users/time-zone"), new UserTimeZoneRequest("UTC"))
+                .andExpect(status().isNoContent());
+        today = LocalDate.now(ZoneOffset.UTC);
+    }
+
+    @Test
+    void getStreak_FollowsCreatedBackDatedAndDeletedWorkouts() throws Exception {
+        List<Long> workouts = new ArrayList<>();
+        for (int daysAgo : new int[]{6, 5, 4, 1, 0})
+            workouts.add(createWorkout(day(daysAgo)));
+
+        perform(get("/api/v1/workouts/streak").param("weeks", "1"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.today").value(today.toString()))
+                .andExpect(jsonPath("$.currentStreak").value(2))
+                .andExpect(jsonPath("$.longestStreak").value(3))
+                .andExpect(jsonPath("$.lastTrainingDay").value(today.toString()))
+                .andExpect(jsonPath("$.activeWeeks").value(1))
+                .andExpect(jsonPath("$.workoutsPerWeek").value(5.0));
+
+        // Fills the gap, joining both runs
+        createWorkout(day(3));
+        long twoDaysAgo = createWorkout(day(2));
+        perform(get("/api/v1/workouts/streak"), null)
+                .andExpect(jsonPath("$.currentStreak").value(7))
+                .andExpect(jsonPath("$.longestStreak").value(7));
+
+        perform(delete("/api/v1/workouts/" + twoDaysAgo), null)
+                .andExpect(status().isNoContent());
+        perform(delete("/api/v1/workouts/" + workouts.getLast()), null)
+                .andExpect(status().isNoContent());
+        perform(get("/api/v1/workouts/streak").param("weeks", "2"), null)
+                .andExpect(jsonPath("$.currentStreak").value(1))
+                .andExpect(jsonPath("$.longestStreak").value(4))
+                .andExpect(jsonPath("$.lastTrainingDay").value(today.minusDays(1).toString()))
+                .andExpect(jsonPath("$.activeWeeks").value(1))
+                .andExpect(jsonPath("$.workoutsPerWeek").value(2.5));
+    }
+
+    @Test
+    void changeTimeZone_MovesWorkoutsToDaysOfNewZone() throws Exception {
+        // Already the next day in UTC+14
+        createWorkout(OffsetDateTime.of(2024, 3, 5, 11, 0, 0, 0, ZoneOffset.UTC));
+        perform(get("/api/v1/workouts/calendar/2024"), null)
+                .andExpect(jsonPath("$.trainingDays").value(1));
+        perform(get("/api/v1/workouts/streak"), null)
+                .andExpect(jsonPath("$.lastTrainingDay").value("2024-03-05"));
+
+        perform(put("/api/v1/users/time-zone"), new UserTimeZoneRequest("Pacific/Kiritimati"))
+                .andExpect(status().isNoContent());
+
+        perform(get("/api/v1/users/token"), null)
+                .andExpect(jsonPath("$.timeZone").value("Pacific/Kiritimati"));
+        perform(get("/api/v1/workouts/streak"), null)
+                .andExpect(jsonPath("$.lastTrainingDay").value("2024-03-06"))
+                .andExpect(jsonPath("$.longestStreak").value(1));
+        perform(get("/api/v1/workouts/calendar/2024"), null)
+                .andExpect(jsonPath("$.trainingDays").value(1))
+                .andExpect(jsonPath("$.workouts").value(1));
+
+        // Later workouts use the new zone as well
+        createWorkout(OffsetDateTime.of(2024, 3, 6, 11, 0, 0, 0, ZoneOffset.UTC));
+        perform(get("/api/v1/workouts/streak"), null)
+                .andExpect(jsonPath("$.lastTrainingDay").value("2024-03-07"))
+                .andExpect(jsonPath("$.longestStreak").value(2));
+    }
+
+    @Test
+    void streak_WhenRequestIsInvalid_ReturnsBadRequest() throws Exception {
+        perform(put("/api/v1/users/time-zone"), new UserTimeZoneRequest("Mars/Olympus"))
+                .andExpect(status().isBadRequest());
+        perform(get("/api/v1/workouts/streak").param("weeks", "0"), null)
+                .andExpect(status().isBadRequest());
+    }
+
+    private OffsetDateTime day(int daysAgo) {
+        return today.minusDays(daysAgo).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private long createWorkout(OffsetDateTime start) throws Exception {
+        OffsetDateTime end = start.plusMinutes(30);
+        CreateWorkoutRequest request = new CreateWorkoutRequest(List.of(
+                new ExerciseRecordRequest(squatId, start, end,
+                        new ExerciseRecordDetailsRequest(null, null, null, List.of(
+                                new ExerciseSetRequest(start, start.plusMinutes(1), false, 8, 0, 100.0, 0, "Deep")
+                        ), null), 0, "Felt heavy")
+        ), workoutType, start, end);
+
+        String response = perform(post("/api/v1/workouts"), request)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("workoutId").asLong();
+    }
+
+    private String registerAndLogin(String uniqueId) throws Exception {
+        UserRequest user = new UserRequest("streakuser" + uniqueId, "streak" + uniqueId + "@workout.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(user.email(), user.password()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        request.header("Authorization", "Bearer " + authToken);
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return mockMvc.perform(request);
+    }
+}
@@ -0,0 +1,198 @@
+package eu.groeller.ds.presentation.api.habit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.habit.HabitYear;
+import eu.groeller.ds.presentation.request.habit.CreateHabitRequest;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+class HabitControllerIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 3);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        authToken = registerAndLogin(UUID.randomUUID().toString());
+    }
+
+    @Test
+    void checkIn_UpdatesStreaksAcrossYears() throws Exception {
+        long habitId = createHabit("Meditate");
+
+        for (LocalDate day = TODAY.minusDays(4); !day.isAfter(TODAY); day = day.plusDays(1))
+            checkIn(habitId, day).andExpect(status().isOk());
+
+        checkIn(habitId, TODAY)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.checkedIn").value(true))
+                .andExpect(jsonPath("$.currentStreak").value(5))
+                .andExpect(jsonPath("$.longestStreak").value(5))
+                .andExpect(jsonPath("$.totalCheckIns").value(5));
+
+        perform(delete("/api/v1/habits/" + habitId + "/check-ins/" + TODAY.minusDays(1)).param("date", TODAY.toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentStreak").value(1))
+                .andExpect(jsonPath("$.longestStreak").value(3));
+    }
+
+    @Test
+    void getHabits_ReturnsAllHabitsWithStreaks() throws Exception {
+        long readId = createHabit("Read");
+        createHabit("Stretch");
+        checkIn(readId, TODAY.minusDays(1)).andExpect(status().isOk());
+
+        perform(get("/api/v1/habits").param("date", TODAY.toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Read"))
+                .andExpect(jsonPath("$[0].checkedIn").value(false))
+                .andExpect(jsonPath("$[0].currentStreak").value(1))
+                .andExpect(jsonPath("$[1].name").value("Stretch"))
+                .andExpect(jsonPath("$[1].totalCheckIns").value(0));
+    }
+
+    @Test
+    void getYear_ReturnsBitsetOfYear() throws Exception {
+        long habitId = createHabit("Read");
+        checkIn(habitId, LocalDate.of(2023, 1, 1)).andExpect(status().isOk());
+        checkIn(habitId, LocalDate.of(2023, 1, 10)).andExpect(status().isOk());
+
+        String response = perform(get("/api/v1/habits/" + habitId + "/years/2023"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.year").value(2023))
+                .andReturn().getResponse().getContentAsString();
+        byte[] days = Base64.getDecoder().decode(objectMapper.readTree(response).get("days").asText());
+
+        assertThat(days).hasSize(HabitYear.SIZE);
+        assertThat(days[0]).isEqualTo((byte) 0b0000_0001);
+        assertThat(days[1]).isEqualTo((byte) 0b0000_0010);
+
+        perform(get("/api/v1/habits/" + habitId + "/years/2020"), null)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void checkIn_ConcurrentCheckInsOfSameYear_AreAllKept() throws Exception {
+        long habitId = createHabit("Walk");
+
+        List<Callable<Integer>> checkIns = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            LocalDate day = TODAY.minusDays(i);
+            checkIns.add(() -> checkIn(habitId, day).andReturn().getResponse().getStatus());
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(checkIns.size())) {
+            for (var checkIn : executor.invokeAll(checkIns))
+                assertThat(checkIn.get()).isEqualTo(200);
+        }
+
+        perform(get("/api/v1/habits").param("date", TODAY.toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].currentStreak").value(8))
+                .andExpect(jsonPath("$[0].totalCheckIns").value(8));
+    }
+
+    @Test
+    void habits_OnlyAccessibleByOwner() throws Exception {
+        long habitId = createHabit("Read");
+
+        authToken = registerAndLogin(UUID.randomUUID().toString());
+
+        checkIn(habitId, TODAY).andExpect(status().isNotFound());
+        perform(delete("/api/v1/habits/" + habitId), null).andExpect(status().isNotFound());
+        perform(get("/api/v1/habits"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void habits_WhenRequestIsInvalid_ReturnsBadRequest() throws Exception {
+        long habitId = createHabit("Read");
+
+        perform(post("/api/v1/habits"), new CreateHabitRequest("Read"))
+                .andExpect(status().isBadRequest());
+        perform(post("/api/v1/habits"), new CreateHabitRequest("x".repeat(101)))
+                .andExpect(status().isBadRequest());
+        checkIn(habitId, LocalDate.now().plusDays(7))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteHabit_RemovesHabitWithCheckIns() throws Exception {
+        long habitId = createHabit("Read");
+        checkIn(habitId, TODAY).andExpect(status().isOk());
+
+        perform(delete("/api/v1/habits/" + habitId), null)
+                .andExpect(status().isNoContent());
+        perform(get("/api/v1/habits/" + habitId + "/years/2024"), null)
+                .andExpect(status().isNotFound());
+    }
+
+    private long createHabit(String name) throws Exception {
+        String response = perform(post("/api/v1/habits"), new CreateHabitRequest(name))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("habitId").asLong();
+    }
+
+    private ResultActions checkIn(long habitId, LocalDate day) throws Exception {
+        return perform(put("/api/v1/habits/" + habitId + "/check-ins/" + day).param("date", TODAY.toString()), null);
+    }
+
+    private String registerAndLogin(String uniqueId) throws Exception {
+        UserRequest user = new UserRequest("habituser" + uniqueId, "habit" + uniqueId + "@workout.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(user.email(), user.password()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        request.header("Authorization", "Bearer " + authToken);
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return mockMvc.perform(request);
+    }
+}
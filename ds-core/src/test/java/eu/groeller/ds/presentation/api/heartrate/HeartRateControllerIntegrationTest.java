@@ -0,0 +1,208 @@
+package eu.groeller.ds.presentation.api.heartrate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.presentation.request.heartrate.HeartRateSampleRequest;
+import eu.groeller.ds.presentation.request.heartrate.HeartRateSamplesRequest;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+class HeartRateControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authToken;
+    private OffsetDateTime hour;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        authToken = registerAndLogin(UUID.randomUUID().toString());
+        hour = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS).minusDays(1);
+    }
+
+    @Test
+    void ingestSamples_MergesSamplesIntoHourlyBlocks() throws Exception {
+        List<HeartRateSampleRequest> samples = new ArrayList<>();
+        // Half an hour at 1 Hz on each side of a block boundary
+        for (int i = -1_800; i < 1_800; i++)
+            samples.add(new HeartRateSampleRequest(hour.plusSeconds(i), 100 + Math.floorMod(i, 10)));
+
+        perform(post("/api/v1/heart-rate/samples"), new HeartRateSamplesRequest(samples))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.acceptedSamples").value(3_600))
+                .andExpect(jsonPath("$.blocks.length()").value(2))
+                .andExpect(jsonPath("$.blocks[0].sampleCount").value(1_800))
+                .andExpect(jsonPath("$.blocks[1].sampleCount").value(1_800))
+                .andExpect(jsonPath("$.blocks[1].minBpm").value(100))
+                .andExpect(jsonPath("$.blocks[1].maxBpm").value(109))
+                .andExpect(jsonPath("$.blocks[1].averageBpm").value(104.5));
+
+        perform(get("/api/v1/heart-rate/samples")
+                .param("from", hour.minusSeconds(2).toString())
+                .param("to", hour.plusSeconds(2).toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].bpm").value(108))
+                .andExpect(jsonPath("$[2].bpm").value(100));
+    }
+
+    @Test
+    void ingestSamples_WhenBatchIsResent_DoesNotDuplicateSamples() throws Exception {
+        HeartRateSamplesRequest request = new HeartRateSamplesRequest(List.of(
+                new HeartRateSampleRequest(hour.plusSeconds(1), 60),
+                new HeartRateSampleRequest(hour.plusSeconds(2), 62)
+        ));
+
+        perform(post("/api/v1/heart-rate/samples"), request).andExpect(status().isOk());
+        perform(post("/api/v1/heart-rate/samples"), request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.blocks[0].sampleCount").value(2));
+    }
+
+    @Test
+    void ingestSamples_WhenBatchWithSubMillisecondTimesIsResent_DoesNotDuplicateSamples() throws Exception {
+        HeartRateSamplesRequest request = new HeartRateSamplesRequest(List.of(
+                new HeartRateSampleRequest(hour.plusSeconds(1).plusNanos(123_456), 60),
+                new HeartRateSampleRequest(hour.plusSeconds(2).plusNanos(999_999), 62)
+        ));
+
+        perform(post("/api/v1/heart-rate/samples"), request).andExpect(status().isOk());
+        perform(post("/api/v1/heart-rate/samples"), request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.blocks[0].sampleCount").value(2));
+    }
+
+    @Test
+    void ingestSamples_ConcurrentBatchesOfSameHour_AreAllKept() throws Exception {
+        List<Callable<Integer>> uploads = new ArrayList<>();
+        for (int batch = 0; batch < 4; batch++) {
+            List<HeartRateSampleRequest> samples = new ArrayList<>();
+            for (int i = 0; i < 100; i++)
+                samples.add(new HeartRateSampleRequest(hour.plusSeconds(batch * 100L + i), 80));
+            HeartRateSamplesRequest request = new HeartRateSamplesRequest(samples);
+            uploads.add(() -> perform(post("/api/v1/heart-rate/samples"), request).andReturn().getResponse().getStatus());
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(uploads.size())) {
+            for (var upload : executor.invokeAll(uploads))
+                assertThat(upload.get()).isEqualTo(200);
+        }
+
+        perform(get("/api/v1/heart-rate/summary")
+                .param("from", hour.toString())
+                .param("to", hour.plusHours(1).toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampleCount").value(400));
+    }
+
+    @Test
+    void getSummary_AggregatesBlocksAndIsEmptyWithoutSamples() throws Exception {
+        perform(post("/api/v1/heart-rate/samples"), new HeartRateSamplesRequest(List.of(
+                new HeartRateSampleRequest(hour.plusMinutes(10), 60),
+                new HeartRateSampleRequest(hour.plusHours(2).plusMinutes(10), 150),
+                new HeartRateSampleRequest(hour.plusHours(2).plusMinutes(11), 90)
+        ))).andExpect(status().isOk());
+
+        perform(get("/api/v1/heart-rate/summary")
+                .param("from", hour.toString())
+                .param("to", hour.plusHours(3).toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampleCount").value(3))
+                .andExpect(jsonPath("$.minBpm").value(60))
+                .andExpect(jsonPath("$.maxBpm").value(150))
+                .andExpect(jsonPath("$.averageBpm").value(100.0))
+                .andExpect(jsonPath("$.blocks.length()").value(2));
+
+        perform(get("/api/v1/heart-rate/summary")
+                .param("from", hour.minusDays(10).toString())
+                .param("to", hour.minusDays(9).toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampleCount").value(0))
+                .andExpect(jsonPath("$.averageBpm").doesNotExist())
+                .andExpect(jsonPath("$.blocks.length()").value(0));
+    }
+
+    @Test
+    void heartRate_OnlyReturnsOwnSamples() throws Exception {
+        perform(post("/api/v1/heart-rate/samples"), new HeartRateSamplesRequest(List.of(
+                new HeartRateSampleRequest(hour.plusMinutes(1), 70)
+        ))).andExpect(status().isOk());
+
+        authToken = registerAndLogin(UUID.randomUUID().toString());
+
+        perform(get("/api/v1/heart-rate/samples")
+                .param("from", hour.toString())
+                .param("to", hour.plusHours(1).toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void heartRate_WhenRequestIsInvalid_ReturnsBadRequest() throws Exception {
+        perform(post("/api/v1/heart-rate/samples"), new HeartRateSamplesRequest(List.of()))
+                .andExpect(status().isBadRequest());
+        perform(post("/api/v1/heart-rate/samples"), new HeartRateSamplesRequest(List.of(new HeartRateSampleRequest(hour, 400))))
+                .andExpect(status().isBadRequest());
+        perform(post("/api/v1/heart-rate/samples"), new HeartRateSamplesRequest(List.of(new HeartRateSampleRequest(OffsetDateTime.now().plusDays(1), 70))))
+                .andExpect(status().isBadRequest());
+        perform(get("/api/v1/heart-rate/samples")
+                .param("from", hour.toString())
+                .param("to", hour.plusDays(2).toString()), null)
+                .andExpect(status().isBadRequest());
+    }
+
+    private String registerAndLogin(String uniqueId) throws Exception {
+        UserRequest user = new UserRequest("hruser" + uniqueId, "hr" + uniqueId + "@workout.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(user.email(), user.password()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        request.header("Authorization", "Bearer " + authToken);
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return mockMvc.perform(request);
+    }
+}
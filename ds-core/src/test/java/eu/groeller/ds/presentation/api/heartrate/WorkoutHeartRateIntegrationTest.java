@@ -0,0 +1,148 @@
+package eu.groeller.ds.presentation.api.heartrate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+import eu.groeller.ds.domain.exercise.ExerciseType;
+import eu.groeller.ds.presentation.request.exercise.*;
+import eu.groeller.ds.presentation.request.heartrate.HeartRateSampleRequest;
+import eu.groeller.ds.presentation.request.heartrate.HeartRateSamplesRequest;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+class WorkoutHeartRateIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authToken;
+    private String workoutType;
+    private long squatId;
+    private long runId;
+    private OffsetDateTime start;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String uniqueId = UUID.randomUUID().toString();
+        authToken = registerAndLogin(uniqueId);
+
+        workoutType = "Heart Rate Day " + uniqueId;
+        perform(post("/api/v1/workouts/workout-type"), new CreateWorkoutTypeRequest(workoutType))
+                .andExpect(status().isCreated());
+        squatId = createDefinition("Squat " + uniqueId, ExerciseType.SETS_REPS);
+        runId = createDefinition("Run " + uniqueId, ExerciseType.DISTANCE);
+
+        // Crosses a block boundary
+        start = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS).minusDays(1).minusMinutes(15);
+    }
+
+    @Test
+    void createWorkout_WithSamplesSyncedBefore_HasHeartRateStats() throws Exception {
+        ingestWorkoutSamples();
+
+        perform(post("/api/v1/workouts"), workoutRequest())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.heartRate.sampleCount").value(3_000))
+                .andExpect(jsonPath("$.heartRate.maxBpm").value(175))
+                .andExpect(jsonPath("$.heartRate.averageBpm").value(149.0))
+                .andExpect(jsonPath("$.heartRate.timeInZonesMs.length()").value(5))
+                .andExpect(jsonPath("$.exercises[?(@.exerciseDefinitionId == " + squatId + ")].heartRate.maxBpm").value(110))
+                .andExpect(jsonPath("$.exercises[?(@.exerciseDefinitionId == " + runId + ")].heartRate.sampleCount").value(1_800));
+    }
+
+    @Test
+    void ingestSamples_AfterWorkoutWasLogged_UpdatesItsHeartRateStats() throws Exception {
+        perform(post("/api/v1/workouts"), workoutRequest())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.heartRate").doesNotExist());
+
+        ingestWorkoutSamples();
+
+        perform(get("/api/v1/workouts"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].heartRate.sampleCount").value(3_000))
+                // Run at 175 bpm, zone 5 with the default maximum of 190
+                .andExpect(jsonPath("$.content[0].exercises[?(@.exerciseDefinitionId == " + runId + ")].heartRate.timeInZonesMs[4]").value(1_800_000));
+    }
+
+    // 20 minutes of squats at 110 bpm, 30 minutes of running at 175 bpm, one sample per second
+    private void ingestWorkoutSamples() throws Exception {
+        List<HeartRateSampleRequest> samples = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++)
+            samples.add(new HeartRateSampleRequest(start.plusSeconds(i), 110));
+        for (int i = 1_200; i < 3_000; i++)
+            samples.add(new HeartRateSampleRequest(start.plusSeconds(i), 175));
+
+        perform(post("/api/v1/heart-rate/samples"), new HeartRateSamplesRequest(samples))
+                .andExpect(status().isOk());
+    }
+
+    private CreateWorkoutRequest workoutRequest() {
+        OffsetDateTime runStart = start.plusMinutes(20);
+        return new CreateWorkoutRequest(List.of(
+                new ExerciseRecordRequest(squatId, start, runStart,
+                        new ExerciseRecordDetailsRequest(null, null, null, List.of(
+                                new ExerciseSetRequest(start, start.plusMinutes(1), false, 8, 0, 100.0, 0)
+                        ), null), 0),
+                new ExerciseRecordRequest(runId, runStart, runStart.plusMinutes(30),
+                        new ExerciseRecordDetailsRequest(5.0, DistanceUnit.KILOMETERS, null, null, null), 1)
+        ), workoutType, start, runStart.plusMinutes(30));
+    }
+
+    private long createDefinition(String name, ExerciseType type) throws Exception {
+        String response = perform(post("/api/v1/exercises/create"), new CreateExerciseDefinitionRequest(name, type))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private String registerAndLogin(String uniqueId) throws Exception {
+        UserRequest user = new UserRequest("hrworkout" + uniqueId, "hrworkout" + uniqueId + "@workout.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(user.email(), user.password()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        request.header("Authorization", "Bearer " + authToken);
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return mockMvc.perform(request);
+    }
+}
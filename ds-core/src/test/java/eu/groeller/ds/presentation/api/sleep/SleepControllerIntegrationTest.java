@@ -0,0 +1,189 @@
+package eu.groeller.ds.presentation.api.sleep;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.sleep.SleepStage;
+import eu.groeller.ds.presentation.request.sleep.SleepSegmentRequest;
+import eu.groeller.ds.presentation.request.sleep.SleepSessionRequest;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+class SleepControllerIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        authToken = registerAndLogin(UUID.randomUUID().toString());
+    }
+
+    @Test
+    void recordSession_ComputesNightlyAggregatesAndKeepsStages() throws Exception {
+        perform(post("/api/v1/sleep/sessions"), night(TODAY, 60))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.night").value(TODAY.toString()))
+                .andExpect(jsonPath("$.inBedMinutes").value(480.0))
+                .andExpect(jsonPath("$.deepMinutes").value(60.0))
+                .andExpect(jsonPath("$.remMinutes").value(120.0))
+                .andExpect(jsonPath("$.lightMinutes").value(270.0))
+                .andExpect(jsonPath("$.awakeMinutes").value(30.0))
+                .andExpect(jsonPath("$.efficiency").value(450.0 / 480));
+
+        perform(get("/api/v1/sleep/sessions/" + TODAY), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.segments.length()").value(5))
+                .andExpect(jsonPath("$.segments[0].stage").value("AWAKE"))
+                .andExpect(jsonPath("$.segments[1].stage").value("DEEP"));
+
+        perform(get("/api/v1/sleep/sessions")
+                .param("from", TODAY.minusDays(7).toString())
+                .param("to", TODAY.toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].segments").doesNotExist());
+    }
+
+    @Test
+    void getSummary_AveragesRollingWindows() throws Exception {
+        // Every night of the last 60 days, with an hour more deep sleep during the last week
+        for (int day = 59; day >= 0; day--)
+            perform(post("/api/v1/sleep/sessions"), night(TODAY.minusDays(day), day < 7 ? 120 : 60))
+                    .andExpect(status().isCreated());
+
+        perform(get("/api/v1/sleep/summary").param("date", TODAY.toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows.length()").value(3))
+                .andExpect(jsonPath("$.windows[0].days").value(7))
+                .andExpect(jsonPath("$.windows[0].nights").value(7))
+                .andExpect(jsonPath("$.windows[0].averageDeepMinutes").value(120.0))
+                .andExpect(jsonPath("$.windows[1].nights").value(30))
+                .andExpect(jsonPath("$.windows[1].averageDeepMinutes").value(74.0))
+                .andExpect(jsonPath("$.windows[2].nights").value(60))
+                .andExpect(jsonPath("$.windows[2].averageDeepMinutes").value(67.0))
+                .andExpect(jsonPath("$.windows[2].efficiency").value(450.0 / 480));
+    }
+
+    @Test
+    void recordSession_BackdatedOrReplacedNight_UpdatesLaterSummaries() throws Exception {
+        perform(post("/api/v1/sleep/sessions"), night(TODAY, 60)).andExpect(status().isCreated());
+        perform(post("/api/v1/sleep/sessions"), night(TODAY.minusDays(2), 60)).andExpect(status().isCreated());
+        // Re-synced with more deep sleep
+        perform(post("/api/v1/sleep/sessions"), night(TODAY.minusDays(2), 180)).andExpect(status().isCreated());
+
+        perform(get("/api/v1/sleep/summary").param("date", TODAY.toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows[0].nights").value(2))
+                .andExpect(jsonPath("$.windows[0].averageDeepMinutes").value(120.0));
+
+        perform(get("/api/v1/sleep/summary").param("date", TODAY.minusDays(1).toString()), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows[0].nights").value(1))
+                .andExpect(jsonPath("$.windows[0].averageDeepMinutes").value(180.0));
+    }
+
+    @Test
+    void recordSession_WhenSleepDoesNotOverlapRecordedNight_ReturnsConflict() throws Exception {
+        perform(post("/api/v1/sleep/sessions"), night(TODAY, 60)).andExpect(status().isCreated());
+
+        OffsetDateTime napStart = TODAY.atTime(LocalTime.of(14, 0)).atOffset(ZoneOffset.ofHours(2));
+        SleepSessionRequest nap = new SleepSessionRequest(napStart, napStart.plusMinutes(30), List.of(
+                new SleepSegmentRequest(SleepStage.LIGHT, napStart, napStart.plusMinutes(30))
+        ));
+        perform(post("/api/v1/sleep/sessions"), nap)
+                .andExpect(status().isConflict());
+
+        perform(get("/api/v1/sleep/sessions/" + TODAY), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inBedMinutes").value(480.0))
+                .andExpect(jsonPath("$.deepMinutes").value(60.0));
+    }
+
+    @Test
+    void getSummary_WithoutNights_IsEmpty() throws Exception {
+        perform(get("/api/v1/sleep/summary"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows[0].nights").value(0))
+                .andExpect(jsonPath("$.windows[0].averageAsleepMinutes").doesNotExist());
+        perform(get("/api/v1/sleep/sessions/" + TODAY), null)
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void recordSession_WhenSegmentsOverlap_ReturnsBadRequest() throws Exception {
+        OffsetDateTime start = TODAY.minusDays(1).atTime(LocalTime.of(23, 0)).atOffset(ZoneOffset.ofHours(2));
+        SleepSessionRequest request = new SleepSessionRequest(start, start.plusHours(8), List.of(
+                new SleepSegmentRequest(SleepStage.LIGHT, start, start.plusHours(2)),
+                new SleepSegmentRequest(SleepStage.DEEP, start.plusHours(1), start.plusHours(3))
+        ));
+
+        perform(post("/api/v1/sleep/sessions"), request)
+                .andExpect(status().isBadRequest());
+    }
+
+    // Eight hours in bed ending on the morning of the night, 30 minutes awake in total
+    private static SleepSessionRequest night(LocalDate night, int deepMinutes) {
+        OffsetDateTime start = night.minusDays(1).atTime(LocalTime.of(23, 0)).atOffset(ZoneOffset.ofHours(2));
+        OffsetDateTime deepEnd = start.plusMinutes(20 + deepMinutes);
+        OffsetDateTime remEnd = deepEnd.plusMinutes(120);
+        return new SleepSessionRequest(start, start.plusHours(8), List.of(
+                new SleepSegmentRequest(SleepStage.DEEP, start.plusMinutes(20), deepEnd),
+                new SleepSegmentRequest(SleepStage.REM, deepEnd, remEnd),
+                new SleepSegmentRequest(SleepStage.LIGHT, remEnd, start.plusMinutes(470))
+        ));
+    }
+
+    private String registerAndLogin(String uniqueId) throws Exception {
+        UserRequest user = new UserRequest("sleepuser" + uniqueId, "sleep" + uniqueId + "@workout.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(user.email(), user.password()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        request.header("Authorization", "Bearer " + authToken);
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return mockMvc.perform(request);
+    }
+}
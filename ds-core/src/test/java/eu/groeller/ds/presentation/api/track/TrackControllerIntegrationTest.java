@@ -0,0 +1,205 @@
+package eu.groeller.ds.presentation.api.track;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.groeller.ds.config.TestContainersConfig;
+import eu.groeller.ds.domain.exercise.DistanceUnit;
+import eu.groeller.ds.domain.exercise.ExerciseType;
+import eu.groeller.ds.domain.track.TrackSimplifier;
+import eu.groeller.ds.presentation.request.exercise.*;
+import eu.groeller.ds.presentation.request.track.TrackPointRequest;
+import eu.groeller.ds.presentation.request.track.TrackRequest;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
+import eu.groeller.ds.presentation.request.user.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+class TrackControllerIntegrationTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2024, 5, 4, 7, 0, 0, 0, ZoneOffset.UTC);
+    // Meters per degree of latitude
+    private static final double DEGREE = 111_195.08;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authToken;
+    private long recordId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String uniqueId = UUID.randomUUID().toString();
+        authToken = registerAndLogin(uniqueId);
+        recordId = createRun(uniqueId);
+    }
+
+    @Test
+    void uploadTrack_ComputesDistanceSplitsAndSummary() throws Exception {
+        perform(put("/api/v1/exercise-records/" + recordId + "/track"), zigzagRun(2_480))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.distanceUnit").value("KILOMETERS"))
+                // The zigzag makes every second 5m
+                .andExpect(jsonPath("$.distance").value(closeTo(3.1, 0.01)))
+                .andExpect(jsonPath("$.summary.pointCount").value(621))
+                .andExpect(jsonPath("$.summary.durationMs").value(620_000))
+                .andExpect(jsonPath("$.summary.elevationGainMeters").value(0.0))
+                .andExpect(jsonPath("$.splits.length()").value(4))
+                .andExpect(jsonPath("$.splits[0].durationMs").value(200_000))
+                .andExpect(jsonPath("$.splits[3].distanceMeters").value(closeTo(100, 0.5)));
+
+        // Summary views get the thumbnail, never points
+        perform(get("/api/v1/workouts"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].exercises[0].details.track.pointCount").value(621))
+                .andExpect(jsonPath("$.content[0].exercises[0].details.track.thumbnail").isString())
+                .andExpect(jsonPath("$.content[0].exercises[0].details.distance").value(closeTo(3.1, 0.01)));
+    }
+
+    @Test
+    void getTrack_SimplifiesPerZoomLevel() throws Exception {
+        perform(put("/api/v1/exercise-records/" + recordId + "/track"), zigzagRun(2_480))
+                .andExpect(status().isOk());
+
+        // The 3m zigzag is invisible when zoomed out but kept when zoomed in
+        perform(get("/api/v1/exercise-records/" + recordId + "/track").param("zoom", "12"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.zoom").value(12))
+                .andExpect(jsonPath("$.pointCount").value(2))
+                .andExpect(jsonPath("$.originalPointCount").value(621))
+                .andExpect(jsonPath("$.bounds.minLatitude").value(0.0));
+        perform(get("/api/v1/exercise-records/" + recordId + "/track").param("zoom", "20"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pointCount").value(621));
+        perform(get("/api/v1/exercise-records/" + recordId + "/track").param("tolerance", "10"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.zoom").value(14))
+                .andExpect(jsonPath("$.pointCount").value(2));
+        // Never finer than the finest zoom level
+        perform(get("/api/v1/exercise-records/" + recordId + "/track").param("tolerance", "0"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.zoom").value(TrackSimplifier.MAX_ZOOM))
+                .andExpect(jsonPath("$.toleranceMeters").value(closeTo(TrackSimplifier.toleranceForZoom(TrackSimplifier.MAX_ZOOM, 0), 0.001), Double.class));
+    }
+
+    @Test
+    void uploadTrack_ReplacesTrackAndCachedSimplifications() throws Exception {
+        perform(put("/api/v1/exercise-records/" + recordId + "/track"), zigzagRun(2_480))
+                .andExpect(status().isOk());
+        perform(get("/api/v1/exercise-records/" + recordId + "/track").param("zoom", "20"), null)
+                .andExpect(jsonPath("$.pointCount").value(621));
+
+        perform(put("/api/v1/exercise-records/" + recordId + "/track"), zigzagRun(400))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splits.length()").value(1));
+
+        perform(get("/api/v1/exercise-records/" + recordId + "/track").param("zoom", "20"), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.originalPointCount").value(101))
+                .andExpect(jsonPath("$.pointCount").value(lessThan(102)));
+    }
+
+    @Test
+    void track_OnlyAccessibleByOwner() throws Exception {
+        perform(put("/api/v1/exercise-records/" + recordId + "/track"), zigzagRun(400))
+                .andExpect(status().isOk());
+
+        authToken = registerAndLogin(UUID.randomUUID().toString());
+
+        perform(get("/api/v1/exercise-records/" + recordId + "/track").param("zoom", "12"), null)
+                .andExpect(status().isNotFound());
+        perform(put("/api/v1/exercise-records/" + recordId + "/track"), zigzagRun(400))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void track_WhenRequestIsInvalid_ReturnsBadRequest() throws Exception {
+        perform(put("/api/v1/exercise-records/" + recordId + "/track"), new TrackRequest(List.of(
+                new TrackPointRequest(START, 0.0, 0.0, null))))
+                .andExpect(status().isBadRequest());
+        perform(put("/api/v1/exercise-records/" + recordId + "/track"), new TrackRequest(List.of(
+                new TrackPointRequest(START, 0.0, 0.0, null),
+                new TrackPointRequest(START.plusSeconds(1), 91.0, 0.0, null))))
+                .andExpect(status().isBadRequest());
+        perform(put("/api/v1/exercise-records/" + recordId + "/track"), new TrackRequest(List.of(
+                new TrackPointRequest(START, 0.0, 0.0, null),
+                new TrackPointRequest(START, 0.001, 0.0, null))))
+                .andExpect(status().isBadRequest());
+        perform(get("/api/v1/exercise-records/" + recordId + "/track"), null)
+                .andExpect(status().isBadRequest());
+        perform(get("/api/v1/exercise-records/" + recordId + "/track").param("zoom", "12"), null)
+                .andExpect(status().isNotFound());
+    }
+
+    // One point per second, 4m north and 3m east or west each
+    private TrackRequest zigzagRun(int metersNorth) {
+        List<TrackPointRequest> points = new ArrayList<>();
+        for (int i = 0; i * 4 <= metersNorth; i++)
+            points.add(new TrackPointRequest(START.plusSeconds(i), i * 4 / DEGREE, (i % 2) * 3 / DEGREE, 120.0));
+        return new TrackRequest(points);
+    }
+
+    private long createRun(String uniqueId) throws Exception {
+        String workoutType = "Track Day " + uniqueId;
+        perform(post("/api/v1/workouts/workout-type"), new CreateWorkoutTypeRequest(workoutType))
+                .andExpect(status().isCreated());
+        String definition = perform(post("/api/v1/exercises/create"), new CreateExerciseDefinitionRequest("Run " + uniqueId, ExerciseType.DISTANCE))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long definitionId = objectMapper.readTree(definition).get("id").asLong();
+
+        String workout = perform(post("/api/v1/workouts"), new CreateWorkoutRequest(List.of(
+                new ExerciseRecordRequest(definitionId, START, START.plusMinutes(11),
+                        new ExerciseRecordDetailsRequest(2.0, DistanceUnit.KILOMETERS, null, null, null), 0)
+        ), workoutType, START, START.plusMinutes(11)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(workout).get("exercises").get(0).get("exerciseRecordId").asLong();
+    }
+
+    private String registerAndLogin(String uniqueId) throws Exception {
+        UserRequest user = new UserRequest("trackuser" + uniqueId, "track" + uniqueId + "@workout.com", "password123");
+        mockMvc.perform(post("/api/v1/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(user.email(), user.password()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        request.header("Authorization", "Bearer " + authToken);
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return mockMvc.perform(request);
+    }
+}
@@ -2,14 +2,24 @@ package eu.groeller.ds.service;
 
 import eu.groeller.ds.domain.User;
 import eu.groeller.ds.persistence.user.UserRepository;
+import eu.groeller.ds.presentation.request.user.RefreshTokenRequest;
+import eu.groeller.ds.presentation.request.user.UserLoginRequest;
 import eu.groeller.ds.presentation.request.user.UserRequest;
+import eu.groeller.ds.presentation.request.user.UserTimeZoneRequest;
+import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.exercise.WorkoutCalendarService;
 import eu.groeller.ds.service.security.JwtService;
+import eu.groeller.ds.service.security.RefreshTokenService;
+import eu.groeller.ds.service.security.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Optional;
+
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -18,6 +28,9 @@ public class UserServiceTest {
     UserRepository mockUserRepository;
     PasswordEncoder mockPasswordEncoder;
     JwtService mockJwtService;
+    RefreshTokenService mockRefreshTokenService;
+    TokenRevocationService mockTokenRevocationService;
+    WorkoutCalendarService mockWorkoutCalendarService;
     UserService userService;
 
     @BeforeEach
@@ -25,8 +38,11 @@ public class UserServiceTest {
         mockUserRepository = mock(UserRepository.class);
         mockPasswordEncoder = mock(PasswordEncoder.class);
         mockJwtService = mock(JwtService.class);
+        mockRefreshTokenService = mock(RefreshTokenService.class);
+        mockTokenRevocationService = mock(TokenRevocationService.class);
+        mockWorkoutCalendarService = mock(WorkoutCalendarService.class);
         when(mockPasswordEncoder.encode(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
-        userService = new UserService(mockUserRepository, mockPasswordEncoder, mockJwtService);
+        userService = new UserService(mockUserRepository, mockPasswordEncoder, mockJwtService, mockRefreshTokenService, mockTokenRevocationService, mockWorkoutCalendarService);
     }
 
     @Test
@@ -112,5 +128,88 @@ public class UserServiceTest {
         verify(mockUserRepository).save(any(User.class));
     }
 
+    @Test
+    void login_WhenPasswordEncodingIsOutdated_RehashesAndSavesUser() {
+        var user = new User("username", "test@example.com", "old-hash");
+        when(mockUserRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(mockPasswordEncoder.matches("password", "old-hash")).thenReturn(true);
+        when(mockPasswordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+        when(mockJwtService.generateToken(user)).thenReturn("token");
+        when(mockRefreshTokenService.issue(user)).thenReturn("refresh-token");
+
+        var response = userService.login(new UserLoginRequest("test@example.com", "password"));
+
+        assertEquals("token", response.token());
+        assertEquals("refresh-token", response.refreshToken());
+        assertEquals("password", user.getPassword());
+        verify(mockUserRepository).save(user);
+    }
+
+    @Test
+    void login_WhenPasswordEncodingIsCurrent_DoesNotSaveUser() {
+        var user = new User("username", "test@example.com", "hash");
+        when(mockUserRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(mockPasswordEncoder.matches("password", "hash")).thenReturn(true);
+        when(mockPasswordEncoder.upgradeEncoding("hash")).thenReturn(false);
+
+        userService.login(new UserLoginRequest("test@example.com", "password"));
+
+        verify(mockUserRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void refresh_WhenTokenIsRotated_ReturnsNewTokenPair() {
+        var user = new User("username", "test@example.com", "hash");
+        when(mockRefreshTokenService.rotate("old-refresh")).thenReturn(new RefreshTokenService.RotatedRefreshToken(user, "new-refresh"));
+        when(mockJwtService.generateToken(user)).thenReturn("token");
+
+        var response = userService.refresh(new RefreshTokenRequest("old-refresh"));
+
+        assertEquals("token", response.token());
+        assertEquals("new-refresh", response.refreshToken());
+    }
+
+    @Test
+    void refresh_WhenTokenIsBlank_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> userService.refresh(new RefreshTokenRequest(" ")));
+        verify(mockRefreshTokenService, never()).rotate(anyString());
+    }
 
+    @Test
+    void changeTimeZone_SavesZoneAndRebuildsCalendar() {
+        var user = new User("username", "test@example.com", "hash");
+        when(mockUserRepository.lockById(user.getId())).thenReturn(Optional.of(user));
+        when(mockUserRepository.save(user)).thenReturn(user);
+
+        userService.changeTimeZone(user, new UserTimeZoneRequest("Europe/Vienna"));
+
+        assertEquals("Europe/Vienna", user.getTimeZone());
+        verify(mockUserRepository).save(user);
+        verify(mockWorkoutCalendarService).rebuildForTimeZone(user);
+
+        userService.changeTimeZone(user, new UserTimeZoneRequest(null));
+
+        assertNull(user.getTimeZone());
+        verify(mockWorkoutCalendarService, times(2)).rebuildForTimeZone(user);
+    }
+
+    @Test
+    void changeTimeZone_WhenZoneIsUnchanged_DoesNotRebuildCalendar() {
+        var user = new User("username", "test@example.com", "hash");
+        user.setTimeZone("Europe/Vienna");
+        when(mockUserRepository.lockById(user.getId())).thenReturn(Optional.of(user));
+
+        userService.changeTimeZone(user, new UserTimeZoneRequest("Europe/Vienna"));
+
+        verify(mockUserRepository, never()).save(any());
+        verifyNoInteractions(mockWorkoutCalendarService);
+    }
+
+    @Test
+    void changeTimeZone_WhenZoneIsUnknown_ThrowsIllegalArgumentException() {
+        var user = new User("username", "test@example.com", "hash");
+
+        assertThrows(DSIllegalArgumentException.class, () -> userService.changeTimeZone(user, new UserTimeZoneRequest("Mars/Olympus")));
+        verifyNoInteractions(mockWorkoutCalendarService);
+    }
 }
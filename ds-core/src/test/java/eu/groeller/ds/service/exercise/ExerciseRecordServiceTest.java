@@ -6,6 +6,7 @@ import eu.groeller.ds.persistence.exercise.ExerciseRecordRepository;
 import eu.groeller.ds.presentation.request.exercise.ExerciseRecordDetailsRequest;
 import eu.groeller.ds.presentation.request.exercise.ExerciseRecordRequest;
 import eu.groeller.ds.presentation.request.exercise.ExerciseSetRequest;
+import eu.groeller.ds.presentation.request.exercise.LapRequest;
 import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
 import lombok.val;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +22,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -344,4 +346,102 @@ public class ExerciseRecordServiceTest {
         // Verify duration is calculated correctly (in milliseconds)
         assertThat(distanceRecord.getDuration()).isEqualTo(Duration.between(startTime, endTime).toMillis());
     }
+
+    @Test
+    void createExerciseRecord_WhenDistanceExerciseHasLaps_PrecomputesSplits() {
+        ExerciseDefinition definition = new ExerciseDefinition("Running", ExerciseType.DISTANCE);
+        // 400m track laps, the last two faster
+        List<LapRequest> laps = List.of(
+                new LapRequest(400.0, 100_000L),
+                new LapRequest(400.0, 100_000L),
+                new LapRequest(400.0, 100_000L),
+                new LapRequest(400.0, 80_000L),
+                new LapRequest(400.0, 80_000L)
+        );
+        val details = new ExerciseRecordDetailsRequest(2_000.0, DistanceUnit.METERS, null, null, null, laps);
+        ExerciseRecordRequest request = new ExerciseRecordRequest(1L, now, now.plusSeconds(460), details, 1);
+
+        when(exerciseDefinitionRepository.findById(1L)).thenReturn(Optional.of(definition));
+
+        DistanceExerciseRecord result = (DistanceExerciseRecord) exerciseRecordService.createExerciseRecord(request);
+
+        // Split per 100m, four per lap
+        assertThat(result.splits()).hasSize(20);
+        assertThat(result.splits().getFirst()).isEqualTo(new Split(100, 25_000));
+        assertThat(result.getFastestSplitMillis()).isEqualTo(20_000);
+        assertThat(result.getFastestSplitNumber()).isEqualTo(13);
+        assertThat(result.getNegativeSplit()).isTrue();
+        // 2000m in 460s
+        assertThat(result.getDistancePerUnit()).isCloseTo(15_652.17, within(0.01));
+    }
+
+    @Test
+    void createExerciseRecord_WhenLapIsInvalid_ThrowsDSIllegalArgumentException() {
+        ExerciseDefinition definition = new ExerciseDefinition("Running", ExerciseType.DISTANCE);
+        val details = new ExerciseRecordDetailsRequest(1.0, DistanceUnit.KILOMETERS, null, null, null,
+                List.of(new LapRequest(1.0, 0L)));
+        ExerciseRecordRequest request = new ExerciseRecordRequest(1L, now, now.plusMinutes(5), details, 1);
+
+        when(exerciseDefinitionRepository.findById(1L)).thenReturn(Optional.of(definition));
+
+        assertThatThrownBy(() -> exerciseRecordService.createExerciseRecord(request))
+                .isInstanceOf(DSIllegalArgumentException.class);
+    }
+
+    @Test
+    void createExerciseRecord_WhenLapsExceedRecord_ThrowsDSIllegalArgumentException() {
+        ExerciseDefinition definition = new ExerciseDefinition("Running", ExerciseType.DISTANCE);
+        when(exerciseDefinitionRepository.findById(1L)).thenReturn(Optional.of(definition));
+
+        // 2.2km of laps on a 2km record
+        val tooFar = new ExerciseRecordDetailsRequest(2.0, DistanceUnit.KILOMETERS, null, null, null,
+                List.of(new LapRequest(1.1, 200_000L), new LapRequest(1.1, 200_000L)));
+        assertThatThrownBy(() -> exerciseRecordService.createExerciseRecord(new ExerciseRecordRequest(1L, now, now.plusMinutes(10), tooFar, 1)))
+                .isInstanceOf(DSIllegalArgumentException.class);
+
+        // 10 minutes of laps on a 5 minute record
+        val tooLong = new ExerciseRecordDetailsRequest(2.0, DistanceUnit.KILOMETERS, null, null, null,
+                List.of(new LapRequest(1.0, 300_000L), new LapRequest(1.0, 300_000L)));
+        assertThatThrownBy(() -> exerciseRecordService.createExerciseRecord(new ExerciseRecordRequest(1L, now, now.plusMinutes(5), tooLong, 1)))
+                .isInstanceOf(DSIllegalArgumentException.class);
+
+        // Rounded lap distances slightly above the record are accepted
+        val rounded = new ExerciseRecordDetailsRequest(2.0, DistanceUnit.KILOMETERS, null, null, null,
+                List.of(new LapRequest(1.01, 300_000L), new LapRequest(1.0, 300_000L)));
+        assertThat(exerciseRecordService.createExerciseRecord(new ExerciseRecordRequest(1L, now, now.plusMinutes(10), rounded, 1)))
+                .isInstanceOf(DistanceExerciseRecord.class);
+    }
+
+    @Test
+    void createExerciseRecord_WithNotes_AttachesStrippedNotesToRecordAndSets() {
+        ExerciseDefinition definition = new ExerciseDefinition("Bench Press", ExerciseType.SETS_REPS);
+        List<ExerciseSetRequest> setRequests = List.of(
+                new ExerciseSetRequest(now, now.plusMinutes(1), false, 12, 0, 50.0, 0, "  new grip  "),
+                new ExerciseSetRequest(now.plusMinutes(3), now.plusMinutes(4), false, 10, 0, 50.0, 1, " ")
+        );
+        val details = new ExerciseRecordDetailsRequest(null, null, null, setRequests, null);
+        ExerciseRecordRequest request = new ExerciseRecordRequest(1L, now, now.plusMinutes(30), details, 1, "knee pain on the last set");
+
+        when(exerciseDefinitionRepository.findById(1L)).thenReturn(Optional.of(definition));
+
+        SetBasedExerciseRecord result = (SetBasedExerciseRecord) exerciseRecordService.createExerciseRecord(request);
+
+        assertThat(result.getNote().getContent()).isEqualTo("knee pain on the last set");
+        assertThat(result.getSets().getFirst().getNote().getContent()).isEqualTo("new grip");
+        assertThat(result.getSets().getLast().getNote()).isNull();
+        assertThat(result.notes()).extracting(ExerciseNote::getContent).containsExactly("knee pain on the last set", "new grip");
+    }
+
+    @Test
+    void createExerciseRecord_WhenNotesTooLong_ThrowsIllegalArgumentException() {
+        ExerciseDefinition definition = new ExerciseDefinition("Running", ExerciseType.DISTANCE);
+        val details = new ExerciseRecordDetailsRequest(5.0, DistanceUnit.KILOMETERS, null, null, null);
+        ExerciseRecordRequest request = new ExerciseRecordRequest(1L, now, now.plusMinutes(30), details, 1, "x".repeat(ExerciseNote.MAX_LENGTH + 1));
+
+        when(exerciseDefinitionRepository.findById(1L)).thenReturn(Optional.of(definition));
+
+        assertThatThrownBy(() -> exerciseRecordService.createExerciseRecord(request))
+                .isInstanceOf(DSIllegalArgumentException.class)
+                .hasMessageContaining("Notes");
+    }
 }
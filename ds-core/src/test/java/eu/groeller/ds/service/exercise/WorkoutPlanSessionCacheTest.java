@@ -0,0 +1,84 @@
+package eu.groeller.ds.service.exercise;
+
+import eu.groeller.ds.configuration.WorkoutPlanConfig;
+import eu.groeller.ds.domain.exercise.WorkoutPlanSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkoutPlanSessionCacheTest {
+
+    private WorkoutPlanSessionCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new WorkoutPlanSessionCache(new WorkoutPlanConfig(), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_LoadsOncePerPlan() {
+        cache.get(1L, 10L, () -> load(10L));
+        cache.get(1L, 10L, () -> load(10L));
+        cache.get(1L, 11L, () -> load(11L));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictUser_DropsOnlyThatUsersSessions() {
+        cache.get(1L, 10L, () -> load(10L));
+        cache.get(2L, 20L, () -> load(20L));
+
+        cache.evictUser(1L);
+        cache.get(1L, 10L, () -> load(10L));
+        cache.get(2L, 20L, () -> load(20L));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void get_WhenEvictedWhileLoading_DoesNotKeepStaleSession() {
+        WorkoutPlanSession stale = cache.get(1L, 10L, () -> {
+            cache.evictUser(1L);
+            return load(10L);
+        });
+
+        WorkoutPlanSession fresh = cache.get(1L, 10L, () -> load(10L));
+
+        assertThat(loads).hasValue(2);
+        assertThat(fresh).isNotSameAs(stale);
+    }
+
+    @Test
+    void evictUserAfterCommit_WaitsForCommit() {
+        cache.get(1L, 10L, () -> load(10L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evictUserAfterCommit(1L);
+            cache.get(1L, 10L, () -> load(10L));
+            assertThat(loads).hasValue(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.get(1L, 10L, () -> load(10L));
+        assertThat(loads).hasValue(2);
+    }
+
+    private WorkoutPlanSession load(long planId) {
+        loads.incrementAndGet();
+        return new WorkoutPlanSession(planId, "Plan " + planId, 1L, "Push", List.of());
+    }
+}
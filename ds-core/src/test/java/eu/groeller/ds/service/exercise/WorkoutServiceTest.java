@@ -9,6 +9,8 @@ import eu.groeller.ds.persistence.exercise.WorkoutTypeRepository;
 import eu.groeller.ds.presentation.request.exercise.CreateWorkoutRequest;
 import eu.groeller.ds.presentation.request.exercise.ExerciseRecordRequest;
 import eu.groeller.ds.service.exceptions.DSIllegalArgumentException;
+import eu.groeller.ds.service.exceptions.WorkoutNotFoundException;
+import eu.groeller.ds.service.heartrate.WorkoutHeartRateService;
 import lombok.val;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +43,15 @@ public class WorkoutServiceTest {
     @Mock
     private WorkoutTypeRepository workoutTypeRepository;
 
+    @Mock
+    private WorkoutPlanService workoutPlanService;
+
+    @Mock
+    private WorkoutHeartRateService workoutHeartRateService;
+
+    @Mock
+    private WorkoutCalendarService workoutCalendarService;
+
     @Mock
     private Clock clock;
 
@@ -50,7 +61,7 @@ public class WorkoutServiceTest {
 
     @BeforeEach
     void setUp() {
-        workoutService = new WorkoutService(workoutRepository, workoutTypeRepository, exerciseRecordService, exerciseDefinitionService, clock);
+        workoutService = new WorkoutService(workoutRepository, workoutTypeRepository, exerciseRecordService, exerciseDefinitionService, workoutPlanService, workoutHeartRateService, workoutCalendarService, clock);
         testUser = new User("testuser", "test@example.com", "password");
     }
 
@@ -191,6 +202,69 @@ public class WorkoutServiceTest {
     }
 
 
+    @Test
+    void createWorkout_WhenPlanIsSet_LinksWorkoutToPlan() {
+        val now = OffsetDateTime.now();
+        val workoutType = new WorkoutType("Pull-Day");
+        ExerciseRecordRequest exerciseRequest = new ExerciseRecordRequest(1L, now, now.plusMinutes(30), null, 1);
+        CreateWorkoutRequest request = new CreateWorkoutRequest(List.of(exerciseRequest), workoutType.getName(), now, now.plusHours(1), 7L);
+
+        ExerciseRecord mockExerciseRecord = mock(ExerciseRecord.class);
+        when(mockExerciseRecord.getEndTime()).thenReturn(now.plusMinutes(10));
+        when(workoutTypeRepository.findByName(workoutType.getName())).thenReturn(Optional.of(workoutType));
+        when(exerciseRecordService.createExerciseRecord(exerciseRequest)).thenReturn(mockExerciseRecord);
+        when(workoutRepository.save(any(Workout.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Workout result = workoutService.createWorkout(testUser, request);
+
+        verify(workoutPlanService).linkWorkout(testUser, 7L, result);
+        verify(workoutPlanService).onWorkoutCreated(testUser);
+    }
+
+    @Test
+    void createWorkout_WhenPlanIsNotSet_OnlyNotifiesPlans() {
+        val now = OffsetDateTime.now();
+        val workoutType = new WorkoutType("Pull-Day");
+        ExerciseRecordRequest exerciseRequest = new ExerciseRecordRequest(1L, now, now.plusMinutes(30), null, 1);
+        CreateWorkoutRequest request = new CreateWorkoutRequest(List.of(exerciseRequest), workoutType.getName(), now, now.plusHours(1));
+
+        ExerciseRecord mockExerciseRecord = mock(ExerciseRecord.class);
+        when(mockExerciseRecord.getEndTime()).thenReturn(now.plusMinutes(10));
+        when(workoutTypeRepository.findByName(workoutType.getName())).thenReturn(Optional.of(workoutType));
+        when(exerciseRecordService.createExerciseRecord(exerciseRequest)).thenReturn(mockExerciseRecord);
+        when(workoutRepository.save(any(Workout.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        workoutService.createWorkout(testUser, request);
+
+        verify(workoutPlanService, never()).linkWorkout(any(), any(), any());
+        verify(workoutPlanService).onWorkoutCreated(testUser);
+        verify(workoutCalendarService).onWorkoutCreated(eq(testUser), any(Workout.class));
+    }
+
+    @Test
+    void deleteWorkout_RemovesWorkoutFromCalendar() {
+        Workout workout = mock(Workout.class);
+        when(workoutRepository.findByIdAndUser(3L, testUser)).thenReturn(Optional.of(workout));
+
+        workoutService.deleteWorkout(testUser, 3L);
+
+        verify(workoutCalendarService).onWorkoutDeleted(testUser, workout);
+        verify(workoutRepository).delete(workout);
+        verify(workoutPlanService).onWorkoutDeleted(testUser, workout);
+    }
+
+    @Test
+    void deleteWorkout_WhenWorkoutIsNotFound_ThrowsWorkoutNotFoundException() {
+        when(workoutRepository.findByIdAndUser(3L, testUser)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> workoutService.deleteWorkout(testUser, 3L))
+                .isInstanceOf(WorkoutNotFoundException.class);
+
+        verify(workoutRepository, never()).delete(any());
+        verifyNoInteractions(workoutCalendarService);
+    }
+
+
     @Test
     void createWorkout_WhenExerciseListIsEmpty_ThrowsIllegalArgumentException() {
         // Arrange
@@ -0,0 +1,110 @@
+package eu.groeller.ds.service.security;
+
+import eu.groeller.ds.configuration.security.RateLimitConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private RateLimitConfig config;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        config = new RateLimitConfig();
+        config.setDefaultLimit(new RateLimitConfig.Limit(3, Duration.ofSeconds(3)));
+        config.setRoutes(List.of(new RateLimitConfig.Route("login", "POST", "/api/v1/users/login",
+                new RateLimitConfig.Limit(1, Duration.ofMinutes(1)))));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void tryAcquire_AfterBurst_RejectsUntilRefilled() {
+        RateLimiter limiter = newLimiter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/workouts/1");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(request, "user:1")).isZero();
+        }
+        long waitNanos = limiter.tryAcquire(request, "user:1");
+        assertThat(waitNanos).isPositive();
+        assertThat(RateLimiter.toRetryAfterSeconds(waitNanos)).isEqualTo(1);
+
+        clock.addAndGet(waitNanos);
+        assertThat(limiter.tryAcquire(request, "user:1")).isZero();
+        assertThat(meterRegistry.get("ds.ratelimit.requests").tag("outcome", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_SeparatesClientsAndRoutes() {
+        RateLimiter limiter = newLimiter();
+        MockHttpServletRequest login = new MockHttpServletRequest("POST", "/api/v1/users/login");
+
+        assertThat(limiter.tryAcquire(login, "ip:10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire(login, "ip:10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire(login, "ip:10.0.0.2")).isZero();
+        assertThat(limiter.tryAcquire(new MockHttpServletRequest("GET", "/api/v1/users/login"), "ip:10.0.0.1")).isZero();
+    }
+
+    @Test
+    void evictIdleBuckets_RemovesOnlyRefilledBuckets() {
+        config.setIdleEviction(Duration.ofSeconds(10));
+        RateLimiter limiter = newLimiter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/workouts");
+
+        limiter.tryAcquire(request, "user:1");
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        limiter.tryAcquire(request, "user:2");
+        limiter.evictIdleBuckets();
+
+        assertThat(limiter.bucketCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_WhenMapIsFull_SharesOverflowBucket() {
+        config.setMaxBuckets(2);
+        RateLimiter limiter = newLimiter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/workouts");
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(request, "user:" + i);
+        }
+
+        assertThat(limiter.bucketCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("ds.ratelimit.buckets.overflow").counter().count()).isEqualTo(8);
+        assertThat(meterRegistry.get("ds.ratelimit.requests").tag("outcome", "rejected").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    void tryAcquire_WhenMapIsFullOfIdleBuckets_OverflowsUntilEvicted() {
+        config.setMaxBuckets(2);
+        config.setIdleEviction(Duration.ofSeconds(10));
+        RateLimiter limiter = newLimiter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/workouts");
+
+        limiter.tryAcquire(request, "user:1");
+        limiter.tryAcquire(request, "user:2");
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        limiter.tryAcquire(request, "user:3");
+        assertThat(meterRegistry.get("ds.ratelimit.buckets.overflow").counter().count()).isEqualTo(1);
+
+        limiter.evictIdleBuckets();
+        limiter.tryAcquire(request, "user:3");
+
+        assertThat(limiter.bucketCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("ds.ratelimit.buckets.overflow").counter().count()).isEqualTo(1);
+    }
+
+    private RateLimiter newLimiter() {
+        return new RateLimiter(config, meterRegistry, clock::get);
+    }
+}
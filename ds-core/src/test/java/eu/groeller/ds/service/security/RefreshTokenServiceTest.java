@@ -0,0 +1,107 @@
+package eu.groeller.ds.service.security;
+
+import eu.groeller.ds.configuration.security.JwtConfig;
+import eu.groeller.ds.domain.User;
+import eu.groeller.ds.domain.auth.RefreshToken;
+import eu.groeller.ds.persistence.auth.RefreshTokenRepository;
+import eu.groeller.ds.service.exceptions.DSUnauthorizedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private RefreshTokenService refreshTokenService;
+    private User user;
+    private OffsetDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        Instant instant = Instant.parse("2024-06-01T12:00:00Z");
+        now = instant.atOffset(ZoneOffset.UTC);
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setRefreshExpiration(Duration.ofDays(30));
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, tokenRevocationService, jwtConfig, Clock.fixed(instant, ZoneOffset.UTC));
+        user = new User("testuser", "test@example.com", "password");
+        user.setId(1L);
+    }
+
+    @Test
+    void issue_StoresOnlyTheHashOfTheToken() {
+        String rawToken = refreshTokenService.issue(user);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getTokenHash()).isNotEqualTo(rawToken).hasSize(64);
+        assertThat(captor.getValue().getExpiresAt()).isEqualTo(now.plusDays(30));
+    }
+
+    @Test
+    void rotate_WhenTokenIsValid_RevokesItAndIssuesTokenInSameFamily() {
+        RefreshToken existing = new RefreshToken(user, "hash", "family", now.plusDays(1));
+        when(refreshTokenRepository.findForUpdateByTokenHash(anyString())).thenReturn(Optional.of(existing));
+
+        var rotated = refreshTokenService.rotate("raw");
+
+        assertThat(rotated.user()).isSameAs(user);
+        assertThat(existing.getRevokedAt()).isEqualTo(now);
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getFamilyId()).isEqualTo("family");
+    }
+
+    @Test
+    void rotate_WhenTokenWasAlreadyRotated_RevokesFamilyAndUserTokens() {
+        RefreshToken reused = new RefreshToken(user, "hash", "family", now.plusDays(1));
+        reused.setRevokedAt(now.minusMinutes(5));
+        when(refreshTokenRepository.findForUpdateByTokenHash(anyString())).thenReturn(Optional.of(reused));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(DSUnauthorizedException.class);
+
+        verify(refreshTokenRepository).revokeFamily("family", now);
+        verify(tokenRevocationService).revokeAllForUser(user);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_WhenTokenExpired_ThrowsUnauthorized() {
+        RefreshToken expired = new RefreshToken(user, "hash", "family", now.minusSeconds(1));
+        when(refreshTokenRepository.findForUpdateByTokenHash(anyString())).thenReturn(Optional.of(expired));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(DSUnauthorizedException.class);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_WhenTokenUnknown_ThrowsUnauthorized() {
+        when(refreshTokenRepository.findForUpdateByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(DSUnauthorizedException.class);
+    }
+}
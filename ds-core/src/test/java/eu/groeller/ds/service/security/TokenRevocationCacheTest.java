@@ -0,0 +1,88 @@
+package eu.groeller.ds.service.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationCacheTest {
+
+    private TokenRevocationCache cache;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TokenRevocationCache();
+        now = Instant.parse("2024-06-01T12:00:00Z");
+    }
+
+    @Test
+    void isRevoked_WhenNothingRevoked_ReturnsFalse() {
+        assertThat(cache.isRevoked(UUID.randomUUID().toString(), "1", Date.from(now))).isFalse();
+    }
+
+    @Test
+    void isRevoked_WhenTokenHasNoId_ReturnsTrue() {
+        assertThat(cache.isRevoked(null, "1", Date.from(now))).isTrue();
+    }
+
+    @Test
+    void isRevoked_WhenTokenRevoked_ReturnsTrueOnlyForThatToken() {
+        String revoked = UUID.randomUUID().toString();
+        cache.revokeToken(revoked, now.plusSeconds(900));
+
+        assertThat(cache.isRevoked(revoked, "1", Date.from(now))).isTrue();
+        assertThat(cache.isRevoked(UUID.randomUUID().toString(), "1", Date.from(now))).isFalse();
+    }
+
+    @Test
+    void isRevoked_WhenUserRevoked_RejectsOnlyTokensIssuedBefore() {
+        cache.revokeUser("1", now, now.plusSeconds(900));
+
+        assertThat(cache.isRevoked(UUID.randomUUID().toString(), "1", Date.from(now.minusSeconds(60)))).isTrue();
+        assertThat(cache.isRevoked(UUID.randomUUID().toString(), "1", Date.from(now.plusSeconds(1)))).isFalse();
+        assertThat(cache.isRevoked(UUID.randomUUID().toString(), "2", Date.from(now.minusSeconds(60)))).isFalse();
+    }
+
+    @Test
+    void isRevoked_WhenTokenIssuedInSameSecondAfterUserRevoked_ReturnsFalse() {
+        Instant revokedAt = now.plusMillis(300);
+        cache.revokeUser("1", revokedAt, revokedAt.plusSeconds(900));
+
+        // A token issued at now + 700 ms carries an issued-at of now, JWTs only keep whole seconds
+        assertThat(cache.isRevoked(UUID.randomUUID().toString(), "1", Date.from(now))).isFalse();
+        assertThat(cache.isRevoked(UUID.randomUUID().toString(), "1", Date.from(now.minusSeconds(1)))).isTrue();
+    }
+
+    @Test
+    void purgeExpired_RemovesExpiredAndKeepsActiveRevocations() {
+        String expired = UUID.randomUUID().toString();
+        String active = UUID.randomUUID().toString();
+        cache.revokeToken(expired, now.plusSeconds(60));
+        cache.revokeToken(active, now.plusSeconds(900));
+        cache.revokeUser("1", now, now.plusSeconds(60));
+
+        cache.purgeExpired(now.plusSeconds(120));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.isRevoked(expired, "1", Date.from(now.minusSeconds(1)))).isFalse();
+        assertThat(cache.isRevoked(active, "1", Date.from(now))).isTrue();
+    }
+
+    @Test
+    void isRevoked_WithManyRevocations_NeverMissesARevokedToken() {
+        for (int i = 0; i < 10_000; i++) {
+            cache.revokeToken("token-" + i, now.plusSeconds(900));
+        }
+        cache.purgeExpired(now);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(cache.isRevoked("token-" + i, "1", Date.from(now))).isTrue();
+        }
+        assertThat(cache.isRevoked("token-unknown", "1", Date.from(now))).isFalse();
+    }
+}